@@ -8,7 +8,12 @@
 package org.eclipse.xtext.ide.tests.editor.contentassist
 
 import com.google.inject.Inject
+import com.google.inject.Injector
+import java.util.concurrent.atomic.AtomicInteger
 import org.eclipse.xtext.ide.editor.contentassist.antlr.ContentAssistContextFactory
+import org.eclipse.xtext.ide.editor.contentassist.antlr.FollowElement
+import org.eclipse.xtext.ide.editor.contentassist.antlr.FollowElementCache
+import org.eclipse.xtext.ide.editor.contentassist.antlr.IContentAssistParser
 import org.eclipse.xtext.ide.tests.testlanguage.TestLanguageIdeInjectorProvider
 import org.eclipse.xtext.ide.tests.testlanguage.services.TestLanguageGrammarAccess
 import org.eclipse.xtext.testing.InjectWith
@@ -28,6 +33,27 @@ class ContentAssistContextFactoryTest {
 	@Inject extension ContentAssistContextTestHelper
 	@Inject ContentAssistContextFactory factory
 	@Inject TestLanguageGrammarAccess grammar
+	@Inject Injector injector
+	@Inject FollowElementCache followElementCache
+
+	static class CountingContextFactory extends ContentAssistContextFactory {
+		public static val parsedInputs = new AtomicInteger
+
+		@Inject
+		def void countParsedInputs() {
+			val delegate = parser
+			parser = new IContentAssistParser() {
+				override getFollowElements(String input, boolean strict) {
+					parsedInputs.incrementAndGet
+					return delegate.getFollowElements(input, strict)
+				}
+
+				override getFollowElements(FollowElement element) {
+					return delegate.getFollowElements(element)
+				}
+			}
+		}
+	}
 
 	@Test def void testSimple1() {
 		document = '''
@@ -127,4 +153,22 @@ class ContentAssistContextFactoryTest {
 		'''.toString.assertEquals(factory.firstSetGrammarElementsToString)
 	}
 
+	@Test def void testFollowElementsAreSharedBetweenFactories() {
+		document = '''
+			type Foo <|>{
+				int bar
+			}
+		'''
+		followElementCache.clear
+		CountingContextFactory.parsedInputs.set(0)
+		val first = injector.getInstance(CountingContextFactory)
+		val expected = first.firstSetGrammarElementsToString
+		val parsedInputs = CountingContextFactory.parsedInputs.get
+		assertTrue(parsedInputs > 0)
+		val second = injector.getInstance(CountingContextFactory)
+		assertNotSame(first, second)
+		expected.assertEquals(second.firstSetGrammarElementsToString)
+		assertEquals(parsedInputs, CountingContextFactory.parsedInputs.get)
+	}
+
 }
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sigasi N.V. (http://www.sigasi.com) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.editor.contentassist.antlr;
+
+import static org.junit.Assert.*;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import org.eclipse.xtext.ide.editor.contentassist.antlr.FollowElement;
+import org.eclipse.xtext.ide.editor.contentassist.antlr.FollowElementCache;
+import org.eclipse.xtext.ide.editor.contentassist.antlr.IContentAssistParser;
+import org.junit.Test;
+
+public class FollowElementCacheTest {
+
+	private static class CountingParser implements IContentAssistParser {
+		private int inputs;
+		private int elements;
+
+		@Override
+		public Collection<FollowElement> getFollowElements(String input, boolean strict) {
+			inputs++;
+			return Collections.singleton(new FollowElement());
+		}
+
+		@Override
+		public Collection<FollowElement> getFollowElements(FollowElement element) {
+			elements++;
+			return Collections.singleton(new FollowElement());
+		}
+	}
+
+	private FollowElementCache cache = new FollowElementCache();
+
+	private CountingParser parser = new CountingParser();
+
+	@Test
+	public void testSameInputIsParsedOnce() {
+		Collection<FollowElement> first = cache.getFollowElements(parser, null, "foo bar", false);
+		assertSame(first, cache.getFollowElements(parser, null, "foo bar", false));
+		assertEquals(1, parser.inputs);
+	}
+
+	@Test
+	public void testDifferentInputsAreParsed() {
+		cache.getFollowElements(parser, null, "foo bar", false);
+		cache.getFollowElements(parser, null, "foo ba", false);
+		cache.getFollowElements(parser, null, "foo bar", true);
+		assertEquals(3, parser.inputs);
+	}
+
+	@Test
+	public void testEqualFollowElementsAreComputedOnce() {
+		FollowElement element = new FollowElement();
+		element.setLookAhead(2);
+		FollowElement equalElement = new FollowElement();
+		equalElement.setLookAhead(2);
+		cache.getFollowElements(parser, element);
+		cache.getFollowElements(parser, equalElement);
+		assertEquals(1, parser.elements);
+		FollowElement otherElement = new FollowElement();
+		otherElement.setLookAhead(3);
+		cache.getFollowElements(parser, otherElement);
+		assertEquals(2, parser.elements);
+	}
+
+	@Test
+	public void testClear() {
+		cache.getFollowElements(parser, null, "foo", false);
+		cache.clear();
+		cache.getFollowElements(parser, null, "foo", false);
+		assertEquals(2, parser.inputs);
+	}
+
+}
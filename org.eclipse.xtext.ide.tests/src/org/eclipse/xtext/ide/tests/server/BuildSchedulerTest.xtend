@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sigasi N.V. (http://www.sigasi.com) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.server
+
+import com.google.inject.Guice
+import com.google.inject.Inject
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import org.eclipse.emf.common.util.URI
+import org.eclipse.xtext.ide.server.BuildScheduler
+import org.eclipse.xtext.ide.server.ServerModule
+import org.eclipse.xtext.ide.server.concurrent.RequestManager
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+
+import static org.junit.Assert.*
+
+/**
+ * @since 2.19
+ */
+class BuildSchedulerTest {
+
+	@Inject
+	RequestManager requestManager
+
+	@Inject
+	BuildScheduler buildScheduler
+
+	@Before
+	def void setUp() {
+		Guice.createInjector(new ServerModule).injectMembers(this)
+	}
+
+	@After
+	def void tearDown() {
+		buildScheduler.shutdown
+		requestManager.shutdown
+	}
+
+	@Test(timeout = 5000)
+	def void testBurstIsCoalesced() {
+		buildScheduler.debounceDelay = 200
+		val submissions = new AtomicInteger
+		val done = new CountDownLatch(1)
+		for (i : 1..10) {
+			buildScheduler.debounce [
+				submissions.incrementAndGet
+				done.countDown
+			]
+		}
+		assertEquals(0, submissions.get)
+		assertTrue(buildScheduler.hasPendingSubmission)
+		done.await
+		Thread.sleep(300)
+		assertEquals(1, submissions.get)
+		assertFalse(buildScheduler.hasPendingSubmission)
+	}
+
+	@Test(timeout = 2000)
+	def void testQueueIsNotBlocked() {
+		buildScheduler.debounceDelay = 60000
+		requestManager.runWrite([null], [ cancelIndicator, it |
+			buildScheduler.debounce [fail('The submission must wait for the debounce delay')]
+		]).join
+		assertEquals('read', requestManager.runRead['read'].get(1, TimeUnit.SECONDS))
+		assertTrue(buildScheduler.hasPendingSubmission)
+	}
+
+	@Test(timeout = 1000)
+	def void testNoDebounceByDefault() {
+		assertEquals(0, buildScheduler.debounceDelay)
+		val submissions = new AtomicInteger
+		buildScheduler.debounce [submissions.incrementAndGet]
+		assertEquals(1, submissions.get)
+		assertFalse(buildScheduler.hasPendingSubmission)
+	}
+
+	@Test
+	def void testPrioritize() {
+		val uris = #['a', 'b', 'c', 'd'].map[URI.createURI(it)]
+		val prioritized = buildScheduler.prioritize(uris) [ uri |
+			uri.toString == 'c' || uri.toString == 'b'
+		]
+		assertEquals('b, c, a, d', prioritized.join(', '))
+	}
+
+}
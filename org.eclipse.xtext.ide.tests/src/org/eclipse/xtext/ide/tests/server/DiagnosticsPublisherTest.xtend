@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sigasi N.V. (http://www.sigasi.com) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.server
+
+import java.util.List
+import org.eclipse.lsp4j.Diagnostic
+import org.eclipse.lsp4j.Position
+import org.eclipse.lsp4j.PublishDiagnosticsParams
+import org.eclipse.lsp4j.Range
+import org.eclipse.xtext.ide.server.DiagnosticsPublisher
+import org.junit.Before
+import org.junit.Test
+
+import static org.junit.Assert.*
+
+/**
+ * @since 2.19
+ */
+class DiagnosticsPublisherTest {
+
+	DiagnosticsPublisher publisher
+
+	List<PublishDiagnosticsParams> sent
+
+	@Before
+	def void setUp() {
+		sent = newArrayList
+		publisher = new DiagnosticsPublisher
+		publisher.target = [sent += it]
+	}
+
+	@Test
+	def void testUnchangedDiagnosticsAreSkipped() {
+		publisher.publish('file:/a', #[diagnostic('error')])
+		publisher.publish('file:/a', #[diagnostic('error')])
+		assertEquals(1, sent.size)
+		publisher.publish('file:/a', #[])
+		assertEquals(2, sent.size)
+		assertTrue(sent.last.diagnostics.empty)
+	}
+
+	@Test
+	def void testBatch() {
+		publisher.publish('file:/a', #[diagnostic('error')])
+		sent.clear
+		publisher.beginBatch
+		publisher.publish('file:/b', #[diagnostic('first')])
+		publisher.publish('file:/b', #[diagnostic('second')])
+		publisher.publish('file:/a', #[])
+		publisher.publish('file:/a', #[diagnostic('error')])
+		assertTrue(sent.empty)
+		publisher.endBatch
+		assertEquals(#['file:/b'], sent.map[uri])
+		assertEquals('second', sent.head.diagnostics.head.message)
+	}
+
+	@Test
+	def void testFlushDuringBatch() {
+		publisher.beginBatch
+		publisher.publish('file:/a', #[diagnostic('error')])
+		publisher.flush
+		assertEquals(#['file:/a'], sent.map[uri])
+		publisher.publish('file:/b', #[diagnostic('error')])
+		publisher.endBatch
+		assertEquals(#['file:/a', 'file:/b'], sent.map[uri])
+	}
+
+	@Test
+	def void testMaxBatchSize() {
+		publisher.maxBatchSize = 2
+		publisher.beginBatch
+		publisher.publish('file:/a', #[diagnostic('error')])
+		assertTrue(sent.empty)
+		publisher.publish('file:/b', #[diagnostic('error')])
+		assertEquals(#['file:/a', 'file:/b'], sent.map[uri])
+		publisher.publish('file:/c', #[diagnostic('error')])
+		publisher.endBatch
+		assertEquals(#['file:/a', 'file:/b', 'file:/c'], sent.map[uri])
+	}
+
+	@Test
+	def void testForget() {
+		publisher.publish('file:/a', #[diagnostic('error')])
+		publisher.forget('file:/a')
+		publisher.publish('file:/a', #[diagnostic('error')])
+		assertEquals(2, sent.size)
+	}
+
+	private def diagnostic(String message) {
+		new Diagnostic(new Range(new Position(0, 0), new Position(0, 1)), message)
+	}
+
+}
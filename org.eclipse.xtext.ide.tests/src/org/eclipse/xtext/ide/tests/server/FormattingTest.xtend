@@ -106,6 +106,25 @@ class FormattingTest extends AbstractTestLangLanguageServerTest {
 		]
 	}
 	
+	@Test def void testRangeFormattingService_03() {
+		testRangeFormatting [
+			model = '''
+				type Foo{int bar}
+				type Bar{Foo foo} type Baz{Bar bar}
+			'''
+			range = new Range => [
+				start = new Position(1,0)
+				end = new Position(1,17)
+			]
+			expectedText = '''
+				type Foo{int bar}
+				type Bar{
+					Foo foo
+				} type Baz{Bar bar}
+			'''
+		]
+	}
+	
 	@Inject
 	Provider<XtextResourceSet> rsp
 	
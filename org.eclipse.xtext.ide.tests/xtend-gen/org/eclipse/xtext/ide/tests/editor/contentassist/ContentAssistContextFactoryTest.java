@@ -8,8 +8,14 @@
 package org.eclipse.xtext.ide.tests.editor.contentassist;
 
 import com.google.inject.Inject;
+import com.google.inject.Injector;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.eclipse.xtend2.lib.StringConcatenation;
 import org.eclipse.xtext.ide.editor.contentassist.antlr.ContentAssistContextFactory;
+import org.eclipse.xtext.ide.editor.contentassist.antlr.FollowElement;
+import org.eclipse.xtext.ide.editor.contentassist.antlr.FollowElementCache;
+import org.eclipse.xtext.ide.editor.contentassist.antlr.IContentAssistParser;
 import org.eclipse.xtext.ide.tests.editor.contentassist.ContentAssistContextTestHelper;
 import org.eclipse.xtext.ide.tests.testlanguage.TestLanguageIdeInjectorProvider;
 import org.eclipse.xtext.ide.tests.testlanguage.services.TestLanguageGrammarAccess;
@@ -27,6 +33,27 @@ import org.junit.runner.RunWith;
 @InjectWith(TestLanguageIdeInjectorProvider.class)
 @SuppressWarnings("all")
 public class ContentAssistContextFactoryTest {
+  public static class CountingContextFactory extends ContentAssistContextFactory {
+    public static final AtomicInteger parsedInputs = new AtomicInteger();
+    
+    @Inject
+    public void countParsedInputs() {
+      final IContentAssistParser delegate = this.parser;
+      this.parser = new IContentAssistParser() {
+        @Override
+        public Collection<FollowElement> getFollowElements(final String input, final boolean strict) {
+          CountingContextFactory.parsedInputs.incrementAndGet();
+          return delegate.getFollowElements(input, strict);
+        }
+        
+        @Override
+        public Collection<FollowElement> getFollowElements(final FollowElement element) {
+          return delegate.getFollowElements(element);
+        }
+      };
+    }
+  }
+  
   @Inject
   @Extension
   private ContentAssistContextTestHelper _contentAssistContextTestHelper;
@@ -37,6 +64,12 @@ public class ContentAssistContextFactoryTest {
   @Inject
   private TestLanguageGrammarAccess grammar;
   
+  @Inject
+  private Injector injector;
+  
+  @Inject
+  private FollowElementCache followElementCache;
+  
   @Test
   public void testSimple1() {
     StringConcatenation _builder = new StringConcatenation();
@@ -243,4 +276,27 @@ public class ContentAssistContextFactoryTest {
     _builder_1.newLine();
     Assert.assertEquals(_builder_1.toString(), this._contentAssistContextTestHelper.firstSetGrammarElementsToString(this.factory));
   }
+  
+  @Test
+  public void testFollowElementsAreSharedBetweenFactories() {
+    StringConcatenation _builder = new StringConcatenation();
+    _builder.append("type Foo <|>{");
+    _builder.newLine();
+    _builder.append("\t");
+    _builder.append("int bar");
+    _builder.newLine();
+    _builder.append("}");
+    _builder.newLine();
+    this._contentAssistContextTestHelper.setDocument(_builder.toString());
+    this.followElementCache.clear();
+    ContentAssistContextFactoryTest.CountingContextFactory.parsedInputs.set(0);
+    final ContentAssistContextFactoryTest.CountingContextFactory first = this.injector.<ContentAssistContextFactoryTest.CountingContextFactory>getInstance(ContentAssistContextFactoryTest.CountingContextFactory.class);
+    final String expected = this._contentAssistContextTestHelper.firstSetGrammarElementsToString(first);
+    final int parsedInputs = ContentAssistContextFactoryTest.CountingContextFactory.parsedInputs.get();
+    Assert.assertTrue((parsedInputs > 0));
+    final ContentAssistContextFactoryTest.CountingContextFactory second = this.injector.<ContentAssistContextFactoryTest.CountingContextFactory>getInstance(ContentAssistContextFactoryTest.CountingContextFactory.class);
+    Assert.assertNotSame(first, second);
+    Assert.assertEquals(expected, this._contentAssistContextTestHelper.firstSetGrammarElementsToString(second));
+    Assert.assertEquals(parsedInputs, ContentAssistContextFactoryTest.CountingContextFactory.parsedInputs.get());
+  }
 }
@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2019 Sigasi N.V. (http://www.sigasi.com) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.xtext.ide.tests.server;
+
+import com.google.common.base.Objects;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.ide.server.BuildScheduler;
+import org.eclipse.xtext.ide.server.ServerModule;
+import org.eclipse.xtext.ide.server.concurrent.RequestManager;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+import org.eclipse.xtext.xbase.lib.Exceptions;
+import org.eclipse.xtext.xbase.lib.Functions.Function0;
+import org.eclipse.xtext.xbase.lib.Functions.Function1;
+import org.eclipse.xtext.xbase.lib.Functions.Function2;
+import org.eclipse.xtext.xbase.lib.IntegerRange;
+import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.eclipse.xtext.xbase.lib.ListExtensions;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @since 2.19
+ */
+@SuppressWarnings("all")
+public class BuildSchedulerTest {
+  @Inject
+  private RequestManager requestManager;
+  
+  @Inject
+  private BuildScheduler buildScheduler;
+  
+  @Before
+  public void setUp() {
+    ServerModule _serverModule = new ServerModule();
+    Guice.createInjector(_serverModule).injectMembers(this);
+  }
+  
+  @After
+  public void tearDown() {
+    this.buildScheduler.shutdown();
+    this.requestManager.shutdown();
+  }
+  
+  @Test(timeout = 5000)
+  public void testBurstIsCoalesced() {
+    try {
+      this.buildScheduler.setDebounceDelay(200);
+      final AtomicInteger submissions = new AtomicInteger();
+      final CountDownLatch done = new CountDownLatch(1);
+      IntegerRange _upTo = new IntegerRange(1, 10);
+      for (final Integer i : _upTo) {
+        final Runnable _function = () -> {
+          submissions.incrementAndGet();
+          done.countDown();
+        };
+        this.buildScheduler.debounce(_function);
+      }
+      Assert.assertEquals(0, submissions.get());
+      Assert.assertTrue(this.buildScheduler.hasPendingSubmission());
+      done.await();
+      Thread.sleep(300);
+      Assert.assertEquals(1, submissions.get());
+      Assert.assertFalse(this.buildScheduler.hasPendingSubmission());
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  @Test(timeout = 2000)
+  public void testQueueIsNotBlocked() {
+    try {
+      this.buildScheduler.setDebounceDelay(60000);
+      final Function0<Object> _function = () -> {
+        return null;
+      };
+      final Function2<CancelIndicator, Object, Object> _function_1 = (CancelIndicator cancelIndicator, Object it) -> {
+        final Runnable _function_2 = () -> {
+          Assert.fail("The submission must wait for the debounce delay");
+        };
+        this.buildScheduler.debounce(_function_2);
+        return null;
+      };
+      this.requestManager.<Object, Object>runWrite(_function, _function_1).join();
+      final Function1<CancelIndicator, String> _function_2 = (CancelIndicator it) -> {
+        return "read";
+      };
+      Assert.assertEquals("read", this.requestManager.<String>runRead(_function_2).get(1, TimeUnit.SECONDS));
+      Assert.assertTrue(this.buildScheduler.hasPendingSubmission());
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  @Test(timeout = 1000)
+  public void testNoDebounceByDefault() {
+    Assert.assertEquals(0, this.buildScheduler.getDebounceDelay());
+    final AtomicInteger submissions = new AtomicInteger();
+    final Runnable _function = () -> {
+      submissions.incrementAndGet();
+    };
+    this.buildScheduler.debounce(_function);
+    Assert.assertEquals(1, submissions.get());
+    Assert.assertFalse(this.buildScheduler.hasPendingSubmission());
+  }
+  
+  @Test
+  public void testPrioritize() {
+    final Function1<String, URI> _function = (String it) -> {
+      return URI.createURI(it);
+    };
+    final List<URI> uris = ListExtensions.<String, URI>map(Collections.<String>unmodifiableList(CollectionLiterals.<String>newArrayList("a", "b", "c", "d")), _function);
+    final Predicate<URI> _function_1 = (URI uri) -> {
+      return (Objects.equal(uri.toString(), "c") || Objects.equal(uri.toString(), "b"));
+    };
+    final List<URI> prioritized = this.buildScheduler.prioritize(uris, _function_1);
+    Assert.assertEquals("b, c, a, d", IterableExtensions.join(prioritized, ", "));
+  }
+}
@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2019 Sigasi N.V. (http://www.sigasi.com) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.xtext.ide.tests.server;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.xtext.ide.server.DiagnosticsPublisher;
+import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+import org.eclipse.xtext.xbase.lib.Functions.Function1;
+import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.eclipse.xtext.xbase.lib.ListExtensions;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @since 2.19
+ */
+@SuppressWarnings("all")
+public class DiagnosticsPublisherTest {
+  private DiagnosticsPublisher publisher;
+  
+  private List<PublishDiagnosticsParams> sent;
+  
+  @Before
+  public void setUp() {
+    this.sent = CollectionLiterals.<PublishDiagnosticsParams>newArrayList();
+    DiagnosticsPublisher _diagnosticsPublisher = new DiagnosticsPublisher();
+    this.publisher = _diagnosticsPublisher;
+    final Consumer<PublishDiagnosticsParams> _function = (PublishDiagnosticsParams it) -> {
+      this.sent.add(it);
+    };
+    this.publisher.setTarget(_function);
+  }
+  
+  @Test
+  public void testUnchangedDiagnosticsAreSkipped() {
+    Diagnostic _diagnostic = this.diagnostic("error");
+    this.publisher.publish("file:/a", Collections.<Diagnostic>unmodifiableList(CollectionLiterals.<Diagnostic>newArrayList(_diagnostic)));
+    Diagnostic _diagnostic_1 = this.diagnostic("error");
+    this.publisher.publish("file:/a", Collections.<Diagnostic>unmodifiableList(CollectionLiterals.<Diagnostic>newArrayList(_diagnostic_1)));
+    Assert.assertEquals(1, this.sent.size());
+    this.publisher.publish("file:/a", Collections.<Diagnostic>unmodifiableList(CollectionLiterals.<Diagnostic>newArrayList()));
+    Assert.assertEquals(2, this.sent.size());
+    Assert.assertTrue(IterableExtensions.<PublishDiagnosticsParams>last(this.sent).getDiagnostics().isEmpty());
+  }
+  
+  @Test
+  public void testBatch() {
+    Diagnostic _diagnostic = this.diagnostic("error");
+    this.publisher.publish("file:/a", Collections.<Diagnostic>unmodifiableList(CollectionLiterals.<Diagnostic>newArrayList(_diagnostic)));
+    this.sent.clear();
+    this.publisher.beginBatch();
+    Diagnostic _diagnostic_1 = this.diagnostic("first");
+    this.publisher.publish("file:/b", Collections.<Diagnostic>unmodifiableList(CollectionLiterals.<Diagnostic>newArrayList(_diagnostic_1)));
+    Diagnostic _diagnostic_2 = this.diagnostic("second");
+    this.publisher.publish("file:/b", Collections.<Diagnostic>unmodifiableList(CollectionLiterals.<Diagnostic>newArrayList(_diagnostic_2)));
+    this.publisher.publish("file:/a", Collections.<Diagnostic>unmodifiableList(CollectionLiterals.<Diagnostic>newArrayList()));
+    Diagnostic _diagnostic_3 = this.diagnostic("error");
+    this.publisher.publish("file:/a", Collections.<Diagnostic>unmodifiableList(CollectionLiterals.<Diagnostic>newArrayList(_diagnostic_3)));
+    Assert.assertTrue(this.sent.isEmpty());
+    this.publisher.endBatch();
+    final Function1<PublishDiagnosticsParams, String> _function = (PublishDiagnosticsParams it) -> {
+      return it.getUri();
+    };
+    Assert.assertEquals(Collections.<String>unmodifiableList(CollectionLiterals.<String>newArrayList("file:/b")), ListExtensions.<PublishDiagnosticsParams, String>map(this.sent, _function));
+    Assert.assertEquals("second", IterableExtensions.<Diagnostic>head(IterableExtensions.<PublishDiagnosticsParams>head(this.sent).getDiagnostics()).getMessage());
+  }
+  
+  @Test
+  public void testFlushDuringBatch() {
+    this.publisher.beginBatch();
+    Diagnostic _diagnostic = this.diagnostic("error");
+    this.publisher.publish("file:/a", Collections.<Diagnostic>unmodifiableList(CollectionLiterals.<Diagnostic>newArrayList(_diagnostic)));
+    this.publisher.flush();
+    final Function1<PublishDiagnosticsParams, String> _function = (PublishDiagnosticsParams it) -> {
+      return it.getUri();
+    };
+    Assert.assertEquals(Collections.<String>unmodifiableList(CollectionLiterals.<String>newArrayList("file:/a")), ListExtensions.<PublishDiagnosticsParams, String>map(this.sent, _function));
+    Diagnostic _diagnostic_1 = this.diagnostic("error");
+    this.publisher.publish("file:/b", Collections.<Diagnostic>unmodifiableList(CollectionLiterals.<Diagnostic>newArrayList(_diagnostic_1)));
+    this.publisher.endBatch();
+    final Function1<PublishDiagnosticsParams, String> _function_1 = (PublishDiagnosticsParams it) -> {
+      return it.getUri();
+    };
+    Assert.assertEquals(Collections.<String>unmodifiableList(CollectionLiterals.<String>newArrayList("file:/a", "file:/b")), ListExtensions.<PublishDiagnosticsParams, String>map(this.sent, _function_1));
+  }
+  
+  @Test
+  public void testMaxBatchSize() {
+    this.publisher.setMaxBatchSize(2);
+    this.publisher.beginBatch();
+    Diagnostic _diagnostic = this.diagnostic("error");
+    this.publisher.publish("file:/a", Collections.<Diagnostic>unmodifiableList(CollectionLiterals.<Diagnostic>newArrayList(_diagnostic)));
+    Assert.assertTrue(this.sent.isEmpty());
+    Diagnostic _diagnostic_1 = this.diagnostic("error");
+    this.publisher.publish("file:/b", Collections.<Diagnostic>unmodifiableList(CollectionLiterals.<Diagnostic>newArrayList(_diagnostic_1)));
+    final Function1<PublishDiagnosticsParams, String> _function = (PublishDiagnosticsParams it) -> {
+      return it.getUri();
+    };
+    Assert.assertEquals(Collections.<String>unmodifiableList(CollectionLiterals.<String>newArrayList("file:/a", "file:/b")), ListExtensions.<PublishDiagnosticsParams, String>map(this.sent, _function));
+    Diagnostic _diagnostic_2 = this.diagnostic("error");
+    this.publisher.publish("file:/c", Collections.<Diagnostic>unmodifiableList(CollectionLiterals.<Diagnostic>newArrayList(_diagnostic_2)));
+    this.publisher.endBatch();
+    final Function1<PublishDiagnosticsParams, String> _function_1 = (PublishDiagnosticsParams it) -> {
+      return it.getUri();
+    };
+    Assert.assertEquals(Collections.<String>unmodifiableList(CollectionLiterals.<String>newArrayList("file:/a", "file:/b", "file:/c")), ListExtensions.<PublishDiagnosticsParams, String>map(this.sent, _function_1));
+  }
+  
+  @Test
+  public void testForget() {
+    Diagnostic _diagnostic = this.diagnostic("error");
+    this.publisher.publish("file:/a", Collections.<Diagnostic>unmodifiableList(CollectionLiterals.<Diagnostic>newArrayList(_diagnostic)));
+    this.publisher.forget("file:/a");
+    Diagnostic _diagnostic_1 = this.diagnostic("error");
+    this.publisher.publish("file:/a", Collections.<Diagnostic>unmodifiableList(CollectionLiterals.<Diagnostic>newArrayList(_diagnostic_1)));
+    Assert.assertEquals(2, this.sent.size());
+  }
+  
+  private Diagnostic diagnostic(final String message) {
+    Position _position = new Position(0, 0);
+    Position _position_1 = new Position(0, 1);
+    Range _range = new Range(_position, _position_1);
+    return new Diagnostic(_range, message);
+  }
+}
@@ -203,6 +203,39 @@ public class FormattingTest extends AbstractTestLangLanguageServerTest {
     this.testRangeFormatting(_function, _function_1);
   }
   
+  @Test
+  public void testRangeFormattingService_03() {
+    final Procedure1<RangeFormattingConfiguration> _function = (RangeFormattingConfiguration it) -> {
+      StringConcatenation _builder = new StringConcatenation();
+      _builder.append("type Foo{int bar}");
+      _builder.newLine();
+      _builder.append("type Bar{Foo foo} type Baz{Bar bar}");
+      _builder.newLine();
+      it.setModel(_builder.toString());
+      Range _range = new Range();
+      final Procedure1<Range> _function_1 = (Range it_1) -> {
+        Position _position = new Position(1, 0);
+        it_1.setStart(_position);
+        Position _position_1 = new Position(1, 17);
+        it_1.setEnd(_position_1);
+      };
+      Range _doubleArrow = ObjectExtensions.<Range>operator_doubleArrow(_range, _function_1);
+      it.setRange(_doubleArrow);
+      StringConcatenation _builder_1 = new StringConcatenation();
+      _builder_1.append("type Foo{int bar}");
+      _builder_1.newLine();
+      _builder_1.append("type Bar{");
+      _builder_1.newLine();
+      _builder_1.append("\t");
+      _builder_1.append("Foo foo");
+      _builder_1.newLine();
+      _builder_1.append("} type Baz{Bar bar}");
+      _builder_1.newLine();
+      it.setExpectedText(_builder_1.toString());
+    };
+    this.testRangeFormatting(_function);
+  }
+  
   @Inject
   private Provider<XtextResourceSet> rsp;
   
@@ -87,6 +87,12 @@ public class ContentAssistContextFactory implements Function<ContentAssistContex
 	@Inject
 	protected CompletionPrefixProvider completionPrefixProvider;
 	
+	/**
+	 * @since 2.19
+	 */
+	@Inject
+	protected FollowElementCache followElementCache;
+	
 	protected XtextResource resource;
 
 	protected ICompositeNode rootNode;
@@ -226,7 +232,7 @@ public class ContentAssistContextFactory implements Function<ContentAssistContex
 		INode previousNode = getLastCompleteNodeByOffset(rootNode, lastCompleteNode.getOffset());
 		EObject previousModel = previousNode.getSemanticElement();
 		INode currentDatatypeNode = getContainingDatatypeRuleNode(currentNode);
-		Collection<FollowElement> followElements = parser.getFollowElements(completeInput, false);
+		Collection<FollowElement> followElements = getFollowElements(completeInput, false);
 		int prevSize = contextBuilders.size();
 		doCreateContexts(previousNode, currentDatatypeNode, prefix, previousModel, followElements);
 		
@@ -260,7 +266,7 @@ public class ContentAssistContextFactory implements Function<ContentAssistContex
 	protected void handleLastCompleteNodeAsPartOfDatatypeNode() {
 		String prefix = getPrefix(datatypeNode);
 		String completeInput = getInputToParse(datatypeNode);
-		Collection<FollowElement> followElements = parser.getFollowElements(completeInput, false);
+		Collection<FollowElement> followElements = getFollowElements(completeInput, false);
 		INode lastCompleteNodeBeforeDatatype = getLastCompleteNodeByOffset(rootNode, datatypeNode.getTotalOffset());
 		doCreateContexts(lastCompleteNodeBeforeDatatype, datatypeNode, prefix, currentModel, followElements);
 	}
@@ -295,10 +301,21 @@ public class ContentAssistContextFactory implements Function<ContentAssistContex
 		}
 		String prefix = "";
 		String completeInput = getInputToParse(document, completionOffset);
-		Collection<FollowElement> followElements = parser.getFollowElements(completeInput, strict);
+		Collection<FollowElement> followElements = getFollowElements(completeInput, strict);
 		doCreateContexts(lastCompleteNode, currentNode, prefix, previousModel, followElements);
 	}
 	
+	/**
+	 * Returns the follow elements at the end of the given input. Results for the same input are shared between
+	 * completion requests.
+	 * 
+	 * @since 2.19
+	 */
+	protected Collection<FollowElement> getFollowElements(String completeInput, boolean strict) {
+		AbstractRule entryRule = parser instanceof IPartialEditingContentAssistParser ? resource.getEntryPoint() : null;
+		return followElementCache.getFollowElements(parser, entryRule, completeInput, strict);
+	}
+	
 	/**
 	 * Return <code>true</code> if the token should be considered to be an error token.
 	 * If the token that is created from the prefix before the cursor position is an error
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sigasi N.V. (http://www.sigasi.com) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.editor.contentassist.antlr;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.xtext.AbstractRule;
+import org.eclipse.xtext.Grammar;
+import org.eclipse.xtext.IGrammarAccess;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * Remembers the follow elements that the {@link IContentAssistParser content assist parser} computed for recent
+ * inputs, and for follow elements that need more lookahead. Repeated completion requests in the same region of a
+ * document, e.g. while a prefix is typed, do not need to parse the same input again.
+ * 
+ * The parsers are created per completion request, so the entries are keyed by the grammar instead of the parser. The
+ * keys contain the complete parsed input or the complete grammar state, so entries stay valid when the document
+ * changes. The cached inputs are limited by their total length.
+ * 
+ * @since 2.19
+ */
+@Singleton
+public class FollowElementCache {
+
+	private static final int MAX_INPUT_CHARACTERS = 1 << 20;
+
+	private static final int MAX_LOOKAHEAD_ELEMENTS = 1000;
+
+	@Inject(optional = true)
+	private IGrammarAccess grammarAccess;
+
+	private final Cache<List<Object>, Collection<FollowElement>> inputs = CacheBuilder.newBuilder()
+			.maximumWeight(MAX_INPUT_CHARACTERS).weigher(new Weigher<List<Object>, Collection<FollowElement>>() {
+				@Override
+				public int weigh(List<Object> key, Collection<FollowElement> value) {
+					return ((String) key.get(2)).length();
+				}
+			}).build();
+
+	private final Cache<List<Object>, Collection<FollowElement>> lookaheadElements = CacheBuilder.newBuilder()
+			.maximumSize(MAX_LOOKAHEAD_ELEMENTS).build();
+
+	/**
+	 * Returns the follow elements at the end of the given input.
+	 * 
+	 * @param entryRule
+	 *            the rule that the parser was {@link org.eclipse.xtext.ide.editor.partialEditing.IPartialEditingContentAssistParser
+	 *            initialized} for, or <code>null</code>.
+	 * @see IContentAssistParser#getFollowElements(String, boolean)
+	 */
+	public Collection<FollowElement> getFollowElements(IContentAssistParser parser, AbstractRule entryRule, String input,
+			boolean strict) {
+		List<Object> key = Arrays.<Object>asList(getGrammar(), entryRule, input, strict);
+		Collection<FollowElement> result = inputs.getIfPresent(key);
+		if (result == null) {
+			result = Collections.unmodifiableCollection(parser.getFollowElements(input, strict));
+			inputs.put(key, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the follow elements that the given element with a lookahead leads to.
+	 * 
+	 * @see IContentAssistParser#getFollowElements(FollowElement)
+	 */
+	public Collection<FollowElement> getFollowElements(IContentAssistParser parser, FollowElement element) {
+		List<Object> key = Arrays.<Object>asList(getGrammar(), element);
+		Collection<FollowElement> result = lookaheadElements.getIfPresent(key);
+		if (result == null) {
+			result = Collections.unmodifiableCollection(parser.getFollowElements(element));
+			lookaheadElements.put(key, result);
+		}
+		return result;
+	}
+
+	private Grammar getGrammar() {
+		return grammarAccess != null ? grammarAccess.getGrammar() : null;
+	}
+
+	public void clear() {
+		inputs.invalidateAll();
+		lookaheadElements.invalidateAll();
+	}
+
+}
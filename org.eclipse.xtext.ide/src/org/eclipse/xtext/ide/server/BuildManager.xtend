@@ -7,7 +7,7 @@
  *******************************************************************************/
 package org.eclipse.xtext.ide.server
 
-import com.google.common.collect.HashMultimap
+import com.google.common.collect.LinkedHashMultimap
 import com.google.inject.Inject
 import com.google.inject.Provider
 import java.util.ArrayList
@@ -34,6 +34,7 @@ class BuildManager {
     @Accessors(PUBLIC_SETTER)
     WorkspaceManager workspaceManager
     @Inject Provider<TopologicalSorter> sorterProvider
+    @Inject BuildScheduler buildScheduler
 
     val dirtyFiles = <URI>newLinkedHashSet
     val deletedFiles = <URI>newLinkedHashSet
@@ -70,24 +71,29 @@ class BuildManager {
 
     protected def List<IResourceDescription.Delta> internalBuild(CancelIndicator cancelIndicator) {
         val allDirty = new ArrayList(dirtyFiles)
-        val project2dirty = HashMultimap.<ProjectDescription, URI>create 
-        for(URI dirty: allDirty) {
+        val project2dirty = LinkedHashMultimap.<ProjectDescription, URI>create 
+        for(URI dirty: buildScheduler.prioritize(allDirty)[workspaceManager.isDocumentOpen(it)]) {
             val projectManager = workspaceManager.getProjectManager(dirty).projectDescription
             project2dirty.put(projectManager, dirty)
         }
-        val project2deleted = HashMultimap.<ProjectDescription, URI>create 
+        val project2deleted = LinkedHashMultimap.<ProjectDescription, URI>create 
         for(URI deleted: deletedFiles) {
             val projectManager = workspaceManager.getProjectManager(deleted).projectDescription
             project2deleted.put(projectManager, deleted)
         }
         val sortedDescriptions = sortByDependencies(project2dirty.keySet + project2deleted.keySet)
         for(ProjectDescription it: sortedDescriptions) {
+            // the files of the projects that have been built already are no longer queued,
+            // so a superseded build can stop here without losing its progress
+            buildScheduler.yieldPoint(cancelIndicator)
             val projectManager = workspaceManager.getProjectManager(name)
             val projectDirty = project2dirty.get(it).toList
             val projectDeleted = project2deleted.get(it).toList
             val partialResult = projectManager.doBuild(projectDirty, projectDeleted, unreportedDeltas, cancelIndicator)
             allDirty.addAll(partialResult.affectedResources.map[uri])
             this.dirtyFiles -= projectDirty
+            // resources whose processing has been canceled will be built with the next build
+            this.dirtyFiles += partialResult.pendingFiles
             this.deletedFiles -= projectDeleted
             // prior builds could have been canceled, so their result has not been returned,
             // but the projectManager already has updated its state
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sigasi N.V. (http://www.sigasi.com) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.server;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.service.OperationCanceledManager;
+import org.eclipse.xtext.util.CancelIndicator;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * Decides when and in which order the builds that are triggered by document and file changes are run.
+ *
+ * Change events queue their files in the {@link BuildManager} right away. If a {@link #setDebounceDelay(long)
+ * debounce delay} is set, the build itself is {@link #debounce(Runnable) debounced}: it is submitted once no new event
+ * has arrived for the debounce delay. A burst of events is thus coalesced into a single build. The waiting happens on
+ * a timer thread of this scheduler, so requests that are queued in the meantime are not held up. Debouncing is off by
+ * default, so the build runs as part of the change event, as clients and tests may expect.
+ *
+ * Within a build, {@link #prioritize(Collection, Predicate) open documents are processed first}, and the build
+ * {@link #yieldPoint(CancelIndicator) yields} between projects so that a superseded build gives up as early as
+ * possible without losing the progress made so far.
+ *
+ * @since 2.19
+ */
+@Singleton
+public class BuildScheduler {
+
+	/**
+	 * The default debounce delay in milliseconds. Debouncing is disabled by default.
+	 */
+	public static final long DEFAULT_DEBOUNCE_DELAY = 0;
+
+	@Inject
+	private OperationCanceledManager operationCanceledManager;
+
+	private volatile long debounceDelay = DEFAULT_DEBOUNCE_DELAY;
+
+	private ScheduledExecutorService timer;
+
+	private ScheduledFuture<?> pendingSubmission;
+
+	/**
+	 * The time in milliseconds that has to pass without further change events before a debounced build starts. A
+	 * value of <code>0</code> disables debouncing.
+	 */
+	public long getDebounceDelay() {
+		return debounceDelay;
+	}
+
+	public void setDebounceDelay(long debounceDelay) {
+		if (debounceDelay < 0) {
+			throw new IllegalArgumentException("The debounce delay must not be negative: " + debounceDelay);
+		}
+		this.debounceDelay = debounceDelay;
+	}
+
+	/**
+	 * Records a change event and runs the given submission, usually a write request that builds the queued files, once
+	 * no further change event has been recorded for the debounce delay. A submission that is still pending is dropped,
+	 * since the new one builds its files as well. Without a debounce delay, the submission is run right away on the
+	 * calling thread.
+	 */
+	public void debounce(Runnable submission) {
+		long delay = debounceDelay;
+		synchronized (this) {
+			if (pendingSubmission != null) {
+				pendingSubmission.cancel(false);
+				pendingSubmission = null;
+			}
+			if (delay > 0) {
+				pendingSubmission = getTimer().schedule(submission, delay, TimeUnit.MILLISECONDS);
+				return;
+			}
+		}
+		submission.run();
+	}
+
+	/**
+	 * Returns <code>true</code> if a debounced submission is waiting for the end of the debounce delay.
+	 */
+	public synchronized boolean hasPendingSubmission() {
+		return pendingSubmission != null && !pendingSubmission.isDone();
+	}
+
+	/**
+	 * Drops the pending submission and stops the timer thread.
+	 */
+	public synchronized void shutdown() {
+		if (pendingSubmission != null) {
+			pendingSubmission.cancel(false);
+			pendingSubmission = null;
+		}
+		if (timer != null) {
+			timer.shutdown();
+			timer = null;
+		}
+	}
+
+	private ScheduledExecutorService getTimer() {
+		if (timer == null) {
+			timer = Executors.newSingleThreadScheduledExecutor(
+					new ThreadFactoryBuilder().setDaemon(true).setNameFormat("BuildScheduler-Timer-%d").build());
+		}
+		return timer;
+	}
+
+	/**
+	 * Returns the given URIs such that the ones that are accepted by the given predicate, usually the documents that
+	 * are open in the client, come first. The relative order of the URIs is preserved otherwise.
+	 */
+	public List<URI> prioritize(Collection<URI> uris, Predicate<URI> isPreferred) {
+		List<URI> result = new ArrayList<>(uris.size());
+		List<URI> deferred = new ArrayList<>(uris.size());
+		for (URI uri : uris) {
+			if (isPreferred.test(uri)) {
+				result.add(uri);
+			} else {
+				deferred.add(uri);
+			}
+		}
+		result.addAll(deferred);
+		return result;
+	}
+
+	/**
+	 * Called by the build between independent units of work. Throws an operation canceled exception if the build has
+	 * been superseded. Work that has been completed before is kept.
+	 */
+	public void yieldPoint(CancelIndicator cancelIndicator) {
+		operationCanceledManager.checkCanceled(cancelIndicator);
+	}
+
+}
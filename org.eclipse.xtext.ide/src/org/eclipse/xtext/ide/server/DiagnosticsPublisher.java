@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sigasi N.V. (http://www.sigasi.com) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.server;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+
+/**
+ * Publishes diagnostics to the client, but only if they differ from the diagnostics that have been published for
+ * the same document before.
+ *
+ * Diagnostics that are {@link #publish(String, List) published} in between {@link #beginBatch()} and
+ * {@link #endBatch()} are collected and sent at the end of the batch, or as soon as {@link #getMaxBatchSize() enough
+ * documents} are pending. A document whose diagnostics change several times during a batch is thereby reported only
+ * once. Diagnostics that must not wait for the end of the batch can be sent with {@link #flush()}.
+ *
+ * @since 2.19
+ */
+public class DiagnosticsPublisher {
+
+	public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+	private final Map<String, List<Diagnostic>> published = new HashMap<>();
+
+	private final Map<String, List<Diagnostic>> pending = new LinkedHashMap<>();
+
+	private int batchDepth = 0;
+
+	private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+	private Consumer<? super PublishDiagnosticsParams> target;
+
+	/**
+	 * Sets the consumer that sends the diagnostics to the client.
+	 */
+	public synchronized void setTarget(Consumer<? super PublishDiagnosticsParams> target) {
+		this.target = target;
+	}
+
+	/**
+	 * Publishes the diagnostics for the document with the given URI, unless they are equal to the ones that have been
+	 * published before.
+	 */
+	public void publish(String uri, List<Diagnostic> diagnostics) {
+		synchronized (this) {
+			if (diagnostics.equals(published.get(uri))) {
+				pending.remove(uri);
+			} else {
+				pending.put(uri, diagnostics);
+			}
+			if (batchDepth > 0 && pending.size() < maxBatchSize) {
+				return;
+			}
+		}
+		flush();
+	}
+
+	/**
+	 * Forgets the diagnostics of the document with the given URI, e.g. because it has been deleted.
+	 */
+	public synchronized void forget(String uri) {
+		published.remove(uri);
+		pending.remove(uri);
+	}
+
+	public synchronized void beginBatch() {
+		batchDepth++;
+	}
+
+	/**
+	 * Ends the current batch. The collected diagnostics are sent if this has been the outermost batch.
+	 */
+	public void endBatch() {
+		synchronized (this) {
+			if (batchDepth <= 0) {
+				throw new IllegalStateException("endBatch() without beginBatch()");
+			}
+			if (--batchDepth > 0) {
+				return;
+			}
+		}
+		flush();
+	}
+
+	/**
+	 * Forgets the diagnostics that have been published, such that they are sent again the next time.
+	 */
+	public synchronized void reset() {
+		published.clear();
+		pending.clear();
+	}
+
+	/**
+	 * The number of documents with pending diagnostics at which these are sent even though a batch is running.
+	 */
+	public synchronized int getMaxBatchSize() {
+		return maxBatchSize;
+	}
+
+	public synchronized void setMaxBatchSize(int maxBatchSize) {
+		if (maxBatchSize < 1) {
+			throw new IllegalArgumentException("The maximum batch size must be positive: " + maxBatchSize);
+		}
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	/**
+	 * Sends the pending diagnostics now, even if a batch is running.
+	 */
+	public void flush() {
+		List<PublishDiagnosticsParams> toSend;
+		Consumer<? super PublishDiagnosticsParams> target;
+		synchronized (this) {
+			if (pending.isEmpty()) {
+				return;
+			}
+			toSend = new ArrayList<>(pending.size());
+			for (Map.Entry<String, List<Diagnostic>> entry : pending.entrySet()) {
+				toSend.add(new PublishDiagnosticsParams(entry.getKey(), entry.getValue()));
+			}
+			published.putAll(pending);
+			pending.clear();
+			target = this.target;
+		}
+		if (target != null) {
+			for (PublishDiagnosticsParams params : toSend) {
+				target.accept(params);
+			}
+		}
+	}
+
+}
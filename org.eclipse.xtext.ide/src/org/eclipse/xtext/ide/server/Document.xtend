@@ -83,6 +83,31 @@ import org.eclipse.lsp4j.TextDocumentContentChangeEvent
         return new Position(line, column)
     }
 
+    /**
+     * Returns the position of the given offset. Instead of scanning the document from its beginning, the position is
+     * computed relative to the given position of a preceding offset, e.g. the start of a range.
+     *
+     * @since 2.19
+     */
+    def Position getPosition(Position knownPosition, int knownOffset, int offset) throws IndexOutOfBoundsException {
+        val l = contents.length
+        if (knownOffset < 0 || offset < knownOffset || offset > l)
+            throw new IndexOutOfBoundsException(offset + if (printSourceOnError) "" else (" text was : " + contents))
+
+        val char NL = '\n'
+        var line = knownPosition.line
+        var column = knownPosition.character
+        for (var i = knownOffset; i < offset; i++) {
+            if (contents.charAt(i) === NL) {
+                line++
+                column = 0
+            } else {
+                column++
+            }
+        }
+        return new Position(line, column)
+    }
+
     /**
      * Returns with the text for a certain line without the trailing LF. Throws an {@link IndexOutOfBoundsException} if the zero-based {@code lineNumber}
      * argument is negative or exceeds the number of lines in the document.
@@ -46,7 +46,7 @@ import org.eclipse.lsp4j.InitializeParams
 import org.eclipse.lsp4j.InitializeResult
 import org.eclipse.lsp4j.InitializedParams
 import org.eclipse.lsp4j.Location
-import org.eclipse.lsp4j.PublishDiagnosticsParams
+import org.eclipse.lsp4j.Position
 import org.eclipse.lsp4j.Range
 import org.eclipse.lsp4j.ReferenceParams
 import org.eclipse.lsp4j.RenameOptions
@@ -118,6 +118,8 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 	@Inject ExecutableCommandRegistry commandRegistry
 	@Inject SemanticHighlightingRegistry semanticHighlightingRegistry
 	@Inject ILanguageServerShutdownAndExitHandler shutdownAndExitHandler
+	@Inject BuildScheduler buildScheduler
+	@Inject DiagnosticsPublisher diagnosticsPublisher
 	
 	// injected below
 	WorkspaceManager workspaceManager
@@ -203,6 +205,12 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 		
 		access.addBuildListener(this);
 		
+		diagnosticsPublisher.target = [ diagnostics |
+			initialized.thenAccept [
+				client.publishDiagnostics(diagnostics)
+			]
+		]
+		diagnosticsPublisher.reset
 		return requestManager.runWrite([
 			workspaceManager.initialize(baseDir, [this.publishDiagnostics($0, $1)], CancelIndicator.NullImpl)
 			return null
@@ -240,6 +248,7 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 	}
 
 	override CompletableFuture<Object> shutdown() {
+		buildScheduler.shutdown
 		shutdownAndExitHandler.shutdown()
 		return CompletableFuture.completedFuture(new Object());
 	}
@@ -258,7 +267,7 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 		requestManager.runWrite([
 			workspaceManager.didOpen(params.textDocument.uri.toUri, params.textDocument.version, params.textDocument.text)
 		], [cancelIndicator , buildable | 
-			buildable.build(cancelIndicator)
+			batchDiagnostics [buildable.build(cancelIndicator)]
 		])
 	}
 
@@ -266,7 +275,7 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 		requestManager.runWrite([ 
 			workspaceManager.didChangeTextDocumentContent(params.textDocument.uri.toUri, params.textDocument.version, params.contentChanges)
 		], [cancelIndicator , buildable | 
-			buildable.build(cancelIndicator)
+			buildDebounced(buildable, cancelIndicator)
 		])
 	}
 
@@ -274,7 +283,7 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 		requestManager.runWrite([
 			workspaceManager.didClose(params.textDocument.uri.toUri)
 		], [cancelIndicator , buildable | 
-			buildable.build(cancelIndicator)
+			batchDiagnostics [buildable.build(cancelIndicator)]
 		])
 	}
 
@@ -298,9 +307,28 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 			]
 			return workspaceManager.didChangeFiles(dirtyFiles, deletedFiles)
 		], [ cancelIndicator, buildable |
-			buildable.build(cancelIndicator)
+			buildDebounced(buildable, cancelIndicator)
 		])
 	}
+
+	/**
+	 * Builds the files that a change event has queued once the {@link BuildScheduler} considers the burst of change
+	 * events to be over. The build is submitted as a new write request, so the request queue is not blocked while the
+	 * scheduler waits.
+	 * 
+	 * @since 2.19
+	 */
+	protected def List<Delta> buildDebounced(BuildManager.Buildable buildable, CancelIndicator cancelIndicator) {
+		if (buildScheduler.debounceDelay <= 0) {
+			return batchDiagnostics [buildable.build(cancelIndicator)]
+		}
+		buildScheduler.debounce [
+			requestManager.runWrite([buildable], [ debouncedCancelIndicator, it |
+				batchDiagnostics [build(debouncedCancelIndicator)]
+			])
+		]
+		return emptyList
+	}
 	
 	override didChangeConfiguration(DidChangeConfigurationParams params) {
 		requestManager.runWrite([
@@ -315,20 +343,34 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 	
 	LanguageClient client
 
+	/**
+	 * Collects the diagnostics that are published by the given work and sends the changed ones to the client
+	 * afterwards. The diagnostics of open documents, which are built in the prioritized phase of a build, and
+	 * batches that exceed the {@link DiagnosticsPublisher#getMaxBatchSize() maximum size} are sent right away.
+	 * 
+	 * @since 2.19
+	 */
+	protected def <T> T batchDiagnostics(()=>T work) {
+		diagnosticsPublisher.beginBatch
+		try {
+			return work.apply
+		} finally {
+			diagnosticsPublisher.endBatch
+		}
+	}
+
 	private def void publishDiagnostics(URI uri, Iterable<? extends Issue> issues) {
-		initialized.thenAccept([
-			val diagnostics = new PublishDiagnosticsParams => [
-				it.uri = toUriString(uri)
-				if (issues.isEmpty) {
-					diagnostics = #[]
-				} else {
-					diagnostics = workspaceManager.doRead(uri) [document, resource|
-						issues.filter[severity !== IGNORE].map[toDiagnostic(document, it)].toList
-					]
-				}
+		val List<Diagnostic> diagnostics = if (issues.isEmpty) {
+			#[]
+		} else {
+			workspaceManager.doRead(uri) [document, resource|
+				issues.filter[severity !== IGNORE].map[toDiagnostic(document, it)].toList
 			]
-			client.publishDiagnostics(diagnostics)
-		])
+		}
+		diagnosticsPublisher.publish(toUriString(uri), diagnostics)
+		if (workspaceManager.isDocumentOpen(uri)) {
+			diagnosticsPublisher.flush
+		}
 	}
 
 	private def Diagnostic toDiagnostic(Document document, Issue issue) {
@@ -341,8 +383,12 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 				default: DiagnosticSeverity.Hint
 			}
 			message = issue.message
-			val start = document.getPosition(issue.offset)
-			val end = document.getPosition(issue.offset+issue.length)
+			// the issue knows its line and column already, so only the range itself has to be scanned
+			val start = if (issue.lineNumber !== null && issue.lineNumber > 0 && issue.column !== null && issue.column > 0)
+					new Position(issue.lineNumber - 1, issue.column - 1)
+				else
+					document.getPosition(issue.offset)
+			val end = document.getPosition(start, issue.offset, issue.offset + issue.length)
 			range = new Range(
 				start,
 				end
@@ -782,6 +828,9 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 	}
 	
 	override afterBuild(List<Delta> deltas) {
+		deltas.filter[^new === null].forEach [
+			diagnosticsPublisher.forget(toUriString(uri))
+		]
 		deltas.filter[^new !== null].map[uri.toString].forEach [
 				access.<Void>doRead(it) [ ctx |
 					if (ctx.documentOpen) {
@@ -104,6 +104,7 @@ class ProjectManager {
                 issueAcceptor.apply(uri, issues)
                 return true
             ]
+            priorityHint = [openedDocumentsContentProvider.hasContent(it)]
             it.cancelIndicator = cancelIndicator
         ]
     }
@@ -40,26 +40,26 @@ class RequestManager {
 		cancel()
 	}
 
-	def <V> CompletableFuture<V> runRead((CancelIndicator)=>V cancellable) {
+	synchronized def <V> CompletableFuture<V> runRead((CancelIndicator)=>V cancellable) {
 		return submit(
 			new ReadRequest(cancellable, parallel)
 		)
 	}
 
-	def <U, V> CompletableFuture<V> runWrite(()=>U nonCancellable, (CancelIndicator, U)=>V cancellable) {
+	synchronized def <U, V> CompletableFuture<V> runWrite(()=>U nonCancellable, (CancelIndicator, U)=>V cancellable) {
 		val cancelFuture = cancel()
 		return submit(
 			new WriteRequest(nonCancellable, cancellable, cancelFuture)
 		)
 	}
 
-	protected def <V> CompletableFuture<V> submit(AbstractRequest<V> request) {
+	protected synchronized def <V> CompletableFuture<V> submit(AbstractRequest<V> request) {
 		requests += request
 		queue.submit(request)
 		return request.get
 	}
 
-	protected def CompletableFuture<Void> cancel() {
+	protected synchronized def CompletableFuture<Void> cancel() {
 		val localRequests = requests
 		requests = newArrayList
 
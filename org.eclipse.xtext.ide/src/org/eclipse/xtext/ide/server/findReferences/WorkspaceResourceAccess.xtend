@@ -32,4 +32,13 @@ class WorkspaceResourceAccess implements IResourceAccess {
 		]
 	}
 
+	/**
+	 * Whether the resource is open in the client, i.e. its content may differ from what has been indexed.
+	 * 
+	 * @since 2.19
+	 */
+	def boolean isDocumentOpen(URI resourceURI) {
+		return workspaceManager.isDocumentOpen(resourceURI)
+	}
+
 }
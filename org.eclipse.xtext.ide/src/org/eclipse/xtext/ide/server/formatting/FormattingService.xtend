@@ -12,10 +12,12 @@ import com.google.inject.Provider
 import java.util.List
 import org.eclipse.lsp4j.DocumentFormattingParams
 import org.eclipse.lsp4j.DocumentRangeFormattingParams
+import org.eclipse.lsp4j.Position
 import org.eclipse.lsp4j.Range
 import org.eclipse.lsp4j.TextEdit
 import org.eclipse.xtext.formatting2.FormatterRequest
 import org.eclipse.xtext.formatting2.IFormatter2
+import org.eclipse.xtext.formatting2.regionaccess.ITextReplacement
 import org.eclipse.xtext.formatting2.regionaccess.TextRegionAccessBuilder
 import org.eclipse.xtext.ide.server.Document
 import org.eclipse.xtext.preferences.ITypedPreferenceValues
@@ -99,9 +101,7 @@ class FormattingService {
 			val preferences = new MapBasedPreferenceValues()
 			preferences.put("indentation", indent)
 			val replacements = format2(resource, new TextRegion(offset, length), preferences)
-			return replacements.map [ r |
-				document.toTextEdit(r.replacementText, r.offset, r.length)
-			].<TextEdit>toList
+			return document.toTextEdits(replacements)
 		} else {
 			return <TextEdit>newArrayList
 		}
@@ -118,6 +118,29 @@ class FormattingService {
 		]
 	}
 
+	/**
+	 * Converts the replacements to text edits. The positions are computed in the order of the offsets, each relative
+	 * to the end of the preceding replacement, such that the document is scanned only once.
+	 * 
+	 * @since 2.19
+	 */
+	protected def List<TextEdit> toTextEdits(Document document, List<ITextReplacement> replacements) {
+		val result = <TextEdit>newArrayList
+		var Position position = null
+		var positionOffset = 0
+		for (r : replacements.sortBy[offset]) {
+			val start = if (position === null)
+					document.getPosition(r.offset)
+				else
+					document.getPosition(position, positionOffset, r.offset)
+			val end = document.getPosition(start, r.offset, r.endOffset)
+			result += new TextEdit(new Range(start, end), r.replacementText)
+			position = end
+			positionOffset = r.endOffset
+		}
+		return result
+	}
+
 	protected def format2(XtextResource resource, ITextRegion selection, ITypedPreferenceValues preferences) {
 		val request = formatterRequestProvider.get()
 		request.allowIdentityEdits = false
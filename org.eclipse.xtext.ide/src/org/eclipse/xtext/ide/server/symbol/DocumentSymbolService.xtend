@@ -7,6 +7,7 @@
  *******************************************************************************/
 package org.eclipse.xtext.ide.server.symbol
 
+import com.google.common.collect.Maps
 import com.google.common.graph.Traverser
 import com.google.inject.Inject
 import com.google.inject.Provider
@@ -18,6 +19,8 @@ import org.eclipse.emf.ecore.EObject
 import org.eclipse.lsp4j.DocumentSymbol
 import org.eclipse.lsp4j.DocumentSymbolParams
 import org.eclipse.lsp4j.Location
+import org.eclipse.lsp4j.Position
+import org.eclipse.lsp4j.Range
 import org.eclipse.lsp4j.ReferenceParams
 import org.eclipse.lsp4j.SymbolInformation
 import org.eclipse.lsp4j.SymbolKind
@@ -31,6 +34,7 @@ import org.eclipse.xtext.findReferences.TargetURIs
 import org.eclipse.xtext.ide.server.Document
 import org.eclipse.xtext.ide.server.DocumentExtensions
 import org.eclipse.xtext.ide.server.UriExtensions
+import org.eclipse.xtext.ide.server.findReferences.WorkspaceResourceAccess
 import org.eclipse.xtext.ide.util.CancelIndicatorProgressMonitor
 import org.eclipse.xtext.naming.IQualifiedNameProvider
 import org.eclipse.xtext.naming.QualifiedName
@@ -39,6 +43,7 @@ import org.eclipse.xtext.resource.IEObjectDescription
 import org.eclipse.xtext.resource.IResourceDescription
 import org.eclipse.xtext.resource.IResourceDescriptions
 import org.eclipse.xtext.resource.IResourceServiceProvider
+import org.eclipse.xtext.resource.SourceRange
 import org.eclipse.xtext.resource.XtextResource
 import org.eclipse.xtext.service.OperationCanceledManager
 import org.eclipse.xtext.util.CancelIndicator
@@ -80,6 +85,9 @@ class DocumentSymbolService implements IDocumentSymbolService {
 	@Inject
 	HierarchicalDocumentSymbolService hierarchicalDocumentSymbolService
 
+	/** Source ranges of the index are not used if {@link #getSymbolLocation(EObject)} is overridden. */
+	val boolean indexedSymbolLocations = !isSymbolLocationOverridden(this.class)
+
 	def List<? extends Location> getDefinitions(
 		Document document,
 		XtextResource resource,
@@ -153,11 +161,16 @@ class DocumentSymbolService implements IDocumentSymbolService {
 			resourceAccess,
 			indexData,
 			new ReferenceAcceptor(resourceServiceProviderRegistry) [ reference |
-				resourceAccess.doRead(reference.sourceEObjectUri) [ obj |
-					val location = obj.newLocation(reference.EReference, reference.indexInList)
-					if (location !== null)
-						locations += location
-				]
+				val indexedLocation = newLocation(reference.sourceEObjectUri, SourceRange.of(reference), resourceAccess)
+				if (indexedLocation !== null) {
+					locations += indexedLocation
+				} else {
+					resourceAccess.doRead(reference.sourceEObjectUri) [ obj |
+						val location = obj.newLocation(reference.EReference, reference.indexInList)
+						if (location !== null)
+							locations += location
+					]
+				}
 			],
 			new CancelIndicatorProgressMonitor(cancelIndicator)
 		)
@@ -183,15 +196,17 @@ class DocumentSymbolService implements IDocumentSymbolService {
 		val uri = resource.URI.toUriString
 		val infos = newArrayList
 		val rootSymbols = hierarchicalDocumentSymbolService.getSymbols(resource, cancelIndicator).map[getRight]
-		rootSymbols.forEach[ rootSymbol |
-			val symbols = Traverser.<DocumentSymbol>forTree([children]).depthFirstPreOrder(rootSymbol)
-			val (DocumentSymbol)=>String containerNameProvider = [ symbol |
-				return symbols.findFirst [
-					it !== symbol && !children.nullOrEmpty && children.contains(symbol)
-				]?.name
-			]
-			infos.addAll(symbols.map[createSymbol(uri, it, containerNameProvider)])
-		]
+		// The parent of a symbol is visited before the symbol itself, so its name is known when the symbol is created
+		val containerNames = Maps.<DocumentSymbol, String>newIdentityHashMap
+		val (DocumentSymbol)=>String containerNameProvider = [containerNames.get(it)]
+		for (rootSymbol : rootSymbols) {
+			for (symbol : Traverser.<DocumentSymbol>forTree([children]).depthFirstPreOrder(rootSymbol)) {
+				for (child : symbol.children) {
+					containerNames.put(child, symbol.name)
+				}
+				infos += createSymbol(uri, symbol, containerNameProvider)
+			}
+		}
 		return infos.map[Either.<SymbolInformation, DocumentSymbol>forLeft(it)]
 	}
 
@@ -309,6 +324,13 @@ class DocumentSymbolService implements IDocumentSymbolService {
 		IResourceAccess resourceAccess,
 		(Location)=>void acceptor
 	) {
+		if (indexedSymbolLocations) {
+			val indexedLocation = newLocation(description.EObjectURI, SourceRange.of(description), resourceAccess)
+			if (indexedLocation !== null) {
+				acceptor.apply(indexedLocation)
+				return
+			}
+		}
 		resourceAccess.doRead(description.EObjectURI) [ obj |
 			val location = obj.symbolLocation
 			if (location !== null) {
@@ -317,6 +339,48 @@ class DocumentSymbolService implements IDocumentSymbolService {
 		]
 	}
 
+	private static def boolean isSymbolLocationOverridden(Class<?> clazz) {
+		var Class<?> c = clazz
+		while (c !== DocumentSymbolService) {
+			try {
+				c.getDeclaredMethod('getSymbolLocation', EObject)
+				return true
+			} catch (NoSuchMethodException e) {
+				// not overridden here
+			}
+			c = c.superclass
+		}
+		return false
+	}
+
+	/**
+	 * Creates a location from a source range that has been recorded in the index, such that the resource doesn't have
+	 * to be loaded. Returns <code>null</code> if there is no such range or if the resource is
+	 * {@link #isDirty(URI, IResourceAccess) dirty}.
+	 * 
+	 * @since 2.19
+	 */
+	protected def Location newLocation(URI objectURI, SourceRange range, IResourceAccess resourceAccess) {
+		if (range === null)
+			return null
+		val resourceURI = objectURI.trimFragment
+		if (resourceURI.isDirty(resourceAccess))
+			return null
+		val start = new Position(range.line, range.column)
+		val end = new Position(range.endLine, range.endColumn)
+		return new Location(resourceURI.toUriString, new Range(start, end))
+	}
+
+	/**
+	 * Whether the content of the resource may differ from the one that has been indexed.
+	 * 
+	 * @since 2.19
+	 */
+	protected def boolean isDirty(URI resourceURI, IResourceAccess resourceAccess) {
+		return resourceAccess instanceof WorkspaceResourceAccess
+			&& (resourceAccess as WorkspaceResourceAccess).isDocumentOpen(resourceURI)
+	}
+
 	protected def String getSymbolName(QualifiedName qualifiedName) {
 		return qualifiedName?.toString
 	}
@@ -11,7 +11,9 @@ import com.google.common.annotations.Beta
 import com.google.common.base.Optional
 import com.google.inject.Inject
 import com.google.inject.Singleton
+import java.lang.reflect.Field
 import java.util.Iterator
+import java.util.List
 import org.eclipse.emf.ecore.EObject
 import org.eclipse.emf.ecore.resource.Resource
 import org.eclipse.emf.ecore.util.EcoreUtil
@@ -33,6 +35,13 @@ import org.eclipse.xtext.util.CancelIndicator
 @Singleton
 class HierarchicalDocumentSymbolService implements IDocumentSymbolService {
 
+	static val String SYMBOLS_CACHE_KEY = HierarchicalDocumentSymbolService.name + '.symbols'
+
+	static val List<Field> NON_NULL_FIELDS = DocumentSymbol.declaredFields
+		.filter[annotations.exists[annotationType === NonNull]]
+		.map[accessible = true; it]
+		.toList
+
 	@Inject
 	DocumentSymbolMapper symbolMapper;
 
@@ -44,11 +53,7 @@ class HierarchicalDocumentSymbolService implements IDocumentSymbolService {
 	 * are {@code null}. Otherwise, {@code true}.
 	 */
 	static def boolean isValid(DocumentSymbol symbol) {
-		return symbol !== null && !DocumentSymbol.declaredFields
-			.filter[annotations.exists[annotationType === NonNull]]
-			.map[accessible = true; it]
-			.map[get(symbol)]
-			.exists[it === null];
+		return symbol !== null && !NON_NULL_FIELDS.exists[get(symbol) === null];
 	}
 
 	override getSymbols(Document document, XtextResource resource, DocumentSymbolParams params,
@@ -58,6 +63,19 @@ class HierarchicalDocumentSymbolService implements IDocumentSymbolService {
 	}
 
 	def getSymbols(XtextResource resource, CancelIndicator cancelIndicator) {
+		val rootSymbols = resource.cache.get(SYMBOLS_CACHE_KEY, resource) [
+			computeSymbols(resource, cancelIndicator)
+		];
+		return rootSymbols.map[Either.<SymbolInformation, DocumentSymbol>forRight(it)];
+	}
+
+	/**
+	 * Computes the root symbols of the resource. The result is cached until the resource changes, so the returned
+	 * symbols must not be modified by clients.
+	 * 
+	 * @since 2.19
+	 */
+	protected def List<DocumentSymbol> computeSymbols(XtextResource resource, CancelIndicator cancelIndicator) {
 		val allSymbols = newHashMap;
 		val rootSymbols = newArrayList;
 		val itr = getAllContents(resource);
@@ -89,7 +107,7 @@ class HierarchicalDocumentSymbolService implements IDocumentSymbolService {
 				}
 			}
 		}
-		return rootSymbols.map[Either.<SymbolInformation, DocumentSymbol>forRight(it)];
+		return rootSymbols;
 	}
 
 	protected def Iterator<Object> getAllContents(Resource resource) {
@@ -7,8 +7,8 @@
  */
 package org.eclipse.xtext.ide.server;
 
-import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.LinkedHashMultimap;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import java.util.ArrayList;
@@ -18,12 +18,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.xtend.lib.annotations.AccessorType;
 import org.eclipse.xtend.lib.annotations.Accessors;
 import org.eclipse.xtend.lib.annotations.Data;
 import org.eclipse.xtext.build.IncrementalBuilder;
 import org.eclipse.xtext.diagnostics.Severity;
+import org.eclipse.xtext.ide.server.BuildScheduler;
 import org.eclipse.xtext.ide.server.ProjectManager;
 import org.eclipse.xtext.ide.server.TopologicalSorter;
 import org.eclipse.xtext.ide.server.WorkspaceManager;
@@ -121,6 +123,9 @@ public class BuildManager {
   @Inject
   private Provider<TopologicalSorter> sorterProvider;
   
+  @Inject
+  private BuildScheduler buildScheduler;
+  
   private final LinkedHashSet<URI> dirtyFiles = CollectionLiterals.<URI>newLinkedHashSet();
   
   private final LinkedHashSet<URI> deletedFiles = CollectionLiterals.<URI>newLinkedHashSet();
@@ -163,14 +168,18 @@ public class BuildManager {
   
   protected List<IResourceDescription.Delta> internalBuild(final CancelIndicator cancelIndicator) {
     final ArrayList<URI> allDirty = new ArrayList<URI>(this.dirtyFiles);
-    final HashMultimap<ProjectDescription, URI> project2dirty = HashMultimap.<ProjectDescription, URI>create();
-    for (final URI dirty : allDirty) {
+    final LinkedHashMultimap<ProjectDescription, URI> project2dirty = LinkedHashMultimap.<ProjectDescription, URI>create();
+    final Predicate<URI> _function = (URI it) -> {
+      return this.workspaceManager.isDocumentOpen(it);
+    };
+    List<URI> _prioritize = this.buildScheduler.prioritize(allDirty, _function);
+    for (final URI dirty : _prioritize) {
       {
         final ProjectDescription projectManager = this.workspaceManager.getProjectManager(dirty).getProjectDescription();
         project2dirty.put(projectManager, dirty);
       }
     }
-    final HashMultimap<ProjectDescription, URI> project2deleted = HashMultimap.<ProjectDescription, URI>create();
+    final LinkedHashMultimap<ProjectDescription, URI> project2deleted = LinkedHashMultimap.<ProjectDescription, URI>create();
     for (final URI deleted : this.deletedFiles) {
       {
         final ProjectDescription projectManager = this.workspaceManager.getProjectManager(deleted).getProjectDescription();
@@ -183,15 +192,18 @@ public class BuildManager {
     final List<ProjectDescription> sortedDescriptions = this.sortByDependencies(_plus);
     for (final ProjectDescription it : sortedDescriptions) {
       {
+        this.buildScheduler.yieldPoint(cancelIndicator);
         final ProjectManager projectManager = this.workspaceManager.getProjectManager(it.getName());
         final List<URI> projectDirty = IterableExtensions.<URI>toList(project2dirty.get(it));
         final List<URI> projectDeleted = IterableExtensions.<URI>toList(project2deleted.get(it));
         final IncrementalBuilder.Result partialResult = projectManager.doBuild(projectDirty, projectDeleted, this.unreportedDeltas, cancelIndicator);
-        final Function1<IResourceDescription.Delta, URI> _function = (IResourceDescription.Delta it_1) -> {
+        final Function1<IResourceDescription.Delta, URI> _function_1 = (IResourceDescription.Delta it_1) -> {
           return it_1.getUri();
         };
-        allDirty.addAll(ListExtensions.<IResourceDescription.Delta, URI>map(partialResult.getAffectedResources(), _function));
+        allDirty.addAll(ListExtensions.<IResourceDescription.Delta, URI>map(partialResult.getAffectedResources(), _function_1));
         Iterables.removeAll(this.dirtyFiles, projectDirty);
+        List<URI> _pendingFiles = partialResult.getPendingFiles();
+        Iterables.<URI>addAll(this.dirtyFiles, _pendingFiles);
         Iterables.removeAll(this.deletedFiles, projectDeleted);
         this.mergeWithUnreportedDeltas(partialResult.getAffectedResources());
       }
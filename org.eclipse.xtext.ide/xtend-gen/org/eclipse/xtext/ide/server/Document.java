@@ -107,6 +107,40 @@ public class Document {
     return new Position(line, column);
   }
   
+  /**
+   * Returns the position of the given offset. Instead of scanning the document from its beginning, the position is
+   * computed relative to the given position of a preceding offset, e.g. the start of a range.
+   * 
+   * @since 2.19
+   */
+  public Position getPosition(final Position knownPosition, final int knownOffset, final int offset) throws IndexOutOfBoundsException {
+    final int l = this.contents.length();
+    if ((((knownOffset < 0) || (offset < knownOffset)) || (offset > l))) {
+      String _xifexpression = null;
+      if (this.printSourceOnError) {
+        _xifexpression = "";
+      } else {
+        _xifexpression = (" text was : " + this.contents);
+      }
+      String _plus = (Integer.valueOf(offset) + _xifexpression);
+      throw new IndexOutOfBoundsException(_plus);
+    }
+    final char NL = '\n';
+    int line = knownPosition.getLine();
+    int column = knownPosition.getCharacter();
+    for (int i = knownOffset; (i < offset); i++) {
+      char _charAt = this.contents.charAt(i);
+      boolean _tripleEquals = (_charAt == NL);
+      if (_tripleEquals) {
+        line++;
+        column = 0;
+      } else {
+        column++;
+      }
+    }
+    return new Position(line, column);
+  }
+  
   /**
    * Returns with the text for a certain line without the trailing LF. Throws an {@link IndexOutOfBoundsException} if the zero-based {@code lineNumber}
    * argument is negative or exceeds the number of lines in the document.
@@ -104,6 +104,8 @@ import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor;
 import org.eclipse.xtext.diagnostics.Severity;
 import org.eclipse.xtext.findReferences.IReferenceFinder;
 import org.eclipse.xtext.ide.server.BuildManager;
+import org.eclipse.xtext.ide.server.BuildScheduler;
+import org.eclipse.xtext.ide.server.DiagnosticsPublisher;
 import org.eclipse.xtext.ide.server.Document;
 import org.eclipse.xtext.ide.server.ICapabilitiesContributor;
 import org.eclipse.xtext.ide.server.ILanguageServerAccess;
@@ -207,6 +209,12 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
   @Inject
   private ILanguageServerShutdownAndExitHandler shutdownAndExitHandler;
   
+  @Inject
+  private BuildScheduler buildScheduler;
+  
+  @Inject
+  private DiagnosticsPublisher diagnosticsPublisher;
+  
   private WorkspaceManager workspaceManager;
   
   private InitializeParams params;
@@ -352,21 +360,29 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
     }
     result.setCapabilities(capabilities);
     this.access.addBuildListener(this);
-    final Function0<Object> _function_1 = () -> {
-      final Procedure2<URI, Iterable<Issue>> _function_2 = (URI $0, Iterable<Issue> $1) -> {
+    final Consumer<PublishDiagnosticsParams> _function_1 = (PublishDiagnosticsParams diagnostics) -> {
+      final Consumer<InitializedParams> _function_2 = (InitializedParams it) -> {
+        this.client.publishDiagnostics(diagnostics);
+      };
+      this.initialized.thenAccept(_function_2);
+    };
+    this.diagnosticsPublisher.setTarget(_function_1);
+    this.diagnosticsPublisher.reset();
+    final Function0<Object> _function_2 = () -> {
+      final Procedure2<URI, Iterable<Issue>> _function_3 = (URI $0, Iterable<Issue> $1) -> {
         this.publishDiagnostics($0, $1);
       };
-      this.workspaceManager.initialize(baseDir, _function_2, CancelIndicator.NullImpl);
+      this.workspaceManager.initialize(baseDir, _function_3, CancelIndicator.NullImpl);
       return null;
     };
-    final Function2<CancelIndicator, Object, Object> _function_2 = (CancelIndicator $0, Object $1) -> {
+    final Function2<CancelIndicator, Object, Object> _function_4 = (CancelIndicator $0, Object $1) -> {
       return null;
     };
-    final Function<Object, InitializeResult> _function_3 = (Object it) -> {
+    final Function<Object, InitializeResult> _function_5 = (Object it) -> {
       this.initializeResult = result;
       return result;
     };
-    return this.requestManager.<Object, Object>runWrite(_function_1, _function_2).<InitializeResult>thenApply(_function_3);
+    return this.requestManager.<Object, Object>runWrite(_function_2, _function_4).<InitializeResult>thenApply(_function_5);
   }
   
   @Override
@@ -405,6 +421,7 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
   
   @Override
   public CompletableFuture<Object> shutdown() {
+    this.buildScheduler.shutdown();
     this.shutdownAndExitHandler.shutdown();
     Object _object = new Object();
     return CompletableFuture.<Object>completedFuture(_object);
@@ -426,7 +443,10 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       return this.workspaceManager.didOpen(this._uriExtensions.toUri(params.getTextDocument().getUri()), Integer.valueOf(params.getTextDocument().getVersion()), params.getTextDocument().getText());
     };
     final Function2<CancelIndicator, BuildManager.Buildable, List<IResourceDescription.Delta>> _function_1 = (CancelIndicator cancelIndicator, BuildManager.Buildable buildable) -> {
-      return buildable.build(cancelIndicator);
+      final Function0<List<IResourceDescription.Delta>> _function_2 = () -> {
+        return buildable.build(cancelIndicator);
+      };
+      return this.<List<IResourceDescription.Delta>>batchDiagnostics(_function_2);
     };
     this.requestManager.<BuildManager.Buildable, List<IResourceDescription.Delta>>runWrite(_function, _function_1);
   }
@@ -437,7 +457,7 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       return this.workspaceManager.didChangeTextDocumentContent(this._uriExtensions.toUri(params.getTextDocument().getUri()), params.getTextDocument().getVersion(), params.getContentChanges());
     };
     final Function2<CancelIndicator, BuildManager.Buildable, List<IResourceDescription.Delta>> _function_1 = (CancelIndicator cancelIndicator, BuildManager.Buildable buildable) -> {
-      return buildable.build(cancelIndicator);
+      return this.buildDebounced(buildable, cancelIndicator);
     };
     this.requestManager.<BuildManager.Buildable, List<IResourceDescription.Delta>>runWrite(_function, _function_1);
   }
@@ -448,7 +468,10 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       return this.workspaceManager.didClose(this._uriExtensions.toUri(params.getTextDocument().getUri()));
     };
     final Function2<CancelIndicator, BuildManager.Buildable, List<IResourceDescription.Delta>> _function_1 = (CancelIndicator cancelIndicator, BuildManager.Buildable buildable) -> {
-      return buildable.build(cancelIndicator);
+      final Function0<List<IResourceDescription.Delta>> _function_2 = () -> {
+        return buildable.build(cancelIndicator);
+      };
+      return this.<List<IResourceDescription.Delta>>batchDiagnostics(_function_2);
     };
     this.requestManager.<BuildManager.Buildable, List<IResourceDescription.Delta>>runWrite(_function, _function_1);
   }
@@ -486,11 +509,43 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       return this.workspaceManager.didChangeFiles(dirtyFiles, deletedFiles);
     };
     final Function2<CancelIndicator, BuildManager.Buildable, List<IResourceDescription.Delta>> _function_1 = (CancelIndicator cancelIndicator, BuildManager.Buildable buildable) -> {
-      return buildable.build(cancelIndicator);
+      return this.buildDebounced(buildable, cancelIndicator);
     };
     this.requestManager.<BuildManager.Buildable, List<IResourceDescription.Delta>>runWrite(_function, _function_1);
   }
   
+  /**
+   * Builds the files that a change event has queued once the {@link BuildScheduler} considers the burst of change
+   * events to be over. The build is submitted as a new write request, so the request queue is not blocked while the
+   * scheduler waits.
+   * 
+   * @since 2.19
+   */
+  protected List<IResourceDescription.Delta> buildDebounced(final BuildManager.Buildable buildable, final CancelIndicator cancelIndicator) {
+    long _debounceDelay = this.buildScheduler.getDebounceDelay();
+    boolean _lessEqualsThan = (_debounceDelay <= 0);
+    if (_lessEqualsThan) {
+      final Function0<List<IResourceDescription.Delta>> _function = () -> {
+        return buildable.build(cancelIndicator);
+      };
+      return this.<List<IResourceDescription.Delta>>batchDiagnostics(_function);
+    }
+    final Runnable _function_1 = () -> {
+      final Function0<BuildManager.Buildable> _function_2 = () -> {
+        return buildable;
+      };
+      final Function2<CancelIndicator, BuildManager.Buildable, List<IResourceDescription.Delta>> _function_3 = (CancelIndicator debouncedCancelIndicator, BuildManager.Buildable it) -> {
+        final Function0<List<IResourceDescription.Delta>> _function_4 = () -> {
+          return it.build(debouncedCancelIndicator);
+        };
+        return this.<List<IResourceDescription.Delta>>batchDiagnostics(_function_4);
+      };
+      this.requestManager.<BuildManager.Buildable, List<IResourceDescription.Delta>>runWrite(_function_2, _function_3);
+    };
+    this.buildScheduler.debounce(_function_1);
+    return CollectionLiterals.<IResourceDescription.Delta>emptyList();
+  }
+  
   @Override
   public void didChangeConfiguration(final DidChangeConfigurationParams params) {
     final Function0<Object> _function = () -> {
@@ -507,32 +562,46 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
   
   private LanguageClient client;
   
+  /**
+   * Collects the diagnostics that are published by the given work and sends the changed ones to the client
+   * afterwards. The diagnostics of open documents, which are built in the prioritized phase of a build, and
+   * batches that exceed the {@link DiagnosticsPublisher#getMaxBatchSize() maximum size} are sent right away.
+   * 
+   * @since 2.19
+   */
+  protected <T extends Object> T batchDiagnostics(final Function0<? extends T> work) {
+    this.diagnosticsPublisher.beginBatch();
+    try {
+      return work.apply();
+    } finally {
+      this.diagnosticsPublisher.endBatch();
+    }
+  }
+  
   private void publishDiagnostics(final URI uri, final Iterable<? extends Issue> issues) {
-    final Consumer<InitializedParams> _function = (InitializedParams it) -> {
-      PublishDiagnosticsParams _publishDiagnosticsParams = new PublishDiagnosticsParams();
-      final Procedure1<PublishDiagnosticsParams> _function_1 = (PublishDiagnosticsParams it_1) -> {
-        it_1.setUri(this._uriExtensions.toUriString(uri));
-        boolean _isEmpty = IterableExtensions.isEmpty(issues);
-        if (_isEmpty) {
-          it_1.setDiagnostics(Collections.<Diagnostic>unmodifiableList(CollectionLiterals.<Diagnostic>newArrayList()));
-        } else {
-          final Function2<Document, XtextResource, List<Diagnostic>> _function_2 = (Document document, XtextResource resource) -> {
-            final Function1<Issue, Boolean> _function_3 = (Issue it_2) -> {
-              Severity _severity = it_2.getSeverity();
-              return Boolean.valueOf((_severity != Severity.IGNORE));
-            };
-            final Function1<Issue, Diagnostic> _function_4 = (Issue it_2) -> {
-              return this.toDiagnostic(document, it_2);
-            };
-            return IterableExtensions.<Diagnostic>toList(IterableExtensions.map(IterableExtensions.filter(issues, _function_3), _function_4));
-          };
-          it_1.setDiagnostics(this.workspaceManager.<List<Diagnostic>>doRead(uri, _function_2));
-        }
+    List<Diagnostic> _xifexpression = null;
+    boolean _isEmpty = IterableExtensions.isEmpty(issues);
+    if (_isEmpty) {
+      _xifexpression = Collections.<Diagnostic>unmodifiableList(CollectionLiterals.<Diagnostic>newArrayList());
+    } else {
+      final Function2<Document, XtextResource, List<Diagnostic>> _function = (Document document, XtextResource resource) -> {
+        final Function1<Issue, Boolean> _function_1 = (Issue it) -> {
+          Severity _severity = it.getSeverity();
+          return Boolean.valueOf((_severity != Severity.IGNORE));
+        };
+        final Function1<Issue, Diagnostic> _function_2 = (Issue it) -> {
+          return this.toDiagnostic(document, it);
+        };
+        return IterableExtensions.<Diagnostic>toList(IterableExtensions.map(IterableExtensions.filter(issues, _function_1), _function_2));
       };
-      final PublishDiagnosticsParams diagnostics = ObjectExtensions.<PublishDiagnosticsParams>operator_doubleArrow(_publishDiagnosticsParams, _function_1);
-      this.client.publishDiagnostics(diagnostics);
-    };
-    this.initialized.thenAccept(_function);
+      _xifexpression = this.workspaceManager.<List<Diagnostic>>doRead(uri, _function);
+    }
+    final List<Diagnostic> diagnostics = _xifexpression;
+    this.diagnosticsPublisher.publish(this._uriExtensions.toUriString(uri), diagnostics);
+    boolean _isDocumentOpen = this.workspaceManager.isDocumentOpen(uri);
+    if (_isDocumentOpen) {
+      this.diagnosticsPublisher.flush();
+    }
   }
   
   private Diagnostic toDiagnostic(final Document document, final Issue issue) {
@@ -561,11 +630,22 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       }
       it.setSeverity(_switchResult);
       it.setMessage(issue.getMessage());
-      final Position start = document.getPosition((issue.getOffset()).intValue());
+      Position _xifexpression = null;
+      if (((((issue.getLineNumber() != null) && ((issue.getLineNumber()).intValue() > 0)) && (issue.getColumn() != null)) && ((issue.getColumn()).intValue() > 0))) {
+        Integer _lineNumber = issue.getLineNumber();
+        int _minus = ((_lineNumber).intValue() - 1);
+        Integer _column = issue.getColumn();
+        int _minus_1 = ((_column).intValue() - 1);
+        _xifexpression = new Position(_minus, _minus_1);
+      } else {
+        _xifexpression = document.getPosition((issue.getOffset()).intValue());
+      }
+      final Position start = _xifexpression;
       Integer _offset = issue.getOffset();
+      Integer _offset_1 = issue.getOffset();
       Integer _length = issue.getLength();
-      int _plus = ((_offset).intValue() + (_length).intValue());
-      final Position end = document.getPosition(_plus);
+      int _plus = ((_offset_1).intValue() + (_length).intValue());
+      final Position end = document.getPosition(start, (_offset).intValue(), _plus);
       Range _range = new Range(start, end);
       it.setRange(_range);
     };
@@ -1208,14 +1288,22 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
   @Override
   public void afterBuild(final List<IResourceDescription.Delta> deltas) {
     final Function1<IResourceDescription.Delta, Boolean> _function = (IResourceDescription.Delta it) -> {
+      IResourceDescription _new = it.getNew();
+      return Boolean.valueOf((_new == null));
+    };
+    final Consumer<IResourceDescription.Delta> _function_1 = (IResourceDescription.Delta it) -> {
+      this.diagnosticsPublisher.forget(this._uriExtensions.toUriString(it.getUri()));
+    };
+    IterableExtensions.<IResourceDescription.Delta>filter(deltas, _function).forEach(_function_1);
+    final Function1<IResourceDescription.Delta, Boolean> _function_2 = (IResourceDescription.Delta it) -> {
       IResourceDescription _new = it.getNew();
       return Boolean.valueOf((_new != null));
     };
-    final Function1<IResourceDescription.Delta, String> _function_1 = (IResourceDescription.Delta it) -> {
+    final Function1<IResourceDescription.Delta, String> _function_3 = (IResourceDescription.Delta it) -> {
       return it.getUri().toString();
     };
-    final Consumer<String> _function_2 = (String it) -> {
-      final Function<ILanguageServerAccess.Context, Void> _function_3 = (ILanguageServerAccess.Context ctx) -> {
+    final Consumer<String> _function_4 = (String it) -> {
+      final Function<ILanguageServerAccess.Context, Void> _function_5 = (ILanguageServerAccess.Context ctx) -> {
         boolean _isDocumentOpen = ctx.isDocumentOpen();
         if (_isDocumentOpen) {
           Resource _resource = ctx.getResource();
@@ -1246,9 +1334,9 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
         this.semanticHighlightingRegistry.update(ctx);
         return null;
       };
-      this.access.<Void>doRead(it, _function_3);
+      this.access.<Void>doRead(it, _function_5);
     };
-    IterableExtensions.<IResourceDescription.Delta, String>map(IterableExtensions.<IResourceDescription.Delta>filter(deltas, _function), _function_1).forEach(_function_2);
+    IterableExtensions.<IResourceDescription.Delta, String>map(IterableExtensions.<IResourceDescription.Delta>filter(deltas, _function_2), _function_3).forEach(_function_4);
   }
   
   /**
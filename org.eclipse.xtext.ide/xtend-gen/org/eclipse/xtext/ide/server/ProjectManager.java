@@ -138,6 +138,10 @@ public class ProjectManager {
         return true;
       };
       it.setAfterValidate(_function_1);
+      final Function1<URI, Boolean> _function_2 = (URI it_1) -> {
+        return Boolean.valueOf(this.openedDocumentsContentProvider.hasContent(it_1));
+      };
+      it.setPriorityHint(_function_2);
       it.setCancelIndicator(cancelIndicator);
     };
     return ObjectExtensions.<BuildRequest>operator_doubleArrow(_buildRequest, _function);
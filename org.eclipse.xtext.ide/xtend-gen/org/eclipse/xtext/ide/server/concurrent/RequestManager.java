@@ -48,24 +48,24 @@ public class RequestManager {
     this.cancel();
   }
   
-  public <V extends Object> CompletableFuture<V> runRead(final Function1<? super CancelIndicator, ? extends V> cancellable) {
+  public synchronized <V extends Object> CompletableFuture<V> runRead(final Function1<? super CancelIndicator, ? extends V> cancellable) {
     ReadRequest<V> _readRequest = new ReadRequest<V>(cancellable, this.parallel);
     return this.<V>submit(_readRequest);
   }
   
-  public <U extends Object, V extends Object> CompletableFuture<V> runWrite(final Function0<? extends U> nonCancellable, final Function2<? super CancelIndicator, ? super U, ? extends V> cancellable) {
+  public synchronized <U extends Object, V extends Object> CompletableFuture<V> runWrite(final Function0<? extends U> nonCancellable, final Function2<? super CancelIndicator, ? super U, ? extends V> cancellable) {
     final CompletableFuture<Void> cancelFuture = this.cancel();
     WriteRequest<U, V> _writeRequest = new WriteRequest<U, V>(nonCancellable, cancellable, cancelFuture);
     return this.<V>submit(_writeRequest);
   }
   
-  protected <V extends Object> CompletableFuture<V> submit(final AbstractRequest<V> request) {
+  protected synchronized <V extends Object> CompletableFuture<V> submit(final AbstractRequest<V> request) {
     this.requests.add(request);
     this.queue.submit(request);
     return request.get();
   }
   
-  protected CompletableFuture<Void> cancel() {
+  protected synchronized CompletableFuture<Void> cancel() {
     final ArrayList<AbstractRequest<?>> localRequests = this.requests;
     this.requests = CollectionLiterals.<AbstractRequest<?>>newArrayList();
     final ArrayList<CompletableFuture<?>> cfs = CollectionLiterals.<CompletableFuture<?>>newArrayList();
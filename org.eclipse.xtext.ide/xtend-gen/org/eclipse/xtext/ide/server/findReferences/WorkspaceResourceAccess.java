@@ -42,6 +42,15 @@ public class WorkspaceResourceAccess implements IReferenceFinder.IResourceAccess
     return this.workspaceManager.<R>doRead(targetURI, _function);
   }
   
+  /**
+   * Whether the resource is open in the client, i.e. its content may differ from what has been indexed.
+   * 
+   * @since 2.19
+   */
+  public boolean isDocumentOpen(final URI resourceURI) {
+    return this.workspaceManager.isDocumentOpen(resourceURI);
+  }
+  
   public WorkspaceResourceAccess(final WorkspaceManager workspaceManager) {
     super();
     this.workspaceManager = workspaceManager;
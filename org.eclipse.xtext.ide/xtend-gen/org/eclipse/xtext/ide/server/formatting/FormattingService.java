@@ -10,6 +10,7 @@ package org.eclipse.xtext.ide.server.formatting;
 import com.google.common.base.Strings;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -17,6 +18,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.lsp4j.DocumentFormattingParams;
 import org.eclipse.lsp4j.DocumentRangeFormattingParams;
 import org.eclipse.lsp4j.FormattingOptions;
+import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.TextEdit;
 import org.eclipse.xtext.formatting.IIndentationInformation;
@@ -36,7 +38,6 @@ import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
-import org.eclipse.xtext.xbase.lib.ListExtensions;
 import org.eclipse.xtext.xbase.lib.ObjectExtensions;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
 
@@ -144,10 +145,7 @@ public class FormattingService {
       preferences.put("indentation", indent);
       TextRegion _textRegion = new TextRegion(offset, length);
       final List<ITextReplacement> replacements = this.format2(resource, _textRegion, preferences);
-      final Function1<ITextReplacement, TextEdit> _function = (ITextReplacement r) -> {
-        return this.toTextEdit(document, r.getReplacementText(), r.getOffset(), r.getLength());
-      };
-      return IterableExtensions.<TextEdit>toList(ListExtensions.<ITextReplacement, TextEdit>map(replacements, _function));
+      return this.toTextEdits(document, replacements);
     } else {
       return CollectionLiterals.<TextEdit>newArrayList();
     }
@@ -168,6 +166,41 @@ public class FormattingService {
     return ObjectExtensions.<TextEdit>operator_doubleArrow(_textEdit, _function);
   }
   
+  /**
+   * Converts the replacements to text edits. The positions are computed in the order of the offsets, each relative
+   * to the end of the preceding replacement, such that the document is scanned only once.
+   * 
+   * @since 2.19
+   */
+  protected List<TextEdit> toTextEdits(final Document document, final List<ITextReplacement> replacements) {
+    final ArrayList<TextEdit> result = CollectionLiterals.<TextEdit>newArrayList();
+    Position position = null;
+    int positionOffset = 0;
+    final Function1<ITextReplacement, Integer> _function = (ITextReplacement it) -> {
+      return Integer.valueOf(it.getOffset());
+    };
+    List<ITextReplacement> _sortBy = IterableExtensions.<ITextReplacement, Integer>sortBy(replacements, _function);
+    for (final ITextReplacement r : _sortBy) {
+      {
+        Position _xifexpression = null;
+        if ((position == null)) {
+          _xifexpression = document.getPosition(r.getOffset());
+        } else {
+          _xifexpression = document.getPosition(position, positionOffset, r.getOffset());
+        }
+        final Position start = _xifexpression;
+        final Position end = document.getPosition(start, r.getOffset(), r.getEndOffset());
+        Range _range = new Range(start, end);
+        String _replacementText = r.getReplacementText();
+        TextEdit _textEdit = new TextEdit(_range, _replacementText);
+        result.add(_textEdit);
+        position = end;
+        positionOffset = r.getEndOffset();
+      }
+    }
+    return result;
+  }
+  
   protected List<ITextReplacement> format2(final XtextResource resource, final ITextRegion selection, final ITypedPreferenceValues preferences) {
     final FormatterRequest request = this.formatterRequestProvider.get();
     request.setAllowIdentityEdits(false);
@@ -8,15 +8,16 @@
 package org.eclipse.xtext.ide.server.symbol;
 
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
 import com.google.common.graph.SuccessorsFunction;
 import com.google.common.graph.Traverser;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.function.Consumer;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
@@ -24,6 +25,8 @@ import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.lsp4j.DocumentSymbol;
 import org.eclipse.lsp4j.DocumentSymbolParams;
 import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.ReferenceParams;
 import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.SymbolKind;
@@ -36,6 +39,7 @@ import org.eclipse.xtext.findReferences.TargetURIs;
 import org.eclipse.xtext.ide.server.Document;
 import org.eclipse.xtext.ide.server.DocumentExtensions;
 import org.eclipse.xtext.ide.server.UriExtensions;
+import org.eclipse.xtext.ide.server.findReferences.WorkspaceResourceAccess;
 import org.eclipse.xtext.ide.server.symbol.HierarchicalDocumentSymbolService;
 import org.eclipse.xtext.ide.server.symbol.IDocumentSymbolService;
 import org.eclipse.xtext.ide.util.CancelIndicatorProgressMonitor;
@@ -47,12 +51,14 @@ import org.eclipse.xtext.resource.IReferenceDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceDescriptions;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.SourceRange;
 import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.service.OperationCanceledManager;
 import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.util.IAcceptor;
 import org.eclipse.xtext.util.concurrent.IUnitOfWork;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.Extension;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
@@ -101,6 +107,11 @@ public class DocumentSymbolService implements IDocumentSymbolService {
   @Inject
   private HierarchicalDocumentSymbolService hierarchicalDocumentSymbolService;
   
+  /**
+   * Source ranges of the index are not used if {@link #getSymbolLocation(EObject)} is overridden.
+   */
+  private final boolean indexedSymbolLocations = (!DocumentSymbolService.isSymbolLocationOverridden(this.getClass()));
+  
   public List<? extends Location> getDefinitions(final Document document, final XtextResource resource, final TextDocumentPositionParams params, final IReferenceFinder.IResourceAccess resourceAccess, final CancelIndicator cancelIndicator) {
     final int offset = document.getOffSet(params.getPosition());
     return this.getDefinitions(resource, offset, resourceAccess, cancelIndicator);
@@ -151,13 +162,18 @@ public class DocumentSymbolService implements IDocumentSymbolService {
     final ArrayList<Location> locations = CollectionLiterals.<Location>newArrayList();
     final TargetURIs targetURIs = this.collectTargetURIs(element);
     final IAcceptor<IReferenceDescription> _function = (IReferenceDescription reference) -> {
-      final Procedure1<EObject> _function_1 = (EObject obj) -> {
-        final Location location = this._documentExtensions.newLocation(obj, reference.getEReference(), reference.getIndexInList());
-        if ((location != null)) {
-          locations.add(location);
-        }
-      };
-      this.doRead(resourceAccess, reference.getSourceEObjectUri(), _function_1);
+      final Location indexedLocation = this.newLocation(reference.getSourceEObjectUri(), SourceRange.of(reference), resourceAccess);
+      if ((indexedLocation != null)) {
+        locations.add(indexedLocation);
+      } else {
+        final Procedure1<EObject> _function_1 = (EObject obj) -> {
+          final Location location = this._documentExtensions.newLocation(obj, reference.getEReference(), reference.getIndexInList());
+          if ((location != null)) {
+            locations.add(location);
+          }
+        };
+        this.doRead(resourceAccess, reference.getSourceEObjectUri(), _function_1);
+      }
     };
     ReferenceAcceptor _referenceAcceptor = new ReferenceAcceptor(this.resourceServiceProviderRegistry, _function);
     CancelIndicatorProgressMonitor _cancelIndicatorProgressMonitor = new CancelIndicatorProgressMonitor(cancelIndicator);
@@ -183,33 +199,31 @@ public class DocumentSymbolService implements IDocumentSymbolService {
       return it.getRight();
     };
     final List<DocumentSymbol> rootSymbols = ListExtensions.<Either<SymbolInformation, DocumentSymbol>, DocumentSymbol>map(this.hierarchicalDocumentSymbolService.getSymbols(resource, cancelIndicator), _function);
-    final Consumer<DocumentSymbol> _function_1 = (DocumentSymbol rootSymbol) -> {
+    final IdentityHashMap<DocumentSymbol, String> containerNames = Maps.<DocumentSymbol, String>newIdentityHashMap();
+    final Function1<DocumentSymbol, String> _function_1 = (DocumentSymbol it) -> {
+      return containerNames.get(it);
+    };
+    final Function1<? super DocumentSymbol, ? extends String> containerNameProvider = _function_1;
+    for (final DocumentSymbol rootSymbol : rootSymbols) {
       final SuccessorsFunction<DocumentSymbol> _function_2 = (DocumentSymbol it) -> {
         return it.getChildren();
       };
-      final Iterable<DocumentSymbol> symbols = Traverser.<DocumentSymbol>forTree(_function_2).depthFirstPreOrder(rootSymbol);
-      final Function1<DocumentSymbol, String> _function_3 = (DocumentSymbol symbol) -> {
-        final Function1<DocumentSymbol, Boolean> _function_4 = (DocumentSymbol it) -> {
-          return Boolean.valueOf((((it != symbol) && (!IterableExtensions.isNullOrEmpty(it.getChildren()))) && it.getChildren().contains(symbol)));
-        };
-        DocumentSymbol _findFirst = IterableExtensions.<DocumentSymbol>findFirst(symbols, _function_4);
-        String _name = null;
-        if (_findFirst!=null) {
-          _name=_findFirst.getName();
+      Iterable<DocumentSymbol> _depthFirstPreOrder = Traverser.<DocumentSymbol>forTree(_function_2).depthFirstPreOrder(rootSymbol);
+      for (final DocumentSymbol symbol : _depthFirstPreOrder) {
+        {
+          List<DocumentSymbol> _children = symbol.getChildren();
+          for (final DocumentSymbol child : _children) {
+            containerNames.put(child, symbol.getName());
+          }
+          SymbolInformation _createSymbol = this.createSymbol(uri, symbol, containerNameProvider);
+          infos.add(_createSymbol);
         }
-        return _name;
-      };
-      final Function1<? super DocumentSymbol, ? extends String> containerNameProvider = _function_3;
-      final Function1<DocumentSymbol, SymbolInformation> _function_4 = (DocumentSymbol it) -> {
-        return this.createSymbol(uri, it, containerNameProvider);
-      };
-      Iterables.<SymbolInformation>addAll(infos, IterableExtensions.<DocumentSymbol, SymbolInformation>map(symbols, _function_4));
-    };
-    rootSymbols.forEach(_function_1);
-    final Function1<SymbolInformation, Either<SymbolInformation, DocumentSymbol>> _function_2 = (SymbolInformation it) -> {
+      }
+    }
+    final Function1<SymbolInformation, Either<SymbolInformation, DocumentSymbol>> _function_3 = (SymbolInformation it) -> {
       return Either.<SymbolInformation, DocumentSymbol>forLeft(it);
     };
-    return ListExtensions.<SymbolInformation, Either<SymbolInformation, DocumentSymbol>>map(infos, _function_2);
+    return ListExtensions.<SymbolInformation, Either<SymbolInformation, DocumentSymbol>>map(infos, _function_3);
   }
   
   protected EObject getContainer(final EObject obj) {
@@ -331,6 +345,13 @@ public class DocumentSymbolService implements IDocumentSymbolService {
   }
   
   protected void getSymbolLocation(final IEObjectDescription description, final IReferenceFinder.IResourceAccess resourceAccess, final Procedure1<? super Location> acceptor) {
+    if (this.indexedSymbolLocations) {
+      final Location indexedLocation = this.newLocation(description.getEObjectURI(), SourceRange.of(description), resourceAccess);
+      if ((indexedLocation != null)) {
+        acceptor.apply(indexedLocation);
+        return;
+      }
+    }
     final Procedure1<EObject> _function = (EObject obj) -> {
       final Location location = this.getSymbolLocation(obj);
       if ((location != null)) {
@@ -340,6 +361,61 @@ public class DocumentSymbolService implements IDocumentSymbolService {
     this.doRead(resourceAccess, description.getEObjectURI(), _function);
   }
   
+  private static boolean isSymbolLocationOverridden(final Class<?> clazz) {
+    Class<?> c = clazz;
+    while ((c != DocumentSymbolService.class)) {
+      {
+        try {
+          c.getDeclaredMethod("getSymbolLocation", EObject.class);
+          return true;
+        } catch (final Throwable _t) {
+          if (_t instanceof NoSuchMethodException) {
+          } else {
+            throw Exceptions.sneakyThrow(_t);
+          }
+        }
+        c = c.getSuperclass();
+      }
+    }
+    return false;
+  }
+  
+  /**
+   * Creates a location from a source range that has been recorded in the index, such that the resource doesn't have
+   * to be loaded. Returns <code>null</code> if there is no such range or if the resource is
+   * {@link #isDirty(URI, IResourceAccess) dirty}.
+   * 
+   * @since 2.19
+   */
+  protected Location newLocation(final URI objectURI, final SourceRange range, final IReferenceFinder.IResourceAccess resourceAccess) {
+    if ((range == null)) {
+      return null;
+    }
+    final URI resourceURI = objectURI.trimFragment();
+    boolean _isDirty = this.isDirty(resourceURI, resourceAccess);
+    if (_isDirty) {
+      return null;
+    }
+    int _line = range.getLine();
+    int _column = range.getColumn();
+    final Position start = new Position(_line, _column);
+    int _endLine = range.getEndLine();
+    int _endColumn = range.getEndColumn();
+    final Position end = new Position(_endLine, _endColumn);
+    String _uriString = this._uriExtensions.toUriString(resourceURI);
+    Range _range = new Range(start, end);
+    return new Location(_uriString, _range);
+  }
+  
+  /**
+   * Whether the content of the resource may differ from the one that has been indexed.
+   * 
+   * @since 2.19
+   */
+  protected boolean isDirty(final URI resourceURI, final IReferenceFinder.IResourceAccess resourceAccess) {
+    return ((resourceAccess instanceof WorkspaceResourceAccess) && ((WorkspaceResourceAccess) resourceAccess).isDocumentOpen(resourceURI));
+  }
+  
   protected String getSymbolName(final QualifiedName qualifiedName) {
     String _string = null;
     if (qualifiedName!=null) {
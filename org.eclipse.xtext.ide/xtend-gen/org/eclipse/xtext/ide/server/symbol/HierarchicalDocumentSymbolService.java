@@ -10,6 +10,7 @@ package org.eclipse.xtext.ide.server.symbol;
 import com.google.common.annotations.Beta;
 import com.google.common.base.Optional;
 import com.google.inject.Inject;
+import com.google.inject.Provider;
 import com.google.inject.Singleton;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
@@ -46,6 +47,23 @@ import org.eclipse.xtext.xbase.lib.ListExtensions;
 @Singleton
 @SuppressWarnings("all")
 public class HierarchicalDocumentSymbolService implements IDocumentSymbolService {
+  private static final String SYMBOLS_CACHE_KEY = (HierarchicalDocumentSymbolService.class.getName() + ".symbols");
+  
+  private static final List<Field> NON_NULL_FIELDS = IterableExtensions.<Field>toList(IterableExtensions.<Field, Field>map(IterableExtensions.<Field>filter(((Iterable<Field>)Conversions.doWrapArray(DocumentSymbol.class.getDeclaredFields())), ((Function1<Field, Boolean>) (Field it) -> {
+    final Function1<Annotation, Boolean> _function = (Annotation it_1) -> {
+      Class<? extends Annotation> _annotationType = it_1.annotationType();
+      return Boolean.valueOf((_annotationType == NonNull.class));
+    };
+    return Boolean.valueOf(IterableExtensions.<Annotation>exists(((Iterable<Annotation>)Conversions.doWrapArray(it.getAnnotations())), _function));
+  })), ((Function1<Field, Field>) (Field it) -> {
+    Field _xblockexpression = null;
+    {
+      it.setAccessible(true);
+      _xblockexpression = it;
+    }
+    return _xblockexpression;
+  })));
+  
   @Inject
   private DocumentSymbolMapper symbolMapper;
   
@@ -57,29 +75,16 @@ public class HierarchicalDocumentSymbolService implements IDocumentSymbolService
    * are {@code null}. Otherwise, {@code true}.
    */
   public static boolean isValid(final DocumentSymbol symbol) {
-    return ((symbol != null) && (!IterableExtensions.<Object>exists(IterableExtensions.<Field, Object>map(IterableExtensions.<Field, Field>map(IterableExtensions.<Field>filter(((Iterable<Field>)Conversions.doWrapArray(DocumentSymbol.class.getDeclaredFields())), ((Function1<Field, Boolean>) (Field it) -> {
-      final Function1<Annotation, Boolean> _function = (Annotation it_1) -> {
-        Class<? extends Annotation> _annotationType = it_1.annotationType();
-        return Boolean.valueOf((_annotationType == NonNull.class));
-      };
-      return Boolean.valueOf(IterableExtensions.<Annotation>exists(((Iterable<Annotation>)Conversions.doWrapArray(it.getAnnotations())), _function));
-    })), ((Function1<Field, Field>) (Field it) -> {
-      Field _xblockexpression = null;
-      {
-        it.setAccessible(true);
-        _xblockexpression = it;
-      }
-      return _xblockexpression;
-    })), ((Function1<Field, Object>) (Field it) -> {
+    return ((symbol != null) && (!IterableExtensions.<Field>exists(HierarchicalDocumentSymbolService.NON_NULL_FIELDS, ((Function1<Field, Boolean>) (Field it) -> {
       try {
-        return it.get(symbol);
+        Object _get = it.get(symbol);
+        return Boolean.valueOf((_get == null));
       } catch (Throwable _e) {
         throw Exceptions.sneakyThrow(_e);
       }
-    })), ((Function1<Object, Boolean>) (Object it) -> {
-      return Boolean.valueOf((it == null));
     }))));
   }
+
   
   @Override
   public List<Either<SymbolInformation, DocumentSymbol>> getSymbols(final Document document, final XtextResource resource, final DocumentSymbolParams params, final CancelIndicator cancelIndicator) {
@@ -87,6 +92,23 @@ public class HierarchicalDocumentSymbolService implements IDocumentSymbolService
   }
   
   public List<Either<SymbolInformation, DocumentSymbol>> getSymbols(final XtextResource resource, final CancelIndicator cancelIndicator) {
+    final Provider<List<DocumentSymbol>> _function = () -> {
+      return this.computeSymbols(resource, cancelIndicator);
+    };
+    final List<DocumentSymbol> rootSymbols = resource.getCache().<List<DocumentSymbol>>get(HierarchicalDocumentSymbolService.SYMBOLS_CACHE_KEY, resource, _function);
+    final Function1<DocumentSymbol, Either<SymbolInformation, DocumentSymbol>> _function_1 = (DocumentSymbol it) -> {
+      return Either.<SymbolInformation, DocumentSymbol>forRight(it);
+    };
+    return ListExtensions.<DocumentSymbol, Either<SymbolInformation, DocumentSymbol>>map(rootSymbols, _function_1);
+  }
+  
+  /**
+   * Computes the root symbols of the resource. The result is cached until the resource changes, so the returned
+   * symbols must not be modified by clients.
+   * 
+   * @since 2.19
+   */
+  protected List<DocumentSymbol> computeSymbols(final XtextResource resource, final CancelIndicator cancelIndicator) {
     final HashMap<EObject, DocumentSymbol> allSymbols = CollectionLiterals.<EObject, DocumentSymbol>newHashMap();
     final ArrayList<DocumentSymbol> rootSymbols = CollectionLiterals.<DocumentSymbol>newArrayList();
     final Iterator<Object> itr = this.getAllContents(resource);
@@ -122,10 +144,7 @@ public class HierarchicalDocumentSymbolService implements IDocumentSymbolService
         }
       }
     }
-    final Function1<DocumentSymbol, Either<SymbolInformation, DocumentSymbol>> _function = (DocumentSymbol it) -> {
-      return Either.<SymbolInformation, DocumentSymbol>forRight(it);
-    };
-    return ListExtensions.<DocumentSymbol, Either<SymbolInformation, DocumentSymbol>>map(rootSymbols, _function);
+    return rootSymbols;
   }
   
   protected Iterator<Object> getAllContents(final Resource resource) {
@@ -11,9 +11,11 @@ import com.google.inject.Inject
 import java.util.concurrent.atomic.AtomicBoolean
 import org.eclipse.core.runtime.OperationCanceledException
 import org.eclipse.emf.common.util.URI
+import org.eclipse.emf.ecore.resource.ResourceSet
 import org.eclipse.xtext.build.BuildRequest.IPostValidationCallback
 import org.eclipse.xtext.index.IndexTestLanguageInjectorProvider
 import org.eclipse.xtext.resource.IResourceServiceProvider
+import org.eclipse.xtext.resource.clustering.ReferenceAwareClusteringPolicy
 import org.eclipse.xtext.util.CancelIndicator
 import org.eclipse.xtext.testing.XtextRunner
 import org.eclipse.xtext.testing.InjectWith
@@ -153,7 +155,99 @@ class IncrementalBuilderTest extends AbstractIncrementalBuilderTest {
 		]
 		build(buildRequest)
 	}
-	
+
+	@Test
+	def void testCancellationAfterPrioritized() {
+		val canceled = new AtomicBoolean
+		val buildRequest = newBuildRequest [
+			dirtyFiles = #[
+				'src/MyFile.indextestlanguage' - '''
+					foo {
+						entity A { foo.B myReference }
+					}
+				''',
+				'src/MyFile2.indextestlanguage' - '''
+					foo {
+						entity B {}
+					}
+				'''
+			]
+			priorityHint = [toString.endsWith('MyFile2.indextestlanguage')]
+			cancelIndicator = [canceled.get]
+			afterGenerateFile = [canceled.set(true)]
+		]
+		val result = incrementalBuilder.build(buildRequest, [languages.getResourceServiceProvider(it)])
+		assertEquals(#['src/MyFile2.indextestlanguage'.uri], result.affectedResources.map[uri])
+		assertEquals(#['src/MyFile.indextestlanguage'.uri], result.pendingFiles)
+		val index = result.indexState.resourceDescriptions
+		assertNotNull(index.getResourceDescription('src/MyFile2.indextestlanguage'.uri))
+		assertNull(index.getResourceDescription('src/MyFile.indextestlanguage'.uri))
+	}
+
+	@Test
+	def void testReferenceAwareClustering() {
+		val files = #[
+			'src/A.indextestlanguage' - '''
+				foo {
+					entity A { foo.B myReference }
+				}
+			''',
+			'src/B.indextestlanguage' - '''
+				foo {
+					entity B {}
+				}
+			'''
+		]
+		build(newBuildRequest [
+			dirtyFiles = files
+		])
+		val policy = new ReferenceAwareClusteringPolicy {
+			override continueProcessing(ResourceSet resourceSet, URI next, int alreadyProcessed) {
+				alreadyProcessed < 1
+			}
+		}
+		val validated = <URI>newArrayList
+		val buildRequest = newBuildRequest [
+			dirtyFiles = files
+			afterValidate = [ uri, issues |
+				validated += uri
+				return issues.empty
+			]
+		]
+		incrementalBuilder.build(buildRequest, [languages.getResourceServiceProvider(it)], policy)
+		assertEquals(#['src/B.indextestlanguage'.uri, 'src/A.indextestlanguage'.uri], validated)
+	}
+
+	@Test
+	def void testReferenceAwareClustering_cleanBuild() {
+		val policy = new ReferenceAwareClusteringPolicy {
+			override continueProcessing(ResourceSet resourceSet, URI next, int alreadyProcessed) {
+				alreadyProcessed < 1
+			}
+		}
+		val validated = <URI>newArrayList
+		val buildRequest = newBuildRequest [
+			dirtyFiles = #[
+				'src/A.indextestlanguage' - '''
+					foo {
+						entity A { foo.B myReference }
+					}
+				''',
+				'src/B.indextestlanguage' - '''
+					foo {
+						entity B {}
+					}
+				'''
+			]
+			afterValidate = [ uri, issues |
+				validated += uri
+				return issues.empty
+			]
+		]
+		incrementalBuilder.build(buildRequest, [languages.getResourceServiceProvider(it)], policy)
+		assertEquals(#['src/B.indextestlanguage'.uri, 'src/A.indextestlanguage'.uri], validated)
+	}
+
 	@Test
 	def void testIndexOnly() {
 		val buildRequest = newBuildRequest [
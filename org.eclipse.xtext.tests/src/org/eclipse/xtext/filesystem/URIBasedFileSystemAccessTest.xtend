@@ -8,14 +8,23 @@
 package org.eclipse.xtext.filesystem
 
 import com.google.common.base.StandardSystemProperty
+import com.google.common.io.CharStreams
 import com.google.inject.Inject
+import java.io.ByteArrayInputStream
+import java.io.InputStream
+import java.io.InputStreamReader
 import java.nio.file.Files
 import java.nio.file.Paths
 import java.util.UUID
+import org.eclipse.emf.common.util.URI
 import org.eclipse.emf.ecore.resource.impl.ExtensibleURIConverterImpl
 import org.eclipse.xtext.generator.IFileSystemAccess
 import org.eclipse.xtext.generator.IOutputConfigurationProvider
 import org.eclipse.xtext.generator.URIBasedFileSystemAccess
+import org.eclipse.xtext.generator.trace.node.CompositeGeneratorNode
+import org.eclipse.xtext.generator.trace.node.GeneratorNodeExtensions
+import org.eclipse.xtext.generator.trace.node.GeneratorNodeProcessor
+import org.eclipse.xtext.generator.trace.node.IGeneratorNode
 import org.eclipse.xtext.testing.InjectWith
 import org.eclipse.xtext.testing.XtextRunner
 import org.eclipse.xtext.tests.XtextInjectorProvider
@@ -70,4 +79,75 @@ class URIBasedFileSystemAccessTest {
 		assertTrue(fsa.isFile(EXISTING_RESOURCE_NAME));
 	}
 
+	@Test
+	def void testGenerateFileFromGeneratorNode() {
+		val node = createGeneratorNode
+		val processor = new GeneratorNodeProcessor
+		fsa.generateFile('streamed', IFileSystemAccess.DEFAULT_OUTPUT, node, processor)
+		assertEquals(processor.process(node).toString, fsa.readTextFile('streamed').toString)
+	}
+
+	@Test
+	def void testGenerateFileFromGeneratorNode_observed() {
+		val node = createGeneratorNode
+		val written = <URI, InputStream>newLinkedHashMap
+		val URIBasedFileSystemAccess.BeforeWriteObserver observer = [ uri, outputCfgName, contents |
+			written.put(uri, contents)
+			return contents
+		]
+		fsa.beforeWrite = observer
+		val processor = new GeneratorNodeProcessor
+		fsa.generateFile('streamed', IFileSystemAccess.DEFAULT_OUTPUT, node, processor)
+		assertEquals(processor.process(node).toString, fsa.readTextFile('streamed').toString)
+		// the observer is notified, but the text is streamed to the file
+		assertEquals(#[fsa.getURI('streamed', IFileSystemAccess.DEFAULT_OUTPUT)], written.keySet.toList)
+		assertNull(written.values.head)
+	}
+
+	@Test
+	def void testGenerateFileFromGeneratorNode_beforeWrite() {
+		val node = createGeneratorNode
+		val written = <String>newArrayList
+		fsa.beforeWrite = [ uri, outputCfgName, contents |
+			written += CharStreams.toString(new InputStreamReader(contents))
+			return new ByteArrayInputStream(written.last.toUpperCase.bytes)
+		]
+		val processor = new GeneratorNodeProcessor
+		fsa.generateFile('streamed', IFileSystemAccess.DEFAULT_OUTPUT, node, processor)
+		// a hook that may replace the contents gets the complete text
+		val expected = processor.process(node).toString
+		assertEquals(#[expected], written)
+		assertEquals(expected.toUpperCase, fsa.readTextFile('streamed').toString)
+	}
+
+	@Test
+	def void testGenerateFileFromGeneratorNode_failure() {
+		val node = createGeneratorNode
+		val processor = new GeneratorNodeProcessor
+		fsa.generateFile('streamed', IFileSystemAccess.DEFAULT_OUTPUT, node, processor)
+		val failingProcessor = new GeneratorNodeProcessor {
+			override process(IGeneratorNode root, Appendable out) {
+				out.append('partial')
+				throw new IllegalStateException
+			}
+		}
+		try {
+			fsa.generateFile('streamed', IFileSystemAccess.DEFAULT_OUTPUT, node, failingProcessor)
+			fail
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		// the existing file is neither truncated nor partially overwritten
+		assertEquals(processor.process(node).toString, fsa.readTextFile('streamed').toString)
+	}
+
+	private def CompositeGeneratorNode createGeneratorNode() {
+		val extension exts = new GeneratorNodeExtensions
+		val node = new CompositeGeneratorNode
+		node.append('first').appendNewLine
+		node.indent.append('second').appendNewLine
+		node.append('third')
+		return node
+	}
+
 }
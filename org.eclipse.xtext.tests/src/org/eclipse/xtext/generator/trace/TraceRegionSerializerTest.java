@@ -11,6 +11,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -61,6 +62,12 @@ public class TraceRegionSerializerTest {
 		Assert.assertEquals(1213 /* magic number */, v3bytes.length); 
 		Assert.assertEquals(385 /* magic number */, currentBytes.length);
 		Assert.assertEquals(traceRegion, serializer.readTraceRegionFrom(new ByteArrayInputStream(currentBytes)));
+		serializer.setWriteCompactTraces(true);
+		outputStream = new ByteArrayOutputStream();
+		serializer.writeTraceRegionTo(traceRegion, outputStream);
+		byte[] compactBytes = outputStream.toByteArray();
+		Assert.assertEquals(364 /* magic number */, compactBytes.length);
+		Assert.assertEquals(traceRegion, serializer.readTraceRegionFrom(new ByteArrayInputStream(compactBytes)));
 	}
 	
 	@Test
@@ -77,6 +84,34 @@ public class TraceRegionSerializerTest {
 		Assert.assertEquals(4610 /* magic number */, v4bytes.length); 
 		Assert.assertEquals(1655 /* magic number */, currentBytes.length);
 		Assert.assertEquals(traceRegion, serializer.readTraceRegionFrom(new ByteArrayInputStream(currentBytes)));
+		serializer.setWriteCompactTraces(true);
+		outputStream = new ByteArrayOutputStream();
+		serializer.writeTraceRegionTo(traceRegion, outputStream);
+		byte[] compactBytes = outputStream.toByteArray();
+		Assert.assertEquals(1571 /* magic number */, compactBytes.length);
+		Assert.assertEquals(traceRegion, serializer.readTraceRegionFrom(new ByteArrayInputStream(compactBytes)));
+	}
+	
+	@Test
+	public void testWriteAndReadCompactTrace() throws IOException {
+		SourceRelativeURI first = new SourceRelativeURI("first.dsl");
+		SourceRelativeURI second = new SourceRelativeURI("second.dsl");
+		TraceRegion root = new TraceRegion(0, 1000, 0, 90, true,
+				Arrays.asList(new LocationData(0, 500, 0, 40, first), new LocationData(0, 700, 0, 60, second)), null);
+		for (int i = 0; i < 9; i++) {
+			SourceRelativeURI path = i % 3 == 0 ? null : i % 3 == 1 ? first : second;
+			TraceRegion child = new TraceRegion(i * 100 + 10, 80, i * 10 + 1, i * 10 + 8, i % 2 == 0,
+					new LocationData(1000 - i * 100, 20, 90 - i * 10, 91 - i * 10, path), root);
+			new TraceRegion(i * 100 + 10, 0, i * 10 + 1, i * 10 + 1, false, new LocationData(5, 0, 0, 0, path), child);
+			new TraceRegion(i * 100 + 20, 60, i * 10 + 2, i * 10 + 7, true, new LocationData(6, 1, 0, 0, path), child);
+		}
+		TraceRegionSerializer serializer = new TraceRegionSerializer();
+		serializer.setWriteCompactTraces(true);
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		serializer.writeTraceRegionTo(root, outputStream);
+		AbstractTraceRegion read = serializer.readTraceRegionFrom(new ByteArrayInputStream(outputStream.toByteArray()));
+		Assert.assertEquals(root, read);
+		Assert.assertEquals(root.toString(), read.toString());
 	}
 
 }
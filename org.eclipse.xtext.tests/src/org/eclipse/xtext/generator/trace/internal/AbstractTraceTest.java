@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sigasi N.V. (http://www.sigasi.com) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.generator.trace.internal;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.xtext.generator.trace.AbsoluteURI;
+import org.eclipse.xtext.generator.trace.AbstractTraceRegion;
+import org.eclipse.xtext.generator.trace.LocationData;
+import org.eclipse.xtext.generator.trace.SourceRelativeURI;
+import org.eclipse.xtext.generator.trace.TraceRegion;
+import org.eclipse.xtext.util.TextRegion;
+import org.eclipse.xtext.workspace.IProjectConfig;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AbstractTraceTest {
+
+	private AbstractTrace trace;
+
+	@Before
+	public void setUp() {
+		SourceRelativeURI path = new SourceRelativeURI("a.dsl");
+		TraceRegion root = new TraceRegion(0, 100, 0, 9, true, new LocationData(0, 10, 0, 0, path), null);
+		for (int i = 0; i < 10; i++) {
+			TraceRegion child = new TraceRegion(i * 10, 5, i, i, true, new LocationData(i, 1, 0, 0, null), root);
+			if (i == 3) {
+				new TraceRegion(30, 2, 3, 3, true, new LocationData(3, 1, 0, 0, null), child);
+				new TraceRegion(32, 3, 3, 3, true, new LocationData(4, 1, 0, 0, null), child);
+			}
+		}
+		trace = new AbstractTrace() {
+			@Override
+			public AbsoluteURI getLocalURI() {
+				return null;
+			}
+
+			@Override
+			public IProjectConfig getLocalProjectConfig() {
+				return null;
+			}
+
+			@Override
+			protected InputStream getContents(SourceRelativeURI uri) {
+				return null;
+			}
+
+			@Override
+			protected Reader getContentsAsText(SourceRelativeURI uri) {
+				return null;
+			}
+
+			@Override
+			protected Reader getLocalContentsAsText() {
+				return null;
+			}
+		};
+		trace.setTraceRegionProvider(() -> root);
+	}
+
+	@Test
+	public void testFindTraceRegionAt() {
+		assertRegion(30, 2, trace.findTraceRegionAtLeftOffset(31));
+		assertRegion(0, 100, trace.findTraceRegionAtLeftOffset(35));
+		assertRegion(32, 3, trace.findTraceRegionAtRightOffset(35));
+		assertRegion(0, 100, trace.findTraceRegionAtLeftOffset(7));
+		assertRegion(90, 5, trace.findTraceRegionAtLeftOffset(90));
+		assertRegion(90, 5, trace.findTraceRegionAtRightOffset(95));
+		Assert.assertNull(trace.findTraceRegionAtLeftOffset(100));
+	}
+
+	@Test
+	public void testGetAllTraceRegions() {
+		Assert.assertEquals("[30, 32, 35, 40]", offsets(trace.getAllTraceRegions(new TextRegion(31, 10))));
+		Assert.assertEquals("[70]", offsets(trace.getAllTraceRegions(new TextRegion(70, 0))));
+		Assert.assertEquals("[0, 5, 10, 15, 20, 25, 30, 32, 35]", offsets(trace.getAllTraceRegions(new TextRegion(35, 1))));
+	}
+
+	private void assertRegion(int offset, int length, AbstractTraceRegion region) {
+		Assert.assertEquals(offset, region.getMyOffset());
+		Assert.assertEquals(length, region.getMyLength());
+	}
+
+	private String offsets(Iterable<AbstractTraceRegion> regions) {
+		List<Integer> result = new ArrayList<Integer>();
+		for (AbstractTraceRegion region : regions) {
+			result.add(region.getMyOffset());
+		}
+		return result.toString();
+	}
+
+}
@@ -91,6 +91,21 @@ class GeneratorNodeTest {
 			}'''.toString, result.traceRegion.toString)
 	}
 	
+	@Test def void testStreamingProcessing() {
+		val root = loc(0)
+		val node = root.trace
+			.appendTemplate('''
+				someCodeGen(2)
+			''')
+			
+		val processor = new GeneratorNodeProcessor
+		val expected = processor.process(node)
+		val out = new StringBuilder
+		val traceRegion = processor.process(node, out)
+		assertEquals(expected.toString, out.toString)
+		assertEquals(expected.traceRegion.toString, traceRegion.toString)
+	}
+	
 	private def StringConcatenationClient someCodeGen(int n) '''
 		FOR i : 0..<n
 			before loc(10+i).trace.append('Hello') after
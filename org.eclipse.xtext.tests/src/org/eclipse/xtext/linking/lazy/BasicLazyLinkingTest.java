@@ -9,12 +9,17 @@
 package org.eclipse.xtext.linking.lazy;
 
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.InternalEObject;
 import org.eclipse.emf.ecore.util.InternalEList;
+import org.eclipse.xtext.linking.impl.DefaultLinkingService;
 import org.eclipse.xtext.linking.lazy.lazyLinking.LazyLinkingPackage;
 import org.eclipse.xtext.linking.lazy.lazyLinking.Model;
 import org.eclipse.xtext.linking.lazy.lazyLinking.Property;
@@ -22,7 +27,10 @@ import org.eclipse.xtext.linking.lazy.lazyLinking.Type;
 import org.eclipse.xtext.linking.lazy.lazyLinking.UnresolvedProxyProperty;
 import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.scoping.IScope;
+import org.eclipse.xtext.scoping.IScopeProvider;
 import org.eclipse.xtext.tests.AbstractXtextTests;
+import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.util.StringInputStream;
 import org.junit.Test;
 
@@ -99,6 +107,73 @@ public class BasicLazyLinkingTest extends AbstractXtextTests {
 		assertEquals(t1, types.get(2));
 	}
 	
+	@Test public void testBatchLinking() throws Exception {
+		LazyLinkingResource resource = (LazyLinkingResource) getResource(new StringInputStream("type A {} type B { A B A B a; A b; }"));
+		DefaultLinkingService linkingService = (DefaultLinkingService) resource.getLinkingService();
+		final IScopeProvider scopeProvider = linkingService.getScopeProvider();
+		final AtomicInteger scopes = new AtomicInteger();
+		linkingService.setScopeProvider(new IScopeProvider() {
+			@Override
+			public IScope getScope(EObject context, EReference reference) {
+				scopes.incrementAndGet();
+				return scopeProvider.getScope(context, reference);
+			}
+		});
+		try {
+			resource.setBatchLinking(true);
+			resource.resolveLazyCrossReferences(CancelIndicator.NullImpl);
+			assertEquals(2, scopes.get());
+			Model m = (Model) resource.getContents().get(0);
+			Type t1 = m.getTypes().get(0);
+			Type t2 = m.getTypes().get(1);
+			EList<Type> types = t2.getProperties().get(0).getType();
+			assertFalse(((InternalEObject)((InternalEList<Type>)types).basicGet(3)).eIsProxy());
+			assertEquals(Arrays.asList(t1, t2, t1, t2), types);
+			assertEquals(t1, t2.getProperties().get(1).getType().get(0));
+		} finally {
+			linkingService.setScopeProvider(scopeProvider);
+		}
+	}
+	
+	@Test public void testBatchLinking_02() throws Exception {
+		LazyLinkingResource resource = (LazyLinkingResource) getResource(new StringInputStream("type A { B a; B b; } type B { A a; A b; }"));
+		DefaultLinkingService linkingService = new DefaultLinkingService() {
+			@Override
+			protected Object getBatchScopeKey(EObject context, EReference reference) {
+				return getSiblingBatchScopeKey(context, reference);
+			}
+		};
+		getInjector().injectMembers(linkingService);
+		resource.setLinkingService(linkingService);
+		final IScopeProvider scopeProvider = linkingService.getScopeProvider();
+		final AtomicInteger scopes = new AtomicInteger();
+		linkingService.setScopeProvider(new IScopeProvider() {
+			@Override
+			public IScope getScope(EObject context, EReference reference) {
+				scopes.incrementAndGet();
+				return scopeProvider.getScope(context, reference);
+			}
+		});
+		try {
+			resource.resolveLazyCrossReferences(CancelIndicator.NullImpl);
+			assertEquals(4, scopes.get());
+			scopes.set(0);
+			resource.unload();
+			resource.load(new StringInputStream("type A { B a; B b; } type B { A a; A b; }"), null);
+			resource.setBatchLinking(true);
+			resource.resolveLazyCrossReferences(CancelIndicator.NullImpl);
+			// one scope per type
+			assertEquals(2, scopes.get());
+			Model m = (Model) resource.getContents().get(0);
+			Type t1 = m.getTypes().get(0);
+			Type t2 = m.getTypes().get(1);
+			assertEquals(t2, t1.getProperties().get(1).getType().get(0));
+			assertEquals(t1, t2.getProperties().get(1).getType().get(0));
+		} finally {
+			linkingService.setScopeProvider(scopeProvider);
+		}
+	}
+	
 	@Test public void testBug281775_01() throws Exception {
 		String model = "type A {\n" +
 				"  A B a;\n" +
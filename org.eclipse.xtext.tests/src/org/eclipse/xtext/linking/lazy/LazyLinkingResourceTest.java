@@ -282,6 +282,33 @@ public class LazyLinkingResourceTest extends AbstractXtextTests {
 		assertFalse(types.basicGet(1).eIsProxy());
 	}
 
+	@Test public void testResolveLazyCrossReferences_03() throws Exception {
+		with(lazyLinkingTestLangaugeSetup());
+		ResourceSetImpl rs = new ResourceSetImpl();
+		final LazyLinkingResource res1 = (LazyLinkingResource) rs.createResource(URI.createURI("file1.lazylinkingtestlanguage"));
+		res1.load(new StringInputStream("type Foo { } type Baz { Foo prop; }"), null);
+		
+		Model m = (Model) res1.getContents().get(0);
+		Property p = m.getTypes().get(1).getProperties().get(0);
+		final InternalEList<Type> types = (InternalEList<Type>) p.getType();
+		Type lazyProxy = types.basicGet(0);
+		assertTrue(lazyProxy.eIsProxy());
+		res1.resolveLazyCrossReferences(CancelIndicator.NullImpl);
+		assertFalse(types.basicGet(0).eIsProxy());
+		
+		// restore the lazy proxy without notifying the resource, the completed resolution is remembered
+		p.eSetDeliver(false);
+		types.setUnique(0, lazyProxy);
+		p.eSetDeliver(true);
+		res1.resolveLazyCrossReferences(CancelIndicator.NullImpl);
+		assertTrue(types.basicGet(0).eIsProxy());
+		
+		// a modification of the resource drops that information
+		m.getTypes().get(1).setName("Bar");
+		res1.resolveLazyCrossReferences(CancelIndicator.NullImpl);
+		assertFalse(types.basicGet(0).eIsProxy());
+	}
+
 	protected ISetup lazyLinkingTestLangaugeSetup() {
 		return new LazyLinkingTestLanguageStandaloneSetup() {
 			@Override
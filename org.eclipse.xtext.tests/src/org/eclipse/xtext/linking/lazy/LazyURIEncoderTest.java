@@ -8,6 +8,14 @@
  *******************************************************************************/
 package org.eclipse.xtext.linking.lazy;
 
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
 import org.eclipse.xtext.nodemodel.ICompositeNode;
 import org.eclipse.xtext.nodemodel.ILeafNode;
 import org.eclipse.xtext.nodemodel.INode;
@@ -20,6 +28,8 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.google.inject.Guice;
+
 /**
  * @author Sven Efftinge - Initial contribution and API
  *
@@ -45,6 +55,34 @@ public class LazyURIEncoderTest extends Assert {
 		assertEquals(l2, find(n,l2));
 	}
 	
+	@Test public void testShortFragmentInLongList() throws Exception {
+		LazyURIEncoder cachingEncoder = Guice.createInjector().getInstance(LazyURIEncoder.class);
+		Resource resource = new ResourceImpl(URI.createURI("test.ecore"));
+		EPackage pack = EcoreFactory.eINSTANCE.createEPackage();
+		resource.getContents().add(pack);
+		for (int i = 0; i < 100; i++) {
+			EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+			eClass.setName("C" + i);
+			pack.getEClassifiers().add(eClass);
+		}
+		String prefix = "0." + EcorePackage.EPACKAGE__ECLASSIFIERS + ".";
+		for (int i = 0; i < 100; i++) {
+			assertEquals(prefix + i, shortFragment(cachingEncoder, pack.getEClassifiers().get(i)));
+		}
+		EClass moved = (EClass) pack.getEClassifiers().get(99);
+		pack.getEClassifiers().move(0, 99);
+		assertEquals(prefix + "0", shortFragment(cachingEncoder, moved));
+		assertEquals(prefix + "99", shortFragment(cachingEncoder, pack.getEClassifiers().get(99)));
+		EClass middle = (EClass) pack.getEClassifiers().get(50);
+		assertSame(middle, cachingEncoder.resolveShortFragment(resource, shortFragment(cachingEncoder, middle)));
+	}
+	
+	private String shortFragment(LazyURIEncoder encoder, EObject obj) {
+		StringBuilder result = new StringBuilder();
+		encoder.appendShortFragment(obj, result);
+		return result.toString();
+	}
+	
 	private LazyURIEncoder encoder;
 	
 	@Before
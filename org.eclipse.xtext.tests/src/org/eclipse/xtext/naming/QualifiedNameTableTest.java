@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sigasi N.V. (http://www.sigasi.com) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.naming;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class QualifiedNameTableTest extends Assert {
+
+	@Test public void testEqualNamesAreShared() {
+		QualifiedNameTable table = new QualifiedNameTable();
+		QualifiedName first = table.get(QualifiedName.create(new String("org"), new String("Foo")));
+		QualifiedName second = table.get(QualifiedName.create(new String("org"), new String("Foo")));
+		assertSame(first, second);
+		assertEquals(QualifiedName.create("org", "Foo"), first);
+	}
+
+	@Test public void testSegmentsAreShared() {
+		QualifiedNameTable table = new QualifiedNameTable();
+		QualifiedName foo = table.get(QualifiedName.create(new String("org"), new String("Foo")));
+		QualifiedName bar = table.get(QualifiedName.create(new String("org"), new String("Bar")));
+		assertSame(foo.getFirstSegment(), bar.getFirstSegment());
+	}
+
+	@Test public void testLowerCaseIsShared() {
+		QualifiedNameTable table = new QualifiedNameTable();
+		QualifiedName upper = table.get(QualifiedName.create("org", "Foo"));
+		QualifiedName mixed = table.get(QualifiedName.create("org", "FOO"));
+		assertNotSame(upper, mixed);
+		assertSame(upper.toLowerCase(), mixed.toLowerCase());
+		assertSame(upper.toLowerCase(), table.get(QualifiedName.create("org", "foo")));
+		assertSame(upper.toLowerCase(), upper.toLowerCase().toLowerCase());
+	}
+
+	@Test public void testEmptyName() {
+		assertSame(QualifiedName.EMPTY, new QualifiedNameTable().get(QualifiedName.create()));
+	}
+
+}
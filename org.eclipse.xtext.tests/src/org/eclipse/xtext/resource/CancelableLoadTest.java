@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sigasi N.V. (http://www.sigasi.com) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource;
+
+import java.io.StringReader;
+import java.util.Collections;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtext.linking.LangATestLanguageStandaloneSetup;
+import org.eclipse.xtext.parser.IParseResult;
+import org.eclipse.xtext.resource.impl.ListBasedDiagnosticConsumer;
+import org.eclipse.xtext.service.OperationCanceledError;
+import org.eclipse.xtext.tests.AbstractXtextTests;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.StringInputStream;
+import org.junit.Test;
+
+public class CancelableLoadTest extends AbstractXtextTests {
+
+	private static final CancelIndicator CANCELED = () -> true;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		with(new LangATestLanguageStandaloneSetup());
+	}
+
+	@Test
+	public void testParseWithoutCancellation() throws Exception {
+		IParseResult result = getParser().parse(new StringReader(createModel(2000)), CancelIndicator.NullImpl);
+		assertFalse(result.hasSyntaxErrors());
+		assertEquals(createModel(2000), result.getRootNode().getText());
+	}
+
+	@Test(expected = OperationCanceledError.class)
+	public void testCanceledParse() throws Exception {
+		getParser().parse(new StringReader(createModel(2000)), CANCELED);
+	}
+
+	@Test
+	public void testSmallInputIsNotInterrupted() throws Exception {
+		IParseResult result = getParser().parse(new StringReader(createModel(1)), CANCELED);
+		assertFalse(result.hasSyntaxErrors());
+	}
+
+	@Test(expected = OperationCanceledError.class)
+	public void testCanceledLinking() throws Exception {
+		XtextResource resource = getResourceFromString(createModel(2000));
+		EObject root = resource.getParseResult().getRootASTElement();
+		resource.getLinker().linkModel(root, new ListBasedDiagnosticConsumer(), CANCELED);
+	}
+
+	@Test
+	public void testCanceledLoadUnloadsResource() throws Exception {
+		XtextResourceSet resourceSet = get(XtextResourceSet.class);
+		XtextResource resource = (XtextResource) resourceSet.createResource(URI.createURI("foo.langatestlanguage"));
+		try {
+			resource.load(new StringInputStream(createModel(2000)),
+					Collections.singletonMap(XtextResource.OPTION_CANCEL_INDICATOR, CANCELED));
+			fail("Expected the load to be canceled");
+		} catch (OperationCanceledError e) {
+			// expected
+		}
+		assertFalse(resource.isLoaded());
+		assertTrue(resource.getContents().isEmpty());
+		resource.load(new StringInputStream(createModel(2000)),
+				Collections.singletonMap(XtextResource.OPTION_CANCEL_INDICATOR, CancelIndicator.NullImpl));
+		assertTrue(resource.isLoaded());
+		assertTrue(resource.getErrors().isEmpty());
+	}
+
+	private String createModel(int types) {
+		StringBuilder result = new StringBuilder();
+		for (int i = 0; i < types; i++) {
+			result.append("type T").append(i).append(" extends T").append((i + 1) % types).append('\n');
+		}
+		return result.toString();
+	}
+
+}
@@ -7,9 +7,16 @@
  *******************************************************************************/
 package org.eclipse.xtext.resource
 
+import com.google.common.base.Throwables
 import java.io.File
 import java.io.IOException
 import java.util.Map
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
 import org.eclipse.emf.common.util.URI
 import org.eclipse.emf.ecore.resource.Resource
 import org.eclipse.emf.ecore.resource.impl.ResourceImpl
@@ -280,6 +287,35 @@ abstract class AbstractXtextResourceSetTest extends AbstractResourceSetTest {
 		assertEquals(0, rs.getNormalizationMap.size)
 	}
 	
+	@Test
+	def void testResourcesAreRemovedWithNormalizedURI() {
+		val rs = createEmptyResourceSet
+		
+		val foo = new XtextResource
+		foo.URI = URI::createURI('/a/../foo')
+		val bar = new XtextResource
+		bar.URI = URI::createURI('/a/../bar')
+		val baz = new XtextResource
+		baz.URI = URI::createURI('/baz')
+		
+		rs.URIConverter.URIMap.put(URI::createURI('alias:/foo'), URI::createURI('/a/../foo'))
+		rs.resources += newArrayList(foo, bar, baz)
+		assertSame(foo, rs.getResource(URI::createURI('alias:/foo'), false))
+		
+		assertEquals(5, rs.URIResourceMap.size)
+		assertEquals(4, rs.getNormalizationMap.size)
+		
+		rs.resources.removeAll(newArrayList(foo, baz))
+		
+		assertTrue(foo.eAdapters.empty)
+		assertTrue(baz.eAdapters.empty)
+		assertEquals(2, rs.URIResourceMap.size)
+		assertEquals(bar, rs.URIResourceMap.get(bar.URI))
+		assertEquals(1, rs.getNormalizationMap.size)
+		assertEquals(rs.URIConverter.normalize(bar.URI), rs.getNormalizationMap.get(bar.URI))
+		assertNull(rs.getResource(URI::createURI('alias:/foo'), false))
+	}
+	
 	@Test
 	def void testResourcesAreClearedWithNormalizedURI_01() {
 		val rs = createEmptyResourceSet
@@ -383,4 +419,130 @@ class SynchronizedXtextResourceSetTest extends AbstractXtextResourceSetTest {
 		assertEquals(resourceSet.resources.map[ getURI.toString ].toList.sort.join('\n'), resourceSet.getNormalizationMap.keySet.map[toString].toList.sort.join('\n'))
 	}
 	
+}
+
+class ConcurrentXtextResourceSetTest extends AbstractXtextResourceSetTest {
+	
+	override protected createEmptyResourceSet() {
+		new ConcurrentXtextResourceSet
+	}
+	
+	@Test
+	def void testResourceIsLoadedOnce() {
+		val resourceSet = createEmptyResourceSet
+		val loadCount = new AtomicInteger
+		val Resource.Factory factory = [ uri | new SlowLoadingResource(uri, loadCount) ]
+		resourceSet.resourceFactoryRegistry.extensionToFactoryMap.put('xmi', factory)
+		val uri = URI.createURI('file:/slow.xmi')
+		val executor = Executors.newFixedThreadPool(8)
+		try {
+			val futures = (1..8).map [
+				executor.submit([ resourceSet.getResource(uri, true) ] as Callable<Resource>)
+			].toList
+			val resources = futures.map[get].toSet
+			assertEquals(1, resources.size)
+			assertTrue(resources.head.loaded)
+		} finally {
+			executor.shutdown
+		}
+		assertEquals(1, loadCount.get)
+		assertEquals(1, resourceSet.resources.size)
+	}
+	
+	@Test
+	def void testRemovedResourceIsNotReturned() {
+		val resourceSet = createEmptyResourceSet
+		val Resource.Factory factory = [ uri | new SlowLoadingResource(uri, new AtomicInteger) ]
+		resourceSet.resourceFactoryRegistry.extensionToFactoryMap.put('xmi', factory)
+		val uri = URI.createURI('file:/slow.xmi')
+		val resource = resourceSet.getResource(uri, true)
+		assertSame(resource, resourceSet.getResource(uri, false))
+		
+		resourceSet.resources.remove(resource)
+		assertNull(resourceSet.getResource(uri, false))
+		
+		val reloaded = resourceSet.getResource(uri, true)
+		assertNotSame(resource, reloaded)
+		assertSame(reloaded, resourceSet.getResource(uri, false))
+	}
+	
+	@Test
+	def void testDifferentResourcesAreLoadedInParallel() {
+		val resourceSet = createEmptyResourceSet
+		val loading = new CountDownLatch(2)
+		val Resource.Factory factory = [ uri |
+			new ResourceImpl(uri) {
+				override load(Map<?, ?> options) throws IOException {
+					loading.countDown
+					if (!loading.await(10, TimeUnit.SECONDS))
+						throw new IOException('The other resource is not loaded at the same time')
+					setLoaded(true)
+				}
+			}
+		]
+		resourceSet.resourceFactoryRegistry.extensionToFactoryMap.put('xmi', factory)
+		val executor = Executors.newFixedThreadPool(2)
+		try {
+			val futures = #['file:/first.xmi', 'file:/second.xmi'].map [ uri |
+				executor.submit([ resourceSet.getResource(URI.createURI(uri), true) ] as Callable<Resource>)
+			].toList
+			for (future : futures) {
+				assertTrue(future.get.loaded)
+			}
+		} finally {
+			executor.shutdown
+		}
+		assertEquals(2, resourceSet.resources.size)
+	}
+	
+	@Test
+	def void testFailedLoadIsReportedToWaitingThreads() {
+		val resourceSet = createEmptyResourceSet
+		val loading = new CountDownLatch(1)
+		val Resource.Factory factory = [ uri |
+			new ResourceImpl(uri) {
+				override load(Map<?, ?> options) throws IOException {
+					loading.countDown
+					Thread.sleep(50)
+					throw new IOException('Cannot load ' + getURI)
+				}
+			}
+		]
+		resourceSet.resourceFactoryRegistry.extensionToFactoryMap.put('xmi', factory)
+		val uri = URI.createURI('file:/broken.xmi')
+		val executor = Executors.newFixedThreadPool(2)
+		try {
+			val loader = executor.submit([ resourceSet.getResource(uri, true) ] as Callable<Resource>)
+			loading.await(10, TimeUnit.SECONDS)
+			val waiter = executor.submit([ resourceSet.getResource(uri, true) ] as Callable<Resource>)
+			for (future : #[loader, waiter]) {
+				try {
+					future.get
+					fail('Expected the load to fail')
+				} catch (ExecutionException e) {
+					assertEquals('Cannot load ' + uri, Throwables.getRootCause(e).message)
+				}
+			}
+		} finally {
+			executor.shutdown
+		}
+	}
+	
+}
+
+class SlowLoadingResource extends ResourceImpl {
+	
+	val AtomicInteger loadCount
+	
+	new(URI uri, AtomicInteger loadCount) {
+		super(uri)
+		this.loadCount = loadCount
+	}
+	
+	override load(Map<?, ?> options) throws IOException {
+		loadCount.incrementAndGet
+		Thread.sleep(20)
+		setLoaded(true)
+	}
+	
 }
\ No newline at end of file
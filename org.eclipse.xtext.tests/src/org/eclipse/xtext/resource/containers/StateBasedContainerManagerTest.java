@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sigasi N.V. (http://www.sigasi.com) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.containers;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.ENamedElement;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.impl.EcoreResourceFactoryImpl;
+import org.eclipse.xtext.naming.IQualifiedNameProvider;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IContainer;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceDescriptions;
+import org.eclipse.xtext.resource.impl.DefaultResourceDescriptionManager;
+import org.eclipse.xtext.resource.impl.DefaultResourceDescriptionStrategy;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+import org.eclipse.xtext.util.IResourceScopeCache;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Multimap;
+
+public class StateBasedContainerManagerTest extends Assert {
+
+	private DefaultResourceDescriptionManager resourceDescriptionManager;
+	private ResourceSetImpl resourceSet;
+	private ResourceSetBasedAllContainersState state;
+	private StateBasedContainerManager containerManager;
+
+	@Before
+	public void setUp() throws Exception {
+		resourceDescriptionManager = new DefaultResourceDescriptionManager();
+		resourceDescriptionManager.setCache(IResourceScopeCache.NullImpl.INSTANCE);
+		DefaultResourceDescriptionStrategy strategy = new DefaultResourceDescriptionStrategy();
+		strategy.setQualifiedNameProvider(new IQualifiedNameProvider.AbstractImpl() {
+			@Override
+			public QualifiedName getFullyQualifiedName(EObject obj) {
+				return QualifiedName.create(((ENamedElement) obj).getName());
+			}
+		});
+		resourceDescriptionManager.setStrategy(strategy);
+		resourceSet = new ResourceSetImpl();
+		state = new ResourceSetBasedAllContainersState();
+		containerManager = new StateBasedContainerManager();
+		containerManager.setDelegate(new ProjectDescriptionBasedContainerManager());
+		containerManager.setStateProvider(new IAllContainersState.Provider() {
+			@Override
+			public IAllContainersState get(IResourceDescriptions context) {
+				return state;
+			}
+		});
+	}
+
+	@Test
+	public void testContainersAreShared() {
+		IResourceDescription a = createDescription("a");
+		IResourceDescription b = createDescription("b");
+		IResourceDescription c = createDescription("c");
+		configure(Arrays.asList("p1", "p2"), "p1", a, "p1", b, "p2", c);
+		IResourceDescriptions descriptions = new ResourceDescriptionsData(Arrays.asList(a, b, c));
+		List<IContainer> visibleFromA = containerManager.getVisibleContainers(a, descriptions);
+		List<IContainer> visibleFromB = containerManager.getVisibleContainers(b, descriptions);
+		assertEquals(2, visibleFromA.size());
+		assertSame(visibleFromA.get(0), visibleFromB.get(0));
+		assertSame(visibleFromA.get(1), visibleFromB.get(1));
+		assertSame(visibleFromA.get(0), containerManager.getContainer(b, descriptions));
+		assertTrue(visibleFromA.get(1).hasResourceDescription(c.getURI()));
+		assertFalse(visibleFromA.get(1).hasResourceDescription(a.getURI()));
+	}
+
+	@Test
+	public void testTopologyChanges() {
+		IResourceDescription a = createDescription("a");
+		IResourceDescription b = createDescription("b");
+		configure(Arrays.asList("p1"), "p1", a, "p2", b);
+		IResourceDescriptions descriptions = new ResourceDescriptionsData(Arrays.asList(a, b));
+		assertEquals(1, containerManager.getVisibleContainers(a, descriptions).size());
+		configure(Arrays.asList("p1", "p2"), "p1", a, "p2", b);
+		List<IContainer> visible = containerManager.getVisibleContainers(a, descriptions);
+		assertEquals(2, visible.size());
+		assertTrue(visible.get(1).hasResourceDescription(b.getURI()));
+		configure(Arrays.asList("p1", "p2"), "p1", a, "p1", b);
+		visible = containerManager.getVisibleContainers(a, descriptions);
+		assertEquals(1, visible.size());
+		assertTrue(visible.get(0).hasResourceDescription(b.getURI()));
+		assertEquals(2, visible.get(0).getResourceDescriptionCount());
+	}
+
+	@Test
+	public void testUnreferencedDescriptionsCanBeCollected() throws InterruptedException {
+		IResourceDescription a = createDescription("a");
+		configure(Arrays.asList("p1"), "p1", a);
+		WeakReference<IResourceDescriptions> descriptions = getVisibleContainers(a);
+		for (int i = 0; i < 100 && descriptions.get() != null; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertNull(descriptions.get());
+	}
+
+	private WeakReference<IResourceDescriptions> getVisibleContainers(IResourceDescription desc) {
+		IResourceDescriptions descriptions = new ResourceDescriptionsData(Arrays.asList(desc));
+		assertEquals(1, containerManager.getVisibleContainers(desc, descriptions).size());
+		return new WeakReference<IResourceDescriptions>(descriptions);
+	}
+
+	private void configure(List<String> containers, Object... contents) {
+		Multimap<String, URI> container2URIs = HashMultimap.create();
+		for (int i = 0; i < contents.length; i += 2) {
+			container2URIs.put((String) contents[i], ((IResourceDescription) contents[i + 1]).getURI());
+		}
+		state.configure(Lists.newArrayList(containers), container2URIs);
+	}
+
+	private IResourceDescription createDescription(String name) {
+		Resource resource = new EcoreResourceFactoryImpl().createResource(URI.createURI("test://" + name + ".ecore"));
+		resourceSet.getResources().add(resource);
+		EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+		eClass.setName(name);
+		resource.getContents().add(eClass);
+		return resourceDescriptionManager.getResourceDescription(resource);
+	}
+
+}
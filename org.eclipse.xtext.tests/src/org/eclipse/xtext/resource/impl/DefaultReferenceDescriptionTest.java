@@ -34,8 +34,11 @@ import org.eclipse.xtext.linking.langATestLanguage.Main;
 import org.eclipse.xtext.linking.lazy.LazyURIEncoder;
 import org.eclipse.xtext.naming.IQualifiedNameProvider;
 import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IDefaultResourceDescriptionStrategy;
+import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IReferenceDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.SourceRange;
 import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.tests.AbstractXtextTests;
 import org.eclipse.xtext.util.CancelIndicator;
@@ -96,6 +99,20 @@ public class DefaultReferenceDescriptionTest extends AbstractXtextTests {
 		assertEquals(LangATestLanguagePackage.Literals.TYPE__IMPLEMENTS,refDesc2.getEReference());
 	}
 	
+	@Test public void testSourceRanges() throws Exception {
+		with(new LangATestLanguageStandaloneSetup());
+		((DefaultResourceDescriptionStrategy) get(IDefaultResourceDescriptionStrategy.class)).setRecordSourceRanges(true);
+		XtextResource targetResource = getResource("type C", "bar.langatestlanguage");
+		XtextResource resource = (XtextResource) targetResource.getResourceSet().createResource(URI.createURI("foo.langatestlanguage"));
+		resource.load(new StringInputStream("type A\n  extends C"), null);
+		EcoreUtil2.resolveLazyCrossReferences(resource, CancelIndicator.NullImpl);
+		IResourceDescription resDesc = resource.getResourceServiceProvider().getResourceDescriptionManager().getResourceDescription(resource);
+		IReferenceDescription refDesc = Iterables.getOnlyElement(resDesc.getReferenceDescriptions());
+		assertEquals(new SourceRange(17, 1, 1, 10, 1, 11), SourceRange.of(refDesc));
+		IEObjectDescription typeA = Iterables.getOnlyElement(resDesc.getExportedObjects());
+		assertEquals(new SourceRange(5, 1, 0, 5, 0, 6), SourceRange.of(typeA));
+	}
+	
 	@Test public void testSpecialReferences() {
 		EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
 		ePackage.setName("test");
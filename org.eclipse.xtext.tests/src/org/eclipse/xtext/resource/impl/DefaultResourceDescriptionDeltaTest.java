@@ -20,6 +20,7 @@ import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.resource.EObjectDescription;
 import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.SourceRange;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -262,6 +263,23 @@ public class DefaultResourceDescriptionDeltaTest extends Assert {
 		assertFalse(new DefaultResourceDescriptionDelta(resourceDesc, resourceDesc2).haveEObjectDescriptionsChanged());
 	}
 	
+	@Test public void testHasChanges_SourceRangeIgnored() throws Exception {
+		TestResDesc resourceDesc = new TestResDesc();
+		resourceDesc.exported.add(EObjectDescription.create(BAR, EcorePackage.Literals.EANNOTATION,
+				ImmutableMap.of("foo", "bar", SourceRange.USER_DATA_KEY, new SourceRange(10, 3, 1, 0, 1, 3).toUserData())));
+		
+		TestResDesc resourceDesc2 = new TestResDesc();
+		resourceDesc2.exported.add(EObjectDescription.create(BAR, EcorePackage.Literals.EANNOTATION,
+				ImmutableMap.of("foo", "bar", SourceRange.USER_DATA_KEY, new SourceRange(20, 3, 2, 0, 2, 3).toUserData())));
+		
+		TestResDesc resourceDesc3 = new TestResDesc();
+		resourceDesc3.exported.add(EObjectDescription.create(BAR, EcorePackage.Literals.EANNOTATION, Collections.singletonMap("foo", "bar")));
+		
+		assertFalse(new DefaultResourceDescriptionDelta(resourceDesc, resourceDesc2).haveEObjectDescriptionsChanged());
+		assertFalse(new DefaultResourceDescriptionDelta(resourceDesc, resourceDesc3).haveEObjectDescriptionsChanged());
+		assertFalse(new DefaultResourceDescriptionDelta(resourceDesc3, resourceDesc2).haveEObjectDescriptionsChanged());
+	}
+	
 	@Test public void testHasChanged_differentOrder() throws Exception {
 		TestResDesc resourceDesc = new TestResDesc();
 		resourceDesc.imported.add(FOO);
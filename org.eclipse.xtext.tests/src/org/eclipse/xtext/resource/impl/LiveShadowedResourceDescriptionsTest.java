@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sigasi N.V. (http://www.sigasi.com) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.impl;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.ENamedElement;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.xmi.impl.EcoreResourceFactoryImpl;
+import org.eclipse.xtext.naming.IQualifiedNameProvider;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceDescription.Manager;
+import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.util.IResourceScopeCache;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+public class LiveShadowedResourceDescriptionsTest extends Assert implements IResourceServiceProvider.Registry {
+
+	private DefaultResourceDescriptionManager resourceDescriptionManager;
+	private ResourceSet localResourceSet;
+	private ResourceSet globalResourceSet;
+	private LiveShadowedResourceDescriptions descriptions;
+
+	@Before
+	public void setUp() throws Exception {
+		resourceDescriptionManager = new DefaultResourceDescriptionManager();
+		resourceDescriptionManager.setCache(IResourceScopeCache.NullImpl.INSTANCE);
+		DefaultResourceDescriptionStrategy strategy = new DefaultResourceDescriptionStrategy();
+		strategy.setQualifiedNameProvider(new IQualifiedNameProvider.AbstractImpl() {
+			@Override
+			public QualifiedName getFullyQualifiedName(EObject obj) {
+				return QualifiedName.create(((ENamedElement) obj).getName());
+			}
+		});
+		resourceDescriptionManager.setStrategy(strategy);
+		localResourceSet = new XtextResourceSet();
+		globalResourceSet = new XtextResourceSet();
+		ResourceSetBasedResourceDescriptions localDescriptions = new ResourceSetBasedResourceDescriptions();
+		localDescriptions.setRegistry(this);
+		localDescriptions.setContext(localResourceSet);
+		descriptions = new LiveShadowedResourceDescriptions();
+		descriptions.setLocalDescriptions(localDescriptions);
+	}
+
+	@Override
+	public IResourceServiceProvider getResourceServiceProvider(URI uri, String contentType) {
+		return new DefaultResourceServiceProvider() {
+			@Override
+			public Manager getResourceDescriptionManager() {
+				return resourceDescriptionManager;
+			}
+		};
+	}
+
+	@Test
+	public void testNothingShadowed() {
+		createGlobalIndex("a", "b");
+		assertEquals(Collections.emptySet(), descriptions.getShadowedResourceURIs());
+		assertEquals(Lists.newArrayList(uri("a").toString(), uri("b").toString()), sorted(descriptions.getAllResourceDescriptions()));
+		assertEquals(2, Iterables.size(descriptions.getExportedObjects()));
+	}
+
+	@Test
+	public void testShadowedDescriptions() {
+		createGlobalIndex("a", "b");
+		createResource(localResourceSet, "a", "newA");
+		createResource(localResourceSet, "c", "c");
+		Set<URI> expectedShadowed = Sets.newHashSet(uri("a"));
+		assertEquals(expectedShadowed, descriptions.getShadowedResourceURIs());
+		assertEquals(Lists.newArrayList(uri("a").toString(), uri("b").toString(), uri("c").toString()), sorted(descriptions.getAllResourceDescriptions()));
+		assertEquals(Sets.newHashSet("newA", "b", "c"), names(descriptions.getExportedObjects()));
+		assertTrue(Iterables.isEmpty(descriptions.getExportedObjects(EcorePackage.Literals.ECLASS, QualifiedName.create("a"), false)));
+		assertEquals(Sets.newHashSet("newA", "b", "c"), names(descriptions.getExportedObjectsByType(EcorePackage.Literals.ECLASS)));
+		assertEquals("newA", descriptions.getResourceDescription(uri("a")).getExportedObjects().iterator().next().getName().toString());
+	}
+
+	@Test
+	public void testLocalOverlayFollowsChanges() {
+		createGlobalIndex("a", "b");
+		Resource resource = createResource(localResourceSet, "c", "c");
+		assertEquals(Sets.newHashSet("c"), names(descriptions.getExportedObjects(EcorePackage.Literals.ECLASS, QualifiedName.create("C"), true)));
+		assertFalse(descriptions.isShadowed(EcorePackage.Literals.ECLASS, QualifiedName.create("c"), false));
+		((EClass) resource.getContents().get(0)).setName("b");
+		assertTrue(Iterables.isEmpty(descriptions.getExportedObjects(EcorePackage.Literals.ECLASS, QualifiedName.create("c"), false)));
+		assertEquals(2, Iterables.size(descriptions.getExportedObjects(EcorePackage.Literals.ECLASS, QualifiedName.create("b"), false)));
+		assertTrue(descriptions.isShadowed(EcorePackage.Literals.ECLASS, QualifiedName.create("b"), false));
+	}
+
+	@Test
+	public void testOverriddenShadowingPredicate() {
+		LiveShadowedResourceDescriptions overridden = new LiveShadowedResourceDescriptions() {
+			@Override
+			protected boolean isExistingOrRenamedResourceURI(URI uri) {
+				return uri.equals(uri("b")) || super.isExistingOrRenamedResourceURI(uri);
+			}
+		};
+		overridden.setLocalDescriptions((ResourceSetBasedResourceDescriptions) descriptions.getLocalDescriptions());
+		descriptions = overridden;
+		createGlobalIndex("a", "b");
+		createResource(localResourceSet, "a", "newA");
+		assertEquals(Lists.newArrayList(uri("a").toString()), sorted(descriptions.getAllResourceDescriptions()));
+		assertEquals(Sets.newHashSet("newA"), names(descriptions.getExportedObjects()));
+	}
+
+	private void createGlobalIndex(String... names) {
+		List<IResourceDescription> result = Lists.newArrayList();
+		for (String name : names) {
+			Resource resource = createResource(globalResourceSet, name, name);
+			result.add(resourceDescriptionManager.getResourceDescription(resource));
+		}
+		descriptions.setGlobalDescriptions(new ResourceDescriptionsData(result));
+	}
+
+	private Resource createResource(ResourceSet resourceSet, String name, String className) {
+		Resource resource = new EcoreResourceFactoryImpl().createResource(uri(name));
+		resourceSet.getResources().add(resource);
+		EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+		eClass.setName(className);
+		resource.getContents().add(eClass);
+		return resource;
+	}
+
+	private URI uri(String name) {
+		return URI.createURI("test://" + name + ".ecore");
+	}
+
+	private List<String> sorted(Iterable<IResourceDescription> descriptions) {
+		List<String> result = Lists.newArrayList();
+		for (IResourceDescription description : descriptions) {
+			result.add(description.getURI().toString());
+		}
+		Collections.sort(result);
+		return result;
+	}
+
+	private Set<String> names(Iterable<IEObjectDescription> objects) {
+		Set<String> result = Sets.newHashSet();
+		for (IEObjectDescription object : objects) {
+			result.add(object.getName().toString());
+		}
+		return result;
+	}
+
+}
@@ -14,6 +14,7 @@ import java.io.ObjectOutputStream
 import org.eclipse.emf.common.util.URI
 import org.eclipse.emf.ecore.EcorePackage
 import org.eclipse.xtext.naming.QualifiedName
+import org.eclipse.xtext.resource.SourceRange
 import org.junit.Test
 
 import static org.junit.Assert.*
@@ -41,6 +42,22 @@ class SerializableResourceDescriptionTest {
 					containerEObjectURI = uri.appendFragment('baz2')
 					EReference = EcorePackage.eINSTANCE.EAnnotation_Contents
 					indexInList = 2
+				],
+				new SerializableReferenceDescription => [
+					sourceEObjectUri = uri.appendFragment('foo3')
+					targetEObjectUri = uri.appendFragment('hubble3')
+					containerEObjectURI = uri.appendFragment('baz3')
+					EReference = EcorePackage.eINSTANCE.EAnnotation_Contents
+					indexInList = -1
+					sourceRange = new SourceRange(10, 3, 1, 4, 1, 7)
+				],
+				new SerializableReferenceDescription => [
+					sourceEObjectUri = uri.appendFragment('foo4')
+					targetEObjectUri = uri.appendFragment('hubble4')
+					containerEObjectURI = uri.appendFragment('baz4')
+					EReference = EcorePackage.eINSTANCE.EAnnotation_Contents
+					indexInList = 0
+					sourceRange = new SourceRange(20, 5, 2, 0, 3, 1)
 				]
 			]
 			descriptions = #[
@@ -76,6 +93,7 @@ class SerializableResourceDescriptionTest {
 			assertEquals(beforeRef.targetEObjectUri, afterRef.targetEObjectUri)
 			assertEquals(beforeRef.EReference, afterRef.EReference)
 			assertEquals(beforeRef.indexInList, afterRef.indexInList)
+			assertEquals(beforeRef.sourceRange, afterRef.sourceRange)
 		}
 		assertEquals(before.descriptions.size, after.descriptions.size)
 		for (int i : 0..<before.descriptions.size) {
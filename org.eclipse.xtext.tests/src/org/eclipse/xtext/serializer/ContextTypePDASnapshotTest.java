@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sigasi N.V. (http://www.sigasi.com) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.serializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import org.eclipse.xtext.Grammar;
+import org.eclipse.xtext.RuleCall;
+import org.eclipse.xtext.XtextStandaloneSetup;
+import org.eclipse.xtext.grammaranalysis.impl.GrammarElementTitleSwitch;
+import org.eclipse.xtext.serializer.analysis.ContextTypePDASnapshot;
+import org.eclipse.xtext.serializer.analysis.IContextTypePDAProvider;
+import org.eclipse.xtext.serializer.analysis.ISerState;
+import org.eclipse.xtext.serializer.analysis.SerializationContextMap;
+import org.eclipse.xtext.serializer.analysis.SerializationContextMap.Entry;
+import org.eclipse.xtext.tests.AbstractXtextTests;
+import org.eclipse.xtext.util.formallang.Pda;
+import org.eclipse.xtext.util.formallang.PdaListFormatter;
+import org.junit.Test;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.Lists;
+
+public class ContextTypePDASnapshotTest extends AbstractXtextTests {
+
+	final static String HEADER = "grammar org.eclipse.xtext.serializer.ContextTypePDASnapshotTestLanguage"
+			+ " with org.eclipse.xtext.common.Terminals "
+			+ "generate contextTypePDASnapshotTest \"http://www.eclipse.org/2019/tmf/xtext/ContextTypePDASnapshot\"  ";
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		with(XtextStandaloneSetup.class);
+	}
+
+	@Test
+	public void testActionsAndDelegation() throws Exception {
+		assertRoundTrip("Rule: Foo | Delegate1; Delegate1: 'del' Delegate2 bar=ID; Delegate2: val=ID; Foo: val2=ID;"
+				+ "Expr: Prim ({Add.left=current} '+' right=Prim)*; Prim: val=ID | '(' Expr ')';");
+	}
+
+	@Test
+	public void testFragmentsAndParameters() throws Exception {
+		assertRoundTrip("M: 'kw1' s=S<true> | 'kw2' s=S<false> | 'kw3' F; S <P>: <P> v1=ID | <!P> v2=ID;"
+				+ "fragment F: val1=ID ('x' F)? val2=ID;");
+	}
+
+	@Test
+	public void testLoadWithoutBinaryGrammar() throws Exception {
+		Grammar grammar = (Grammar) getModel(HEADER + "Rule: val=ID;");
+		assertNull(get(ContextTypePDASnapshot.class).load(grammar));
+	}
+
+	@Test
+	public void testOutdatedSnapshotIsIgnored() throws Exception {
+		Grammar grammar = (Grammar) getModel(HEADER + "Rule: val=ID | 'kw' val2=ID;");
+		ContextTypePDASnapshot snapshot = get(ContextTypePDASnapshot.class);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		snapshot.writeTo(grammar, get(IContextTypePDAProvider.class).getContextTypePDAs(grammar), out);
+		Grammar same = (Grammar) getModel(HEADER + "Rule: val=ID | 'kw' val2=ID;");
+		assertNotNull(snapshot.readFrom(same, new ByteArrayInputStream(out.toByteArray())));
+		Grammar changed = (Grammar) getModel(HEADER + "Rule: val=ID | 'kw' val2=ID val3=ID;");
+		assertNull(snapshot.readFrom(changed, new ByteArrayInputStream(out.toByteArray())));
+	}
+
+	private void assertRoundTrip(String body) throws Exception {
+		Grammar grammar = (Grammar) getModel(HEADER + body);
+		SerializationContextMap<Pda<ISerState, RuleCall>> pdas = get(IContextTypePDAProvider.class).getContextTypePDAs(grammar);
+		ContextTypePDASnapshot snapshot = get(ContextTypePDASnapshot.class);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		snapshot.writeTo(grammar, pdas, out);
+		SerializationContextMap<Pda<ISerState, RuleCall>> read = snapshot.readFrom(grammar,
+				new ByteArrayInputStream(out.toByteArray()));
+		assertEquals(format(pdas), format(read));
+		assertEquals(pdas.values().size(), read.values().size());
+		for (Entry<Pda<ISerState, RuleCall>> e : pdas.values()) {
+			for (ISerializationContext context : e.getContexts()) {
+				assertEquals(e.getValue(), read.get(context));
+			}
+		}
+	}
+
+	private String format(SerializationContextMap<Pda<ISerState, RuleCall>> pdas) {
+		List<String> result = Lists.newArrayList();
+		PdaListFormatter<ISerState, RuleCall> formatter = new PdaListFormatter<ISerState, RuleCall>();
+		formatter.setStackitemFormatter(new GrammarElementTitleSwitch().showAssignments().hideCardinality());
+		for (Entry<Pda<ISerState, RuleCall>> ctx : pdas.sortedCopy().values()) {
+			result.add(Joiner.on(", ").join(ctx.getContexts()) + ":");
+			result.add("  " + formatter.format(ctx.getValue()).replace("\n", "\n  "));
+		}
+		return Joiner.on("\n").join(result);
+	}
+
+}
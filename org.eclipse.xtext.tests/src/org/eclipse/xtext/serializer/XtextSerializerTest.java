@@ -7,6 +7,9 @@
  *******************************************************************************/
 package org.eclipse.xtext.serializer;
 
+import java.io.IOException;
+import java.io.StringWriter;
+
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.xtext.AbstractRule;
 import org.eclipse.xtext.Grammar;
@@ -19,6 +22,7 @@ import org.eclipse.xtext.common.services.TerminalsGrammarAccess;
 import org.eclipse.xtext.grammarinheritance.services.BaseInheritanceTestLanguageGrammarAccess;
 import org.eclipse.xtext.grammarinheritance.services.InheritanceTestLanguageGrammarAccess;
 import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.serializer.impl.Serializer;
 import org.eclipse.xtext.service.GrammarProvider;
 import org.eclipse.xtext.services.XtextGrammarAccess;
 import org.eclipse.xtext.testing.serializer.SerializerTestHelper;
@@ -70,6 +74,17 @@ public class XtextSerializerTest extends AbstractXtextTests {
 		Assert.assertEquals("(\"with\" usedGrammars+=[Grammar|GrammarID] (\",\" usedGrammars+=[Grammar|GrammarID])*)?", string);
 	}
 	
+	@Test
+	public void testGroupUnformatted() throws IOException {
+		XtextGrammarAccess grammarAccess = get(XtextGrammarAccess.class);
+		Group group = grammarAccess.getGrammarAccess().getGroup_2();
+		StringWriter writer = new StringWriter();
+		get(Serializer.class).serializeUnformatted(group, writer);
+		String string = writer.toString();
+		Assert.assertTrue(string, string.startsWith("( \"with\" usedGrammars"));
+		Assert.assertEquals(get(ISerializer.class).serialize(group).replaceAll("\\s", ""), string.replaceAll("\\s", ""));
+	}
+	
 	@Test
 	public void testFQNInSuper_01() {
 		GrammarProvider grammarProvider = new GrammarProvider("org.eclipse.xtext.grammarinheritance.InheritanceTestLanguage", new Provider<XtextResourceSet>() {
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sigasi N.V. (http://www.sigasi.com) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.service;
+
+import static org.junit.Assert.*;
+
+import org.eclipse.xtext.Grammar;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.junit.Test;
+
+import com.google.inject.Provider;
+
+public class GrammarProviderTest {
+
+	private static final String LANGUAGE_NAME = "org.eclipse.xtext.grammarinheritance.InheritanceTestLanguage";
+
+	@Test
+	public void testGrammarIsNotSharedByDefault() {
+		Grammar first = newGrammarProvider(false).getGrammar(this);
+		Grammar second = newGrammarProvider(false).getGrammar(this);
+		assertEquals(LANGUAGE_NAME, first.getName());
+		assertEquals(LANGUAGE_NAME, second.getName());
+		assertNotSame(first, second);
+		assertNotNull(AllRulesCache.findInEmfObject(first));
+	}
+
+	@Test
+	public void testGrammarIsSharedBetweenProviders() {
+		Grammar first = newGrammarProvider(true).getGrammar(this);
+		Grammar second = newGrammarProvider(true).getGrammar(this);
+		assertNotNull(first);
+		assertEquals(LANGUAGE_NAME, first.getName());
+		assertSame(first, second);
+	}
+
+	@Test
+	public void testSharedGrammarHasRuleCache() {
+		Grammar grammar = newGrammarProvider(true).getGrammar(this);
+		assertNotNull(AllRulesCache.findInEmfObject(grammar));
+	}
+
+	private GrammarProvider newGrammarProvider(boolean shareGrammars) {
+		GrammarProvider result = new GrammarProvider(LANGUAGE_NAME, new Provider<XtextResourceSet>() {
+			@Override
+			public XtextResourceSet get() {
+				return new XtextResourceSet();
+			}
+		});
+		result.setClassLoader(getClass().getClassLoader());
+		result.setShareGrammars(shareGrammars);
+		return result;
+	}
+}
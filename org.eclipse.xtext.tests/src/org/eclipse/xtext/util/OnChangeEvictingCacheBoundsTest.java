@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sigasi N.V. (http://www.sigasi.com) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.util;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.inject.Provider;
+
+/**
+ * @since 2.19
+ */
+public class OnChangeEvictingCacheBoundsTest extends Assert {
+
+	@Test public void testStatistics() {
+		OnChangeEvictingCache cache = new OnChangeEvictingCache();
+		CacheStatistics statistics = new CacheStatistics();
+		cache.setStatisticsListener(statistics);
+		EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+		Resource resource = newResource(eClass);
+		cache.get("a", resource, provide("1"));
+		cache.get("a", resource, provide("2"));
+		cache.get(Tuples.create("b", 1), resource, provide("3"));
+		cache.get(Tuples.create("b", 2), resource, provide("4"));
+		eClass.setName("Changed");
+
+		CacheStatistics.Entry a = statistics.getEntries().get("a");
+		assertEquals(1, a.getHits());
+		assertEquals(1, a.getMisses());
+		assertEquals(1, a.getEvictions());
+		CacheStatistics.Entry b = statistics.getEntries().get("b");
+		assertEquals(0, b.getHits());
+		assertEquals(2, b.getMisses());
+		assertEquals(2, b.getEvictions());
+		assertEquals(0, b.getEntries());
+	}
+
+	@Test public void testMaxEntriesPerResource() {
+		OnChangeEvictingCache cache = new OnChangeEvictingCache();
+		CacheStatistics statistics = new CacheStatistics();
+		cache.setStatisticsListener(statistics);
+		cache.setMaxEntriesPerResource(2);
+		Resource resource = newResource(EcoreFactory.eINSTANCE.createEClass());
+		cache.get("a", resource, provide("1"));
+		cache.get("b", resource, provide("2"));
+		cache.get("a", resource, provide("3"));
+		cache.get("c", resource, provide("4"));
+		assertEquals("1", cache.get("a", resource, provide("5")));
+		assertEquals("6", cache.get("b", resource, provide("6")));
+		assertEquals(1, statistics.getEntries().get("b").getEvictions());
+	}
+
+	@Test public void testMaxEntries() {
+		OnChangeEvictingCache cache = new OnChangeEvictingCache();
+		cache.setMaxEntries(4);
+		Resource first = newResource(EcoreFactory.eINSTANCE.createEClass());
+		Resource second = newResource(EcoreFactory.eINSTANCE.createEClass());
+		cache.get("a", first, provide("1"));
+		cache.get("b", first, provide("2"));
+		cache.get("c", first, provide("3"));
+		cache.get("a", second, provide("4"));
+		cache.get("b", second, provide("5"));
+		// the two least recently used values of the least recently used resource are gone
+		assertEquals("3", cache.get("c", first, provide("6")));
+		assertEquals("4", cache.get("a", second, provide("7")));
+		assertEquals("5", cache.get("b", second, provide("8")));
+		assertEquals("9", cache.get("a", first, provide("9")));
+	}
+
+	@Test public void testMaxEntriesAfterChange() {
+		OnChangeEvictingCache cache = new OnChangeEvictingCache();
+		cache.setMaxEntries(2);
+		EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+		Resource first = newResource(eClass);
+		Resource second = newResource(EcoreFactory.eINSTANCE.createEClass());
+		cache.get("a", first, provide("1"));
+		cache.get("b", first, provide("2"));
+		eClass.setName("Changed");
+		cache.get("a", second, provide("3"));
+		cache.get("b", second, provide("4"));
+		assertEquals("3", cache.get("a", second, provide("5")));
+		assertEquals("4", cache.get("b", second, provide("6")));
+	}
+
+	private Resource newResource(EClass content) {
+		Resource resource = new ResourceImpl();
+		resource.getContents().add(content);
+		return resource;
+	}
+
+	private Provider<String> provide(String value) {
+		return () -> value;
+	}
+
+}
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sigasi N.V. (http://www.sigasi.com) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.util;
+
+import static org.junit.Assert.*;
+
+import java.util.Map;
+
+import org.eclipse.xtext.util.internal.Stopwatches;
+import org.eclipse.xtext.util.internal.Stopwatches.NumbersForTask;
+import org.eclipse.xtext.util.internal.Stopwatches.StoppedTask;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StopwatchesTest {
+
+	@Before
+	public void setUp() {
+		Stopwatches.resetAll();
+		Stopwatches.setEnabled(true);
+	}
+
+	@After
+	public void tearDown() {
+		Stopwatches.setEnabled(false);
+		Stopwatches.resetAll();
+	}
+
+	@Test
+	public void testNumbersPerResource() {
+		measure("load", "a.dsl");
+		measure("load", "b.dsl");
+		measure("load", "a.dsl");
+		assertEquals(3, Stopwatches.allNumbers().get("load").getNumberOfMeasurements());
+		Map<String, NumbersForTask> byResource = Stopwatches.allNumbersByResource("load");
+		assertEquals(2, byResource.get("a.dsl").getNumberOfMeasurements());
+		assertEquals(1, byResource.get("b.dsl").getNumberOfMeasurements());
+		assertTrue(Stopwatches.allNumbersByResource("validate").isEmpty());
+	}
+
+	@Test
+	public void testDisabled() {
+		Stopwatches.setEnabled(false);
+		measure("load", "a.dsl");
+		assertTrue(Stopwatches.allNumbers().isEmpty());
+		assertTrue(Stopwatches.allNumbersByResource("load").isEmpty());
+	}
+
+	@Test
+	public void testJsonReport() {
+		measure("load", "a \"quoted\".dsl");
+		StoppedTask task = Stopwatches.forTask("build");
+		task.start();
+		task.stop();
+		String report = Stopwatches.getJsonReport();
+		assertTrue(report, report.contains("{\"name\": \"load\", \"nanoseconds\": "));
+		assertTrue(report, report.contains("{\"uri\": \"a \\\"quoted\\\".dsl\", \"nanoseconds\": "));
+		assertTrue(report, report.contains("{\"name\": \"build\", \"nanoseconds\": "));
+	}
+
+	private void measure(String task, String resource) {
+		StoppedTask stopwatch = Stopwatches.forTask(task, resource);
+		stopwatch.start();
+		stopwatch.stop();
+	}
+
+}
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sigasi N.V. (http://www.sigasi.com) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.xtext.generator
+
+import com.google.common.base.Charsets
+import com.google.common.io.Files
+import java.io.File
+import java.util.Map
+import java.util.TreeMap
+import org.eclipse.emf.common.util.URI
+import org.eclipse.emf.mwe.core.WorkflowContextImpl
+import org.eclipse.emf.mwe.core.issues.IssuesImpl
+import org.eclipse.emf.mwe.core.monitor.NullProgressMonitor
+import org.eclipse.xtext.testing.GlobalRegistries
+import org.eclipse.xtext.testing.GlobalRegistries.GlobalStateMemento
+import org.eclipse.xtext.xtext.generator.ecore.EMFGeneratorFragment2
+import org.eclipse.xtext.xtext.generator.grammarAccess.GrammarAccessFragment2
+import org.eclipse.xtext.xtext.generator.model.project.StandardProjectConfig
+import org.eclipse.xtext.xtext.generator.serializer.SerializerFragment2
+import org.junit.After
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+
+import static org.junit.Assert.*
+
+/**
+ * @since 2.19
+ */
+class XtextGeneratorTest {
+
+	@Rule public TemporaryFolder temp = new TemporaryFolder
+
+	GlobalStateMemento globalStateMemento
+
+	@Before
+	def void setUp() {
+		globalStateMemento = GlobalRegistries.makeCopyOfGlobalState
+	}
+
+	@After
+	def void tearDown() {
+		globalStateMemento.restoreGlobalState
+	}
+
+	@Test
+	def void testGenerateLanguagesInParallel() {
+		val base = writeGrammar('Base.xtext', '''
+			grammar test.Base with org.eclipse.xtext.common.Terminals
+
+			generate base "http://test/Base"
+
+			Model:
+				elements+=Element*;
+
+			Element:
+				'element' name=ID;
+		''')
+		val sub = writeGrammar('Sub.xtext', '''
+			grammar test.Sub with test.Base
+
+			generate sub "http://test/Sub"
+
+			SubModel:
+				'sub' elements+=Element*;
+		''')
+		val output = temp.newFolder('output')
+		generate(output, 1, base, sub)
+		val sequential = readFiles(output)
+		assertTrue(sequential.keySet.exists[endsWith('SubSemanticSequencer.java')])
+
+		org.eclipse.xtext.util.Files.sweepFolder(output)
+		generate(output, 2, base, sub)
+		val parallel = readFiles(output)
+		assertEquals(sequential.keySet, parallel.keySet)
+		sequential.forEach[path, content|assertEquals(path, content, parallel.get(path))]
+	}
+
+	private def void generate(File output, int maxParallelLanguages, File base, File sub) {
+		val generator = new XtextGenerator => [
+			it.maxParallelLanguages = maxParallelLanguages
+			cleaner.enabled = false
+			configuration = new DefaultGeneratorModule => [
+				project = new StandardProjectConfig => [
+					baseName = 'test'
+					rootPath = output.path
+				]
+				code = new CodeConfig => [
+					encoding = 'UTF-8'
+					lineDelimiter = '\n'
+				]
+			]
+			addLanguage(createLanguage(base))
+			addLanguage(createLanguage(sub, base))
+		]
+		val issues = new IssuesImpl
+		generator.checkConfiguration(issues)
+		generator.invoke(new WorkflowContextImpl, new NullProgressMonitor, issues)
+		assertFalse(issues.toString, issues.hasErrors)
+	}
+
+	private def XtextGeneratorLanguage createLanguage(File grammar, File... usedGrammars) {
+		new XtextGeneratorLanguage => [
+			grammarUri = URI.createFileURI(grammar.absolutePath).toString
+			fileExtensions = grammar.name.replace('.xtext', '').toLowerCase
+			for (usedGrammar : usedGrammars) {
+				addReferencedResource(URI.createFileURI(usedGrammar.absolutePath).toString)
+			}
+			addFragment(new EMFGeneratorFragment2)
+			addFragment(new GrammarAccessFragment2)
+			addFragment(new SerializerFragment2)
+		]
+	}
+
+	private def File writeGrammar(String name, CharSequence content) {
+		val file = temp.newFile(name)
+		Files.asCharSink(file, Charsets.UTF_8).write(content)
+		return file
+	}
+
+	private def Map<String, String> readFiles(File root) {
+		val result = new TreeMap<String, String>
+		readFiles(root, '', result)
+		return result
+	}
+
+	private def void readFiles(File file, String path, Map<String, String> result) {
+		if (file.isDirectory) {
+			for (child : file.listFiles) {
+				readFiles(child, path + '/' + child.name, result)
+			}
+		} else {
+			result.put(path, Files.asCharSource(file, Charsets.UTF_8).read)
+		}
+	}
+
+}
@@ -9,25 +9,34 @@ package org.eclipse.xtext.build;
 
 import com.google.common.base.Objects;
 import com.google.inject.Inject;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.xtend2.lib.StringConcatenation;
 import org.eclipse.xtext.build.BuildRequest;
+import org.eclipse.xtext.build.IncrementalBuilder;
 import org.eclipse.xtext.build.IndexState;
 import org.eclipse.xtext.generator.OutputConfiguration;
 import org.eclipse.xtext.index.IndexTestLanguageInjectorProvider;
+import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
 import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.resource.clustering.ReferenceAwareClusteringPolicy;
 import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
 import org.eclipse.xtext.testing.InjectWith;
 import org.eclipse.xtext.testing.XtextRunner;
 import org.eclipse.xtext.testing.builder.AbstractIncrementalBuilderTest;
 import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.validation.Issue;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.eclipse.xtext.xbase.lib.ListExtensions;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure2;
 import org.junit.Assert;
@@ -226,6 +235,160 @@ public class IncrementalBuilderTest extends AbstractIncrementalBuilderTest {
     this.build(buildRequest);
   }
   
+  @Test
+  public void testCancellationAfterPrioritized() {
+    final AtomicBoolean canceled = new AtomicBoolean();
+    final Procedure1<BuildRequest> _function = (BuildRequest it) -> {
+      StringConcatenation _builder = new StringConcatenation();
+      _builder.append("foo {");
+      _builder.newLine();
+      _builder.append("\t");
+      _builder.append("entity A { foo.B myReference }");
+      _builder.newLine();
+      _builder.append("}");
+      _builder.newLine();
+      URI _minus = this.operator_minus(
+        "src/MyFile.indextestlanguage", _builder.toString());
+      StringConcatenation _builder_1 = new StringConcatenation();
+      _builder_1.append("foo {");
+      _builder_1.newLine();
+      _builder_1.append("\t");
+      _builder_1.append("entity B {}");
+      _builder_1.newLine();
+      _builder_1.append("}");
+      _builder_1.newLine();
+      URI _minus_1 = this.operator_minus(
+        "src/MyFile2.indextestlanguage", _builder_1.toString());
+      it.setDirtyFiles(Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(_minus, _minus_1)));
+      final Function1<URI, Boolean> _function_1 = (URI it_1) -> {
+        return Boolean.valueOf(it_1.toString().endsWith("MyFile2.indextestlanguage"));
+      };
+      it.setPriorityHint(_function_1);
+      final CancelIndicator _function_2 = () -> {
+        return canceled.get();
+      };
+      it.setCancelIndicator(_function_2);
+      final Procedure2<URI, URI> _function_3 = (URI $0, URI $1) -> {
+        canceled.set(true);
+      };
+      it.setAfterGenerateFile(_function_3);
+    };
+    final BuildRequest buildRequest = this.newBuildRequest(_function);
+    final Function1<URI, IResourceServiceProvider> _function_1 = (URI it) -> {
+      return this.getLanguages().getResourceServiceProvider(it);
+    };
+    final IncrementalBuilder.Result result = this.incrementalBuilder.build(buildRequest, _function_1);
+    URI _uri = this.uri("src/MyFile2.indextestlanguage");
+    final Function1<IResourceDescription.Delta, URI> _function_2 = (IResourceDescription.Delta it) -> {
+      return it.getUri();
+    };
+    Assert.assertEquals(Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(_uri)), ListExtensions.<IResourceDescription.Delta, URI>map(result.getAffectedResources(), _function_2));
+    URI _uri_1 = this.uri("src/MyFile.indextestlanguage");
+    Assert.assertEquals(Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(_uri_1)), result.getPendingFiles());
+    final ResourceDescriptionsData index = result.getIndexState().getResourceDescriptions();
+    Assert.assertNotNull(index.getResourceDescription(this.uri("src/MyFile2.indextestlanguage")));
+    Assert.assertNull(index.getResourceDescription(this.uri("src/MyFile.indextestlanguage")));
+  }
+  
+  @Test
+  public void testReferenceAwareClustering() {
+    StringConcatenation _builder = new StringConcatenation();
+    _builder.append("foo {");
+    _builder.newLine();
+    _builder.append("\t");
+    _builder.append("entity A { foo.B myReference }");
+    _builder.newLine();
+    _builder.append("}");
+    _builder.newLine();
+    URI _minus = this.operator_minus(
+      "src/A.indextestlanguage", _builder.toString());
+    StringConcatenation _builder_1 = new StringConcatenation();
+    _builder_1.append("foo {");
+    _builder_1.newLine();
+    _builder_1.append("\t");
+    _builder_1.append("entity B {}");
+    _builder_1.newLine();
+    _builder_1.append("}");
+    _builder_1.newLine();
+    URI _minus_1 = this.operator_minus(
+      "src/B.indextestlanguage", _builder_1.toString());
+    final List<URI> files = Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(_minus, _minus_1));
+    final Procedure1<BuildRequest> _function = (BuildRequest it) -> {
+      it.setDirtyFiles(files);
+    };
+    this.build(this.newBuildRequest(_function));
+    final ReferenceAwareClusteringPolicy policy = new ReferenceAwareClusteringPolicy() {
+      @Override
+      public boolean continueProcessing(final ResourceSet resourceSet, final URI next, final int alreadyProcessed) {
+        return (alreadyProcessed < 1);
+      }
+    };
+    final ArrayList<URI> validated = CollectionLiterals.<URI>newArrayList();
+    final Procedure1<BuildRequest> _function_1 = (BuildRequest it) -> {
+      it.setDirtyFiles(files);
+      final BuildRequest.IPostValidationCallback _function_2 = (URI uri, Iterable<Issue> issues) -> {
+        validated.add(uri);
+        return IterableExtensions.isEmpty(issues);
+      };
+      it.setAfterValidate(_function_2);
+    };
+    final BuildRequest buildRequest = this.newBuildRequest(_function_1);
+    final Function1<URI, IResourceServiceProvider> _function_2 = (URI it) -> {
+      return this.getLanguages().getResourceServiceProvider(it);
+    };
+    this.incrementalBuilder.build(buildRequest, _function_2, policy);
+    URI _uri = this.uri("src/B.indextestlanguage");
+    URI _uri_1 = this.uri("src/A.indextestlanguage");
+    Assert.assertEquals(Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(_uri, _uri_1)), validated);
+  }
+  
+  @Test
+  public void testReferenceAwareClustering_cleanBuild() {
+    final ReferenceAwareClusteringPolicy policy = new ReferenceAwareClusteringPolicy() {
+      @Override
+      public boolean continueProcessing(final ResourceSet resourceSet, final URI next, final int alreadyProcessed) {
+        return (alreadyProcessed < 1);
+      }
+    };
+    final ArrayList<URI> validated = CollectionLiterals.<URI>newArrayList();
+    final Procedure1<BuildRequest> _function = (BuildRequest it) -> {
+      StringConcatenation _builder = new StringConcatenation();
+      _builder.append("foo {");
+      _builder.newLine();
+      _builder.append("\t");
+      _builder.append("entity A { foo.B myReference }");
+      _builder.newLine();
+      _builder.append("}");
+      _builder.newLine();
+      URI _minus = this.operator_minus(
+        "src/A.indextestlanguage", _builder.toString());
+      StringConcatenation _builder_1 = new StringConcatenation();
+      _builder_1.append("foo {");
+      _builder_1.newLine();
+      _builder_1.append("\t");
+      _builder_1.append("entity B {}");
+      _builder_1.newLine();
+      _builder_1.append("}");
+      _builder_1.newLine();
+      URI _minus_1 = this.operator_minus(
+        "src/B.indextestlanguage", _builder_1.toString());
+      it.setDirtyFiles(Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(_minus, _minus_1)));
+      final BuildRequest.IPostValidationCallback _function_1 = (URI uri, Iterable<Issue> issues) -> {
+        validated.add(uri);
+        return IterableExtensions.isEmpty(issues);
+      };
+      it.setAfterValidate(_function_1);
+    };
+    final BuildRequest buildRequest = this.newBuildRequest(_function);
+    final Function1<URI, IResourceServiceProvider> _function_1 = (URI it) -> {
+      return this.getLanguages().getResourceServiceProvider(it);
+    };
+    this.incrementalBuilder.build(buildRequest, _function_1, policy);
+    URI _uri = this.uri("src/B.indextestlanguage");
+    URI _uri_1 = this.uri("src/A.indextestlanguage");
+    Assert.assertEquals(Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(_uri, _uri_1)), validated);
+  }
+  
   @Test
   public void testIndexOnly() {
     final Procedure1<BuildRequest> _function = (BuildRequest it) -> {
@@ -8,23 +8,36 @@
 package org.eclipse.xtext.filesystem;
 
 import com.google.common.base.StandardSystemProperty;
+import com.google.common.io.CharStreams;
 import com.google.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.UUID;
+import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.resource.impl.ExtensibleURIConverterImpl;
 import org.eclipse.xtend2.lib.StringConcatenation;
 import org.eclipse.xtext.generator.IFileSystemAccess;
 import org.eclipse.xtext.generator.IOutputConfigurationProvider;
 import org.eclipse.xtext.generator.OutputConfiguration;
 import org.eclipse.xtext.generator.URIBasedFileSystemAccess;
+import org.eclipse.xtext.generator.trace.AbstractTraceRegion;
+import org.eclipse.xtext.generator.trace.node.CompositeGeneratorNode;
+import org.eclipse.xtext.generator.trace.node.GeneratorNodeExtensions;
+import org.eclipse.xtext.generator.trace.node.GeneratorNodeProcessor;
+import org.eclipse.xtext.generator.trace.node.IGeneratorNode;
 import org.eclipse.xtext.testing.InjectWith;
 import org.eclipse.xtext.testing.XtextRunner;
 import org.eclipse.xtext.tests.XtextInjectorProvider;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Exceptions;
+import org.eclipse.xtext.xbase.lib.Extension;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.eclipse.xtext.xbase.lib.Pair;
 import org.junit.Assert;
@@ -84,4 +97,91 @@ public class URIBasedFileSystemAccessTest {
   public void testTrueOnPresent() {
     Assert.assertTrue(this.fsa.isFile(URIBasedFileSystemAccessTest.EXISTING_RESOURCE_NAME));
   }
+  
+  @Test
+  public void testGenerateFileFromGeneratorNode() {
+    final CompositeGeneratorNode node = this.createGeneratorNode();
+    final GeneratorNodeProcessor processor = new GeneratorNodeProcessor();
+    this.fsa.generateFile("streamed", IFileSystemAccess.DEFAULT_OUTPUT, node, processor);
+    Assert.assertEquals(processor.process(node).toString(), this.fsa.readTextFile("streamed").toString());
+  }
+  
+  @Test
+  public void testGenerateFileFromGeneratorNode_observed() {
+    final CompositeGeneratorNode node = this.createGeneratorNode();
+    final LinkedHashMap<URI, InputStream> written = CollectionLiterals.<URI, InputStream>newLinkedHashMap();
+    final URIBasedFileSystemAccess.BeforeWriteObserver _function = (URI uri, String outputCfgName, InputStream contents) -> {
+      written.put(uri, contents);
+      return contents;
+    };
+    final URIBasedFileSystemAccess.BeforeWriteObserver observer = _function;
+    this.fsa.setBeforeWrite(observer);
+    final GeneratorNodeProcessor processor = new GeneratorNodeProcessor();
+    this.fsa.generateFile("streamed", IFileSystemAccess.DEFAULT_OUTPUT, node, processor);
+    Assert.assertEquals(processor.process(node).toString(), this.fsa.readTextFile("streamed").toString());
+    URI _uRI = this.fsa.getURI("streamed", IFileSystemAccess.DEFAULT_OUTPUT);
+    Assert.assertEquals(Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(_uRI)), IterableExtensions.<URI>toList(written.keySet()));
+    Assert.assertNull(IterableExtensions.<InputStream>head(written.values()));
+  }
+  
+  @Test
+  public void testGenerateFileFromGeneratorNode_beforeWrite() {
+    final CompositeGeneratorNode node = this.createGeneratorNode();
+    final ArrayList<String> written = CollectionLiterals.<String>newArrayList();
+    final URIBasedFileSystemAccess.BeforeWrite _function = (URI uri, String outputCfgName, InputStream contents) -> {
+      try {
+        InputStreamReader _inputStreamReader = new InputStreamReader(contents);
+        String _string = CharStreams.toString(_inputStreamReader);
+        written.add(_string);
+        byte[] _bytes = IterableExtensions.<String>last(written).toUpperCase().getBytes();
+        return new ByteArrayInputStream(_bytes);
+      } catch (Throwable _e) {
+        throw Exceptions.sneakyThrow(_e);
+      }
+    };
+    this.fsa.setBeforeWrite(_function);
+    final GeneratorNodeProcessor processor = new GeneratorNodeProcessor();
+    this.fsa.generateFile("streamed", IFileSystemAccess.DEFAULT_OUTPUT, node, processor);
+    final String expected = processor.process(node).toString();
+    Assert.assertEquals(Collections.<String>unmodifiableList(CollectionLiterals.<String>newArrayList(expected)), written);
+    Assert.assertEquals(expected.toUpperCase(), this.fsa.readTextFile("streamed").toString());
+  }
+  
+  @Test
+  public void testGenerateFileFromGeneratorNode_failure() {
+    final CompositeGeneratorNode node = this.createGeneratorNode();
+    final GeneratorNodeProcessor processor = new GeneratorNodeProcessor();
+    this.fsa.generateFile("streamed", IFileSystemAccess.DEFAULT_OUTPUT, node, processor);
+    final GeneratorNodeProcessor failingProcessor = new GeneratorNodeProcessor() {
+      @Override
+      public AbstractTraceRegion process(final IGeneratorNode root, final Appendable out) {
+        try {
+          out.append("partial");
+          throw new IllegalStateException();
+        } catch (Throwable _e) {
+          throw Exceptions.sneakyThrow(_e);
+        }
+      }
+    };
+    try {
+      this.fsa.generateFile("streamed", IFileSystemAccess.DEFAULT_OUTPUT, node, failingProcessor);
+      Assert.fail();
+    } catch (final Throwable _t) {
+      if (_t instanceof IllegalStateException) {
+      } else {
+        throw Exceptions.sneakyThrow(_t);
+      }
+    }
+    Assert.assertEquals(processor.process(node).toString(), this.fsa.readTextFile("streamed").toString());
+  }
+  
+  private CompositeGeneratorNode createGeneratorNode() {
+    @Extension
+    final GeneratorNodeExtensions exts = new GeneratorNodeExtensions();
+    final CompositeGeneratorNode node = new CompositeGeneratorNode();
+    exts.appendNewLine(exts.append(node, "first"));
+    exts.appendNewLine(exts.append(exts.indent(node), "second"));
+    exts.append(node, "third");
+    return node;
+  }
 }
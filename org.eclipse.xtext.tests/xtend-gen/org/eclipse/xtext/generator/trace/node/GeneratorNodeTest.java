@@ -9,6 +9,7 @@ package org.eclipse.xtext.generator.trace.node;
 
 import org.eclipse.xtend2.lib.StringConcatenation;
 import org.eclipse.xtend2.lib.StringConcatenationClient;
+import org.eclipse.xtext.generator.trace.AbstractTraceRegion;
 import org.eclipse.xtext.generator.trace.LocationData;
 import org.eclipse.xtext.generator.trace.SourceRelativeURI;
 import org.eclipse.xtext.generator.trace.node.CompositeGeneratorNode;
@@ -152,6 +153,27 @@ public class GeneratorNodeTest {
     this.assertEquals(_builder.toString(), result.getTraceRegion().toString());
   }
   
+  @Test
+  public void testStreamingProcessing() {
+    final LocationData root = this.loc(0);
+    CompositeGeneratorNode _trace = this.exts.trace(root);
+    StringConcatenationClient _client = new StringConcatenationClient() {
+      @Override
+      protected void appendTo(StringConcatenationClient.TargetStringConcatenation _builder) {
+        StringConcatenationClient _someCodeGen = GeneratorNodeTest.this.someCodeGen(2);
+        _builder.append(_someCodeGen);
+        _builder.newLineIfNotEmpty();
+      }
+    };
+    final CompositeGeneratorNode node = this.exts.appendTemplate(_trace, _client);
+    final GeneratorNodeProcessor processor = new GeneratorNodeProcessor();
+    final GeneratorNodeProcessor.Result expected = processor.process(node);
+    final StringBuilder out = new StringBuilder();
+    final AbstractTraceRegion traceRegion = processor.process(node, out);
+    this.assertEquals(expected.toString(), out.toString());
+    this.assertEquals(expected.getTraceRegion().toString(), traceRegion.toString());
+  }
+  
   private StringConcatenationClient someCodeGen(final int n) {
     StringConcatenationClient _client = new StringConcatenationClient() {
       @Override
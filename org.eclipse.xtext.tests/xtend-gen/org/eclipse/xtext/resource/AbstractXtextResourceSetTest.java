@@ -175,6 +175,32 @@ public abstract class AbstractXtextResourceSetTest extends AbstractResourceSetTe
     Assert.assertEquals(0, rs.getNormalizationMap().size());
   }
   
+  @Test
+  public void testResourcesAreRemovedWithNormalizedURI() {
+    final XtextResourceSet rs = this.createEmptyResourceSet();
+    final XtextResource foo = new XtextResource();
+    foo.setURI(URI.createURI("/a/../foo"));
+    final XtextResource bar = new XtextResource();
+    bar.setURI(URI.createURI("/a/../bar"));
+    final XtextResource baz = new XtextResource();
+    baz.setURI(URI.createURI("/baz"));
+    rs.getURIConverter().getURIMap().put(URI.createURI("alias:/foo"), URI.createURI("/a/../foo"));
+    EList<Resource> _resources = rs.getResources();
+    ArrayList<XtextResource> _newArrayList = CollectionLiterals.<XtextResource>newArrayList(foo, bar, baz);
+    Iterables.<Resource>addAll(_resources, _newArrayList);
+    Assert.assertSame(foo, rs.getResource(URI.createURI("alias:/foo"), false));
+    Assert.assertEquals(5, rs.getURIResourceMap().size());
+    Assert.assertEquals(4, rs.getNormalizationMap().size());
+    rs.getResources().removeAll(CollectionLiterals.<XtextResource>newArrayList(foo, baz));
+    Assert.assertTrue(foo.eAdapters().isEmpty());
+    Assert.assertTrue(baz.eAdapters().isEmpty());
+    Assert.assertEquals(2, rs.getURIResourceMap().size());
+    Assert.assertEquals(bar, rs.getURIResourceMap().get(bar.getURI()));
+    Assert.assertEquals(1, rs.getNormalizationMap().size());
+    Assert.assertEquals(rs.getURIConverter().normalize(bar.getURI()), rs.getNormalizationMap().get(bar.getURI()));
+    Assert.assertNull(rs.getResource(URI.createURI("alias:/foo"), false));
+  }
+  
   @Test
   public void testResourcesAreClearedWithNormalizedURI_01() {
     final XtextResourceSet rs = this.createEmptyResourceSet();
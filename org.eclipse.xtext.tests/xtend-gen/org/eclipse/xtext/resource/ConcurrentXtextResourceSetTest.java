@@ -0,0 +1,203 @@
+/**
+ * Copyright (c) 2012, 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.xtext.resource;
+
+import com.google.common.base.Throwables;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.xtext.resource.AbstractXtextResourceSetTest;
+import org.eclipse.xtext.resource.ConcurrentXtextResourceSet;
+import org.eclipse.xtext.resource.SlowLoadingResource;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+import org.eclipse.xtext.xbase.lib.Exceptions;
+import org.eclipse.xtext.xbase.lib.Functions.Function1;
+import org.eclipse.xtext.xbase.lib.IntegerRange;
+import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.eclipse.xtext.xbase.lib.ListExtensions;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("all")
+public class ConcurrentXtextResourceSetTest extends AbstractXtextResourceSetTest {
+  @Override
+  protected XtextResourceSet createEmptyResourceSet() {
+    return new ConcurrentXtextResourceSet();
+  }
+  
+  @Test
+  public void testResourceIsLoadedOnce() {
+    final XtextResourceSet resourceSet = this.createEmptyResourceSet();
+    final AtomicInteger loadCount = new AtomicInteger();
+    final Resource.Factory _function = (URI uri) -> {
+      return new SlowLoadingResource(uri, loadCount);
+    };
+    final Resource.Factory factory = _function;
+    resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", factory);
+    final URI uri = URI.createURI("file:/slow.xmi");
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      final Function1<Integer, Future<Resource>> _function_1 = (Integer it) -> {
+        final Callable<Resource> _function_2 = () -> {
+          return resourceSet.getResource(uri, true);
+        };
+        return executor.<Resource>submit(((Callable<Resource>) _function_2));
+      };
+      final List<Future<Resource>> futures = IterableExtensions.<Future<Resource>>toList(IterableExtensions.<Integer, Future<Resource>>map(new IntegerRange(1, 8), _function_1));
+      final Function1<Future<Resource>, Resource> _function_2 = (Future<Resource> it) -> {
+        try {
+          return it.get();
+        } catch (Throwable _e) {
+          throw Exceptions.sneakyThrow(_e);
+        }
+      };
+      final Set<Resource> resources = IterableExtensions.<Resource>toSet(ListExtensions.<Future<Resource>, Resource>map(futures, _function_2));
+      Assert.assertEquals(1, resources.size());
+      Assert.assertTrue(IterableExtensions.<Resource>head(resources).isLoaded());
+    } finally {
+      executor.shutdown();
+    }
+    Assert.assertEquals(1, loadCount.get());
+    Assert.assertEquals(1, resourceSet.getResources().size());
+  }
+  
+  @Test
+  public void testRemovedResourceIsNotReturned() {
+    final XtextResourceSet resourceSet = this.createEmptyResourceSet();
+    final Resource.Factory _function = (URI uri) -> {
+      AtomicInteger _atomicInteger = new AtomicInteger();
+      return new SlowLoadingResource(uri, _atomicInteger);
+    };
+    final Resource.Factory factory = _function;
+    resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", factory);
+    final URI uri = URI.createURI("file:/slow.xmi");
+    final Resource resource = resourceSet.getResource(uri, true);
+    Assert.assertSame(resource, resourceSet.getResource(uri, false));
+    resourceSet.getResources().remove(resource);
+    Assert.assertNull(resourceSet.getResource(uri, false));
+    final Resource reloaded = resourceSet.getResource(uri, true);
+    Assert.assertNotSame(resource, reloaded);
+    Assert.assertSame(reloaded, resourceSet.getResource(uri, false));
+  }
+  
+  @Test
+  public void testDifferentResourcesAreLoadedInParallel() {
+    try {
+      final XtextResourceSet resourceSet = this.createEmptyResourceSet();
+      final CountDownLatch loading = new CountDownLatch(2);
+      final Resource.Factory _function = (URI uri) -> {
+        return new ResourceImpl(uri) {
+          @Override
+          public void load(final Map<?, ?> options) throws IOException {
+            try {
+              loading.countDown();
+              boolean _await = loading.await(10, TimeUnit.SECONDS);
+              boolean _not = (!_await);
+              if (_not) {
+                throw new IOException("The other resource is not loaded at the same time");
+              }
+              this.setLoaded(true);
+            } catch (Throwable _e) {
+              throw Exceptions.sneakyThrow(_e);
+            }
+          }
+        };
+      };
+      final Resource.Factory factory = _function;
+      resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", factory);
+      final ExecutorService executor = Executors.newFixedThreadPool(2);
+      try {
+        final Function1<String, Future<Resource>> _function_1 = (String uri) -> {
+          final Callable<Resource> _function_2 = () -> {
+            return resourceSet.getResource(URI.createURI(uri), true);
+          };
+          return executor.<Resource>submit(((Callable<Resource>) _function_2));
+        };
+        final List<Future<Resource>> futures = IterableExtensions.<Future<Resource>>toList(ListExtensions.<String, Future<Resource>>map(Collections.<String>unmodifiableList(CollectionLiterals.<String>newArrayList("file:/first.xmi", "file:/second.xmi")), _function_1));
+        for (final Future<Resource> future : futures) {
+          Assert.assertTrue(future.get().isLoaded());
+        }
+      } finally {
+        executor.shutdown();
+      }
+      Assert.assertEquals(2, resourceSet.getResources().size());
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  @Test
+  public void testFailedLoadIsReportedToWaitingThreads() {
+    try {
+      final XtextResourceSet resourceSet = this.createEmptyResourceSet();
+      final CountDownLatch loading = new CountDownLatch(1);
+      final Resource.Factory _function = (URI uri) -> {
+        return new ResourceImpl(uri) {
+          @Override
+          public void load(final Map<?, ?> options) throws IOException {
+            try {
+              loading.countDown();
+              Thread.sleep(50);
+              URI _uRI = this.getURI();
+              String _plus = ("Cannot load " + _uRI);
+              throw new IOException(_plus);
+            } catch (Throwable _e) {
+              throw Exceptions.sneakyThrow(_e);
+            }
+          }
+        };
+      };
+      final Resource.Factory factory = _function;
+      resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", factory);
+      final URI uri = URI.createURI("file:/broken.xmi");
+      final ExecutorService executor = Executors.newFixedThreadPool(2);
+      try {
+        final Callable<Resource> _function_1 = () -> {
+          return resourceSet.getResource(uri, true);
+        };
+        final Future<Resource> loader = executor.<Resource>submit(((Callable<Resource>) _function_1));
+        loading.await(10, TimeUnit.SECONDS);
+        final Callable<Resource> _function_2 = () -> {
+          return resourceSet.getResource(uri, true);
+        };
+        final Future<Resource> waiter = executor.<Resource>submit(((Callable<Resource>) _function_2));
+        for (final Future<Resource> future : Collections.<Future<Resource>>unmodifiableList(CollectionLiterals.<Future<Resource>>newArrayList(loader, waiter))) {
+          try {
+            future.get();
+            Assert.fail("Expected the load to fail");
+          } catch (final Throwable _t) {
+            if (_t instanceof ExecutionException) {
+              final ExecutionException e = (ExecutionException)_t;
+              Assert.assertEquals(("Cannot load " + uri), Throwables.getRootCause(e).getMessage());
+            } else {
+              throw Exceptions.sneakyThrow(_t);
+            }
+          }
+        }
+      } finally {
+        executor.shutdown();
+      }
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+}
@@ -0,0 +1,36 @@
+/**
+ * Copyright (c) 2012, 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.xtext.resource;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.xtext.xbase.lib.Exceptions;
+
+@SuppressWarnings("all")
+public class SlowLoadingResource extends ResourceImpl {
+  private final AtomicInteger loadCount;
+  
+  public SlowLoadingResource(final URI uri, final AtomicInteger loadCount) {
+    super(uri);
+    this.loadCount = loadCount;
+  }
+  
+  @Override
+  public void load(final Map<?, ?> options) throws IOException {
+    try {
+      this.loadCount.incrementAndGet();
+      Thread.sleep(20);
+      this.setLoaded(true);
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+}
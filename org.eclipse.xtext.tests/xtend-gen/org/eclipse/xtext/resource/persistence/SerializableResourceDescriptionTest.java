@@ -15,6 +15,7 @@ import java.util.Collections;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EcorePackage;
 import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.SourceRange;
 import org.eclipse.xtext.resource.persistence.SerializableEObjectDescription;
 import org.eclipse.xtext.resource.persistence.SerializableReferenceDescription;
 import org.eclipse.xtext.resource.persistence.SerializableResourceDescription;
@@ -57,17 +58,39 @@ public class SerializableResourceDescriptionTest {
           it_1.setIndexInList(2);
         };
         SerializableReferenceDescription _doubleArrow_1 = ObjectExtensions.<SerializableReferenceDescription>operator_doubleArrow(_serializableReferenceDescription_1, _function_2);
-        it.setReferences(Collections.<SerializableReferenceDescription>unmodifiableList(CollectionLiterals.<SerializableReferenceDescription>newArrayList(_doubleArrow, _doubleArrow_1)));
+        SerializableReferenceDescription _serializableReferenceDescription_2 = new SerializableReferenceDescription();
+        final Procedure1<SerializableReferenceDescription> _function_3 = (SerializableReferenceDescription it_1) -> {
+          it_1.setSourceEObjectUri(uri.appendFragment("foo3"));
+          it_1.setTargetEObjectUri(uri.appendFragment("hubble3"));
+          it_1.setContainerEObjectURI(uri.appendFragment("baz3"));
+          it_1.setEReference(EcorePackage.eINSTANCE.getEAnnotation_Contents());
+          it_1.setIndexInList((-1));
+          SourceRange _sourceRange = new SourceRange(10, 3, 1, 4, 1, 7);
+          it_1.setSourceRange(_sourceRange);
+        };
+        SerializableReferenceDescription _doubleArrow_2 = ObjectExtensions.<SerializableReferenceDescription>operator_doubleArrow(_serializableReferenceDescription_2, _function_3);
+        SerializableReferenceDescription _serializableReferenceDescription_3 = new SerializableReferenceDescription();
+        final Procedure1<SerializableReferenceDescription> _function_4 = (SerializableReferenceDescription it_1) -> {
+          it_1.setSourceEObjectUri(uri.appendFragment("foo4"));
+          it_1.setTargetEObjectUri(uri.appendFragment("hubble4"));
+          it_1.setContainerEObjectURI(uri.appendFragment("baz4"));
+          it_1.setEReference(EcorePackage.eINSTANCE.getEAnnotation_Contents());
+          it_1.setIndexInList(0);
+          SourceRange _sourceRange = new SourceRange(20, 5, 2, 0, 3, 1);
+          it_1.setSourceRange(_sourceRange);
+        };
+        SerializableReferenceDescription _doubleArrow_3 = ObjectExtensions.<SerializableReferenceDescription>operator_doubleArrow(_serializableReferenceDescription_3, _function_4);
+        it.setReferences(Collections.<SerializableReferenceDescription>unmodifiableList(CollectionLiterals.<SerializableReferenceDescription>newArrayList(_doubleArrow, _doubleArrow_1, _doubleArrow_2, _doubleArrow_3)));
         SerializableEObjectDescription _serializableEObjectDescription = new SerializableEObjectDescription();
-        final Procedure1<SerializableEObjectDescription> _function_3 = (SerializableEObjectDescription it_1) -> {
+        final Procedure1<SerializableEObjectDescription> _function_5 = (SerializableEObjectDescription it_1) -> {
           it_1.setEObjectURI(uri.appendFragment("baz"));
           it_1.qualifiedName = QualifiedName.create("foo", "baz");
           it_1.setEClass(EcorePackage.eINSTANCE.getEAttribute());
           Pair<String, String> _mappedTo = Pair.<String, String>of("myKey", "myValue");
           it_1.userData = CollectionLiterals.<String, String>newHashMap(_mappedTo);
         };
-        SerializableEObjectDescription _doubleArrow_2 = ObjectExtensions.<SerializableEObjectDescription>operator_doubleArrow(_serializableEObjectDescription, _function_3);
-        it.setDescriptions(Collections.<SerializableEObjectDescription>unmodifiableList(CollectionLiterals.<SerializableEObjectDescription>newArrayList(_doubleArrow_2)));
+        SerializableEObjectDescription _doubleArrow_4 = ObjectExtensions.<SerializableEObjectDescription>operator_doubleArrow(_serializableEObjectDescription, _function_5);
+        it.setDescriptions(Collections.<SerializableEObjectDescription>unmodifiableList(CollectionLiterals.<SerializableEObjectDescription>newArrayList(_doubleArrow_4)));
         QualifiedName _create = QualifiedName.create("foo");
         QualifiedName _create_1 = QualifiedName.create("foo", "bar");
         it.setImportedNames(Collections.<QualifiedName>unmodifiableList(CollectionLiterals.<QualifiedName>newArrayList(_create, _create_1)));
@@ -102,6 +125,7 @@ public class SerializableResourceDescriptionTest {
         Assert.assertEquals(beforeRef.getTargetEObjectUri(), afterRef.getTargetEObjectUri());
         Assert.assertEquals(beforeRef.getEReference(), afterRef.getEReference());
         Assert.assertEquals(beforeRef.getIndexInList(), afterRef.getIndexInList());
+        Assert.assertEquals(beforeRef.getSourceRange(), afterRef.getSourceRange());
       }
     }
     Assert.assertEquals(before.getDescriptions().size(), after.getDescriptions().size());
@@ -0,0 +1,205 @@
+/**
+ * Copyright (c) 2019 Sigasi N.V. (http://www.sigasi.com) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.xtext.xtext.generator;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+import java.io.File;
+import java.util.Map;
+import java.util.TreeMap;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.mwe.core.WorkflowContextImpl;
+import org.eclipse.emf.mwe.core.issues.IssuesImpl;
+import org.eclipse.emf.mwe.core.monitor.NullProgressMonitor;
+import org.eclipse.xtend2.lib.StringConcatenation;
+import org.eclipse.xtext.testing.GlobalRegistries;
+import org.eclipse.xtext.xbase.lib.Exceptions;
+import org.eclipse.xtext.xbase.lib.Functions.Function1;
+import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.eclipse.xtext.xbase.lib.MapExtensions;
+import org.eclipse.xtext.xbase.lib.ObjectExtensions;
+import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
+import org.eclipse.xtext.xbase.lib.Procedures.Procedure2;
+import org.eclipse.xtext.xtext.generator.CodeConfig;
+import org.eclipse.xtext.xtext.generator.DefaultGeneratorModule;
+import org.eclipse.xtext.xtext.generator.XtextGenerator;
+import org.eclipse.xtext.xtext.generator.XtextGeneratorLanguage;
+import org.eclipse.xtext.xtext.generator.ecore.EMFGeneratorFragment2;
+import org.eclipse.xtext.xtext.generator.grammarAccess.GrammarAccessFragment2;
+import org.eclipse.xtext.xtext.generator.model.project.StandardProjectConfig;
+import org.eclipse.xtext.xtext.generator.serializer.SerializerFragment2;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @since 2.19
+ */
+@SuppressWarnings("all")
+public class XtextGeneratorTest {
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+  
+  private GlobalRegistries.GlobalStateMemento globalStateMemento;
+  
+  @Before
+  public void setUp() {
+    this.globalStateMemento = GlobalRegistries.makeCopyOfGlobalState();
+  }
+  
+  @After
+  public void tearDown() {
+    this.globalStateMemento.restoreGlobalState();
+  }
+  
+  @Test
+  public void testGenerateLanguagesInParallel() {
+    try {
+      StringConcatenation _builder = new StringConcatenation();
+      _builder.append("grammar test.Base with org.eclipse.xtext.common.Terminals");
+      _builder.newLine();
+      _builder.newLine();
+      _builder.append("generate base \"http://test/Base\"");
+      _builder.newLine();
+      _builder.newLine();
+      _builder.append("Model:");
+      _builder.newLine();
+      _builder.append("\t");
+      _builder.append("elements+=Element*;");
+      _builder.newLine();
+      _builder.newLine();
+      _builder.append("Element:");
+      _builder.newLine();
+      _builder.append("\t");
+      _builder.append("\'element\' name=ID;");
+      _builder.newLine();
+      final File base = this.writeGrammar("Base.xtext", _builder);
+      StringConcatenation _builder_1 = new StringConcatenation();
+      _builder_1.append("grammar test.Sub with test.Base");
+      _builder_1.newLine();
+      _builder_1.newLine();
+      _builder_1.append("generate sub \"http://test/Sub\"");
+      _builder_1.newLine();
+      _builder_1.newLine();
+      _builder_1.append("SubModel:");
+      _builder_1.newLine();
+      _builder_1.append("\t");
+      _builder_1.append("\'sub\' elements+=Element*;");
+      _builder_1.newLine();
+      final File sub = this.writeGrammar("Sub.xtext", _builder_1);
+      final File output = this.temp.newFolder("output");
+      this.generate(output, 1, base, sub);
+      final Map<String, String> sequential = this.readFiles(output);
+      final Function1<String, Boolean> _function = (String it) -> {
+        return Boolean.valueOf(it.endsWith("SubSemanticSequencer.java"));
+      };
+      Assert.assertTrue(IterableExtensions.<String>exists(sequential.keySet(), _function));
+      org.eclipse.xtext.util.Files.sweepFolder(output);
+      this.generate(output, 2, base, sub);
+      final Map<String, String> parallel = this.readFiles(output);
+      Assert.assertEquals(sequential.keySet(), parallel.keySet());
+      final Procedure2<String, String> _function_1 = (String path, String content) -> {
+        Assert.assertEquals(path, content, parallel.get(path));
+      };
+      MapExtensions.<String, String>forEach(sequential, _function_1);
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  private void generate(final File output, final int maxParallelLanguages, final File base, final File sub) {
+    XtextGenerator _xtextGenerator = new XtextGenerator();
+    final Procedure1<XtextGenerator> _function = (XtextGenerator it) -> {
+      it.setMaxParallelLanguages(maxParallelLanguages);
+      it.getCleaner().setEnabled(false);
+      DefaultGeneratorModule _defaultGeneratorModule = new DefaultGeneratorModule();
+      final Procedure1<DefaultGeneratorModule> _function_1 = (DefaultGeneratorModule it_1) -> {
+        StandardProjectConfig _standardProjectConfig = new StandardProjectConfig();
+        final Procedure1<StandardProjectConfig> _function_2 = (StandardProjectConfig it_2) -> {
+          it_2.setBaseName("test");
+          it_2.setRootPath(output.getPath());
+        };
+        StandardProjectConfig _doubleArrow = ObjectExtensions.<StandardProjectConfig>operator_doubleArrow(_standardProjectConfig, _function_2);
+        it_1.setProject(_doubleArrow);
+        CodeConfig _codeConfig = new CodeConfig();
+        final Procedure1<CodeConfig> _function_3 = (CodeConfig it_2) -> {
+          it_2.setEncoding("UTF-8");
+          it_2.setLineDelimiter("\n");
+        };
+        CodeConfig _doubleArrow_1 = ObjectExtensions.<CodeConfig>operator_doubleArrow(_codeConfig, _function_3);
+        it_1.setCode(_doubleArrow_1);
+      };
+      DefaultGeneratorModule _doubleArrow = ObjectExtensions.<DefaultGeneratorModule>operator_doubleArrow(_defaultGeneratorModule, _function_1);
+      it.setConfiguration(_doubleArrow);
+      it.addLanguage(this.createLanguage(base));
+      it.addLanguage(this.createLanguage(sub, base));
+    };
+    final XtextGenerator generator = ObjectExtensions.<XtextGenerator>operator_doubleArrow(_xtextGenerator, _function);
+    final IssuesImpl issues = new IssuesImpl();
+    generator.checkConfiguration(issues);
+    WorkflowContextImpl _workflowContextImpl = new WorkflowContextImpl();
+    NullProgressMonitor _nullProgressMonitor = new NullProgressMonitor();
+    generator.invoke(_workflowContextImpl, _nullProgressMonitor, issues);
+    Assert.assertFalse(issues.toString(), issues.hasErrors());
+  }
+  
+  private XtextGeneratorLanguage createLanguage(final File grammar, final File... usedGrammars) {
+    XtextGeneratorLanguage _xtextGeneratorLanguage = new XtextGeneratorLanguage();
+    final Procedure1<XtextGeneratorLanguage> _function = (XtextGeneratorLanguage it) -> {
+      it.setGrammarUri(URI.createFileURI(grammar.getAbsolutePath()).toString());
+      it.setFileExtensions(grammar.getName().replace(".xtext", "").toLowerCase());
+      for (final File usedGrammar : usedGrammars) {
+        it.addReferencedResource(URI.createFileURI(usedGrammar.getAbsolutePath()).toString());
+      }
+      EMFGeneratorFragment2 _eMFGeneratorFragment2 = new EMFGeneratorFragment2();
+      it.addFragment(_eMFGeneratorFragment2);
+      GrammarAccessFragment2 _grammarAccessFragment2 = new GrammarAccessFragment2();
+      it.addFragment(_grammarAccessFragment2);
+      SerializerFragment2 _serializerFragment2 = new SerializerFragment2();
+      it.addFragment(_serializerFragment2);
+    };
+    return ObjectExtensions.<XtextGeneratorLanguage>operator_doubleArrow(_xtextGeneratorLanguage, _function);
+  }
+  
+  private File writeGrammar(final String name, final CharSequence content) {
+    try {
+      final File file = this.temp.newFile(name);
+      Files.asCharSink(file, Charsets.UTF_8).write(content);
+      return file;
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  private Map<String, String> readFiles(final File root) {
+    final TreeMap<String, String> result = new TreeMap<String, String>();
+    this.readFiles(root, "", result);
+    return result;
+  }
+  
+  private void readFiles(final File file, final String path, final Map<String, String> result) {
+    try {
+      boolean _isDirectory = file.isDirectory();
+      if (_isDirectory) {
+        File[] _listFiles = file.listFiles();
+        for (final File child : _listFiles) {
+          String _name = child.getName();
+          String _plus = ((path + "/") + _name);
+          this.readFiles(child, _plus, result);
+        }
+      } else {
+        result.put(path, Files.asCharSource(file, Charsets.UTF_8).read());
+      }
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+}
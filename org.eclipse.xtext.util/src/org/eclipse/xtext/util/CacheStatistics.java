@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sigasi N.V. (http://www.sigasi.com) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.util;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.xtext.util.OnChangeEvictingCache.StatisticsListener;
+
+/**
+ * Aggregates the usage of an {@link OnChangeEvictingCache} per category of cache keys. By default, the category of a
+ * key is its first string or class component, which is how most clients of the cache build their keys.
+ *
+ * <pre>
+ * CacheStatistics statistics = new CacheStatistics();
+ * cache.setStatisticsListener(statistics);
+ * ...
+ * System.out.println(statistics);
+ * </pre>
+ *
+ * @since 2.19
+ */
+public class CacheStatistics implements StatisticsListener {
+
+	/**
+	 * The aggregated usage of all keys of a category.
+	 */
+	public static class Entry {
+
+		private final AtomicLong hits = new AtomicLong();
+
+		private final AtomicLong misses = new AtomicLong();
+
+		private final AtomicLong computeTimeNanos = new AtomicLong();
+
+		private final AtomicLong evictions = new AtomicLong();
+
+		public long getHits() {
+			return hits.get();
+		}
+
+		public long getMisses() {
+			return misses.get();
+		}
+
+		/**
+		 * The total time spent computing the values that have not been found in the cache.
+		 */
+		public long getComputeTimeNanos() {
+			return computeTimeNanos.get();
+		}
+
+		public long getEvictions() {
+			return evictions.get();
+		}
+
+		/**
+		 * The number of values that are currently cached.
+		 */
+		public long getEntries() {
+			return Math.max(0, getMisses() - getEvictions());
+		}
+
+		public double getHitRatio() {
+			long hits = getHits();
+			long total = hits + getMisses();
+			return total == 0 ? 0 : (double) hits / total;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("hits: %d, misses: %d (%d ms), evictions: %d, entries: %d, hit ratio: %.1f%%", getHits(),
+					getMisses(), TimeUnit.NANOSECONDS.toMillis(getComputeTimeNanos()), getEvictions(), getEntries(),
+					getHitRatio() * 100);
+		}
+	}
+
+	private final ConcurrentMap<Object, Entry> entries = new ConcurrentHashMap<Object, Entry>();
+
+	@Override
+	public void onHit(Object key) {
+		getEntry(key).hits.incrementAndGet();
+	}
+
+	@Override
+	public void onMiss(Object key, long computeTimeNanos) {
+		Entry entry = getEntry(key);
+		entry.misses.incrementAndGet();
+		entry.computeTimeNanos.addAndGet(computeTimeNanos);
+	}
+
+	@Override
+	public void onEvict(Object key) {
+		getEntry(key).evictions.incrementAndGet();
+	}
+
+	protected Entry getEntry(Object key) {
+		Object category = getCategory(key);
+		Entry result = entries.get(category);
+		if (result == null) {
+			Entry newEntry = new Entry();
+			result = entries.putIfAbsent(category, newEntry);
+			if (result == null) {
+				result = newEntry;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the category that the usage of the given key is attributed to. The category has to be a stable value
+	 * with few distinct instances.
+	 */
+	protected Object getCategory(Object key) {
+		if (key instanceof String) {
+			return key;
+		}
+		if (key instanceof Class<?>) {
+			return ((Class<?>) key).getName();
+		}
+		if (key instanceof Pair<?, ?>) {
+			Pair<?, ?> pair = (Pair<?, ?>) key;
+			Object category = getCategoryComponent(pair.getFirst());
+			if (category == null) {
+				category = getCategoryComponent(pair.getSecond());
+			}
+			if (category == null && pair instanceof Triple<?, ?, ?>) {
+				category = getCategoryComponent(((Triple<?, ?, ?>) pair).getThird());
+			}
+			if (category != null) {
+				return category;
+			}
+		}
+		return key == null ? "null" : key.getClass().getName();
+	}
+
+	private Object getCategoryComponent(Object component) {
+		if (component instanceof String) {
+			return component;
+		}
+		if (component instanceof Class<?>) {
+			return ((Class<?>) component).getName();
+		}
+		return null;
+	}
+
+	/**
+	 * A sorted copy of the statistics that have been collected so far, keyed by category.
+	 */
+	public Map<String, Entry> getEntries() {
+		Map<String, Entry> result = new TreeMap<String, Entry>();
+		for (Map.Entry<Object, Entry> entry : entries.entrySet()) {
+			result.put(String.valueOf(entry.getKey()), entry.getValue());
+		}
+		return result;
+	}
+
+	/**
+	 * Discards the statistics that have been collected so far.
+	 */
+	public void reset() {
+		entries.clear();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder(getClass().getSimpleName());
+		for (Map.Entry<String, Entry> entry : getEntries().entrySet()) {
+			result.append("\n  ").append(entry.getKey()).append(": ").append(entry.getValue());
+		}
+		return result.toString();
+	}
+
+}
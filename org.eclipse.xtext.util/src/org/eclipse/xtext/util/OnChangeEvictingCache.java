@@ -7,10 +7,15 @@
  *******************************************************************************/
 package org.eclipse.xtext.util;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -24,6 +29,7 @@ import org.eclipse.xtext.util.concurrent.IUnitOfWork;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
 
@@ -33,6 +39,10 @@ import com.google.inject.Singleton;
  * Clients may override this behavior for certain transactions by means of {@link #execWithoutCacheClear(Resource, IUnitOfWork)}
  * or {@link #execWithTemporaryCaching(Resource, IUnitOfWork)}.
  * 
+ * By default, the cache is unbounded. Long running applications may limit the number of entries per resource
+ * ({@link #setMaxEntriesPerResource(int)}) and in total ({@link #setMaxEntries(int)}). The usage of the cache can be
+ * observed by means of a {@link StatisticsListener}, e.g. a {@link CacheStatistics}.
+ * 
  * @author Sven Efftinge - Initial contribution and API
  * @author Sebastian Zarnekow
  */
@@ -50,6 +60,106 @@ public class OnChangeEvictingCache implements IResourceScopeCache {
 		void onEvict(CacheAdapter cache);
 	}
 	
+	/**
+	 * Is notified about every access to the cache. Implementations have to be thread-safe and fast, since they are
+	 * called while the cache is being used.
+	 * 
+	 * @since 2.19
+	 */
+	public static interface StatisticsListener {
+		
+		/**
+		 * A value has been found in the cache.
+		 */
+		void onHit(Object key);
+		
+		/**
+		 * A value has not been found in the cache. It has been computed in the given time and stored afterwards.
+		 */
+		void onMiss(Object key, long computeTimeNanos);
+		
+		/**
+		 * A value has been discarded, either because the resource has changed or because a size bound has been
+		 * exceeded.
+		 */
+		void onEvict(Object key);
+	}
+	
+	private volatile StatisticsListener statisticsListener;
+	
+	private volatile int maxEntriesPerResource = 0;
+	
+	private volatile int maxEntries = 0;
+	
+	/**
+	 * The adapters that may hold values, only tracked if {@link #maxEntries} is set. Guarded by itself.
+	 */
+	private final Map<CacheAdapter, Boolean> adapters = new WeakHashMap<CacheAdapter, Boolean>();
+	
+	/**
+	 * The number of entries of all tracked adapters. Adapters that have been garbage collected without being cleared
+	 * leave their entries in here, so it is recomputed whenever the eviction runs out of adapters.
+	 */
+	private final AtomicInteger entryCount = new AtomicInteger(0);
+	
+	/**
+	 * @since 2.19
+	 */
+	@Inject(optional = true)
+	public void setStatisticsListener(StatisticsListener statisticsListener) {
+		this.statisticsListener = statisticsListener;
+	}
+	
+	/**
+	 * @since 2.19
+	 */
+	public StatisticsListener getStatisticsListener() {
+		return statisticsListener;
+	}
+	
+	/**
+	 * Limits the number of values that are cached for a single resource. If the limit is exceeded, the least recently
+	 * used value is discarded. Only affects caches of resources that are created afterwards. A value of
+	 * <code>0</code> means unbounded, which is the default.
+	 * 
+	 * @since 2.19
+	 */
+	public void setMaxEntriesPerResource(int maxEntriesPerResource) {
+		if (maxEntriesPerResource < 0) {
+			throw new IllegalArgumentException("maxEntriesPerResource may not be negative: " + maxEntriesPerResource);
+		}
+		this.maxEntriesPerResource = maxEntriesPerResource;
+	}
+	
+	/**
+	 * @since 2.19
+	 */
+	public int getMaxEntriesPerResource() {
+		return maxEntriesPerResource;
+	}
+	
+	/**
+	 * Limits the number of values that are cached for all resources. If the limit is exceeded, the least recently used
+	 * values of the least recently used resources are discarded until a quarter of the limit is free again. Only
+	 * affects caches of resources that are created afterwards. A value of <code>0</code> means unbounded, which is the
+	 * default.
+	 * 
+	 * @since 2.19
+	 */
+	public void setMaxEntries(int maxEntries) {
+		if (maxEntries < 0) {
+			throw new IllegalArgumentException("maxEntries may not be negative: " + maxEntries);
+		}
+		this.maxEntries = maxEntries;
+	}
+	
+	/**
+	 * @since 2.19
+	 */
+	public int getMaxEntries() {
+		return maxEntries;
+	}
+	
 	/**
 	 * Clears the cache of the given resource. 
 	 */
@@ -71,12 +181,28 @@ public class OnChangeEvictingCache implements IResourceScopeCache {
 			return provider.get();
 		}
 		CacheAdapter adapter = getOrCreate(resource);
+		StatisticsListener statisticsListener = this.statisticsListener;
 		T element = adapter.<T>internalGet(key);
 		if (element==null) {
-			element = provider.get();
+			if (statisticsListener != null) {
+				long start = System.nanoTime();
+				element = provider.get();
+				statisticsListener.onMiss(key, System.nanoTime() - start);
+			} else {
+				element = provider.get();
+			}
 			cacheMiss(adapter);
 			adapter.set(key, element);
+			if (adapter.tracked) {
+				int max = maxEntries;
+				if (max > 0 && entryCount.get() > max) {
+					enforceMaxEntries(max);
+				}
+			}
 		} else {
+			if (statisticsListener != null) {
+				statisticsListener.onHit(key);
+			}
 			cacheHit(adapter);
 		}
 		if (element == CacheAdapter.NULL) {
@@ -110,13 +236,59 @@ public class OnChangeEvictingCache implements IResourceScopeCache {
 	public CacheAdapter getOrCreate(Resource resource) {
 		CacheAdapter adapter = (CacheAdapter) EcoreUtil.getAdapter(resource.eAdapters(), CacheAdapter.class);
 		if (adapter == null) {
-			adapter = new CacheAdapter();
+			boolean tracked = maxEntries > 0;
+			adapter = new CacheAdapter(maxEntriesPerResource, tracked);
+			adapter.owner = this;
+			adapter.tracked = tracked;
 			resource.eAdapters().add(adapter);
 			adapter.setResource(resource);
+			if (tracked) {
+				synchronized (adapters) {
+					adapters.put(adapter, Boolean.TRUE);
+				}
+			}
 		}
 		return adapter;
 	}
 	
+	/**
+	 * Discards the least recently used values of the least recently used resources until a quarter of
+	 * {@link #getMaxEntries() the limit} is free again. Freeing more than the excess value keeps the adapters from
+	 * being scanned on every cache miss once the cache is full.
+	 */
+	private void enforceMaxEntries(int max) {
+		synchronized (adapters) {
+			int target = max - max / 4;
+			if (entryCount.get() <= max) {
+				return;
+			}
+			List<CacheAdapter> candidates = new ArrayList<CacheAdapter>(adapters.size());
+			for (CacheAdapter adapter : adapters.keySet()) {
+				if (!adapter.empty) {
+					candidates.add(adapter);
+				}
+			}
+			Collections.sort(candidates, new Comparator<CacheAdapter>() {
+				@Override
+				public int compare(CacheAdapter a, CacheAdapter b) {
+					return Long.compare(a.lastAccess, b.lastAccess);
+				}
+			});
+			for (CacheAdapter adapter : candidates) {
+				int excess = entryCount.get() - target;
+				if (excess <= 0) {
+					return;
+				}
+				adapter.evictEldest(excess);
+			}
+			int total = 0;
+			for (CacheAdapter adapter : adapters.keySet()) {
+				total += adapter.values.size();
+			}
+			entryCount.set(total);
+		}
+	}
+	
 	/**
 	 * The transaction will be executed. While it is running, any semantic state change
 	 * in the given resource will be ignored and the cache will not be cleared.
@@ -167,7 +339,13 @@ public class OnChangeEvictingCache implements IResourceScopeCache {
 			if (log.isDebugEnabled()) {
 				log.debug(String.format("Discarding %d temporary cache entries", keys.size()));
 			}
-			adapter.values.keySet().removeAll(keys);
+			adapter.removeAll(keys);
+			StatisticsListener statisticsListener = adapter.getStatisticsListener();
+			if (statisticsListener != null) {
+				for (Object key : keys) {
+					statisticsListener.onEvict(key);
+				}
+			}
 			adapter.ignoreValuesMemento = previous;
 		}
 
@@ -180,7 +358,7 @@ public class OnChangeEvictingCache implements IResourceScopeCache {
 		
 		private static final Object NULL = new Object();
 		
-		private final Map<Object, Object> values = new ConcurrentHashMap<Object, Object>(500);
+		private final Map<Object, Object> values;
 
 		private final Collection<Listener> listeners = Sets.newLinkedHashSet();
 		
@@ -197,13 +375,115 @@ public class OnChangeEvictingCache implements IResourceScopeCache {
 		
 		private int misses = 0;
 		private int hits = 0;
+		
+		private OnChangeEvictingCache owner;
+		
+		private boolean tracked = false;
+		
+		private volatile long lastAccess;
+		
+		public CacheAdapter() {
+			this(0);
+		}
+		
+		/**
+		 * @param maxEntries the maximum number of values that are kept. The least recently used value is discarded if
+		 *            it is exceeded. <code>0</code> means unbounded.
+		 * @since 2.19
+		 */
+		public CacheAdapter(final int maxEntries) {
+			this(maxEntries, false);
+		}
+		
+		private CacheAdapter(final int maxEntries, boolean accessOrdered) {
+			if (maxEntries > 0 || accessOrdered) {
+				this.values = Collections.synchronizedMap(new LinkedHashMap<Object, Object>(16, 0.75f, true) {
+					private static final long serialVersionUID = 1L;
+					
+					@Override
+					protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+						if (maxEntries > 0 && size() > maxEntries) {
+							StatisticsListener statisticsListener = getStatisticsListener();
+							if (statisticsListener != null) {
+								statisticsListener.onEvict(eldest.getKey());
+							}
+							entriesRemoved(1);
+							return true;
+						}
+						return false;
+					}
+				});
+			} else {
+				this.values = new ConcurrentHashMap<Object, Object>(500);
+			}
+		}
+		
+		/**
+		 * Keeps the number of entries of the owning cache in sync if this adapter is tracked.
+		 */
+		private void entriesAdded(int count) {
+			if (tracked && count != 0) {
+				owner.entryCount.addAndGet(count);
+			}
+		}
+		
+		private void entriesRemoved(int count) {
+			entriesAdded(-count);
+		}
+		
+		/**
+		 * Discards up to the given number of the least recently used values. Only used for tracked adapters, which keep
+		 * their values in access order.
+		 */
+		private int evictEldest(int count) {
+			List<Object> evicted = Lists.newArrayList();
+			synchronized (values) {
+				Iterator<Object> iterator = values.keySet().iterator();
+				while (evicted.size() < count && iterator.hasNext()) {
+					evicted.add(iterator.next());
+					iterator.remove();
+				}
+				if (values.isEmpty()) {
+					empty = true;
+				}
+			}
+			entriesRemoved(evicted.size());
+			StatisticsListener statisticsListener = getStatisticsListener();
+			if (statisticsListener != null) {
+				for (Object key : evicted) {
+					statisticsListener.onEvict(key);
+				}
+			}
+			return evicted.size();
+		}
+		
+		private void removeAll(Collection<Object> keys) {
+			int removed = 0;
+			synchronized (values) {
+				for (Object key : keys) {
+					if (values.remove(key) != null) {
+						removed++;
+					}
+				}
+			}
+			entriesRemoved(removed);
+		}
+		
+		private StatisticsListener getStatisticsListener() {
+			OnChangeEvictingCache owner = this.owner;
+			return owner != null ? owner.statisticsListener : null;
+		}
 
 		public void set(Object name, Object value) {
 			empty = false;
+			Object previous;
 			if (value != null)
-				this.values.put(name, value);
+				previous = this.values.put(name, value);
 			else
-				this.values.put(name, NULL);
+				previous = this.values.put(name, NULL);
+			if (previous == null) {
+				entriesAdded(1);
+			}
 			IgnoreValuesMemento ignoreValuesMemento = this.ignoreValuesMemento;
 			if (ignoreValuesMemento != null) {
 				ignoreValuesMemento.storeKey(name);
@@ -242,6 +522,8 @@ public class OnChangeEvictingCache implements IResourceScopeCache {
 		
 		@SuppressWarnings("unchecked")
 		private <T> T internalGet(Object name) {
+			if (tracked)
+				lastAccess = System.nanoTime();
 			if (empty)
 				return null;
 			return (T) this.values.get(name);
@@ -284,7 +566,18 @@ public class OnChangeEvictingCache implements IResourceScopeCache {
 					log.debug(String.format("Clear %d cache entries for resource %s after %d hits and %d misses (quota: %d%%)", 
 							values.size(), lastSegment, hits, misses, hits + misses != 0 ? hits * 100 / (hits + misses) : 0));
 				}
-				values.clear();
+				StatisticsListener statisticsListener = getStatisticsListener();
+				if (statisticsListener != null) {
+					for (Object key : values.keySet().toArray()) {
+						statisticsListener.onEvict(key);
+					}
+				}
+				int size;
+				synchronized (values) {
+					size = values.size();
+					values.clear();
+				}
+				entriesRemoved(size);
 				empty = true;
 				misses = 0;
 				hits = 0;
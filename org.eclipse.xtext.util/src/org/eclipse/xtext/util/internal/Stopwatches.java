@@ -12,6 +12,7 @@ import static java.util.Collections.*;
 
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Sven Efftinge - Initial contribution and API
@@ -27,17 +28,23 @@ public class Stopwatches {
 		final static long notRunning = -1;
 		
 		private NumbersForTask numbers;
+		private NumbersForTask resourceNumbers;
 		private long lastStart = notRunning;
 		private int reentrant = 0;
 		
 		StopwatchForTask(NumbersForTask numbers) {
+			this(numbers, null);
+		}
+		
+		StopwatchForTask(NumbersForTask numbers, NumbersForTask resourceNumbers) {
 			this.numbers = numbers;
+			this.resourceNumbers = resourceNumbers;
 		}
 		
 		@Override
 		public void start() {
 			if (!isRunning())
-				lastStart = System.currentTimeMillis();
+				lastStart = System.nanoTime();
 			reentrant++;
 		}
 		
@@ -50,9 +57,10 @@ public class Stopwatches {
 			if (isRunning()) {
 				reentrant--;
 				if (reentrant == 0) {
-					long currentTimeMillis = System.currentTimeMillis();
-					numbers.addMilliseconds(currentTimeMillis - lastStart);
-					numbers.increaseMeasurements();
+					long nanoseconds = System.nanoTime() - lastStart;
+					numbers.addMeasurement(nanoseconds);
+					if (resourceNumbers != null)
+						resourceNumbers.addMeasurement(nanoseconds);
 					lastStart = notRunning;
 				}
 			}
@@ -60,27 +68,32 @@ public class Stopwatches {
 	}
 	
 	public static class NumbersForTask {
-		long milliseconds = 0;
+		long nanoseconds = 0;
 		int numberOfMeasurements = 0;
 		
 		public long getMilliseconds() {
-			return milliseconds;
+			return TimeUnit.NANOSECONDS.toMillis(nanoseconds);
 		}
 		
-		synchronized void addMilliseconds(long milliseconds) {
-			this.milliseconds += milliseconds;
+		/**
+		 * @since 2.19
+		 */
+		public long getNanoseconds() {
+			return nanoseconds;
 		}
 		
 		public int getNumberOfMeasurements() {
 			return numberOfMeasurements;
 		}
 		
-		synchronized void increaseMeasurements() {
+		synchronized void addMeasurement(long nanoseconds) {
+			this.nanoseconds += nanoseconds;
 			this.numberOfMeasurements++;
 		}
 	}
 
 	private static Map<String, NumbersForTask> data = newLinkedHashMap();
+	private static Map<String, Map<String, NumbersForTask>> resourceData = newLinkedHashMap();
 	private static boolean enabled = false;
 	private static StoppedTask NULLIMPL = new StoppedTask() {
 		@Override
@@ -102,6 +115,44 @@ public class Stopwatches {
 		}
 	}
 	
+	/**
+	 * Returns a stopwatch that records the time of the given task both in total and for the given resource, e.g. to
+	 * find the files that dominate the parsing or validation time of a build.
+	 * 
+	 * @param resource
+	 *            the URI of the resource that is processed.
+	 * @since 2.19
+	 */
+	public static StoppedTask forTask(String task, String resource) {
+		if (!enabled)
+			return NULLIMPL;
+		synchronized (data) {
+			NumbersForTask numbers = data.get(task);
+			if (numbers == null) {
+				numbers = new NumbersForTask();
+				data.put(task, numbers);
+			}
+			Map<String, NumbersForTask> numbersByResource = resourceData.get(task);
+			if (numbersByResource == null) {
+				numbersByResource = newLinkedHashMap();
+				resourceData.put(task, numbersByResource);
+			}
+			NumbersForTask resourceNumbers = numbersByResource.get(resource);
+			if (resourceNumbers == null) {
+				resourceNumbers = new NumbersForTask();
+				numbersByResource.put(resource, resourceNumbers);
+			}
+			return new StopwatchForTask(numbers, resourceNumbers);
+		}
+	}
+	
+	/**
+	 * @since 2.19
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+	
 	public static void setEnabled(boolean isEnabled) {
 		enabled = isEnabled;
 	}
@@ -109,6 +160,7 @@ public class Stopwatches {
 	public static void resetAll() {
 		synchronized (data) {
 			data.clear();
+			resourceData.clear();
 		}
 	}
 	
@@ -118,6 +170,72 @@ public class Stopwatches {
 		}
 	}
 	
+	/**
+	 * Returns the numbers of the given task per resource, for the tasks that were recorded with
+	 * {@link #forTask(String, String)}.
+	 * 
+	 * @since 2.19
+	 */
+	public static Map<String, NumbersForTask> allNumbersByResource(String task) {
+		synchronized (data) {
+			Map<String, NumbersForTask> result = resourceData.get(task);
+			if (result == null)
+				return emptyMap();
+			return unmodifiableMap(newLinkedHashMap(result));
+		}
+	}
+	
+	/**
+	 * Returns all recorded numbers as a JSON document that can be stored as a build report. The times are given in
+	 * nanoseconds.
+	 * 
+	 * @since 2.19
+	 */
+	public static String getJsonReport() {
+		StringBuilder sb = new StringBuilder();
+		synchronized (data) {
+			sb.append("{\n  \"tasks\": [");
+			boolean firstTask = true;
+			for (Entry<String, NumbersForTask> task : data.entrySet()) {
+				sb.append(firstTask ? "\n" : ",\n");
+				firstTask = false;
+				sb.append("    {");
+				appendJson(sb, "name", task.getKey(), task.getValue());
+				Map<String, NumbersForTask> numbersByResource = resourceData.get(task.getKey());
+				if (numbersByResource != null) {
+					sb.append(", \"resources\": [");
+					boolean firstResource = true;
+					for (Entry<String, NumbersForTask> resource : numbersByResource.entrySet()) {
+						sb.append(firstResource ? "\n" : ",\n");
+						firstResource = false;
+						sb.append("      {");
+						appendJson(sb, "uri", resource.getKey(), resource.getValue());
+						sb.append("}");
+					}
+					sb.append("\n    ]");
+				}
+				sb.append("}");
+			}
+			sb.append("\n  ]\n}\n");
+		}
+		return sb.toString();
+	}
+	
+	private static void appendJson(StringBuilder sb, String key, String value, NumbersForTask numbers) {
+		sb.append("\"").append(key).append("\": \"");
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\')
+				sb.append('\\').append(c);
+			else if (c < ' ')
+				sb.append(String.format("\\u%04x", (int) c));
+			else
+				sb.append(c);
+		}
+		sb.append("\", \"nanoseconds\": ").append(numbers.getNanoseconds());
+		sb.append(", \"measurements\": ").append(numbers.getNumberOfMeasurements());
+	}
+	
 	public static String getPrintableStopwatchData() {
 		StringBuilder sb = new StringBuilder();
 		sb.append("\n");
@@ -17,6 +17,10 @@ import java.io.IOException
 import java.io.InputStream
 import java.util.HashMap
 import java.util.List
+import java.util.Map
+import java.util.Set
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Executors
 import org.eclipse.emf.common.util.URI
 import org.eclipse.emf.mwe.core.WorkflowContext
 import org.eclipse.emf.mwe.core.lib.AbstractWorkflowComponent2
@@ -25,6 +29,7 @@ import org.eclipse.emf.mwe.utils.StandaloneSetup
 import org.eclipse.xtend.lib.annotations.Accessors
 import org.eclipse.xtext.GeneratedMetamodel
 import org.eclipse.xtext.Grammar
+import org.eclipse.xtext.GrammarUtil
 import org.eclipse.xtext.XtextStandaloneSetup
 import org.eclipse.xtext.parser.IEncodingProvider
 import org.eclipse.xtext.resource.IResourceServiceProvider
@@ -80,6 +85,15 @@ class XtextGenerator extends AbstractWorkflowComponent2 {
 	@Accessors
 	String grammarEncoding
 	
+	/**
+	 * The maximum number of languages that are generated at the same time. A language is not generated
+	 * before the languages that are configured before it and whose grammars it uses or whose resource set
+	 * it shares. Defaults to 1, i.e. the languages are generated one after another.
+	 * @since 2.19
+	 */
+	@Accessors
+	int maxParallelLanguages = 1
+	
 	Injector injector
 	
 	@Inject IXtextProjectConfig projectConfig
@@ -161,15 +175,13 @@ class XtextGenerator extends AbstractWorkflowComponent2 {
 		initialize
 		try {
 			cleaner.clean
-			for (language : languageConfigs) {
-				try {
-					LOG.info('Generating ' + language.grammar.name)
-					language.generate
-					language.generateSetups
-					language.generateModules
-					language.generateExecutableExtensionFactory
-				} catch(Exception e) {
-					handleException(e, issues)
+			if (maxParallelLanguages > 1 && languageConfigs.size > 1) {
+				generateLanguagesInParallel(issues)
+			} else {
+				for (language : languageConfigs) {
+					val exception = generateLanguage(language)
+					if (exception !== null)
+						handleException(exception, issues)
 				}
 			}
 			LOG.info('Generating common infrastructure')
@@ -182,7 +194,69 @@ class XtextGenerator extends AbstractWorkflowComponent2 {
 		}
 	}
 	
-	private def void handleException(Exception ex, org.eclipse.emf.mwe.core.issues.Issues issues) {
+	/**
+	 * @return the exception that was thrown while generating the language, or {@code null}.
+	 */
+	private def Exception generateLanguage(XtextGeneratorLanguage language) {
+		try {
+			LOG.info('Generating ' + language.grammar.name)
+			language.generate
+			language.generateSetups
+			language.generateModules
+			language.generateExecutableExtensionFactory
+			return null
+		} catch(Exception e) {
+			return e
+		}
+	}
+	
+	private def void generateLanguagesInParallel(org.eclipse.emf.mwe.core.issues.Issues issues) {
+		// the plugin.xml entries of each language are added in the order of the languages once all are generated
+		val pluginXmls = projectConfig.enabledProjects.filter(BundleProjectConfig).map[pluginXml].filterNull.toSet
+		val executor = Executors.newFixedThreadPool(Math.min(maxParallelLanguages, languageConfigs.size))
+		try {
+			val Map<XtextGeneratorLanguage, CompletableFuture<Pair<Map<PluginXmlAccess, List<CharSequence>>, Throwable>>> tasks = newLinkedHashMap
+			for (language : languageConfigs) {
+				val usedGrammars = GrammarUtil.allUsedGrammars(language.grammar).map[name].toSet
+				// languages that share a resource set share grammar objects, and the analysis of a grammar modifies their adapters
+				val dependencies = tasks.filter[other, task |
+					usedGrammars.contains(other.grammar.name) || other.resourceSet === language.resourceSet
+				].values
+				tasks.put(language, CompletableFuture.allOf(dependencies).thenApplyAsync([
+					generateLanguage(language, pluginXmls)
+				], executor))
+			}
+			for (task : tasks.values) {
+				val result = task.join
+				result.key.forEach[pluginXml, entries | pluginXml.entries += entries]
+				if (result.value !== null)
+					handleException(result.value, issues)
+			}
+		} finally {
+			executor.shutdown
+		}
+	}
+	
+	private def Pair<Map<PluginXmlAccess, List<CharSequence>>, Throwable> generateLanguage(XtextGeneratorLanguage language,
+			Set<PluginXmlAccess> pluginXmls) {
+		val Map<PluginXmlAccess, List<CharSequence>> entries = newLinkedHashMap
+		for (pluginXml : pluginXmls) {
+			val List<CharSequence> languageEntries = newArrayList
+			pluginXml.deferEntries(languageEntries)
+			entries.put(pluginXml, languageEntries)
+		}
+		try {
+			val Throwable exception = generateLanguage(language)
+			return entries -> exception
+		} catch(Throwable t) {
+			// an error must neither abort the remaining languages nor the merging of their plugin.xml entries
+			return entries -> t
+		} finally {
+			pluginXmls.forEach[deferEntries(null)]
+		}
+	}
+	
+	private def void handleException(Throwable ex, org.eclipse.emf.mwe.core.issues.Issues issues) {
 		if (ex instanceof CompositeGeneratorException) {
 			ex.exceptions.forEach[handleException(issues)]
 		} else {
@@ -10,6 +10,7 @@ package org.eclipse.xtext.xtext.generator.model
 import com.google.inject.Injector
 import java.io.ByteArrayInputStream
 import java.io.ByteArrayOutputStream
+import java.util.Collections
 import java.util.Set
 import org.eclipse.xtend.lib.annotations.Accessors
 import org.eclipse.xtend2.lib.StringConcatenationClient
@@ -34,11 +35,11 @@ class ManifestAccess extends TextFileAccess implements IGuiceAwareGeneratorCompo
 	
 	boolean merge = true
 	
-	val Set<String> exportedPackages = newHashSet
+	val Set<String> exportedPackages = Collections.synchronizedSet(newHashSet)
 	
-	val Set<String> requiredBundles = newHashSet
+	val Set<String> requiredBundles = Collections.synchronizedSet(newHashSet)
 	
-	val Set<String> importedPackages = newHashSet
+	val Set<String> importedPackages = Collections.synchronizedSet(newHashSet)
 	
 	TypeReference activator
 	
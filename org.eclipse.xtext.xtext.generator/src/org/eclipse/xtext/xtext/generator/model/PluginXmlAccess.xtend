@@ -8,6 +8,7 @@
 package org.eclipse.xtext.xtext.generator.model
 
 import java.util.List
+import org.eclipse.xtend.lib.annotations.AccessorType
 import org.eclipse.xtend.lib.annotations.Accessors
 import org.eclipse.xtend2.lib.StringConcatenationClient
 import org.eclipse.xtext.generator.IFileSystemAccess2
@@ -32,6 +33,29 @@ class PluginXmlAccess extends TextFileAccess implements IGuiceAwareGeneratorComp
 	
 	val List<CharSequence> entries = newArrayList
 	
+	@Accessors(AccessorType.NONE)
+	val ThreadLocal<List<CharSequence>> deferredEntries = new ThreadLocal
+	
+	/**
+	 * Returns the entries of this plugin.xml, or the list that the current thread
+	 * {@link #deferEntries(List) defers} its entries to.
+	 */
+	def List<CharSequence> getEntries() {
+		deferredEntries.get ?: entries
+	}
+	
+	/**
+	 * Let the entries that the current thread adds go to the given list instead of this plugin.xml.
+	 * Pass {@code null} to add them to this plugin.xml again.
+	 * @since 2.19
+	 */
+	def void deferEntries(List<CharSequence> deferred) {
+		if (deferred === null)
+			deferredEntries.remove
+		else
+			deferredEntries.set(deferred)
+	}
+	
 	override setContent(StringConcatenationClient content) {
 		throw new UnsupportedOperationException("cannot directly set contents on a plugin.xml. Use entries property instead");
 	}
@@ -8,6 +8,7 @@
 package org.eclipse.xtext.xtext.generator.model
 
 import com.google.inject.Injector
+import java.io.InputStream
 import org.eclipse.xtext.generator.JavaIoFileSystemAccess
 
 class XtextGeneratorFileSystemAccess extends JavaIoFileSystemAccess implements IXtextGeneratorFileSystemAccess {
@@ -36,5 +37,21 @@ class XtextGeneratorFileSystemAccess extends JavaIoFileSystemAccess implements I
 	override isOverwrite() {
 		defaultOutput.overrideExistingResources
 	}
+	
+	/*
+	 * Languages may be generated concurrently, so the writes to the same output folder are serialized.
+	 */
+	
+	override synchronized generateFile(String fileName, String outputConfigName, CharSequence contents) {
+		super.generateFile(fileName, outputConfigName, contents)
+	}
+	
+	override synchronized generateFile(String fileName, String outputCfgName, InputStream content) {
+		super.generateFile(fileName, outputCfgName, content)
+	}
+	
+	override synchronized deleteFile(String fileName, String outputConfiguration) {
+		super.deleteFile(fileName, outputConfiguration)
+	}
 
 }
\ No newline at end of file
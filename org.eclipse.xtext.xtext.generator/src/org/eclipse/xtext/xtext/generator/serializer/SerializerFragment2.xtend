@@ -11,6 +11,8 @@ import com.google.common.collect.ImmutableSet
 import com.google.common.collect.LinkedHashMultimap
 import com.google.common.collect.Multimap
 import com.google.inject.Inject
+import java.io.ByteArrayOutputStream
+import java.io.IOException
 import java.util.List
 import java.util.Map
 import java.util.Set
@@ -42,7 +44,9 @@ import org.eclipse.xtext.parser.antlr.AbstractSplittingTokenSource
 import org.eclipse.xtext.serializer.ISerializationContext
 import org.eclipse.xtext.serializer.ISerializer
 import org.eclipse.xtext.serializer.acceptor.SequenceFeeder
+import org.eclipse.xtext.serializer.analysis.ContextTypePDASnapshot
 import org.eclipse.xtext.serializer.analysis.GrammarAlias.AbstractElementAlias
+import org.eclipse.xtext.serializer.analysis.IContextTypePDAProvider
 import org.eclipse.xtext.serializer.analysis.IGrammarConstraintProvider
 import org.eclipse.xtext.serializer.analysis.IGrammarConstraintProvider.IConstraint
 import org.eclipse.xtext.serializer.analysis.ISyntacticSequencerPDAProvider
@@ -87,10 +91,19 @@ import static extension org.eclipse.xtext.xtext.generator.util.GenModelUtil2.*
 	@Inject extension IGrammarConstraintProvider
 	@Inject DebugGraphGenerator debugGraphGenerator
 	@Inject FileAccessFactory fileAccessFactory
+	@Inject IContextTypePDAProvider contextTypePDAProvider
+	@Inject ContextTypePDASnapshot contextTypePDASnapshot
 	
 	@Accessors boolean generateDebugData = false
 	@Accessors boolean generateSupportForDeprecatedContextEObject = false
 	
+	/**
+	 * Set to true to store the analyzed grammar next to the binary grammar, such that
+	 * the serializer does not need to analyze the grammar again at runtime.
+	 * @since 2.19
+	 */
+	@Accessors boolean generateAnalysisSnapshot = false
+	
 	boolean detectSyntheticTerminals = true
 	
 	/**
@@ -145,6 +158,10 @@ import static extension org.eclipse.xtext.xtext.generator.util.GenModelUtil2.*
 			generateSyntacticSequencer()
 		}
 		
+		if (generateAnalysisSnapshot) {
+			generateAnalysisSnapshot()
+		}
+		
 		if (generateDebugData) {
 			generateGrammarConstraints()
 			for (fileToContent : debugGraphGenerator.generateDebugGraphs) {
@@ -588,4 +605,20 @@ import static extension org.eclipse.xtext.xtext.generator.util.GenModelUtil2.*
 			ENDFOR
 		''').writeTo(projectConfig.runtime.srcGen)
 	}
+	
+	/**
+	 * @since 2.19
+	 */
+	protected def void generateAnalysisSnapshot() {
+		val out = new ByteArrayOutputStream
+		try {
+			contextTypePDASnapshot.writeTo(grammar, contextTypePDAProvider.getContextTypePDAs(grammar), out)
+		} catch (IOException e) {
+			LOG.error(e.getMessage(), e)
+			return
+		}
+		val file = fileAccessFactory.createBinaryFile(contextTypePDASnapshot.getClasspathRelativePath(grammar))
+		file.content = out.toByteArray
+		file.writeTo(projectConfig.runtime.srcGen)
+	}
 }
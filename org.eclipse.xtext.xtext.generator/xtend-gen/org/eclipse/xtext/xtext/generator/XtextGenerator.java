@@ -18,9 +18,17 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
+import java.util.Collection;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.mwe.core.WorkflowContext;
@@ -32,6 +40,7 @@ import org.eclipse.xtend.lib.annotations.Accessors;
 import org.eclipse.xtend2.lib.StringConcatenationClient;
 import org.eclipse.xtext.GeneratedMetamodel;
 import org.eclipse.xtext.Grammar;
+import org.eclipse.xtext.GrammarUtil;
 import org.eclipse.xtext.XtextStandaloneSetup;
 import org.eclipse.xtext.parser.IEncodingProvider;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
@@ -40,9 +49,13 @@ import org.eclipse.xtext.util.Triple;
 import org.eclipse.xtext.util.Tuples;
 import org.eclipse.xtext.util.internal.Log;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+import org.eclipse.xtext.xbase.lib.Conversions;
 import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
+import org.eclipse.xtext.xbase.lib.Functions.Function2;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.eclipse.xtext.xbase.lib.ListExtensions;
+import org.eclipse.xtext.xbase.lib.MapExtensions;
 import org.eclipse.xtext.xbase.lib.ObjectExtensions;
 import org.eclipse.xtext.xbase.lib.Pair;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
@@ -109,6 +122,15 @@ public class XtextGenerator extends AbstractWorkflowComponent2 {
   @Accessors
   private String grammarEncoding;
   
+  /**
+   * The maximum number of languages that are generated at the same time. A language is not generated
+   * before the languages that are configured before it and whose grammars it uses or whose resource set
+   * it shares. Defaults to 1, i.e. the languages are generated one after another.
+   * @since 2.19
+   */
+  @Accessors
+  private int maxParallelLanguages = 1;
+  
   private Injector injector;
   
   @Inject
@@ -222,21 +244,15 @@ public class XtextGenerator extends AbstractWorkflowComponent2 {
     this.initialize();
     try {
       this.cleaner.clean();
-      for (final XtextGeneratorLanguage language : this.languageConfigs) {
-        try {
-          String _name = language.getGrammar().getName();
-          String _plus = ("Generating " + _name);
-          XtextGenerator.LOG.info(_plus);
-          language.generate();
-          this.generateSetups(language);
-          this.generateModules(language);
-          this.generateExecutableExtensionFactory(language);
-        } catch (final Throwable _t) {
-          if (_t instanceof Exception) {
-            final Exception e = (Exception)_t;
-            this.handleException(e, issues);
-          } else {
-            throw Exceptions.sneakyThrow(_t);
+      if (((this.maxParallelLanguages > 1) && (this.languageConfigs.size() > 1))) {
+        this.generateLanguagesInParallel(issues);
+      } else {
+        for (final XtextGeneratorLanguage language : this.languageConfigs) {
+          {
+            final Exception exception = this.generateLanguage(language);
+            if ((exception != null)) {
+              this.handleException(exception, issues);
+            }
           }
         }
       }
@@ -255,7 +271,97 @@ public class XtextGenerator extends AbstractWorkflowComponent2 {
     }
   }
   
-  private void handleException(final Exception ex, final Issues issues) {
+  /**
+   * @return the exception that was thrown while generating the language, or {@code null}.
+   */
+  private Exception generateLanguage(final XtextGeneratorLanguage language) {
+    try {
+      String _name = language.getGrammar().getName();
+      String _plus = ("Generating " + _name);
+      XtextGenerator.LOG.info(_plus);
+      language.generate();
+      this.generateSetups(language);
+      this.generateModules(language);
+      this.generateExecutableExtensionFactory(language);
+      return null;
+    } catch (final Throwable _t) {
+      if (_t instanceof Exception) {
+        final Exception e = (Exception)_t;
+        return e;
+      } else {
+        throw Exceptions.sneakyThrow(_t);
+      }
+    }
+  }
+  
+  private void generateLanguagesInParallel(final Issues issues) {
+    final Function1<BundleProjectConfig, PluginXmlAccess> _function = (BundleProjectConfig it) -> {
+      return it.getPluginXml();
+    };
+    final Set<PluginXmlAccess> pluginXmls = IterableExtensions.<PluginXmlAccess>toSet(IterableExtensions.<PluginXmlAccess>filterNull(IterableExtensions.<BundleProjectConfig, PluginXmlAccess>map(Iterables.<BundleProjectConfig>filter(this.projectConfig.getEnabledProjects(), BundleProjectConfig.class), _function)));
+    final ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.maxParallelLanguages, this.languageConfigs.size()));
+    try {
+      final Map<XtextGeneratorLanguage, CompletableFuture<Pair<Map<PluginXmlAccess, List<CharSequence>>, Throwable>>> tasks = CollectionLiterals.<XtextGeneratorLanguage, CompletableFuture<Pair<Map<PluginXmlAccess, List<CharSequence>>, Throwable>>>newLinkedHashMap();
+      for (final XtextGeneratorLanguage language : this.languageConfigs) {
+        {
+          final Function1<Grammar, String> _function_1 = (Grammar it) -> {
+            return it.getName();
+          };
+          final Set<String> usedGrammars = IterableExtensions.<String>toSet(ListExtensions.<Grammar, String>map(GrammarUtil.allUsedGrammars(language.getGrammar()), _function_1));
+          final Function2<XtextGeneratorLanguage, CompletableFuture<Pair<Map<PluginXmlAccess, List<CharSequence>>, Throwable>>, Boolean> _function_2 = (XtextGeneratorLanguage other, CompletableFuture<Pair<Map<PluginXmlAccess, List<CharSequence>>, Throwable>> task) -> {
+            return Boolean.valueOf((usedGrammars.contains(other.getGrammar().getName()) || (other.getResourceSet() == language.getResourceSet())));
+          };
+          final Collection<CompletableFuture<Pair<Map<PluginXmlAccess, List<CharSequence>>, Throwable>>> dependencies = MapExtensions.<XtextGeneratorLanguage, CompletableFuture<Pair<Map<PluginXmlAccess, List<CharSequence>>, Throwable>>>filter(tasks, _function_2).values();
+          final Function<Void, Pair<Map<PluginXmlAccess, List<CharSequence>>, Throwable>> _function_3 = (Void it) -> {
+            return this.generateLanguage(language, pluginXmls);
+          };
+          tasks.put(language, CompletableFuture.allOf(((CompletableFuture<?>[])Conversions.unwrapArray(dependencies, CompletableFuture.class))).<Pair<Map<PluginXmlAccess, List<CharSequence>>, Throwable>>thenApplyAsync(_function_3, executor));
+        }
+      }
+      Collection<CompletableFuture<Pair<Map<PluginXmlAccess, List<CharSequence>>, Throwable>>> _values = tasks.values();
+      for (final CompletableFuture<Pair<Map<PluginXmlAccess, List<CharSequence>>, Throwable>> task : _values) {
+        {
+          final Pair<Map<PluginXmlAccess, List<CharSequence>>, Throwable> result = task.join();
+          final BiConsumer<PluginXmlAccess, List<CharSequence>> _function_4 = (PluginXmlAccess pluginXml, List<CharSequence> entries) -> {
+            List<CharSequence> _entries = pluginXml.getEntries();
+            Iterables.<CharSequence>addAll(_entries, entries);
+          };
+          result.getKey().forEach(_function_4);
+          Throwable _value = result.getValue();
+          boolean _tripleNotEquals = (_value != null);
+          if (_tripleNotEquals) {
+            this.handleException(result.getValue(), issues);
+          }
+        }
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+  
+  private Pair<Map<PluginXmlAccess, List<CharSequence>>, Throwable> generateLanguage(final XtextGeneratorLanguage language, final Set<PluginXmlAccess> pluginXmls) {
+    final Map<PluginXmlAccess, List<CharSequence>> entries = CollectionLiterals.<PluginXmlAccess, List<CharSequence>>newLinkedHashMap();
+    for (final PluginXmlAccess pluginXml : pluginXmls) {
+      {
+        final List<CharSequence> languageEntries = CollectionLiterals.<CharSequence>newArrayList();
+        pluginXml.deferEntries(languageEntries);
+        entries.put(pluginXml, languageEntries);
+      }
+    }
+    try {
+      final Throwable exception = this.generateLanguage(language);
+      return Pair.<Map<PluginXmlAccess, List<CharSequence>>, Throwable>of(entries, exception);
+    } catch (final Throwable t) {
+      return Pair.<Map<PluginXmlAccess, List<CharSequence>>, Throwable>of(entries, t);
+    } finally {
+      final Consumer<PluginXmlAccess> _function = (PluginXmlAccess it) -> {
+        it.deferEntries(null);
+      };
+      pluginXmls.forEach(_function);
+    }
+  }
+  
+  private void handleException(final Throwable ex, final Issues issues) {
     if ((ex instanceof CompositeGeneratorException)) {
       final Consumer<Exception> _function = (Exception it) -> {
         this.handleException(it, issues);
@@ -524,4 +630,13 @@ public class XtextGenerator extends AbstractWorkflowComponent2 {
   public void setGrammarEncoding(final String grammarEncoding) {
     this.grammarEncoding = grammarEncoding;
   }
+  
+  @Pure
+  public int getMaxParallelLanguages() {
+    return this.maxParallelLanguages;
+  }
+  
+  public void setMaxParallelLanguages(final int maxParallelLanguages) {
+    this.maxParallelLanguages = maxParallelLanguages;
+  }
 }
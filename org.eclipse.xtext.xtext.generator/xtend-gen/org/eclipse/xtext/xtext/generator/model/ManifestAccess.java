@@ -11,6 +11,7 @@ import com.google.common.base.Objects;
 import com.google.inject.Injector;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import org.apache.log4j.Logger;
@@ -46,11 +47,11 @@ public class ManifestAccess extends TextFileAccess implements IGuiceAwareGenerat
   
   private boolean merge = true;
   
-  private final Set<String> exportedPackages = CollectionLiterals.<String>newHashSet();
+  private final Set<String> exportedPackages = Collections.<String>synchronizedSet(CollectionLiterals.<String>newHashSet());
   
-  private final Set<String> requiredBundles = CollectionLiterals.<String>newHashSet();
+  private final Set<String> requiredBundles = Collections.<String>synchronizedSet(CollectionLiterals.<String>newHashSet());
   
-  private final Set<String> importedPackages = CollectionLiterals.<String>newHashSet();
+  private final Set<String> importedPackages = Collections.<String>synchronizedSet(CollectionLiterals.<String>newHashSet());
   
   private TypeReference activator;
   
@@ -12,6 +12,7 @@ import com.google.inject.Inject;
 import com.google.inject.Injector;
 import java.util.List;
 import org.apache.log4j.Logger;
+import org.eclipse.xtend.lib.annotations.AccessorType;
 import org.eclipse.xtend.lib.annotations.Accessors;
 import org.eclipse.xtend2.lib.StringConcatenation;
 import org.eclipse.xtend2.lib.StringConcatenationClient;
@@ -39,6 +40,37 @@ public class PluginXmlAccess extends TextFileAccess implements IGuiceAwareGenera
   
   private final List<CharSequence> entries = CollectionLiterals.<CharSequence>newArrayList();
   
+  @Accessors(AccessorType.NONE)
+  private final ThreadLocal<List<CharSequence>> deferredEntries = new ThreadLocal<List<CharSequence>>();
+  
+  /**
+   * Returns the entries of this plugin.xml, or the list that the current thread
+   * {@link #deferEntries(List) defers} its entries to.
+   */
+  public List<CharSequence> getEntries() {
+    List<CharSequence> _elvis = null;
+    List<CharSequence> _get = this.deferredEntries.get();
+    if (_get != null) {
+      _elvis = _get;
+    } else {
+      _elvis = this.entries;
+    }
+    return _elvis;
+  }
+  
+  /**
+   * Let the entries that the current thread adds go to the given list instead of this plugin.xml.
+   * Pass {@code null} to add them to this plugin.xml again.
+   * @since 2.19
+   */
+  public void deferEntries(final List<CharSequence> deferred) {
+    if ((deferred == null)) {
+      this.deferredEntries.remove();
+    } else {
+      this.deferredEntries.set(deferred);
+    }
+  }
+  
   @Override
   public void setContent(final StringConcatenationClient content) {
     throw new UnsupportedOperationException("cannot directly set contents on a plugin.xml. Use entries property instead");
@@ -120,9 +152,4 @@ public class PluginXmlAccess extends TextFileAccess implements IGuiceAwareGenera
   public void setCodeConfig(final CodeConfig codeConfig) {
     this.codeConfig = codeConfig;
   }
-  
-  @Pure
-  public List<CharSequence> getEntries() {
-    return this.entries;
-  }
 }
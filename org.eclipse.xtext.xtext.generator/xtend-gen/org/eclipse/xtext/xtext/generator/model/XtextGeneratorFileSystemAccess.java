@@ -8,6 +8,7 @@
 package org.eclipse.xtext.xtext.generator.model;
 
 import com.google.inject.Injector;
+import java.io.InputStream;
 import org.eclipse.xtext.generator.JavaIoFileSystemAccess;
 import org.eclipse.xtext.generator.OutputConfiguration;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
@@ -52,4 +53,19 @@ public class XtextGeneratorFileSystemAccess extends JavaIoFileSystemAccess imple
   public boolean isOverwrite() {
     return this.getDefaultOutput().isOverrideExistingResources();
   }
+  
+  @Override
+  public synchronized void generateFile(final String fileName, final String outputConfigName, final CharSequence contents) {
+    super.generateFile(fileName, outputConfigName, contents);
+  }
+  
+  @Override
+  public synchronized void generateFile(final String fileName, final String outputCfgName, final InputStream content) {
+    super.generateFile(fileName, outputCfgName, content);
+  }
+  
+  @Override
+  public synchronized void deleteFile(final String fileName, final String outputConfiguration) {
+    super.deleteFile(fileName, outputConfiguration);
+  }
 }
@@ -13,6 +13,8 @@ import com.google.common.collect.Iterables;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 import com.google.inject.Inject;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -52,7 +54,9 @@ import org.eclipse.xtext.parser.antlr.AbstractSplittingTokenSource;
 import org.eclipse.xtext.serializer.ISerializationContext;
 import org.eclipse.xtext.serializer.ISerializer;
 import org.eclipse.xtext.serializer.acceptor.SequenceFeeder;
+import org.eclipse.xtext.serializer.analysis.ContextTypePDASnapshot;
 import org.eclipse.xtext.serializer.analysis.GrammarAlias;
+import org.eclipse.xtext.serializer.analysis.IContextTypePDAProvider;
 import org.eclipse.xtext.serializer.analysis.IGrammarConstraintProvider;
 import org.eclipse.xtext.serializer.analysis.ISemanticSequencerNfaProvider;
 import org.eclipse.xtext.serializer.analysis.ISyntacticSequencerPDAProvider;
@@ -67,6 +71,7 @@ import org.eclipse.xtext.serializer.sequencer.ITransientValueService;
 import org.eclipse.xtext.util.Strings;
 import org.eclipse.xtext.util.internal.Log;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.Extension;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
@@ -77,6 +82,7 @@ import org.eclipse.xtext.xbase.lib.StringExtensions;
 import org.eclipse.xtext.xtext.generator.AbstractStubGeneratingFragment;
 import org.eclipse.xtext.xtext.generator.XtextGeneratorNaming;
 import org.eclipse.xtext.xtext.generator.grammarAccess.GrammarAccessExtensions;
+import org.eclipse.xtext.xtext.generator.model.BinaryFileAccess;
 import org.eclipse.xtext.xtext.generator.model.FileAccessFactory;
 import org.eclipse.xtext.xtext.generator.model.GeneratedJavaFileAccess;
 import org.eclipse.xtext.xtext.generator.model.GuiceModuleAccess;
@@ -136,12 +142,26 @@ public class SerializerFragment2 extends AbstractStubGeneratingFragment {
   @Inject
   private FileAccessFactory fileAccessFactory;
   
+  @Inject
+  private IContextTypePDAProvider contextTypePDAProvider;
+  
+  @Inject
+  private ContextTypePDASnapshot contextTypePDASnapshot;
+  
   @Accessors
   private boolean generateDebugData = false;
   
   @Accessors
   private boolean generateSupportForDeprecatedContextEObject = false;
   
+  /**
+   * Set to true to store the analyzed grammar next to the binary grammar, such that
+   * the serializer does not need to analyze the grammar again at runtime.
+   * @since 2.19
+   */
+  @Accessors
+  private boolean generateAnalysisSnapshot = false;
+  
   private boolean detectSyntheticTerminals = true;
   
   /**
@@ -218,6 +238,9 @@ public class SerializerFragment2 extends AbstractStubGeneratingFragment {
       this.generateSemanticSequencer();
       this.generateSyntacticSequencer();
     }
+    if (this.generateAnalysisSnapshot) {
+      this.generateAnalysisSnapshot();
+    }
     if (this.generateDebugData) {
       this.generateGrammarConstraints();
       Iterable<Pair<String, String>> _generateDebugGraphs = this.debugGraphGenerator.generateDebugGraphs();
@@ -1750,6 +1773,27 @@ public class SerializerFragment2 extends AbstractStubGeneratingFragment {
     this.fileAccessFactory.createTextFile(_grammarConstraintsPath, _client).writeTo(this.getProjectConfig().getRuntime().getSrcGen());
   }
   
+  /**
+   * @since 2.19
+   */
+  protected void generateAnalysisSnapshot() {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try {
+      this.contextTypePDASnapshot.writeTo(this.getGrammar(), this.contextTypePDAProvider.getContextTypePDAs(this.getGrammar()), out);
+    } catch (final Throwable _t) {
+      if (_t instanceof IOException) {
+        final IOException e = (IOException)_t;
+        SerializerFragment2.LOG.error(e.getMessage(), e);
+        return;
+      } else {
+        throw Exceptions.sneakyThrow(_t);
+      }
+    }
+    final BinaryFileAccess file = this.fileAccessFactory.createBinaryFile(this.contextTypePDASnapshot.getClasspathRelativePath(this.getGrammar()));
+    file.setContent(out.toByteArray());
+    file.writeTo(this.getProjectConfig().getRuntime().getSrcGen());
+  }
+  
   private static final Logger LOG = Logger.getLogger(SerializerFragment2.class);
   
   @Pure
@@ -1769,4 +1813,13 @@ public class SerializerFragment2 extends AbstractStubGeneratingFragment {
   public void setGenerateSupportForDeprecatedContextEObject(final boolean generateSupportForDeprecatedContextEObject) {
     this.generateSupportForDeprecatedContextEObject = generateSupportForDeprecatedContextEObject;
   }
+  
+  @Pure
+  public boolean isGenerateAnalysisSnapshot() {
+    return this.generateAnalysisSnapshot;
+  }
+  
+  public void setGenerateAnalysisSnapshot(final boolean generateAnalysisSnapshot) {
+    this.generateAnalysisSnapshot = generateAnalysisSnapshot;
+  }
 }
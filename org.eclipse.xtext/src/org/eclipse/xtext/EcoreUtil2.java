@@ -56,6 +56,8 @@ import org.eclipse.xtext.resource.ClassloaderClasspathUriResolver;
 import org.eclipse.xtext.resource.DerivedStateAwareResource;
 import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.util.Strings;
+import org.eclipse.xtext.util.internal.Stopwatches;
+import org.eclipse.xtext.util.internal.Stopwatches.StoppedTask;
 
 import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.Iterables;
@@ -500,10 +502,16 @@ public class EcoreUtil2 extends EcoreUtil {
 	 * {@link EcoreUtil2#resolveAll(Resource, CancelIndicator)}.
 	 */
 	public static void resolveLazyCrossReferences(Resource resource, CancelIndicator monitor) {
-		if (resource instanceof LazyLinkingResource) {
-			((LazyLinkingResource) resource).resolveLazyCrossReferences(monitor);
-		} else {
-			resolveAll(resource, monitor);
+		StoppedTask task = Stopwatches.forTask("EcoreUtil2.resolveLazyCrossReferences", String.valueOf(resource.getURI()));
+		try {
+			task.start();
+			if (resource instanceof LazyLinkingResource) {
+				((LazyLinkingResource) resource).resolveLazyCrossReferences(monitor);
+			} else {
+				resolveAll(resource, monitor);
+			}
+		} finally {
+			task.stop();
 		}
 	}
 
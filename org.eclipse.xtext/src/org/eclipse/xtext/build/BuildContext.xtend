@@ -11,6 +11,7 @@ import org.eclipse.emf.common.util.URI
 import org.eclipse.emf.ecore.resource.Resource
 import org.eclipse.xtend.lib.annotations.Accessors
 import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor
+import org.eclipse.xtext.resource.IResourceDescriptions
 import org.eclipse.xtext.resource.IResourceServiceProvider
 import org.eclipse.xtext.resource.XtextResourceSet
 import org.eclipse.xtext.resource.clustering.IResourceClusteringPolicy
@@ -27,6 +28,13 @@ class BuildContext {
 	@Accessors val IndexState oldState
 	@Accessors val IResourceClusteringPolicy clusteringPolicy
 	@Accessors val CancelIndicator cancelIndicator
+
+	/**
+	 * The index that is updated by the running build, or <code>null</code> if unknown.
+	 * 
+	 * @since 2.19
+	 */
+	@Accessors IResourceDescriptions newIndex
 	
 	ClusteringStorageAwareResourceLoader loader
 	
@@ -45,6 +45,16 @@ class BuildRequest {
 	(URI, URI)=>void afterGenerateFile = []
 	(URI)=>void afterDeleteFile = []
 	
+	/**
+	 * Tells which of the affected resources should be linked, validated and generated first, e.g. the
+	 * documents that are open in an editor. If any resource is prioritized, the remaining resources are
+	 * processed in a continuation that can be canceled without losing the results of the prioritized ones.
+	 * 
+	 * @see IncrementalBuilder.Result#getPendingFiles()
+	 * @since 2.19
+	 */
+	(URI)=>boolean priorityHint = [false]
+	
 	IndexState state = new IndexState
 	
 	boolean writeStorageResources = false
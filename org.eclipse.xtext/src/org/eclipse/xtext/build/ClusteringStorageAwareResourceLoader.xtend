@@ -7,10 +7,14 @@
  *******************************************************************************/
 package org.eclipse.xtext.build
 
+import java.util.Map
+import java.util.Set
 import org.eclipse.emf.common.util.URI
 import org.eclipse.emf.ecore.resource.Resource
 import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor
+import org.eclipse.xtext.naming.QualifiedName
 import org.eclipse.xtext.resource.IResourceServiceProviderExtension
+import org.eclipse.xtext.resource.clustering.ReferenceAwareClusteringPolicy
 import org.eclipse.xtext.resource.persistence.SourceLevelURIsAdapter
 import org.eclipse.xtext.resource.persistence.StorageAwareResource
 
@@ -22,7 +26,15 @@ class ClusteringStorageAwareResourceLoader {
 
 	val extension BuildContext context
 
+	/**
+	 * The names referenced by the resources that have been loaded by the reference-aware clustering so far.
+	 */
+	val Map<URI, Set<QualifiedName>> referencedNames = newHashMap
+
 	def <T> Iterable<T> executeClustered(Iterable<URI> uris, (Resource)=>T operation) {
+		val policy = clusteringPolicy
+		if (policy instanceof ReferenceAwareClusteringPolicy)
+			return executeClustered(uris, operation, policy)
 		var loadedURIsCount = 0
 		val sourceLevelURIs = <URI>newHashSet
 		val resources = newArrayList
@@ -32,24 +44,88 @@ class ClusteringStorageAwareResourceLoader {
 			val uri = iter.next
 			if (!clusteringPolicy.continueProcessing(resourceSet, uri, loadedURIsCount)) {
 				result += resources.map[operation.apply(it)]
+				resources.clear
 				clearResourceSet
 				loadedURIsCount = 0
 			}
 			loadedURIsCount++;
-			if (uri.isSource) {
-				sourceLevelURIs.add(uri) 
-				val existingResource = resourceSet.getResource(uri, false)
-				if(existingResource instanceof StorageAwareResource) {
-					if(existingResource.isLoadedFromStorage)
-						existingResource.unload
+			resources += loadResource(uri, sourceLevelURIs)
+		}
+		result += resources.map[operation.apply(it)]
+		return result
+	}
+
+	/**
+	 * Processes the URIs in the order of their references and keeps the resources that are referenced by the
+	 * pending URIs loaded across clusters, such that they don't have to be loaded again for the next cluster.
+	 * 
+	 * @since 2.19
+	 */
+	protected def <T> Iterable<T> executeClustered(Iterable<URI> uris, (Resource)=>T operation,
+		ReferenceAwareClusteringPolicy policy) {
+		val referencedResources = <URI, Set<URI>>newHashMap
+		val pendingReferences = <URI, Integer>newHashMap
+		for (uri : uris) {
+			val referenced = getReferencedResources(uri, policy)
+			referencedResources.put(uri, referenced)
+			for (target : referenced) {
+				pendingReferences.merge(target, 1, [a, b|a + b])
+			}
+		}
+		var loadedURIsCount = 0
+		val sourceLevelURIs = <URI>newHashSet
+		val resources = newArrayList
+		val result = newArrayList
+		for (uri : policy.sortByReferenceLocality(uris, referencedResources)) {
+			if (!policy.continueProcessing(resourceSet, uri, loadedURIsCount)) {
+				result += resources.map[operation.apply(it)]
+				for (processed : resources) {
+					for (target : referencedResources.get(processed.URI) ?: emptySet) {
+						pendingReferences.computeIfPresent(target, [key, count|if(count > 1) count - 1])
+					}
 				}
-				SourceLevelURIsAdapter.setSourceLevelUrisWithoutCopy(resourceSet, sourceLevelURIs)
+				resources.clear
+				val toKeep = policy.getResourcesToKeep(resourceSet.resources, [pendingReferences.get(it) ?: 0])
+				clearResourceSet(toKeep)
+				loadedURIsCount = 0
 			}
-			resources += resourceSet.getResource(uri, true)
+			loadedURIsCount++;
+			val resource = loadResource(uri, sourceLevelURIs)
+			referencedNames.put(uri, policy.getReferencedNames(resource))
+			resources += resource
 		}
 		result += resources.map[operation.apply(it)]
 		return result
 	}
+
+	/**
+	 * Returns the resources referenced by the resource with the given URI. If the resource has been loaded before
+	 * in this build, e.g. during indexing, the names it refers to are looked up in the index of this build. That
+	 * index knows the exported objects of all changed resources, even on a clean build. Otherwise the references
+	 * recorded by the previous build are used.
+	 * 
+	 * @since 2.19
+	 */
+	protected def Set<URI> getReferencedResources(URI uri, ReferenceAwareClusteringPolicy policy) {
+		val names = referencedNames.get(uri)
+		val index = newIndex
+		if (names !== null && index !== null)
+			return policy.getReferencedResources(uri, names, index)
+		return policy.getReferencedResources(uri, oldState.resourceDescriptions)
+	}
+
+	protected def Resource loadResource(URI uri, Set<URI> sourceLevelURIs) {
+		if (uri.isSource) {
+			sourceLevelURIs.add(uri) 
+			val existingResource = resourceSet.getResource(uri, false)
+			if(existingResource instanceof StorageAwareResource) {
+				if(existingResource.isLoadedFromStorage)
+					existingResource.unload
+			}
+			SourceLevelURIsAdapter.setSourceLevelUrisWithoutCopy(resourceSet, sourceLevelURIs)
+		}
+		return resourceSet.getResource(uri, true)
+	}
 	
 	protected def isSource(URI uri) {
 		val provider = context.getResourceServiceProvider(uri)
@@ -66,4 +142,26 @@ class ClusteringStorageAwareResourceLoader {
 			resourceSet.eSetDeliver(wasDeliver);
 		}
 	}
+
+	/**
+	 * Removes all resources but the given ones from the resource set. The removed resources are unloaded, such that
+	 * the kept resources don't retain them by means of resolved cross references.
+	 * 
+	 * @since 2.19
+	 */
+	protected def void clearResourceSet(Set<Resource> toKeep) {
+		if (toKeep.empty) {
+			clearResourceSet
+			return
+		}
+		val toRemove = resourceSet.resources.filter[!toKeep.contains(it)].toList
+		val wasDeliver = resourceSet.eDeliver();
+		try {
+			resourceSet.eSetDeliver(false);
+			resourceSet.getResources().removeAll(toRemove);
+		} finally {
+			resourceSet.eSetDeliver(wasDeliver);
+		}
+		toRemove.forEach[unload]
+	}
 }
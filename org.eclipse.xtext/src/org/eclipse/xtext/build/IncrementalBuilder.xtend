@@ -10,6 +10,7 @@ package org.eclipse.xtext.build
 import com.google.inject.Inject
 import com.google.inject.Provider
 import java.util.List
+import java.util.Set
 import org.eclipse.emf.common.util.URI
 import org.eclipse.emf.ecore.resource.Resource
 import org.eclipse.xtend.lib.annotations.Accessors
@@ -28,10 +29,12 @@ import org.eclipse.xtext.resource.IResourceDescription
 import org.eclipse.xtext.resource.IResourceServiceProvider
 import org.eclipse.xtext.resource.clustering.DisabledClusteringPolicy
 import org.eclipse.xtext.resource.clustering.IResourceClusteringPolicy
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData
 import org.eclipse.xtext.resource.persistence.SerializableResourceDescription
 import org.eclipse.xtext.resource.persistence.StorageAwareResource
 import org.eclipse.xtext.service.OperationCanceledManager
 import org.eclipse.xtext.util.CancelIndicator
+import org.eclipse.xtext.util.internal.Stopwatches
 import org.eclipse.xtext.validation.CheckMode
 import org.eclipse.xtext.workspace.IProjectConfigProvider
 import org.eclipse.xtext.generator.GeneratorContext
@@ -47,6 +50,26 @@ class IncrementalBuilder {
 	@Data static class Result {
 		IndexState indexState
 		List<IResourceDescription.Delta> affectedResources
+		/**
+		 * The resources that have been affected by the build but whose processing has been canceled. They
+		 * have to be passed as dirty files to a subsequent build.
+		 * 
+		 * @since 2.19
+		 */
+		List<URI> pendingFiles
+
+		new(IndexState indexState, List<IResourceDescription.Delta> affectedResources) {
+			this(indexState, affectedResources, emptyList)
+		}
+
+		/**
+		 * @since 2.19
+		 */
+		new(IndexState indexState, List<IResourceDescription.Delta> affectedResources, List<URI> pendingFiles) {
+			this.indexState = indexState
+			this.affectedResources = affectedResources
+			this.pendingFiles = pendingFiles
+		}
 	}
 	
 	static class InternalStatefulIncrementalBuilder {
@@ -56,28 +79,42 @@ class IncrementalBuilder {
 	
 		@Inject Indexer indexer
 		@Inject extension OperationCanceledManager
+
+		/**
+		 * The resources whose generator has been invoked in this build.
+		 */
+		val Set<URI> generationStarted = newHashSet
 		
 		protected def void unloadResource(URI uri) {
-			val resource = request.resourceSet.getResource(uri, false)
-			if (resource !== null) {
-				request.resourceSet.resources.remove(resource)
-				resource.unload
+			unloadResources(#[uri])
+		}
+
+		/**
+		 * Removes the resources with the given URIs from the resource set and unloads them. The resources are removed
+		 * from the resource set at once, which is cheaper than removing them one by one.
+		 * 
+		 * @since 2.19
+		 */
+		protected def void unloadResources(Iterable<URI> uris) {
+			val resources = newLinkedHashSet
+			for (uri : uris) {
+				val resource = request.resourceSet.getResource(uri, false)
+				if (resource !== null) {
+					resources += resource
+				}
+			}
+			if (!resources.empty) {
+				request.resourceSet.resources.removeAll(resources)
+				resources.forEach[unload]
 			}
 		}
 		
 		def Result launch() {
 			val newSource2GeneratedMapping = request.state.fileMappings
-			val unloaded = newHashSet()
-			for (deleted : request.deletedFiles) {
-				if (unloaded.add(deleted)) {
-					unloadResource(deleted)
-				}
-			}
-			for (dirty : request.dirtyFiles) {
-				if (unloaded.add(dirty)) {
-					unloadResource(dirty)
-				}
-			}
+			val unloaded = newLinkedHashSet()
+			unloaded += request.deletedFiles
+			unloaded += request.dirtyFiles
+			unloadResources(unloaded)
 			request.deletedFiles.forEach [ source |
 				request.afterValidate.afterValidate(source, newArrayList)
 				newSource2GeneratedMapping.deleteSource(source).forEach [ generated |
@@ -93,22 +130,23 @@ class IncrementalBuilder {
 			]
 			val result = indexer.computeAndIndexAffected(request, context)
 			request.cancelIndicator.checkCanceled
+			val unloadedAffected = newArrayList
 			for (delta : result.resourceDeltas) {
 				if (delta.old !== null && unloaded.add(delta.uri)) {
-					unloadResource(delta.uri)
+					unloadedAffected += delta.uri
 				}
 			}
+			unloadResources(unloadedAffected)
 			
 			val resolvedDeltas = newArrayList
 			// add deleted deltas
 			resolvedDeltas += result.resourceDeltas.filter[getNew === null]
 			// add changed and added as fully resolved
-			resolvedDeltas += result.resourceDeltas.filter[getNew !== null].map[uri]
-				.executeClustered [
+			val (Resource)=>IResourceDescription.Delta process = [
 					Resource resource |
 					request.cancelIndicator.checkCanceled
 					resource.contents // fully initialize
-					EcoreUtil2.resolveLazyCrossReferences(resource, CancelIndicator.NullImpl)
+					EcoreUtil2.resolveLazyCrossReferences(resource, request.cancelIndicator)
 					request.cancelIndicator.checkCanceled
 					val serviceProvider = resource.resourceServiceProvider
 					val manager = serviceProvider.resourceDescriptionManager
@@ -126,7 +164,68 @@ class IncrementalBuilder {
 					val old = oldState.resourceDescriptions.getResourceDescription(resource.getURI)
 					return manager.createDelta(old, copiedDescription)
 				]
-			return new Result(request.state, resolvedDeltas)
+			val changedURIs = result.resourceDeltas.filter[getNew !== null].map[uri].toList
+			val prioritizedURIs = changedURIs.filter[request.priorityHint.apply(it)].toList
+			if (prioritizedURIs.empty) {
+				resolvedDeltas += changedURIs.executeClustered(process)
+				return new Result(request.state, resolvedDeltas)
+			}
+			resolvedDeltas += prioritizedURIs.executeClustered(process)
+			val continuationURIs = changedURIs.filter[!request.priorityHint.apply(it)].toList
+			val pendingURIs = runContinuation(continuationURIs, resolvedDeltas, process)
+			for (pending : pendingURIs) {
+				restoreOldState(pending, result.newIndex, newSource2GeneratedMapping)
+			}
+			return new Result(request.state, resolvedDeltas, pendingURIs)
+		}
+
+		/**
+		 * Processes the resources that have not been prioritized. In contrast to the prioritized resources,
+		 * canceling the build during this phase does not discard the results: the deltas of the resources
+		 * that have been processed are added to the given list, and the URIs of the resources that still
+		 * have to be built are returned.
+		 * 
+		 * @since 2.19
+		 */
+		protected def List<URI> runContinuation(List<URI> uris, List<IResourceDescription.Delta> deltas,
+			(Resource)=>IResourceDescription.Delta process) {
+			val processed = newHashSet
+			try {
+				uris.executeClustered [ resource |
+					deltas += process.apply(resource)
+					processed += resource.getURI
+					return null
+				]
+			} catch (Throwable t) {
+				if (!t.isOperationCanceledException) {
+					throw t
+				}
+				return uris.filter[!processed.contains(it)].toList
+			}
+			return emptyList
+		}
+
+		/**
+		 * Reverts the index and the file mappings of a resource whose processing has been canceled, such
+		 * that it can be built again as a dirty resource. If the generator of the resource has already
+		 * been invoked, the mappings of the files that it has written are kept in addition to the old
+		 * ones, since these files exist now.
+		 * 
+		 * @since 2.19
+		 */
+		protected def void restoreOldState(URI uri, ResourceDescriptionsData newIndex, Source2GeneratedMapping newMappings) {
+			val oldDescription = oldState.resourceDescriptions.getResourceDescription(uri)
+			if (oldDescription !== null) {
+				newIndex.addDescription(uri, oldDescription)
+			} else {
+				newIndex.removeDescription(uri)
+			}
+			if (!generationStarted.contains(uri)) {
+				newMappings.deleteSource(uri)
+			}
+			for (generated : oldState.fileMappings.getGenerated(uri)) {
+				newMappings.addSource2Generated(uri, generated, oldState.fileMappings.getOutputConfigName(generated))
+			}
 		}
 		
 		def private IResourceServiceProvider getResourceServiceProvider(Resource resource) {
@@ -151,14 +250,17 @@ class IncrementalBuilder {
 			if (generator === null) {
 				return;
 			}
+			generationStarted += resource.getURI
 			val previous = newMappings.deleteSource(resource.getURI)
 			val fileSystemAccess = createFileSystemAccess(serviceProvider, resource) => [
-				beforeWrite = [ uri, outputCfgName, contents |
+				// only observes the written files, so generator nodes can be streamed to the files
+				val URIBasedFileSystemAccess.BeforeWriteObserver observer = [ uri, outputCfgName, contents |
 					newMappings.addSource2Generated(resource.getURI, uri, outputCfgName)
 					previous.remove(uri)
 					request.afterGenerateFile.apply(resource.getURI, uri)
 					return contents
 				]
+				beforeWrite = observer
 				beforeDelete = [ uri |
 					newMappings.deleteGenerated(uri)
 					request.afterDeleteFile.apply(uri)
@@ -234,14 +336,26 @@ class IncrementalBuilder {
 									, oldState
 									, clusteringPolicy,
 									request.cancelIndicator)
+		context.newIndex = request.state.resourceDescriptions
 		val builder = provider.get
 		builder.setContext(context)
 		builder.setRequest(request)
+		val loadOptions = resourceSet.loadOptions
+		val previousCancelIndicator = loadOptions.put(XtextResource.OPTION_CANCEL_INDICATOR, request.cancelIndicator)
+		val task = Stopwatches.forTask("IncrementalBuilder.build")
 		try {
+			task.start
 			return builder.launch
 		} catch(Throwable t) {
 			t.propagateIfCancelException
 			throw t
+		} finally {
+			task.stop
+			if (previousCancelIndicator === null) {
+				loadOptions.remove(XtextResource.OPTION_CANCEL_INDICATOR)
+			} else {
+				loadOptions.put(XtextResource.OPTION_CANCEL_INDICATOR, previousCancelIndicator)
+			}
 		}
 	}
 }
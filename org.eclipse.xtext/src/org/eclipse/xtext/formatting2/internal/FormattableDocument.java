@@ -128,6 +128,9 @@ public abstract class FormattableDocument implements IFormattableDocument {
 		Iterator<ITextReplacer> replacers = getReplacers().iterator();
 		while (replacers.hasNext()) {
 			ITextReplacer replacer = replacers.next();
+			if (wrappable == null && isBehindRequestedRegions(replacer)) {
+				break;
+			}
 			context = context.withReplacer(replacer);
 			if (wrappable != null && context.isWrapSincePrevious()) {
 				wrappable = null;
@@ -167,6 +170,16 @@ public abstract class FormattableDocument implements IFormattableDocument {
 		return context.withDocument(previous.getDocument());
 	}
 
+	/**
+	 * Returns <code>true</code> if neither the given replacer nor any of the replacers that follow it can contribute
+	 * replacements to the requested regions. The replacements are then not computed for them.
+	 * 
+	 * @since 2.19
+	 */
+	protected boolean isBehindRequestedRegions(ITextReplacer replacer) {
+		return false;
+	}
+
 	protected TextSegmentSet<ITextReplacer> createTextReplacerSet() {
 		return new ArrayListTextSegmentSet<ITextReplacer>(ITextReplacer.GET_REGION,
 				new Function<ITextReplacer, String>() {
@@ -7,9 +7,14 @@
  *******************************************************************************/
 package org.eclipse.xtext.formatting2.internal;
 
+import java.util.Collection;
+
 import org.eclipse.xtext.formatting2.AbstractFormatter2;
 import org.eclipse.xtext.formatting2.FormatterRequest;
+import org.eclipse.xtext.formatting2.ITextReplacer;
+import org.eclipse.xtext.formatting2.ITextReplacerContext;
 import org.eclipse.xtext.formatting2.regionaccess.ITextSegment;
+import org.eclipse.xtext.util.ITextRegion;
 
 /**
  * @author Moritz Eysholdt - Initial contribution and API
@@ -18,6 +23,12 @@ public class RootDocument extends FormattableDocument {
 
 	private final AbstractFormatter2 formatter;
 
+	/**
+	 * The end offset of the last requested region during {@link #createReplacements(ITextReplacerContext)}, or
+	 * <code>-1</code> if no regions were requested.
+	 */
+	private int requestedRegionsEndOffset = -1;
+
 	public RootDocument(AbstractFormatter2 formatter) {
 		super();
 		this.formatter = formatter;
@@ -38,4 +49,40 @@ public class RootDocument extends FormattableDocument {
 		return formatter.getRequest();
 	}
 
-}
\ No newline at end of file
+	/**
+	 * @since 2.19
+	 */
+	@Override
+	protected ITextReplacerContext createReplacements(ITextReplacerContext previous) {
+		requestedRegionsEndOffset = getRequestedRegionsEndOffset();
+		return super.createReplacements(previous);
+	}
+
+	/**
+	 * Returns the end offset of the last requested region or <code>-1</code> if no regions were requested.
+	 * 
+	 * @since 2.19
+	 */
+	protected int getRequestedRegionsEndOffset() {
+		Collection<ITextRegion> regions = getRequest().getRegions();
+		if (regions.isEmpty())
+			return -1;
+		int endOffset = 0;
+		for (ITextRegion region : regions)
+			endOffset = Math.max(endOffset, region.getOffset() + region.getLength());
+		return endOffset;
+	}
+
+	/**
+	 * A replacer that starts behind the end of the last requested region cannot contribute replacements to them. Since
+	 * the replacers are processed in the order of their offsets, it could only influence an earlier replacer that is
+	 * still waiting for an autowrap decision, and the rendering does not stop as long as there is one.
+	 * 
+	 * @since 2.19
+	 */
+	@Override
+	protected boolean isBehindRequestedRegions(ITextReplacer replacer) {
+		return requestedRegionsEndOffset >= 0 && replacer.getRegion().getOffset() > requestedRegionsEndOffset;
+	}
+
+}
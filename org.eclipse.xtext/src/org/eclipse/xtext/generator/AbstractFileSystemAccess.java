@@ -146,4 +146,11 @@ public abstract class AbstractFileSystemAccess implements IFileSystemAccess, IFi
 	void setPostProcessor(IFilePostProcessor postProcessor) {
 		this.postProcessor = postProcessor;
 	}
+	
+	/**
+	 * @since 2.19
+	 */
+	protected IFilePostProcessor getPostProcessor() {
+		return postProcessor;
+	}
 }
\ No newline at end of file
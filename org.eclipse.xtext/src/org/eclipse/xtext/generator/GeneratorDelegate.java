@@ -9,6 +9,8 @@ package org.eclipse.xtext.generator;
 
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.internal.Stopwatches;
+import org.eclipse.xtext.util.internal.Stopwatches.StoppedTask;
 
 import com.google.inject.Inject;
 
@@ -29,11 +31,14 @@ public class GeneratorDelegate implements IGenerator, IGenerator2 {
 	}
 	
 	public void generate(Resource input, IFileSystemAccess2 fsa, IGeneratorContext context) {
+		StoppedTask task = Stopwatches.forTask("GeneratorDelegate.generate", String.valueOf(input.getURI()));
 		try {
+			task.start();
 			beforeGenerate(input, fsa, context);
 			doGenerate(input, fsa, context);
 		} finally {
 			afterGenerate(input, fsa, context);
+			task.stop();
 		}
 	}
 
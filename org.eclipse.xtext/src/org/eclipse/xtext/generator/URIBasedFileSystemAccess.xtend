@@ -9,12 +9,16 @@ package org.eclipse.xtext.generator
 
 import com.google.common.io.ByteStreams
 import com.google.common.io.CharStreams
+import java.io.BufferedWriter
 import java.io.ByteArrayInputStream
 import java.io.ByteArrayOutputStream
 import java.io.File
 import java.io.FileNotFoundException
+import java.io.FileOutputStream
 import java.io.InputStream
 import java.io.InputStreamReader
+import java.io.OutputStreamWriter
+import java.nio.file.Files
 import org.eclipse.emf.common.util.URI
 import org.eclipse.emf.ecore.resource.URIConverter
 import org.eclipse.xtend.lib.annotations.Accessors
@@ -22,6 +26,8 @@ import org.eclipse.xtext.generator.trace.AbstractTraceRegion
 import org.eclipse.xtext.generator.trace.ITraceRegionProvider
 import org.eclipse.xtext.generator.trace.TraceFileNameProvider
 import org.eclipse.xtext.generator.trace.TraceRegionSerializer
+import org.eclipse.xtext.generator.trace.node.GeneratorNodeProcessor
+import org.eclipse.xtext.generator.trace.node.IGeneratorNode
 import org.eclipse.xtext.parser.IEncodingProvider
 import org.eclipse.xtext.util.RuntimeIOException
 import org.eclipse.xtext.generator.trace.TraceNotFoundException
@@ -43,10 +49,23 @@ class URIBasedFileSystemAccess extends AbstractFileSystemAccess2 {
 		def InputStream beforeWrite(URI changed, String outputCfgName, InputStream in)
 	}
 	
+	/**
+	 * A {@link BeforeWrite} hook that only observes which files are written. It neither reads nor replaces their
+	 * contents and returns the given stream. Files can be
+	 * {@link URIBasedFileSystemAccess#generateFile(String, String, IGeneratorNode, GeneratorNodeProcessor) streamed}
+	 * with such a hook, in which case the given stream is <code>null</code>.
+	 * 
+	 * @since 2.19
+	 */
+	static interface BeforeWriteObserver extends BeforeWrite {
+	}
+	
 	static interface BeforeRead {
 		def InputStream beforeRead(URI changed, InputStream in)
 	}
 	
+	static val BeforeWrite DEFAULT_BEFORE_WRITE = [$2]
+	
 	@Accessors URIConverter converter
 	@Accessors URI baseDir
 	@Accessors boolean generateTraces = false
@@ -54,7 +73,7 @@ class URIBasedFileSystemAccess extends AbstractFileSystemAccess2 {
 	@Accessors TraceRegionSerializer traceRegionSerializer
 	@Accessors TraceFileNameProvider traceFileNameProvider
 	@Accessors BeforeDelete beforeDelete = [true]
-	@Accessors BeforeWrite beforeWrite = [$2]
+	@Accessors BeforeWrite beforeWrite = DEFAULT_BEFORE_WRITE
 	@Accessors BeforeRead beforeRead = [$1]
 	
 	override void setPostProcessor(IFilePostProcessor filePostProcessor) {
@@ -94,16 +113,77 @@ class URIBasedFileSystemAccess extends AbstractFileSystemAccess2 {
 		if (isGenerateTraces && contents instanceof ITraceRegionProvider) {
 			try {
 				var AbstractTraceRegion traceRegion = (contents as ITraceRegionProvider).getTraceRegion()
-				var String traceFileName = traceFileNameProvider.getTraceFromJava(generatedFile)
-				val out = new ByteArrayOutputStream()
-				traceRegionSerializer.writeTraceRegionTo(traceRegion, out)
-				generateFile(traceFileName, outputConfigName, new ByteArrayInputStream(out.toByteArray))
+				generateTrace(generatedFile, outputConfigName, traceRegion)
 			} catch (TraceNotFoundException e) {
 				// ok
 			}
 		}
 	}
 	
+	/**
+	 * @since 2.19
+	 */
+	protected def void generateTrace(String generatedFile, String outputConfigName, AbstractTraceRegion traceRegion) {
+		var String traceFileName = traceFileNameProvider.getTraceFromJava(generatedFile)
+		val out = new ByteArrayOutputStream()
+		traceRegionSerializer.writeTraceRegionTo(traceRegion, out)
+		generateFile(traceFileName, outputConfigName, new ByteArrayInputStream(out.toByteArray))
+	}
+	
+	/**
+	 * Generates a file with the text of the given generator node. If the file {@link #canStream(String, String) can be
+	 * streamed}, the text is written to a temporary file while the node is processed, so it is never kept in memory
+	 * as a whole, and copied to the file afterwards. A failure while processing the node thus keeps the existing
+	 * file. Otherwise the file is generated from the processed text.
+	 * 
+	 * @since 2.19
+	 */
+	def void generateFile(String fileName, String outputCfgName, IGeneratorNode node, GeneratorNodeProcessor processor) {
+		if (!canStream(fileName, outputCfgName)) {
+			generateFile(fileName, outputCfgName, processor.process(node))
+			return;
+		}
+		val uri = getURI(fileName, outputCfgName)
+		if (!getOutputConfig(outputCfgName).isOverrideExistingResources && converter.exists(uri, emptyMap)) {
+			return;
+		}
+		beforeWrite.beforeWrite(uri, outputCfgName, null)
+		val tempFile = File.createTempFile("xtext", ".tmp")
+		try {
+			val writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tempFile), getEncoding(uri)))
+			var AbstractTraceRegion traceRegion
+			try {
+				traceRegion = processor.process(node, writer)
+			} finally {
+				writer.close
+			}
+			val out = converter.createOutputStream(uri)
+			try {
+				Files.copy(tempFile.toPath, out)
+			} finally {
+				out.close
+			}
+			if (isGenerateTraces && traceRegion !== null) {
+				generateTrace(fileName, outputCfgName, traceRegion)
+			}
+		} finally {
+			tempFile.delete
+		}
+	}
+	
+	/**
+	 * Returns whether the text of a generator node can be written to the given file while the node is processed.
+	 * This is not the case if the post processor or the {@link #setBeforeWrite(BeforeWrite) before write hook} may
+	 * read or replace the complete text. The {@link LineSeparatorHarmonizer} leaves traced text unchanged, and a
+	 * {@link BeforeWriteObserver} does not read it.
+	 * 
+	 * @since 2.19
+	 */
+	protected def boolean canStream(String fileName, String outputCfgName) {
+		return (postProcessor === null || postProcessor.class == LineSeparatorHarmonizer)
+			&& (beforeWrite === DEFAULT_BEFORE_WRITE || beforeWrite instanceof BeforeWriteObserver)
+	}
+	
 	override generateFile(String fileName, String outputCfgName, InputStream content) throws RuntimeIOException {
 		val uri = getURI(fileName, outputCfgName)
 		val out = converter.createOutputStream(uri)
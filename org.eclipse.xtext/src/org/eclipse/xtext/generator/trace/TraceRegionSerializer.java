@@ -17,18 +17,38 @@ import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.emf.common.util.URI;
 
 import com.google.common.collect.Lists;
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
 
 /**
+ * Reads trace files of all versions. By default, trace files are written in version 5 of the format, which older
+ * runtimes can read as well. The more compact version 6 is written if {@link #WRITE_COMPACT_TRACES} is bound to
+ * <code>true</code>, but only runtimes from version 2.19 on can read such trace files.
+ * 
  * @noextend This interface is not intended to be extended by clients.
  * @author Sebastian Zarnekow - Initial contribution and API
  */
 public class TraceRegionSerializer {
+	
+	/**
+	 * The name of a boolean binding that lets the serializer write trace files in the compact format of version 6.
+	 * 
+	 * @since 2.19
+	 */
+	public static final String WRITE_COMPACT_TRACES = "org.eclipse.xtext.generator.trace.TraceRegionSerializer.writeCompactTraces";
+	
+	@Inject(optional = true)
+	@Named(WRITE_COMPACT_TRACES)
+	private boolean writeCompactTraces = false;
 
 	/**
 	 * @noextend This interface is not intended to be extended by clients.
@@ -91,6 +111,24 @@ public class TraceRegionSerializer {
 	 */
 	private static final int VERSION_5 = 5;
 	
+	/**
+	 * changes compared to version 5:
+	 * 
+	 * - in version 6, the offset and line number of a region are stored relative to its previous sibling or its parent,
+	 *   the end line numbers relative to the line numbers, and each path is stored once and referenced by its index afterwards.
+	 */
+	private static final int VERSION_6 = 6;
+	
+	/**
+	 * Path reference for locations without a path.
+	 */
+	private static final int NO_PATH = 0;
+	
+	/**
+	 * Path reference that is followed by a path that has not been written before.
+	 */
+	private static final int NEW_PATH = 1;
+	
 	public void writeTraceRegionTo(AbstractTraceRegion region, OutputStream stream) throws IOException {
 		if (region != null && region.getParent() != null)
 			throw new IllegalArgumentException("region must be the root");
@@ -100,10 +138,14 @@ public class TraceRegionSerializer {
 	public <Region, Location> void doWriteTo(final Strategy<Region, Location> strategy, Region region, OutputStream stream) throws IOException {
 		final DataOutputStream dataStream = new DataOutputStream(new BufferedOutputStream(stream));
 		try {
-			dataStream.writeInt(VERSION_5);
+			dataStream.writeInt(writeCompactTraces ? VERSION_6 : VERSION_5);
 			dataStream.writeBoolean(region != null);
 			if (region == null)
 				return;
+			if (writeCompactTraces) {
+				strategy.writeRegion(region, new CompactWriter<Region, Location>(strategy, dataStream));
+				return;
+			}
 			strategy.writeRegion(region, new Callback<Region, Location>() {
 				@Override
 				public void doWriteRegion(int offset, int length, int lineNumber, int endLineNumber, boolean isUseForDebugging, List<Location> locations, List<Region> children) throws IOException {
@@ -141,6 +183,97 @@ public class TraceRegionSerializer {
 		}
 	}
 	
+	/**
+	 * @since 2.19
+	 */
+	public boolean isWriteCompactTraces() {
+		return writeCompactTraces;
+	}
+	
+	/**
+	 * @since 2.19
+	 */
+	public void setWriteCompactTraces(boolean writeCompactTraces) {
+		this.writeCompactTraces = writeCompactTraces;
+	}
+	
+	/**
+	 * Writes the regions in the format of {@link #VERSION_6}.
+	 */
+	private class CompactWriter<Region, Location> implements Callback<Region, Location> {
+		
+		private final Strategy<Region, Location> strategy;
+		
+		private final DataOutput output;
+		
+		private final Map<String, Integer> pathIndices = new HashMap<String, Integer>();
+		
+		/**
+		 * The offset and line number that the next region is stored relative to.
+		 */
+		private int baseOffset = 0;
+		
+		private int baseLineNumber = 0;
+		
+		private CompactWriter(Strategy<Region, Location> strategy, DataOutput output) {
+			this.strategy = strategy;
+			this.output = output;
+		}
+
+		@Override
+		public void doWriteRegion(int offset, int length, int lineNumber, int endLineNumber, boolean isUseForDebugging,
+				List<Location> locations, List<Region> children) throws IOException {
+			writeCompressedInt(output, zigZag(offset - baseOffset));
+			writeCompressedInt(output, length);
+			writeCompressedInt(output, zigZag(lineNumber - baseLineNumber));
+			writeCompressedInt(output, zigZag(endLineNumber - lineNumber));
+			output.writeBoolean(isUseForDebugging);
+			writeCompressedInt(output, locations.size());
+			for (Location loc : locations) {
+				strategy.writeLocation(loc, this);
+			}
+			writeCompressedInt(output, children.size());
+			baseOffset = offset;
+			baseLineNumber = lineNumber;
+			for (Region child : children) {
+				// the child leaves its own offset and line number as the base for its next sibling
+				strategy.writeRegion(child, this);
+			}
+			baseOffset = offset;
+			baseLineNumber = lineNumber;
+		}
+
+		@Override
+		public void doWriteLocation(int offset, int length, int lineNumber, int endLineNumber, SourceRelativeURI path)
+				throws IOException {
+			writeCompressedInt(output, offset);
+			writeCompressedInt(output, length);
+			writeCompressedInt(output, lineNumber);
+			writeCompressedInt(output, zigZag(endLineNumber - lineNumber));
+			if (path == null) {
+				writeCompressedInt(output, NO_PATH);
+			} else {
+				String pathString = path.getURI().toString();
+				Integer index = pathIndices.get(pathString);
+				if (index == null) {
+					pathIndices.put(pathString, pathIndices.size());
+					writeCompressedInt(output, NEW_PATH);
+					output.writeUTF(pathString);
+				} else {
+					writeCompressedInt(output, NEW_PATH + 1 + index);
+				}
+			}
+		}
+	}
+	
+	private static int zigZag(int value) {
+		return (value << 1) ^ (value >> 31);
+	}
+	
+	private static int unZigZag(int value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+	
 	private void writeCompressedInt(DataOutput output, int value) throws IOException {
 		// see EObjectOutputStream.writeCompressedInt
 		++value;
@@ -276,12 +409,14 @@ public class TraceRegionSerializer {
 	public <Region, Location> Region doReadFrom(InputStream contents, Strategy<Region, Location> reader) throws IOException {
 		DataInputStream dataStream = new DataInputStream(new BufferedInputStream(contents));
 		int version = dataStream.readInt();
-		if (version != VERSION_3 && version != VERSION_4 && version != VERSION_5)
+		if (version != VERSION_3 && version != VERSION_4 && version != VERSION_5 && version != VERSION_6)
 			return null;
 		boolean isNull = !dataStream.readBoolean();
 		if (isNull)
 			return null;
-		if (version >= VERSION_5) {
+		if (version >= VERSION_6) {
+			return new CompactReader<Region, Location>(reader, new CompressedIntDataInput(dataStream)).readRegion(null);
+		} else if (version >= VERSION_5) {
 			return doReadFrom(new CompressedIntDataInput(dataStream), reader, null, version);
 		} else {
 			return doReadFrom(dataStream, reader, null, version);
@@ -339,5 +474,69 @@ public class TraceRegionSerializer {
 		}
 		return result;
 	}
+	
+	/**
+	 * Reads regions in the format of {@link #VERSION_6}.
+	 */
+	private static class CompactReader<Region, Location> {
+		
+		private final Strategy<Region, Location> strategy;
+		
+		private final DataInput input;
+		
+		private final List<SourceRelativeURI> paths = new ArrayList<SourceRelativeURI>();
+		
+		private int baseOffset = 0;
+		
+		private int baseLineNumber = 0;
+		
+		private CompactReader(Strategy<Region, Location> strategy, DataInput input) {
+			this.strategy = strategy;
+			this.input = input;
+		}
+		
+		private Region readRegion(Region parent) throws IOException {
+			int offset = baseOffset + unZigZag(input.readInt());
+			int length = input.readInt();
+			int lineNumber = baseLineNumber + unZigZag(input.readInt());
+			int endLineNumber = lineNumber + unZigZag(input.readInt());
+			boolean useForDebugging = input.readBoolean();
+			int locationSize = input.readInt();
+			List<Location> allLocations = Lists.newArrayListWithCapacity(locationSize);
+			while (locationSize != 0) {
+				allLocations.add(readLocation());
+				locationSize--;
+			}
+			Region result = strategy.createRegion(offset, length, lineNumber, endLineNumber, useForDebugging, allLocations, parent);
+			int childrenSize = input.readInt();
+			baseOffset = offset;
+			baseLineNumber = lineNumber;
+			while (childrenSize != 0) {
+				readRegion(result);
+				childrenSize--;
+			}
+			baseOffset = offset;
+			baseLineNumber = lineNumber;
+			return result;
+		}
+		
+		private Location readLocation() throws IOException {
+			int offset = input.readInt();
+			int length = input.readInt();
+			int lineNumber = input.readInt();
+			int endLineNumber = lineNumber + unZigZag(input.readInt());
+			int pathReference = input.readInt();
+			SourceRelativeURI path;
+			if (pathReference == NO_PATH) {
+				path = null;
+			} else if (pathReference == NEW_PATH) {
+				path = new SourceRelativeURI(input.readUTF());
+				paths.add(path);
+			} else {
+				path = paths.get(pathReference - NEW_PATH - 1);
+			}
+			return strategy.createLocation(offset, length, lineNumber, endLineNumber, path);
+		}
+	}
 
 }
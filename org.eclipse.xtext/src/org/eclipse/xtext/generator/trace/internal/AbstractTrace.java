@@ -10,6 +10,7 @@ package org.eclipse.xtext.generator.trace.internal;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -63,9 +64,14 @@ public abstract class AbstractTrace implements ITrace {
 		public Iterator<AbstractTraceRegion> iterator() {
 			Iterator<? extends AbstractTraceRegion> result = allTraceRegions.iterator();
 			Iterator<AbstractTraceRegion> languageSpecificWithDuplicates = Iterators.transform(result, new Function<AbstractTraceRegion, AbstractTraceRegion>() {
+				// the URI is converted once per iteration rather than once per region
+				private SourceRelativeURI convertedUri;
 				@Override
 				public AbstractTraceRegion apply(AbstractTraceRegion input) {
-					return findParentByURI(input, uri, projectConfig);
+					if (convertedUri == null) {
+						convertedUri = getURIForTrace(uri, projectConfig);
+					}
+					return findParentByURI(input, convertedUri);
 				}
 			});
 			Iterator<AbstractTraceRegion> withoutDuplicates = Iterators.filter(languageSpecificWithDuplicates, new Predicate<AbstractTraceRegion>() {
@@ -91,6 +97,11 @@ public abstract class AbstractTrace implements ITrace {
 	
 	private boolean isTraceToSource;
 	
+	/**
+	 * The leafs of the root trace region in the order of their offsets, computed on demand.
+	 */
+	private List<AbstractTraceRegion> leafs;
+	
 	/**
 	 * Returns the root trace region where {@link TraceRegion#getMyOffset()} and
 	 * {@link TraceRegion#getMyLength()} return the information for the
@@ -242,12 +253,12 @@ public abstract class AbstractTrace implements ITrace {
 			return null;
 		}
 		outer: while(candidate != null) {
-			// TODO binary search?
 			List<? extends AbstractTraceRegion> children = candidate.getNestedRegions();
 			if (children.isEmpty()) {
 				return candidate;
 			}
-			for(AbstractTraceRegion child: children) {
+			for(int i = findFirstChildEndingAtOrAfter(children, offset), size = children.size(); i < size; i++) {
+				AbstractTraceRegion child = children.get(i);
 				if (encloses(child, offset, includeRegionEnd)) {
 					candidate = child;
 					continue outer;
@@ -262,6 +273,25 @@ public abstract class AbstractTrace implements ITrace {
 		return null;
 	}
 
+	/**
+	 * Nested regions are sorted and do not overlap, so children that end before the given offset can be skipped by
+	 * means of a binary search.
+	 */
+	private int findFirstChildEndingAtOrAfter(List<? extends AbstractTraceRegion> children, int offset) {
+		int low = 0;
+		int high = children.size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			AbstractTraceRegion child = children.get(mid);
+			if (child.getMyOffset() + child.getMyLength() < offset) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
 	public AbstractTraceRegion findTraceRegionAtLeftOffset(int offset) {
 		return findTraceRegionAt(offset, false);
 	}
@@ -313,12 +343,19 @@ public abstract class AbstractTrace implements ITrace {
 	}
 	
 	protected boolean isAssociatedWith(AbstractTraceRegion region, AbsoluteURI uri, IProjectConfig project) {
+		SourceRelativeURI convertedUri = getURIForTrace(uri, project);
+		return convertedUri.equals(region.getAssociatedSrcRelativePath());
+	}
+	
+	/**
+	 * @since 2.19
+	 */
+	protected SourceRelativeURI getURIForTrace(AbsoluteURI uri, IProjectConfig project) {
 		ITraceURIConverter traceURIConverter = getService(uri, ITraceURIConverter.class);
 		if (traceURIConverter == null) {
 			traceURIConverter = getService(getLocalURI(), ITraceURIConverter.class);
 		}
-		SourceRelativeURI convertedUri = traceURIConverter.getURIForTrace(project, uri);
-		return convertedUri.equals(region.getAssociatedSrcRelativePath());
+		return traceURIConverter.getURIForTrace(project, uri);
 	}
 	
 	protected AbstractTraceRegion findParentByURI(AbstractTraceRegion region, AbsoluteURI uri, IProjectConfig project) {
@@ -328,6 +365,17 @@ public abstract class AbstractTrace implements ITrace {
 		return region;
 	}
 	
+	/**
+	 * @param convertedUri the {@link #getURIForTrace(AbsoluteURI, IProjectConfig) converted} URI.
+	 * @since 2.19
+	 */
+	protected AbstractTraceRegion findParentByURI(AbstractTraceRegion region, SourceRelativeURI convertedUri) {
+		while(region != null && !convertedUri.equals(region.getAssociatedSrcRelativePath())) {
+			region = region.getParent();
+		}
+		return region;
+	}
+	
 	@Override
 	public Iterable<? extends ILocationInResource> getAllAssociatedLocations(ITextRegion localRegion, AbsoluteURI uri) {
 		final Iterable<AbstractTraceRegion> allTraceRegions = getAllTraceRegions(localRegion);
@@ -408,44 +456,61 @@ public abstract class AbstractTrace implements ITrace {
 
 			@Override
 			public Iterator<AbstractTraceRegion> iterator() {
-				AbstractTraceRegion root = getRootTraceRegion();
-				if (root == null)
+				final List<AbstractTraceRegion> allLeafs = getLeafs();
+				final int first = findFirstLeafAtOrAfter(allLeafs, left.getMyOffset());
+				if (first == allLeafs.size() || allLeafs.get(first).getMyOffset() != left.getMyOffset())
 					return ImmutableSet.<AbstractTraceRegion>of().iterator();
-				final Iterator<AbstractTraceRegion> allLeafs = root.leafIterator();
-				Iterator<AbstractTraceRegion> result = new AbstractIterator<AbstractTraceRegion>() {
+				return new AbstractIterator<AbstractTraceRegion>() {
 					
-					AbstractTraceRegion first;
-					{
-						while(first == null && allLeafs.hasNext()) {
-							AbstractTraceRegion next = allLeafs.next();
-							if (next.getMyOffset() == left.getMyOffset()) {
-								this.first = next;
-								break;
-							}
-						}
-					}
+					private int next = first;
 					
 					@Override
 					protected AbstractTraceRegion computeNext() {
-						if (first != null) {
-							AbstractTraceRegion result = first;
-							first = null;
-							return result;
-						}
-						if (!allLeafs.hasNext())
+						if (next == allLeafs.size())
 							return endOfData();
-						AbstractTraceRegion candidate = allLeafs.next();
-						if (candidate.getMyOffset() >= end) {
+						AbstractTraceRegion candidate = allLeafs.get(next);
+						if (next != first && candidate.getMyOffset() >= end) {
 							return endOfData();
 						}
+						next++;
 						return candidate;
 					}
 				};
-				return result;
 			}
 			
 		};
 	}
+	
+	/**
+	 * Returns the leafs of the root trace region as they are produced by its {@link AbstractTraceRegion#leafIterator()
+	 * leaf iterator}. The list is computed once and sorted by offset, such that the leafs of a region can be found by
+	 * means of a binary search.
+	 */
+	private List<AbstractTraceRegion> getLeafs() {
+		if (leafs == null) {
+			AbstractTraceRegion root = getRootTraceRegion();
+			if (root == null)
+				return Collections.emptyList();
+			List<AbstractTraceRegion> result = new ArrayList<AbstractTraceRegion>();
+			Iterators.addAll(result, root.leafIterator());
+			leafs = result;
+		}
+		return leafs;
+	}
+	
+	private int findFirstLeafAtOrAfter(List<AbstractTraceRegion> allLeafs, int offset) {
+		int low = 0;
+		int high = allLeafs.size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (allLeafs.get(mid).getMyOffset() < offset) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
 
 	@Override
 	public Iterable<? extends ILocationInResource> getAllAssociatedLocations() {
@@ -9,7 +9,6 @@ package org.eclipse.xtext.generator.trace.node
 
 import java.util.ArrayDeque
 import java.util.Deque
-import java.util.List
 import org.eclipse.xtend.lib.annotations.Data
 import org.eclipse.xtend.lib.annotations.Delegate
 import org.eclipse.xtext.generator.trace.AbstractStatefulTraceRegion
@@ -42,17 +41,41 @@ class GeneratorNodeProcessor {
 		}
 	}
 	
+	/**
+	 * Only the current line is kept in a buffer, since the processing may still modify it. Complete lines are
+	 * appended to the content or written to the output of a streaming processing.
+	 */
 	protected static class Context {
-		List<StringBuilder> _lines = newArrayList(new StringBuilder)
+		val StringBuilder _content
+		val Appendable _out
+		val StringBuilder _currentLine = new StringBuilder
+		int _currentLineNumber = 0
 		Deque<IndentNode> _currentIndents = new ArrayDeque
+		String _indentation = null
+		String _emptyLineIndentation = null
 		boolean _pendingIndent = true
 		AbstractTraceRegion _currentRegion = null
 		
 		int _contentLength = 0
 		int _indentLength = 0
 		
+		new() {
+			_content = new StringBuilder
+			_out = _content
+		}
+		
+		/**
+		 * Creates a context that writes complete lines to the given output.
+		 * 
+		 * @since 2.19
+		 */
+		new(Appendable out) {
+			_content = null
+			_out = out
+		}
+		
 		def String currentLineContent() {
-			return _lines.get(currentLineNumber).toString
+			return _currentLine.toString
 		}
 		
 		def int contentLength() {
@@ -64,11 +87,15 @@ class GeneratorNodeProcessor {
 		}
 		
 		def int currentLineNumber() {
-			return _lines.size - 1
+			return _currentLineNumber
 		}
 
 		def String getContent() {
-			_lines.join
+			if (_content === null) {
+				throw new IllegalStateException("The content has been written to the output")
+			}
+			val result = new StringBuilder(_content.length + _currentLine.length)
+			return result.append(_content).append(_currentLine).toString
 		}
 		
 		def getCurrentRegion() {
@@ -77,20 +104,55 @@ class GeneratorNodeProcessor {
 		
 		def void increaseIndent(IndentNode node) {
 			_currentIndents.push(node)
-			recalculateIndentLength
+			_indentLength = _indentLength + node.indentationString.length
+			_indentation = null
+			_emptyLineIndentation = null
 		}
 		
 		def void decreaseIndents() {
-			_currentIndents.pop
-			recalculateIndentLength
+			val node = _currentIndents.pop
+			_indentLength = _indentLength - node.indentationString.length
+			_indentation = null
+			_emptyLineIndentation = null
 		}
 		
+		/**
+		 * @return the indentation of a line. An empty line is only indented by the indent nodes that
+		 *         {@link IndentNode#isIndentEmptyLines() indent empty lines}.
+		 * @since 2.19
+		 */
+		def String getIndentation(boolean emptyLine) {
+			if (emptyLine) {
+				if (_emptyLineIndentation === null)
+					_emptyLineIndentation = computeIndentation(true)
+				return _emptyLineIndentation
+			}
+			if (_indentation === null)
+				_indentation = computeIndentation(false)
+			return _indentation
+		}
+		
+		/**
+		 * @deprecated the indentation length is updated whenever the indents change.
+		 */
+		@Deprecated
 		protected def recalculateIndentLength() {
+			_indentation = null
+			_emptyLineIndentation = null
 			_indentLength = currentIndents.fold(0)[$0 + $1.indentationString.length]
 		}
 		
+		private def String computeIndentation(boolean emptyLine) {
+			val result = new StringBuilder
+			for (indentNode : _currentIndents) {
+				if (indentNode.indentEmptyLines || !emptyLine)
+					result.append(indentNode.indentationString)
+			}
+			return result.toString
+		}
+		
 		def void appendToCurrentLine(CharSequence chars) {
-			_lines.get(currentLineNumber).append(chars)
+			_currentLine.append(chars)
 			_contentLength = _contentLength + chars.length
 		}
 		
@@ -99,7 +161,18 @@ class GeneratorNodeProcessor {
 		}
 		
 		def void addNewLine() {
-			_lines.add(new StringBuilder)
+			flush
+			_currentLineNumber++
+		}
+		
+		/**
+		 * Passes the current line to the content or the output.
+		 * 
+		 * @since 2.19
+		 */
+		def void flush() {
+			_out.append(_currentLine)
+			_currentLine.length = 0
 		}
 		
 		def void setPendingIndent(boolean pending) {
@@ -107,19 +180,24 @@ class GeneratorNodeProcessor {
 		}
 		
 		/**
-		 * Replace the current line with new StringBuilder
+		 * Clear the current line
 		 */
 		def void resetCurrentLine() {
-			val lineContent = _lines.get(currentLineNumber)
-			if (!lineContent.nullOrEmpty) {
-				_contentLength = _contentLength - lineContent.length
-			}
-			_lines.set(currentLineNumber, new StringBuilder)
+			_contentLength = _contentLength - _currentLine.length
+			_currentLine.length = 0
 		}
 		
+		/**
+		 * @deprecated use {@link #insertIntoCurrentLine(int, CharSequence)}
+		 */
+		@Deprecated
 		def void insertIntoCurrentLine(int i, StringBuilder builder) {
-			_lines.get(currentLineNumber).insert(i, builder)
-			_contentLength = _contentLength + builder.length
+			insertIntoCurrentLine(i, builder as CharSequence)
+		}
+		
+		def void insertIntoCurrentLine(int i, CharSequence chars) {
+			_currentLine.insert(i, chars)
+			_contentLength = _contentLength + chars.length
 		}
 		
 		/**
@@ -141,6 +219,20 @@ class GeneratorNodeProcessor {
 		return new Result(ctx.content, ctx.currentRegion)
 	}
 
+	/**
+	 * Processes the given node like {@link #process(IGeneratorNode)}, but writes each line to the given output as
+	 * soon as it is complete instead of keeping the text in memory.
+	 * 
+	 * @return the root trace region, or <code>null</code> if the node does not contain trace nodes.
+	 * @since 2.19
+	 */
+	def AbstractTraceRegion process(IGeneratorNode root, Appendable out) {
+		val ctx = new Context(out)
+		doProcess(root, ctx)
+		ctx.flush
+		return ctx.currentRegion
+	}
+
 	/**
 	 * An indent node prepends indentation to each line of its children.
 	 */
@@ -181,11 +273,7 @@ class GeneratorNodeProcessor {
 	}
 	
 	protected def void handlePendingIndent(Context ctx, boolean endOfLine) {
-		val indentString = new StringBuilder
-		for (indentNode : ctx.currentIndents) {
-			if (indentNode.indentEmptyLines || !endOfLine)
-				indentString.append(indentNode.indentationString)
-		}
+		val indentString = ctx.getIndentation(endOfLine)
 		if (indentString.length > 0) {
 			ctx.insertIntoCurrentLine(0, indentString)
 		}
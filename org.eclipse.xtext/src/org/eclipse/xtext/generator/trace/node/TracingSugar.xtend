@@ -4,7 +4,9 @@ import com.google.inject.Inject
 import org.eclipse.emf.ecore.EObject
 import org.eclipse.emf.ecore.EStructuralFeature
 import org.eclipse.xtend2.lib.StringConcatenationClient
+import org.eclipse.xtext.generator.IFileSystemAccess
 import org.eclipse.xtext.generator.IFileSystemAccess2
+import org.eclipse.xtext.generator.URIBasedFileSystemAccess
 import org.eclipse.xtext.generator.trace.ILocationData
 import org.eclipse.xtext.generator.trace.ITraceURIConverter
 import org.eclipse.xtext.generator.trace.LocationData
@@ -33,9 +35,14 @@ class TracingSugar extends GeneratorNodeExtensions {
 	}
 	
 	/**
-	 * Use to generate a file based on generator node.
+	 * Use to generate a file based on generator node. A {@link URIBasedFileSystemAccess} writes the file while the
+	 * node is processed.
 	 */
 	def void generateTracedFile(IFileSystemAccess2 fsa, String path, CompositeGeneratorNode rootNode) {
+		if (fsa instanceof URIBasedFileSystemAccess) {
+			fsa.generateFile(path, IFileSystemAccess.DEFAULT_OUTPUT, rootNode, processor)
+			return
+		}
 		val result = processor.process(rootNode)
 		fsa.generateFile(path, result)
 	}
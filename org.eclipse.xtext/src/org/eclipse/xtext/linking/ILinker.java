@@ -11,6 +11,7 @@ import org.eclipse.emf.ecore.EObject;
 import org.eclipse.xtext.diagnostics.IDiagnosticConsumer;
 import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+import org.eclipse.xtext.util.CancelIndicator;
 
 /**
  * @author Sebastian Zarnekow - Initial contribution and API
@@ -26,4 +27,14 @@ public interface ILinker {
 	 */
 	void linkModel(EObject model, IDiagnosticConsumer diagnosticsConsumer);
 
+	/**
+	 * Like {@link #linkModel(EObject, IDiagnosticConsumer)} but periodically checks the given cancel indicator. A
+	 * canceled linking is aborted with an {@link org.eclipse.xtext.service.OperationCanceledError}.
+	 * 
+	 * @since 2.19
+	 */
+	default void linkModel(EObject model, IDiagnosticConsumer diagnosticsConsumer, CancelIndicator cancelIndicator) {
+		linkModel(model, diagnosticsConsumer);
+	}
+
 }
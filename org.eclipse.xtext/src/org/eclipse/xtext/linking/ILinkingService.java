@@ -26,4 +26,17 @@ public interface ILinkingService {
 	 * information somehow. The returned list might contain proxy instances.
 	 */
 	List<EObject> getLinkedObjects(EObject context, EReference reference, INode node) throws IllegalNodeException;
+
+	/**
+	 * A linking service that can reuse the scopes it has computed while a batch of cross references is resolved.
+	 * Batches are confined to the current thread and may be nested.
+	 * 
+	 * @since 2.19
+	 */
+	interface BatchAware extends ILinkingService {
+
+		void beginBatch();
+
+		void endBatch();
+	}
 }
@@ -26,41 +26,82 @@ import org.eclipse.xtext.diagnostics.IDiagnosticConsumer;
 import org.eclipse.xtext.linking.lazy.LazyLinkingResource;
 import org.eclipse.xtext.nodemodel.ICompositeNode;
 import org.eclipse.xtext.nodemodel.INode;
+import org.eclipse.xtext.service.OperationCanceledManager;
+import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.util.internal.Stopwatches;
 import org.eclipse.xtext.util.internal.Stopwatches.StoppedTask;
 
+import com.google.inject.Inject;
+
 /**
  * @author Sebastian Zarnekow
  */
 public abstract class AbstractCleaningLinker extends AbstractLinker {
 
 	private static final Logger log = Logger.getLogger(AbstractCleaningLinker.class);
+
+	@Inject(optional = true)
+	private OperationCanceledManager operationCanceledManager = new OperationCanceledManager();
+
+	private CancelIndicator cancelIndicator;
 	
 	@Override
 	public void linkModel(EObject model, IDiagnosticConsumer diagnosticsConsumer) {
-		StoppedTask task = Stopwatches.forTask("installing proxies (AbstractCleaningLinker.linkModel)");
+		Resource resource = model.eResource();
+		StoppedTask task = Stopwatches.forTask("installing proxies (AbstractCleaningLinker.linkModel)",
+				String.valueOf(resource != null ? resource.getURI() : null));
 		task.start();
-		boolean debug = log.isDebugEnabled();
-		long time = System.currentTimeMillis();
-		beforeModelLinked(model, diagnosticsConsumer);
-		if (debug) {
-			long now = System.currentTimeMillis();
-			log.debug("beforeModelLinked took: " + (now - time) + "ms");
-			time = now;
+		try {
+			boolean debug = log.isDebugEnabled();
+			long time = System.currentTimeMillis();
+			beforeModelLinked(model, diagnosticsConsumer);
+			if (debug) {
+				long now = System.currentTimeMillis();
+				log.debug("beforeModelLinked took: " + (now - time) + "ms");
+				time = now;
+			}
+			doLinkModel(model, diagnosticsConsumer);
+			if (debug) {
+				long now = System.currentTimeMillis();
+				log.debug("doLinkModel took: " + (now - time) + "ms");
+				time = now;
+			}
+			afterModelLinked(model, diagnosticsConsumer);
+			if (debug) {
+				long now = System.currentTimeMillis();
+				log.debug("afterModelLinked took: " + (now - time) + "ms");
+				time = now;
+			}
+		} finally {
+			task.stop();
 		}
-		doLinkModel(model, diagnosticsConsumer);
-		if (debug) {
-			long now = System.currentTimeMillis();
-			log.debug("doLinkModel took: " + (now - time) + "ms");
-			time = now;
+	}
+
+	/**
+	 * @since 2.19
+	 */
+	@Override
+	public void linkModel(EObject model, IDiagnosticConsumer diagnosticsConsumer, CancelIndicator cancelIndicator) {
+		CancelIndicator previous = this.cancelIndicator;
+		this.cancelIndicator = cancelIndicator;
+		try {
+			linkModel(model, diagnosticsConsumer);
+		} finally {
+			this.cancelIndicator = previous;
 		}
-		afterModelLinked(model, diagnosticsConsumer);
-		if (debug) {
-			long now = System.currentTimeMillis();
-			log.debug("afterModelLinked took: " + (now - time) + "ms");
-			time = now;
+	}
+
+	/**
+	 * Throws an {@link org.eclipse.xtext.service.OperationCanceledError} if the current
+	 * {@link #linkModel(EObject, IDiagnosticConsumer, CancelIndicator) linking} has been canceled. Implementations of
+	 * {@link #doLinkModel(EObject, IDiagnosticConsumer)} should call this periodically.
+	 * 
+	 * @since 2.19
+	 */
+	protected void checkCanceled() {
+		if (cancelIndicator != null) {
+			operationCanceledManager.checkCanceled(cancelIndicator);
 		}
-		task.stop();
 	}
 
 	protected void afterModelLinked(EObject model, IDiagnosticConsumer diagnosticsConsumer) {
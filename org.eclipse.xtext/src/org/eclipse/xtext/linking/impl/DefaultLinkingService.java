@@ -8,12 +8,15 @@
 package org.eclipse.xtext.linking.impl;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.log4j.Logger;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EReference;
+import org.eclipse.xtext.linking.ILinkingService;
 import org.eclipse.xtext.linking.LinkingScopeProviderBinding;
 import org.eclipse.xtext.naming.IQualifiedNameConverter;
 import org.eclipse.xtext.naming.QualifiedName;
@@ -22,6 +25,7 @@ import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.scoping.IScope;
 import org.eclipse.xtext.scoping.IScopeProvider;
 import org.eclipse.xtext.scoping.impl.IDelegatingScopeProvider;
+import org.eclipse.xtext.util.Tuples;
 
 import com.google.inject.Inject;
 import com.google.inject.Provider;
@@ -33,10 +37,18 @@ import com.google.inject.Provider;
  * @author Sven Efftinge
  * @author Moritz Eysholdt
  */
-public class DefaultLinkingService extends AbstractLinkingService {
+public class DefaultLinkingService extends AbstractLinkingService implements ILinkingService.BatchAware {
 
 	private static final Logger logger = Logger.getLogger(DefaultLinkingService.class);
 	
+	/**
+	 * The number of scopes that are kept during a batch. Cross references are usually resolved in the order of the
+	 * model, so the recently used scopes are the ones that are likely to be used again.
+	 */
+	private static final int MAX_BATCH_SCOPES = 64;
+	
+	private final ThreadLocal<BatchScopes> batchScopes = new ThreadLocal<BatchScopes>();
+	
 	@Inject
 	@LinkingScopeProviderBinding
 	private IScopeProvider scopeProvider;
@@ -53,12 +65,94 @@ public class DefaultLinkingService extends AbstractLinkingService {
 	protected IScope getScope(EObject context, EReference reference) {
 		if (getScopeProvider() == null)
 			throw new IllegalStateException("scopeProvider must not be null.");
+		BatchScopes scopes = batchScopes.get();
+		Object key = null;
+		if (scopes != null) {
+			key = getBatchScopeKey(context, reference);
+			IScope result = scopes.get(key);
+			if (result != null)
+				return result;
+		}
+		IScope result;
 		try {
 			registerImportedNamesAdapter(context);
-			return getScopeProvider().getScope(context, reference);
+			result = getScopeProvider().getScope(context, reference);
 		} finally {
 			unRegisterImportedNamesAdapter();
 		}
+		if (scopes != null && result != null)
+			scopes.put(key, result);
+		return result;
+	}
+	
+	/**
+	 * Returns the key of the scope for the given context and reference during a batch. Cross references with equal
+	 * keys share their scope. By default, a scope is only shared by the values of a multi-valued reference, since
+	 * scopes may depend on the context object, e.g. to exclude the context itself or to only see the elements that are
+	 * declared before it. Languages whose scopes only depend on the container and the type of the context may return
+	 * the coarser {@link #getSiblingBatchScopeKey(EObject, EReference) sibling key} instead.
+	 * 
+	 * @since 2.19
+	 */
+	protected Object getBatchScopeKey(EObject context, EReference reference) {
+		return Tuples.create(context, reference);
+	}
+	
+	/**
+	 * Returns a batch scope key that is shared by the contexts of the same type within the same container, e.g. by all
+	 * parameters of an operation. It is not used by default. Clients may return it from
+	 * {@link #getBatchScopeKey(EObject, EReference)} if their scope provider yields the same scope for such siblings.
+	 * The type is part of the key since declarative scope providers dispatch on it.
+	 * 
+	 * @since 2.19
+	 */
+	protected Object getSiblingBatchScopeKey(EObject context, EReference reference) {
+		EObject container = context.eContainer();
+		if (container == null) {
+			return Tuples.create(context, reference);
+		}
+		return Tuples.create(container, context.eClass(), reference);
+	}
+	
+	/**
+	 * @since 2.19
+	 */
+	@Override
+	public void beginBatch() {
+		BatchScopes scopes = batchScopes.get();
+		if (scopes == null) {
+			scopes = new BatchScopes();
+			batchScopes.set(scopes);
+		}
+		scopes.depth++;
+	}
+	
+	/**
+	 * @since 2.19
+	 */
+	@Override
+	public void endBatch() {
+		BatchScopes scopes = batchScopes.get();
+		if (scopes == null)
+			throw new IllegalStateException("endBatch() without beginBatch()");
+		if (--scopes.depth == 0)
+			batchScopes.remove();
+	}
+	
+	private static class BatchScopes extends LinkedHashMap<Object, IScope> {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private int depth = 0;
+		
+		private BatchScopes() {
+			super(16, 0.75f, true);
+		}
+		
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Object, IScope> eldest) {
+			return size() > MAX_BATCH_SCOPES;
+		}
 	}
 
 	protected void unRegisterImportedNamesAdapter() {
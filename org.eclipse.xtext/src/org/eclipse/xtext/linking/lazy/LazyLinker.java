@@ -62,6 +62,11 @@ import com.google.inject.Inject;
 public class LazyLinker extends AbstractCleaningLinker {
 
 	private static final Logger log = Logger.getLogger(LazyLinker.class);
+
+	/**
+	 * The number of linked objects after which the cancel indicator is checked again. Must be a power of two.
+	 */
+	private static final int CANCEL_CHECK_INTERVAL = 64;
 	
 	private SimpleCache<EClass, EClass> instantiableSubTypes = new SimpleCache<EClass, EClass>(
 			new Function<EClass, EClass>() {
@@ -95,7 +100,11 @@ public class LazyLinker extends AbstractCleaningLinker {
 			public void process(Resource state) throws Exception {
 				TreeIterator<EObject> iterator = getAllLinkableContents(model);
 				boolean clearAllReferencesRequired = isClearAllReferencesRequired(state);
+				int count = 0;
 				while (iterator.hasNext()) {
+					if ((++count & (CANCEL_CHECK_INTERVAL - 1)) == 0) {
+						checkCanceled();
+					}
 					EObject eObject = iterator.next();
 					if (clearAllReferencesRequired) {
 						clearReferences(eObject);
@@ -104,6 +113,7 @@ public class LazyLinker extends AbstractCleaningLinker {
 				}
 			}
 		});
+		checkCanceled();
 		installQueuedLinks(settingsToLink);
 	}
 
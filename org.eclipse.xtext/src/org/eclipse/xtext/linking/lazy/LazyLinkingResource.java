@@ -18,6 +18,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.inject.Named;
 
@@ -80,12 +81,25 @@ public class LazyLinkingResource extends XtextResource {
 	 */
 	public static final String UNRESOLVEABLE_PROXIES_KEY = "UNRESOLVEABLE_PROXIES";
 
+	/**
+	 * The cache key for the marker that all lazy cross references of this resource have been resolved.
+	 * @since 2.19
+	 */
+	public static final String LAZY_CROSS_REFERENCES_RESOLVED_KEY = "LAZY_CROSS_REFERENCES_RESOLVED";
+
 	/**
 	 * Determines the limit that is used to switch from a counter to a set to detect cyclic linking.
 	 * @since 2.16
 	 */
 	public static final String CYCLIC_LINKING_DECTECTION_COUNTER_LIMIT = "CYCLIC_LINKING_DECTECTION_COUNTER_LIMIT";
 
+	/**
+	 * Enables the reuse of scopes while {@link #resolveLazyCrossReferences(CancelIndicator) all lazy cross references}
+	 * are resolved, if the linking service is {@link ILinkingService.BatchAware batch aware}.
+	 * @since 2.19
+	 */
+	public static final String BATCH_LINKING = "org.eclipse.xtext.linking.lazy.LazyLinkingResource.batchLinking";
+
 	@Inject
 	private ILinkingService linkingService;
 
@@ -109,6 +123,10 @@ public class LazyLinkingResource extends XtextResource {
 
 	private int cyclicLinkingDetectionCounter = 0;
 
+	@Named(BATCH_LINKING)
+	@Inject(optional=true)
+	private boolean batchLinking = false;
+
 	@Override
 	protected void doLoad(InputStream inputStream, Map<?, ?> options) throws IOException {
 		super.doLoad(inputStream, options);
@@ -132,22 +150,41 @@ public class LazyLinkingResource extends XtextResource {
 	 * resolves any lazy cross references in this resource, adding Issues for unresolvable elements to this resource.
 	 * This resource might still contain resolvable proxies after this method has been called.
 	 * 
+	 * A completed resolution is remembered until the resource is modified or linked again, so subsequent calls
+	 * return immediately.
+	 * 
 	 * @param mon a {@link CancelIndicator} can be used to stop the resolution.
 	 */
 	public void resolveLazyCrossReferences(final CancelIndicator mon) {
 		final CancelIndicator monitor = mon == null ? CancelIndicator.NullImpl : mon;
-		TreeIterator<Object> iterator = EcoreUtil.getAllContents(this, true);
-		while (iterator.hasNext()) {
-			operationCanceledManager.checkCanceled(monitor);
-			InternalEObject source = (InternalEObject) iterator.next();
-			EStructuralFeature[] eStructuralFeatures = ((EClassImpl.FeatureSubsetSupplier) source.eClass()
-					.getEAllStructuralFeatures()).crossReferences();
-			if (eStructuralFeatures != null) {
-				for (EStructuralFeature crossRef : eStructuralFeatures) {
-					operationCanceledManager.checkCanceled(monitor);
-					resolveLazyCrossReference(source, crossRef);
+		AtomicBoolean resolved = getLazyCrossReferencesResolved();
+		if (resolved.get()) {
+			return;
+		}
+		ILinkingService.BatchAware batch = null;
+		if (isBatchLinking() && getLinkingService() instanceof ILinkingService.BatchAware) {
+			batch = (ILinkingService.BatchAware) getLinkingService();
+			batch.beginBatch();
+		}
+		try {
+			TreeIterator<Object> iterator = EcoreUtil.getAllContents(this, true);
+			while (iterator.hasNext()) {
+				operationCanceledManager.checkCanceled(monitor);
+				InternalEObject source = (InternalEObject) iterator.next();
+				EStructuralFeature[] eStructuralFeatures = ((EClassImpl.FeatureSubsetSupplier) source.eClass()
+						.getEAllStructuralFeatures()).crossReferences();
+				if (eStructuralFeatures != null) {
+					for (EStructuralFeature crossRef : eStructuralFeatures) {
+						operationCanceledManager.checkCanceled(monitor);
+						resolveLazyCrossReference(source, crossRef);
+					}
 				}
 			}
+			resolved.set(true);
+		} finally {
+			if (batch != null) {
+				batch.endBatch();
+			}
 		}
 	}
 
@@ -462,6 +499,20 @@ public class LazyLinkingResource extends XtextResource {
 		return eagerLinking;
 	}
 
+	/**
+	 * @since 2.19
+	 */
+	public void setBatchLinking(boolean batchLinking) {
+		this.batchLinking = batchLinking;
+	}
+
+	/**
+	 * @since 2.19
+	 */
+	public boolean isBatchLinking() {
+		return batchLinking;
+	}
+
 	public ILinkingDiagnosticMessageProvider getDiagnosticMessageProvider() {
 		return diagnosticMessageProvider;
 	}
@@ -491,6 +542,21 @@ public class LazyLinkingResource extends XtextResource {
 		getUnresolvableURIFragments().add(proxyURI.fragment());
 	}
 	
+	/**
+	 * Returns the marker that is set once all lazy cross references of this resource have been resolved. It lives in
+	 * the {@link #getCache() resource scope cache}, so it is dropped whenever this resource is modified.
+	 * 
+	 * @since 2.19
+	 */
+	protected AtomicBoolean getLazyCrossReferencesResolved() {
+		return getCache().get(LAZY_CROSS_REFERENCES_RESOLVED_KEY, this, new Provider<AtomicBoolean>() {
+			@Override
+			public AtomicBoolean get() {
+				return new AtomicBoolean();
+			}
+		});
+	}
+
 	/**
 	 * @since 2.4
 	 */
@@ -545,6 +611,7 @@ public class LazyLinkingResource extends XtextResource {
 	 */
 	public void clearLazyProxyInformation() {
 		proxyInformation = newArrayListWithCapacity(proxyInformation.size());
+		getLazyCrossReferencesResolved().set(false);
 	}
 	
 }
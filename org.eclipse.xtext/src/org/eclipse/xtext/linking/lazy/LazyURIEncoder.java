@@ -8,7 +8,9 @@
  *******************************************************************************/
 package org.eclipse.xtext.linking.lazy;
 
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EClass;
@@ -18,6 +20,7 @@ import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.xtext.nodemodel.ICompositeNode;
 import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+import org.eclipse.xtext.util.OnChangeEvictingCache;
 import org.eclipse.xtext.util.Strings;
 import org.eclipse.xtext.util.Triple;
 import org.eclipse.xtext.util.Tuples;
@@ -54,6 +57,17 @@ public class LazyURIEncoder {
 	@Inject(optional=true) @Named(value=USE_INDEXED_FRAGMENTS_BINDING)
 	private boolean isUseIndexFragment = false;
 	
+	/**
+	 * Lists with at most this many elements are searched linearly, since a lookup in the position cache does not pay
+	 * off for them.
+	 */
+	private static final int POSITION_CACHE_THRESHOLD = 16;
+	
+	private static final Object POSITION_CACHE_KEY = LazyURIEncoder.class.getName() + ".positions";
+	
+	@Inject
+	private OnChangeEvictingCache cache;
+	
 	/**
 	 * @since 2.7
 	 */
@@ -98,15 +112,46 @@ public class LazyURIEncoder {
 	public void appendShortFragment(EObject obj, StringBuilder target) {
 		EReference containmentFeature = obj.eContainmentFeature();
 		if (containmentFeature == null) {
-			target.append(obj.eResource().getContents().indexOf(obj));
+			Resource resource = obj.eResource();
+			target.append(getPosition(resource, resource.getContents(), obj));
 		} else {
 			EObject container = obj.eContainer();
 			appendShortFragment(container, target);
 			target.append('.').append(container.eClass().getFeatureID(containmentFeature));
 			if (containmentFeature.isMany()) {
 				List<?> list = (List<?>) container.eGet(containmentFeature);
-				target.append('.').append(list.indexOf(obj));
+				target.append('.').append(getPosition(obj.eResource(), list, obj));
+			}
+		}
+	}
+	
+	/**
+	 * Returns the index of the given object in the given containment list. Since all cross references of a resource
+	 * are encoded in one go, the indices of the elements of a long list are computed in one pass and cached for the
+	 * resource. A cached index is only used if it is still valid, so the cache does not need to be kept in sync with
+	 * modifications that happen while notifications are ignored.
+	 * 
+	 * @since 2.19
+	 */
+	protected int getPosition(Resource resource, List<?> list, EObject obj) {
+		if (cache == null || resource == null || list.size() <= POSITION_CACHE_THRESHOLD) {
+			return list.indexOf(obj);
+		}
+		Map<Object, Integer> positions = cache.get(POSITION_CACHE_KEY, resource, () -> new IdentityHashMap<>());
+		synchronized (positions) {
+			Integer cached = positions.get(obj);
+			if (cached != null && cached < list.size() && list.get(cached) == obj) {
+				return cached;
+			}
+			int result = -1;
+			for (int i = 0, size = list.size(); i < size; i++) {
+				Object element = list.get(i);
+				positions.put(element, i);
+				if (element == obj) {
+					result = i;
+				}
 			}
+			return result;
 		}
 	}
 	
@@ -65,6 +65,10 @@ public class QualifiedName implements Comparable<QualifiedName> {
 		public String toString(String delimiter) {
 			return "";
 		}
+		@Override
+		QualifiedName withSegmentsFrom(QualifiedNameTable table) {
+			return this;
+		}
 	};
 	
 	/**
@@ -358,10 +362,47 @@ public class QualifiedName implements Comparable<QualifiedName> {
 		return lowerCase;
 	}
 
+	/**
+	 * Returns an equal name whose segments are the ones of the given table.
+	 */
+	QualifiedName withSegmentsFrom(QualifiedNameTable table) {
+		String[] newSegments = null;
+		for (int i = 0; i < segments.length; i++) {
+			String segment = table.getSegment(segments[i]);
+			if (segment != segments[i] && newSegments == null) {
+				newSegments = segments.clone();
+			}
+			if (newSegments != null) {
+				newSegments[i] = segment;
+			}
+		}
+		if (newSegments == null) {
+			return this;
+		}
+		QualifiedName result = copyWithSegments(newSegments);
+		if (lowerCase == this) {
+			result.lowerCase = result;
+		}
+		return result;
+	}
+
+	QualifiedName copyWithSegments(String[] newSegments) {
+		return new QualifiedName(newSegments);
+	}
+
+	void setLowerCase(QualifiedName lowerCase) {
+		this.lowerCase = lowerCase;
+	}
+
 	private static class QualifiedNameLowerCase extends QualifiedName {
 		public QualifiedNameLowerCase(String[] segments) {
 			super(segments);
 		}
+
+		@Override
+		QualifiedName copyWithSegments(String[] newSegments) {
+			return new QualifiedNameLowerCase(newSegments);
+		}
 		@Override
 		public QualifiedName toLowerCase() {
 			return this;
@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sigasi N.V. (http://www.sigasi.com) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.naming;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * A table that lets the qualified names of a data structure, e.g. an index, share their instances and segments.
+ * 
+ * Equal names obtained from the same table are identical, their segments are shared with all other names of the
+ * table, and the {@link QualifiedName#toLowerCase() lower case} variant of a name is itself an entry of the table.
+ * Unlike the JVM wide interning that is enabled with {@code xtext.qn.interning}, a table belongs to the data
+ * structure that uses it. Entries that are no longer referenced are garbage collected.
+ * 
+ * Tables can be used concurrently.
+ * 
+ * @since 2.19
+ */
+public class QualifiedNameTable {
+
+	private final Interner<String> segments = Interners.newWeakInterner();
+
+	private final Interner<QualifiedName> names = Interners.newWeakInterner();
+
+	/**
+	 * Returns the instance of the table that is equal to the given segment.
+	 */
+	public String getSegment(String segment) {
+		return segments.intern(segment);
+	}
+
+	/**
+	 * Returns the instance of the table that is equal to the given name. The result may be the given name itself if
+	 * it was not yet part of the table.
+	 */
+	public QualifiedName get(QualifiedName name) {
+		if (name.isEmpty()) {
+			return QualifiedName.EMPTY;
+		}
+		QualifiedName candidate = name.withSegmentsFrom(this);
+		QualifiedName result = names.intern(candidate);
+		if (result == candidate) {
+			QualifiedName lowerCase = result.toLowerCase();
+			if (lowerCase != result) {
+				result.setLowerCase(get(lowerCase));
+			}
+		}
+		return result;
+	}
+
+}
@@ -18,9 +18,12 @@ import org.eclipse.xtext.nodemodel.ICompositeNode;
 import org.eclipse.xtext.nodemodel.ILeafNode;
 import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.nodemodel.SyntaxErrorMessage;
+import org.eclipse.xtext.service.OperationCanceledManager;
+import org.eclipse.xtext.util.CancelIndicator;
 
 import com.google.common.collect.Maps;
 import com.google.common.collect.ObjectArrays;
+import com.google.inject.Inject;
 
 /**
  * A stateful (!) builder that provides call back methods for clients who
@@ -84,6 +87,30 @@ public class NodeModelBuilder {
 	private ArrayInterner cachedFoldedGrammarElements = new ArrayInterner();
 
 	private boolean compressRoot = true;
+
+	/**
+	 * The number of leaf nodes after which the {@link #setCancelIndicator(CancelIndicator) cancel indicator} is checked
+	 * again. Must be a power of two.
+	 */
+	private static final int CANCEL_CHECK_INTERVAL = 1024;
+
+	@Inject(optional = true)
+	private OperationCanceledManager operationCanceledManager = new OperationCanceledManager();
+
+	private CancelIndicator cancelIndicator;
+
+	private int leafCount;
+
+	/**
+	 * Sets the cancel indicator that is checked periodically while leaf nodes are created, so that parsing a large
+	 * document can be aborted with an {@link org.eclipse.xtext.service.OperationCanceledError}.
+	 * 
+	 * @since 2.19
+	 */
+	public void setCancelIndicator(/* @Nullable */ CancelIndicator cancelIndicator) {
+		this.cancelIndicator = cancelIndicator;
+		this.leafCount = 0;
+	}
 	
 	public void addChild(ICompositeNode node, AbstractNode child) {
 		checkValidNewChild(child);
@@ -169,6 +196,9 @@ public class NodeModelBuilder {
 
 	public ILeafNode newLeafNode(int offset, int length, EObject grammarElement, boolean isHidden, /* @Nullable */ SyntaxErrorMessage errorMessage,
 			ICompositeNode parent) {
+		if (cancelIndicator != null && (++leafCount & (CANCEL_CHECK_INTERVAL - 1)) == 0) {
+			operationCanceledManager.checkCanceled(cancelIndicator);
+		}
 		LeafNode result = null;
 		if (errorMessage != null) {
 			if (isHidden) {
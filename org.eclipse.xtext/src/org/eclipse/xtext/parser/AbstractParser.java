@@ -10,6 +10,7 @@ package org.eclipse.xtext.parser;
 
 import java.io.Reader;
 
+import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.util.ReplaceRegion;
 import org.eclipse.xtext.util.internal.Stopwatches;
 import org.eclipse.xtext.util.internal.Stopwatches.StoppedTask;
@@ -36,8 +37,32 @@ public abstract class AbstractParser implements IParser {
 		}
 	}
 
+	/**
+	 * @since 2.19
+	 */
+	@Override
+	public final IParseResult parse(Reader reader, CancelIndicator cancelIndicator) {
+		StoppedTask task = Stopwatches.forTask("AbstractParser.parse");
+		try {
+			task.start();
+			return doParse(reader, cancelIndicator);
+		} finally {
+			task.stop();
+		}
+	}
+
 	protected abstract IParseResult doParse(Reader reader);
 
+	/**
+	 * Parses the input while checking the given cancel indicator. Parsers that do not support cancellation parse the
+	 * complete input.
+	 * 
+	 * @since 2.19
+	 */
+	protected IParseResult doParse(Reader reader, CancelIndicator cancelIndicator) {
+		return doParse(reader);
+	}
+
 	protected abstract IParseResult doParse(CharSequence sequence);
 
 	@Override
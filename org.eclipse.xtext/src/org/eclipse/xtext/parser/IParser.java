@@ -12,6 +12,7 @@ import java.io.Reader;
 
 import org.eclipse.xtext.ParserRule;
 import org.eclipse.xtext.RuleCall;
+import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.util.ReplaceRegion;
 
 import com.google.inject.ImplementedBy;
@@ -25,6 +26,16 @@ public interface IParser {
 	
 	IParseResult parse(Reader reader);
 	
+	/**
+	 * Parses the given input and periodically checks the cancel indicator. A canceled parse is aborted with an
+	 * {@link org.eclipse.xtext.service.OperationCanceledError}.
+	 * 
+	 * @since 2.19
+	 */
+	default IParseResult parse(Reader reader, CancelIndicator cancelIndicator) {
+		return parse(reader);
+	}
+	
 	IParseResult parse(ParserRule rule, Reader reader);
 	
 	IParseResult parse(RuleCall ruleCall, Reader reader, int initialLookAhead);
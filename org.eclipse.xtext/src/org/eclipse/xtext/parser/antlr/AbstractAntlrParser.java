@@ -22,6 +22,7 @@ import org.eclipse.xtext.parser.AbstractParser;
 import org.eclipse.xtext.parser.IAstFactory;
 import org.eclipse.xtext.parser.IParseResult;
 import org.eclipse.xtext.parser.ParseException;
+import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.util.ReplaceRegion;
 
 import com.google.inject.Inject;
@@ -56,6 +57,12 @@ public abstract class AbstractAntlrParser extends AbstractParser {
 	@Named(LexerBindings.RUNTIME)
 	private Provider<Lexer> lexerProvider;
 
+	/**
+	 * The cancel indicator of the current {@link #doParse(Reader, CancelIndicator)} call. It is read by
+	 * {@link #parse(String, CharStream)}, so that overrides of {@link #doParse(Reader)} are still used.
+	 */
+	private final ThreadLocal<CancelIndicator> cancelIndicator = new ThreadLocal<CancelIndicator>();
+
 	@Override
 	public IParseResult doParse(Reader reader) {
 		try {
@@ -65,6 +72,23 @@ public abstract class AbstractAntlrParser extends AbstractParser {
 		}
 	}
 
+	/**
+	 * @since 2.19
+	 */
+	@Override
+	protected IParseResult doParse(Reader reader, CancelIndicator cancelIndicator) {
+		CancelIndicator previous = this.cancelIndicator.get();
+		this.cancelIndicator.set(cancelIndicator);
+		try {
+			return doParse(reader);
+		} finally {
+			if (previous == null)
+				this.cancelIndicator.remove();
+			else
+				this.cancelIndicator.set(previous);
+		}
+	}
+
 	@Override
 	public IParseResult doParse(CharSequence sequence) {
 		return doParse(new StringReader(sequence.toString()));
@@ -81,7 +105,9 @@ public abstract class AbstractAntlrParser extends AbstractParser {
 	protected abstract String getDefaultRuleName();
 
 	protected IParseResult parse(String ruleName, CharStream in) {
-		return doParse(ruleName, in, nodeModelBuilder.get(), 0);
+		NodeModelBuilder builder = nodeModelBuilder.get();
+		builder.setCancelIndicator(cancelIndicator.get());
+		return doParse(ruleName, in, builder, 0);
 	}
 
 	protected IParseResult doParse(String ruleName, CharStream in, NodeModelBuilder nodeModelBuilder, int initialLookAhead) {
@@ -54,6 +54,7 @@ import org.eclipse.xtext.parser.antlr.ISyntaxErrorMessageProvider.IParserErrorCo
 import org.eclipse.xtext.parser.antlr.ISyntaxErrorMessageProvider.IUnorderedGroupErrorContext;
 import org.eclipse.xtext.parser.antlr.ISyntaxErrorMessageProvider.IValueConverterErrorContext;
 import org.eclipse.xtext.service.AllRulesCache;
+import org.eclipse.xtext.service.OperationCanceledError;
 import org.eclipse.xtext.util.Strings;
 
 import com.google.common.collect.ImmutableList;
@@ -580,6 +581,9 @@ public abstract class AbstractInternalAntlrParser extends Parser {
 				}
 				throw (RecognitionException) targetException;
 			}
+			if (targetException instanceof OperationCanceledError) {
+				throw (OperationCanceledError) targetException;
+			}
 			if (targetException instanceof Exception) {
 				throw new WrappedException((Exception) targetException);
 			}
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sigasi N.V. (http://www.sigasi.com) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+
+/**
+ * A {@link SynchronizedXtextResourceSet} that does not hold its lock while resources are loaded on demand.
+ *
+ * Each resource that is demand loaded gets a pending load, so a resource is loaded exactly once while different
+ * resources are loaded in parallel. Threads that ask for a resource that is being loaded by another thread wait for
+ * that load to finish. If the load fails, they get the exception of the loading thread.
+ *
+ * A thread does not wait if that would close a cycle of threads that wait for each other's loads, e.g. when the
+ * loads of two resources ask for each other. Just like a recursive request on the loading thread itself, it gets
+ * the resource that is still being loaded in that case, and must not expect its contents to be complete. Resources
+ * that have been loaded completely are looked up without taking the lock.
+ *
+ * The resource list and the maps of the resource set are still guarded by the {@link #getLock() lock}.
+ *
+ * @since 2.19
+ */
+public class ConcurrentXtextResourceSet extends SynchronizedXtextResourceSet {
+
+	private final ConcurrentMap<URI, Resource> loadedResources = new ConcurrentHashMap<URI, Resource>();
+
+	private final ConcurrentMap<Resource, PendingLoad> pendingLoads = new ConcurrentHashMap<Resource, PendingLoad>();
+
+	/**
+	 * The pending load that a thread waits for. Guarded by the {@link #getLock() lock}.
+	 */
+	private final Map<Thread, PendingLoad> awaitedLoads = new HashMap<Thread, PendingLoad>();
+
+	private static class PendingLoad extends CompletableFuture<Resource> {
+		private final Thread loader = Thread.currentThread();
+	}
+
+	private final UriChangeListener uriChangeListener = new LoadedResourcesListener();
+
+	/**
+	 * Drops loaded resources from the lock free lookup when they are removed from this resource set.
+	 */
+	protected class LoadedResourcesListener extends UriChangeListener {
+		@Override
+		public void unsetTarget(Notifier oldTarget) {
+			if (oldTarget instanceof Resource) {
+				Resource resource = (Resource) oldTarget;
+				URI uri = resource.getURI();
+				if (uri != null) {
+					loadedResources.remove(uri, resource);
+				}
+			}
+			super.unsetTarget(oldTarget);
+		}
+	}
+
+	@Override
+	protected UriChangeListener getUriChangeListener() {
+		return uriChangeListener;
+	}
+
+	@Override
+	void updateURI(Resource resource, URI old, Map<URI, Resource> uriResourceMap) {
+		if (old != null) {
+			loadedResources.remove(old, resource);
+		}
+		super.updateURI(resource, old, uriResourceMap);
+	}
+
+	@Override
+	public Resource getResource(URI uri, boolean loadOnDemand) {
+		Resource loaded = loadedResources.get(uri);
+		if (loaded != null) {
+			if (isCompletelyLoaded(loaded, uri)) {
+				return loaded;
+			}
+			loadedResources.remove(uri, loaded);
+		}
+		Resource resource;
+		PendingLoad pendingLoad;
+		boolean load = false;
+		boolean await = false;
+		synchronized (getLock()) {
+			resource = super.getResource(uri, false);
+			if (resource == null) {
+				if (!loadOnDemand) {
+					return null;
+				}
+				resource = demandCreateResource(uri);
+				if (resource == null) {
+					throw new RuntimeException("Cannot create a resource for '" + uri + "'; a registered resource factory is needed");
+				}
+			}
+			pendingLoad = pendingLoads.get(resource);
+			if (pendingLoad == null && loadOnDemand && !resource.isLoaded()) {
+				pendingLoad = new PendingLoad();
+				pendingLoads.put(resource, pendingLoad);
+				load = true;
+			} else if (pendingLoad != null && !wouldDeadlock(pendingLoad)) {
+				awaitedLoads.put(Thread.currentThread(), pendingLoad);
+				await = true;
+			}
+		}
+		if (load) {
+			load(resource, pendingLoad);
+		} else if (await) {
+			await(pendingLoad);
+		}
+		if (isCompletelyLoaded(resource, uri)) {
+			loadedResources.put(uri, resource);
+		}
+		return resource;
+	}
+
+	private void load(Resource resource, PendingLoad pendingLoad) {
+		try {
+			demandLoadHelper(resource);
+		} catch (RuntimeException | Error e) {
+			pendingLoads.remove(resource);
+			pendingLoad.completeExceptionally(e);
+			throw e;
+		}
+		pendingLoads.remove(resource);
+		pendingLoad.complete(resource);
+	}
+
+	private void await(PendingLoad pendingLoad) {
+		try {
+			pendingLoad.join();
+		} catch (CompletionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw e;
+		} finally {
+			synchronized (getLock()) {
+				awaitedLoads.remove(Thread.currentThread());
+			}
+		}
+	}
+
+	/**
+	 * Whether waiting for the given pending load would deadlock, i.e. its loader is the current thread or waits for
+	 * the current thread, directly or through other threads. Must be called with the {@link #getLock() lock} held.
+	 */
+	private boolean wouldDeadlock(PendingLoad pendingLoad) {
+		Thread current = Thread.currentThread();
+		for (PendingLoad next = pendingLoad; next != null; next = awaitedLoads.get(next.loader)) {
+			if (next.loader == current) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isCompletelyLoaded(Resource resource, URI uri) {
+		return resource.getResourceSet() == this && resource.isLoaded() && !pendingLoads.containsKey(resource)
+				&& uri.equals(resource.getURI());
+	}
+
+}
@@ -39,4 +39,17 @@ public interface IReferenceDescription {
 	 * 		   This can be the EObject defining the reference or one of its containers.
 	 */
 	URI getContainerEObjectURI();
+	
+	/**
+	 * A reference description that may know the location of the reference in its source.
+	 * 
+	 * @since 2.19
+	 */
+	interface IWithSourceRange extends IReferenceDescription {
+		
+		/**
+		 * @return the source range of the reference, or <code>null</code> if it has not been recorded.
+		 */
+		SourceRange getSourceRange();
+	}
 }
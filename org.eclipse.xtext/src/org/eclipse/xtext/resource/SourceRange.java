@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sigasi N.V. (http://www.sigasi.com) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource;
+
+/**
+ * The location of an indexed element or reference in its source. It allows to present the element to the user
+ * without loading the resource. Lines and columns are zero-based, a column is the character offset in the line.
+ *
+ * @see org.eclipse.xtext.resource.impl.DefaultResourceDescriptionStrategy#setRecordSourceRanges(boolean)
+ * @since 2.19
+ */
+public final class SourceRange {
+
+	/**
+	 * The key of the {@link IEObjectDescription#getUserData(String) user data} that holds the
+	 * {@link #toUserData() encoded} source range of an exported object.
+	 */
+	public static final String USER_DATA_KEY = "sourceRange";
+
+	private final int offset;
+
+	private final int length;
+
+	private final int line;
+
+	private final int column;
+
+	private final int endLine;
+
+	private final int endColumn;
+
+	public SourceRange(int offset, int length, int line, int column, int endLine, int endColumn) {
+		this.offset = offset;
+		this.length = length;
+		this.line = line;
+		this.column = column;
+		this.endLine = endLine;
+		this.endColumn = endColumn;
+	}
+
+	/**
+	 * Returns the recorded source range of the given description, or <code>null</code> if there is none.
+	 */
+	public static SourceRange of(IEObjectDescription description) {
+		return fromUserData(description.getUserData(USER_DATA_KEY));
+	}
+
+	/**
+	 * Returns the recorded source range of the given description, or <code>null</code> if there is none.
+	 */
+	public static SourceRange of(IReferenceDescription description) {
+		if (description instanceof IReferenceDescription.IWithSourceRange) {
+			return ((IReferenceDescription.IWithSourceRange) description).getSourceRange();
+		}
+		return null;
+	}
+
+	/**
+	 * Parses the result of {@link #toUserData()}. Returns <code>null</code> for <code>null</code> or malformed input.
+	 */
+	public static SourceRange fromUserData(String userData) {
+		if (userData == null) {
+			return null;
+		}
+		String[] segments = userData.split(":");
+		if (segments.length != 6) {
+			return null;
+		}
+		try {
+			return new SourceRange(Integer.parseInt(segments[0]), Integer.parseInt(segments[1]),
+					Integer.parseInt(segments[2]), Integer.parseInt(segments[3]), Integer.parseInt(segments[4]),
+					Integer.parseInt(segments[5]));
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	public String toUserData() {
+		return offset + ":" + length + ":" + line + ":" + column + ":" + endLine + ":" + endColumn;
+	}
+
+	public int getOffset() {
+		return offset;
+	}
+
+	public int getLength() {
+		return length;
+	}
+
+	public int getLine() {
+		return line;
+	}
+
+	public int getColumn() {
+		return column;
+	}
+
+	public int getEndLine() {
+		return endLine;
+	}
+
+	public int getEndColumn() {
+		return endColumn;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * (31 * (31 * offset + length) + line) + column;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof SourceRange)) {
+			return false;
+		}
+		SourceRange other = (SourceRange) obj;
+		return offset == other.offset && length == other.length && line == other.line && column == other.column
+				&& endLine == other.endLine && endColumn == other.endColumn;
+	}
+
+	@Override
+	public String toString() {
+		return "[" + offset + ", " + length + "] " + line + ":" + column + " - " + endLine + ":" + endColumn;
+	}
+
+}
@@ -39,11 +39,15 @@ import org.eclipse.xtext.parser.IParser;
 import org.eclipse.xtext.parser.antlr.IReferableElementsUnloader;
 import org.eclipse.xtext.resource.impl.ListBasedDiagnosticConsumer;
 import org.eclipse.xtext.serializer.ISerializer;
+import org.eclipse.xtext.service.OperationCanceledError;
 import org.eclipse.xtext.service.OperationCanceledManager;
+import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.util.IResourceScopeCache;
 import org.eclipse.xtext.util.LazyStringInputStream;
 import org.eclipse.xtext.util.ReplaceRegion;
 import org.eclipse.xtext.util.TextRegion;
+import org.eclipse.xtext.util.internal.Stopwatches;
+import org.eclipse.xtext.util.internal.Stopwatches.StoppedTask;
 import org.eclipse.xtext.validation.IConcreteSyntaxValidator;
 import org.eclipse.xtext.validation.IConcreteSyntaxValidator.IDiagnosticAcceptor;
 
@@ -78,6 +82,15 @@ public class XtextResource extends ResourceImpl {
 
 	public static final String OPTION_ENCODING = XtextResource.class.getName() + ".DEFAULT_ENCODING";
 
+	/**
+	 * A load option whose value is a {@link CancelIndicator}. Parsing and linking of the loaded resource check it
+	 * periodically and abort with an {@link OperationCanceledError} once it is canceled. A resource whose load has been
+	 * canceled is unloaded again.
+	 * 
+	 * @since 2.19
+	 */
+	public static final String OPTION_CANCEL_INDICATOR = XtextResource.class.getName() + ".CANCEL_INDICATOR";
+
 	private boolean validationDisabled;
 	
 	/**
@@ -140,6 +153,8 @@ public class XtextResource extends ResourceImpl {
 
 	private String encoding;
 
+	private CancelIndicator loadCancelIndicator;
+
 	public IResourceServiceProvider getResourceServiceProvider() {
 		return resourceServiceProvider;
 	}
@@ -170,14 +185,30 @@ public class XtextResource extends ResourceImpl {
 	
 	@Override
 	protected void doLoad(InputStream inputStream, Map<?, ?> options) throws IOException {
-		setEncodingFromOptions(options);
-		IParseResult result;
-		if (entryPoint == null) {
-			result = parser.parse(createReader(inputStream));
-		} else {
-			result = parser.parse(entryPoint, createReader(inputStream));
+		StoppedTask task = Stopwatches.forTask("XtextResource.load", String.valueOf(getURI()));
+		try {
+			task.start();
+			setEncodingFromOptions(options);
+			loadCancelIndicator = getCancelIndicator(options);
+			IParseResult result;
+			if (entryPoint == null) {
+				if (loadCancelIndicator != null) {
+					result = parser.parse(createReader(inputStream), loadCancelIndicator);
+				} else {
+					result = parser.parse(createReader(inputStream));
+				}
+			} else {
+				result = parser.parse(entryPoint, createReader(inputStream));
+			}
+			updateInternalState(this.parseResult, result);
+		} catch (OperationCanceledError e) {
+			// do not leave a partially parsed or linked resource behind, it is loaded again on the next request
+			unload();
+			throw e;
+		} finally {
+			loadCancelIndicator = null;
+			task.stop();
 		}
-		updateInternalState(this.parseResult, result);
 	}
 	
 	/**
@@ -199,6 +230,19 @@ public class XtextResource extends ResourceImpl {
 		}
 	}
 
+	/**
+	 * @since 2.19
+	 */
+	protected CancelIndicator getCancelIndicator(Map<?, ?> options) {
+		if (options != null) {
+			Object cancelIndicator = options.get(OPTION_CANCEL_INDICATOR);
+			if (cancelIndicator instanceof CancelIndicator) {
+				return (CancelIndicator) cancelIndicator;
+			}
+		}
+		return null;
+	}
+
 	public String getEncoding() {
 		if (encoding == null) {
 			encoding = encodingProvider.getEncoding(getURI());
@@ -337,7 +381,11 @@ public class XtextResource extends ResourceImpl {
 			return;
 
 		final ListBasedDiagnosticConsumer consumer = new ListBasedDiagnosticConsumer();
-		linker.linkModel(parseResult.getRootASTElement(), consumer);
+		if (loadCancelIndicator != null) {
+			linker.linkModel(parseResult.getRootASTElement(), consumer, loadCancelIndicator);
+		} else {
+			linker.linkModel(parseResult.getRootASTElement(), consumer);
+		}
 		if (!validationDisabled) {
 			getErrors().addAll(consumer.getResult(Severity.ERROR));
 			getWarnings().addAll(consumer.getResult(Severity.WARNING));
@@ -12,8 +12,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.emf.common.notify.Notification;
@@ -26,6 +26,9 @@ import org.eclipse.emf.ecore.resource.impl.ExtensibleURIConverterImpl;
 import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
 import org.eclipse.emf.ecore.xmi.XMLResource;
 
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.SetMultimap;
+
 /**
  * A resource set that is capable of resolving classpath URIs.
  * 
@@ -49,6 +52,35 @@ public class XtextResourceSet extends ResourceSetImpl {
 	public Map<URI, URI> getNormalizationMap() {
 		return Collections.unmodifiableMap(normalizationMap);
 	}
+
+	/**
+	 * The inverse of the {@link #normalizationMap}, i.e. the URIs that were recorded for each normalized URI. It allows
+	 * to drop the entries of a resource without iterating the whole normalization map.
+	 */
+	private final SetMultimap<URI, URI> denormalizationMap = HashMultimap.create();
+
+	private void putNormalizedURI(URI uri, URI normalized) {
+		URI previous = normalizationMap.put(uri, normalized);
+		if (previous != null) {
+			denormalizationMap.remove(previous, uri);
+		}
+		denormalizationMap.put(normalized, uri);
+	}
+
+	private URI removeNormalizedURI(URI uri) {
+		URI normalized = normalizationMap.remove(uri);
+		if (normalized != null) {
+			denormalizationMap.remove(normalized, uri);
+		}
+		return normalized;
+	}
+
+	private void removeAllNormalizedURIs(URI normalized) {
+		Set<URI> uris = denormalizationMap.removeAll(normalized);
+		for (URI uri : uris) {
+			normalizationMap.remove(uri);
+		}
+	}
 	
 	private volatile AtomicInteger outdatedStamp = new AtomicInteger(0);
 	private volatile int modificationStamp = 0;
@@ -99,7 +131,7 @@ public class XtextResourceSet extends ResourceSetImpl {
 	
 	void updateURI(Resource resource, URI old, final Map<URI, Resource> uriResourceMap) {
 		uriResourceMap.remove(old);
-		URI oldNormalized = normalizationMap.remove(old);
+		URI oldNormalized = removeNormalizedURI(old);
 		if (old != null && !old.equals(oldNormalized)) {
 			uriResourceMap.remove(oldNormalized);
 		}
@@ -130,7 +162,7 @@ public class XtextResourceSet extends ResourceSetImpl {
 						throw new IllegalStateException("A resource with the normalized URI '"+normalized+"' was already registered. The resource with the URI '"+previous+"' is no longer registered with the normalized form.");
 					}
 				}
-				normalizationMap.put(uri, normalized);
+				putNormalizedURI(uri, normalized);
 			}
 			Resource previous = map.put(uri, resource);
 			if (previous != null && previous != resource) {
@@ -156,19 +188,32 @@ public class XtextResourceSet extends ResourceSetImpl {
 		@Override
 		protected NotificationChain inverseRemove(Resource resource, NotificationChain notifications) {
 			URI uri = resource.getURI();
-			if (uri != null) {
-				URI normalize = getURIConverter().normalize(uri);
-				Iterator<URI> i = normalizationMap.values().iterator();
-				while(i.hasNext()) {
-					if (i.next().equals(normalize)) {
-						i.remove();
-					}
+			URI normalized = uri != null ? getURIConverter().normalize(uri) : null;
+			if (normalized != null) {
+				removeAllNormalizedURIs(normalized);
+			}
+			final NotificationChain inverseRemove;
+			Map<URI, Resource> map = getURIResourceMap();
+			if (map != null && resourceLocator == null) {
+				// the resource is only registered with its URI and its normalized URI, so there is no need to scan all
+				// values of the map like super does
+				removeFromURIResourceMap(map, uri, resource);
+				if (normalized != null) {
+					removeFromURIResourceMap(map, normalized, resource);
 				}
+				inverseRemove = ((Resource.Internal) resource).basicSetResourceSet(null, notifications);
+			} else {
+				inverseRemove = super.inverseRemove(resource, notifications);
 			}
-			final NotificationChain inverseRemove = super.inverseRemove(resource, notifications);
 			resource.eAdapters().remove(getUriChangeListener());
 			return inverseRemove;
 		}
+
+		private void removeFromURIResourceMap(Map<URI, Resource> map, URI uri, Resource resource) {
+			if (map.get(uri) == resource) {
+				map.remove(uri);
+			}
+		}
 		
 		/**
 		 * @since 2.4
@@ -179,6 +224,7 @@ public class XtextResourceSet extends ResourceSetImpl {
 			// don't iterate the values of the map per resource but just clear it all at once
 			getURIResourceMap().clear();
 			normalizationMap.clear();
+			denormalizationMap.clear();
 		}
 
 	}
@@ -239,7 +285,7 @@ public class XtextResourceSet extends ResourceSetImpl {
 			URI normalizedURI = getURIConverter().normalize(uri);
 			resource = map.get(normalizedURI);
 			if (resource != null) {
-				normalizationMap.put(uri, normalizedURI);
+				putNormalizedURI(uri, normalizedURI);
 			}
 		}
 		if (resource != null) {
@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sigasi N.V. (http://www.sigasi.com) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.clustering;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.xtext.CrossReference;
+import org.eclipse.xtext.linking.impl.IllegalNodeException;
+import org.eclipse.xtext.linking.impl.LinkingHelper;
+import org.eclipse.xtext.naming.IQualifiedNameConverter;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.nodemodel.INode;
+import org.eclipse.xtext.parser.IParseResult;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceDescriptions;
+import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.util.Strings;
+
+import com.google.common.collect.Maps;
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+
+/**
+ * A {@link DynamicResourceClusteringPolicy dynamic clustering policy} that takes the references between the resources
+ * into account. It lets the batch build process the resources in an order where referenced resources are processed
+ * close to the resources that refer to them, and it keeps the resources that are still referenced by the pending
+ * resources loaded when a cluster is cut.
+ *
+ * @since 2.19
+ */
+public class ReferenceAwareClusteringPolicy extends DynamicResourceClusteringPolicy {
+
+	public static final String MAXIMUM_PINNED_RESOURCES = "org.eclipse.xtext.resource.clustering.ReferenceAwareClusteringPolicy.maximumPinnedResources";
+
+	/** The maximum number of resources that are kept in the resource set when a cluster is cut. */
+	@Inject(optional = true)
+	@Named(MAXIMUM_PINNED_RESOURCES)
+	private int maximumPinnedResources = 100;
+
+	/**
+	 * Returns the URIs of the resources that are referenced by the given resource according to the given index. The
+	 * resource itself is not included.
+	 */
+	public Set<URI> getReferencedResources(URI uri, IResourceDescriptions index) {
+		IResourceDescription description = index.getResourceDescription(uri);
+		if (description == null) {
+			return Collections.emptySet();
+		}
+		Set<URI> result = new LinkedHashSet<URI>();
+		for (IReferenceDescription reference : description.getReferenceDescriptions()) {
+			URI target = reference.getTargetEObjectUri();
+			if (target != null) {
+				URI targetResource = target.trimFragment();
+				if (!targetResource.equals(uri)) {
+					result.add(targetResource);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the URIs of the resources that export one of the given names according to the given index. The
+	 * resource itself is not included.
+	 * 
+	 * @param names
+	 *            the {@link #getReferencedNames(Resource) names referenced} by the resource with the given URI.
+	 */
+	public Set<URI> getReferencedResources(URI uri, Iterable<QualifiedName> names, IResourceDescriptions index) {
+		Set<URI> result = new LinkedHashSet<URI>();
+		for (QualifiedName name : names) {
+			for (IEObjectDescription description : index.getExportedObjects(EcorePackage.Literals.EOBJECT, name, false)) {
+				URI targetResource = description.getEObjectURI().trimFragment();
+				if (!targetResource.equals(uri)) {
+					result.add(targetResource);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the names the cross references of the given resource refer to, as written in the source. Other than
+	 * the reference descriptions, these are known before the resource is linked, e.g. on a clean build. Names that
+	 * are relative to an import or a namespace are only found in the index if they happen to be fully qualified.
+	 */
+	public Set<QualifiedName> getReferencedNames(Resource resource) {
+		if (!(resource instanceof XtextResource)) {
+			return Collections.emptySet();
+		}
+		XtextResource xtextResource = (XtextResource) resource;
+		IParseResult parseResult = xtextResource.getParseResult();
+		IResourceServiceProvider serviceProvider = xtextResource.getResourceServiceProvider();
+		if (parseResult == null || parseResult.getRootNode() == null || serviceProvider == null) {
+			return Collections.emptySet();
+		}
+		LinkingHelper linkingHelper = serviceProvider.get(LinkingHelper.class);
+		IQualifiedNameConverter qualifiedNameConverter = serviceProvider.get(IQualifiedNameConverter.class);
+		Set<QualifiedName> result = new LinkedHashSet<QualifiedName>();
+		for (INode node : parseResult.getRootNode().getAsTreeIterable()) {
+			if (node.getGrammarElement() instanceof CrossReference) {
+				try {
+					String text = linkingHelper.getCrossRefNodeAsString(node, true);
+					if (!Strings.isEmpty(text)) {
+						result.add(qualifiedNameConverter.toQualifiedName(text));
+					}
+				} catch (IllegalNodeException | IllegalArgumentException e) {
+					// the reference cannot be linked anyway
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Orders the given URIs such that a resource follows the resources it references, as far as cycles permit. Each
+	 * resource is thereby processed close to its dependencies, which are likely still loaded. URIs that are unrelated
+	 * keep their relative order.
+	 *
+	 * @param referencedResources
+	 *            the {@link #getReferencedResources(URI, IResourceDescriptions) referenced resources} of each URI.
+	 */
+	public List<URI> sortByReferenceLocality(Iterable<URI> uris, Map<URI, Set<URI>> referencedResources) {
+		Set<URI> pending = new LinkedHashSet<URI>();
+		for (URI uri : uris) {
+			pending.add(uri);
+		}
+		Set<URI> visited = new LinkedHashSet<URI>();
+		List<URI> result = new ArrayList<URI>(pending.size());
+		// iterative depth first traversal, since reference chains may be longer than the stack allows
+		Deque<URI> path = new ArrayDeque<URI>();
+		Deque<Iterator<URI>> targets = new ArrayDeque<Iterator<URI>>();
+		for (URI root : pending) {
+			if (!visited.add(root)) {
+				continue;
+			}
+			path.push(root);
+			targets.push(getReferences(root, referencedResources));
+			while (!path.isEmpty()) {
+				Iterator<URI> iterator = targets.peek();
+				if (iterator.hasNext()) {
+					URI target = iterator.next();
+					if (pending.contains(target) && visited.add(target)) {
+						path.push(target);
+						targets.push(getReferences(target, referencedResources));
+					}
+				} else {
+					result.add(path.pop());
+					targets.pop();
+				}
+			}
+		}
+		return result;
+	}
+
+	private Iterator<URI> getReferences(URI uri, Map<URI, Set<URI>> referencedResources) {
+		Set<URI> result = referencedResources.get(uri);
+		if (result == null) {
+			return Collections.emptyIterator();
+		}
+		return result.iterator();
+	}
+
+	/**
+	 * Selects the resources that should stay in the resource set when a cluster is cut. These are the resources with
+	 * the highest positive weight, at most {@link #getMaximumPinnedResources()} many.
+	 *
+	 * @param weight
+	 *            the number of references from pending resources to the resource with the given URI.
+	 */
+	public Set<Resource> getResourcesToKeep(List<Resource> loadedResources, ToIntFunction<URI> weight) {
+		if (maximumPinnedResources <= 0) {
+			return Collections.emptySet();
+		}
+		Map<Resource, Integer> weights = Maps.newHashMap();
+		List<Resource> candidates = new ArrayList<Resource>();
+		for (Resource resource : loadedResources) {
+			int resourceWeight = weight.applyAsInt(resource.getURI());
+			if (resourceWeight > 0) {
+				weights.put(resource, resourceWeight);
+				candidates.add(resource);
+			}
+		}
+		// stable sort, resources that have been loaded later win ties
+		Collections.reverse(candidates);
+		candidates.sort((a, b) -> Integer.compare(weights.get(b), weights.get(a)));
+		return new LinkedHashSet<Resource>(candidates.subList(0, Math.min(maximumPinnedResources, candidates.size())));
+	}
+
+	public int getMaximumPinnedResources() {
+		return maximumPinnedResources;
+	}
+
+	public void setMaximumPinnedResources(int maximumPinnedResources) {
+		this.maximumPinnedResources = maximumPinnedResources;
+	}
+
+}
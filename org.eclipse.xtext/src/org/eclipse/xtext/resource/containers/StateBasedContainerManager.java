@@ -7,15 +7,19 @@
  *******************************************************************************/
 package org.eclipse.xtext.resource.containers;
 
+import java.lang.ref.WeakReference;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.log4j.Logger;
 import org.eclipse.xtext.resource.IContainer;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceDescriptions;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsBasedContainer;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.MapMaker;
 import com.google.inject.Inject;
 
 /**
@@ -32,6 +36,37 @@ public class StateBasedContainerManager implements IContainer.Manager {
 	@Inject
 	private ProjectDescriptionBasedContainerManager delegate;
 	
+	/**
+	 * The containers per handle, shared by all resources that see them. Weakly keyed by the resource descriptions
+	 * that the containers are based on. The containers reference these descriptions, so they are only weakly
+	 * held, too. Otherwise the keys would never become unreachable.
+	 */
+	private final ConcurrentMap<IResourceDescriptions, SharedContainers> sharedContainers = new MapMaker().weakKeys().makeMap();
+	
+	private static class SharedContainers {
+		/**
+		 * The state or, for the {@link FlatResourceSetBasedAllContainersState fallback state}, its resource set.
+		 * Either may reference the descriptions that this instance is keyed by.
+		 */
+		private final WeakReference<Object> state;
+		private final ConcurrentMap<String, IContainer> containers = new MapMaker().weakValues().makeMap();
+		
+		private SharedContainers(IAllContainersState state) {
+			this.state = new WeakReference<Object>(getIdentity(state));
+		}
+		
+		private boolean isFor(IAllContainersState state) {
+			return this.state.get() == getIdentity(state);
+		}
+		
+		private static Object getIdentity(IAllContainersState state) {
+			// the fallback state is created anew for each request
+			if (state instanceof FlatResourceSetBasedAllContainersState)
+				return ((FlatResourceSetBasedAllContainersState) state).getResourceSet();
+			return state;
+		}
+	}
+	
 	@Override
 	public IContainer getContainer(IResourceDescription desc, IResourceDescriptions resourceDescriptions) {
 		if (delegate.shouldUseProjectDescriptionBasedContainers(resourceDescriptions)) {
@@ -43,7 +78,7 @@ public class StateBasedContainerManager implements IContainer.Manager {
 				log.debug("Cannot find IContainer for: " + desc.getURI());
 			return IContainer.NULL_CONTAINER;
 		}
-		IContainer result = createContainer(root, resourceDescriptions);
+		IContainer result = getSharedContainer(root, resourceDescriptions);
 		if (!result.hasResourceDescription(desc.getURI())) {
 			// desc has not been saved -> merge containers
 			result = new DescriptionAddingContainer(desc, result);
@@ -90,12 +125,41 @@ public class StateBasedContainerManager implements IContainer.Manager {
 		return result;
 	}
 
+	/**
+	 * Returns the container for the given handle that is shared by all resources that see it. The membership of a
+	 * shared container is answered by the current {@link IAllContainersState state}, so the container stays valid
+	 * when the visible containers of a project change. The containers are dropped when the state is replaced or when
+	 * they are no longer referenced.
+	 * 
+	 * @since 2.19
+	 */
+	protected IContainer getSharedContainer(String handle, IResourceDescriptions resourceDescriptions) {
+		IAllContainersState state = getState(resourceDescriptions);
+		SharedContainers shared = sharedContainers.get(resourceDescriptions);
+		if (shared == null || !shared.isFor(state)) {
+			shared = new SharedContainers(state);
+			sharedContainers.put(resourceDescriptions, shared);
+		}
+		IContainer result = shared.containers.get(handle);
+		if (result == null) {
+			result = createContainer(handle, resourceDescriptions);
+			if (result instanceof ResourceDescriptionsBasedContainer) {
+				// the descriptions may change while the container is shared
+				((ResourceDescriptionsBasedContainer) result).setUriToDescriptionCacheEnabled(false);
+			}
+			IContainer existing = shared.containers.putIfAbsent(handle, result);
+			if (existing != null)
+				result = existing;
+		}
+		return result;
+	}
+
 	protected List<IContainer> getVisibleContainers(List<String> handles, IResourceDescriptions resourceDescriptions) {
 		if (handles.isEmpty())
 			return Collections.emptyList();
 		List<IContainer> result = Lists.newArrayListWithExpectedSize(handles.size());
 		for(String handle: handles) {
-			IContainer container = createContainer(handle, resourceDescriptions);
+			IContainer container = getSharedContainer(handle, resourceDescriptions);
 			if (!container.isEmpty() || result.isEmpty())
 				result.add(container);
 		}
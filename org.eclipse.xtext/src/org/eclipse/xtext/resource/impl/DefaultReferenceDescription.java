@@ -12,17 +12,19 @@ import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EReference;
 import org.eclipse.xtext.EcoreUtil2;
 import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.SourceRange;
 
 /**
  * @author Sven Efftinge - Initial contribution and API
  */
-public class DefaultReferenceDescription implements IReferenceDescription {
+public class DefaultReferenceDescription implements IReferenceDescription.IWithSourceRange {
 
 	private int indexInList = -1;
 	private URI sourceEObjectUri;
 	private URI targetEObjectUri;
 	private EReference eReference;
 	private URI containerEObjectURI;
+	private SourceRange sourceRange;
 
 	public DefaultReferenceDescription(EObject from, EObject to, EReference eReference, int i, URI containerEObjectURI) {
 		this.sourceEObjectUri = EcoreUtil2.getPlatformResourceOrNormalizedURI(from);
@@ -71,4 +73,19 @@ public class DefaultReferenceDescription implements IReferenceDescription {
 		return containerEObjectURI;
 	}
 
+	/**
+	 * @since 2.19
+	 */
+	@Override
+	public SourceRange getSourceRange() {
+		return sourceRange;
+	}
+
+	/**
+	 * @since 2.19
+	 */
+	public void setSourceRange(SourceRange sourceRange) {
+		this.sourceRange = sourceRange;
+	}
+
 }
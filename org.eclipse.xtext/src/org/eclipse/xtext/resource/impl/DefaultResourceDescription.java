@@ -29,6 +29,8 @@ import org.eclipse.xtext.resource.IReferenceDescription;
 import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.util.IAcceptor;
 import org.eclipse.xtext.util.IResourceScopeCache;
+import org.eclipse.xtext.util.internal.Stopwatches;
+import org.eclipse.xtext.util.internal.Stopwatches.StoppedTask;
 
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
@@ -76,20 +78,26 @@ public class DefaultResourceDescription extends AbstractResourceDescription {
 				return Collections.<IEObjectDescription> emptyList();
 			}
 		}
-		final List<IEObjectDescription> exportedEObjects = newArrayList();
-		IAcceptor<IEObjectDescription> acceptor = new IAcceptor<IEObjectDescription>() {
-			@Override
-			public void accept(IEObjectDescription eObjectDescription) {
-				exportedEObjects.add(eObjectDescription);
+		StoppedTask task = Stopwatches.forTask("DefaultResourceDescription.computeExportedObjects", String.valueOf(getURI()));
+		try {
+			task.start();
+			final List<IEObjectDescription> exportedEObjects = newArrayList();
+			IAcceptor<IEObjectDescription> acceptor = new IAcceptor<IEObjectDescription>() {
+				@Override
+				public void accept(IEObjectDescription eObjectDescription) {
+					exportedEObjects.add(eObjectDescription);
+				}
+			};
+			TreeIterator<EObject> allProperContents = EcoreUtil.getAllProperContents(getResource(), false);
+			while (allProperContents.hasNext()) {
+				EObject content = allProperContents.next();
+				if (!strategy.createEObjectDescriptions(content, acceptor))
+					allProperContents.prune();
 			}
-		};
-		TreeIterator<EObject> allProperContents = EcoreUtil.getAllProperContents(getResource(), false);
-		while (allProperContents.hasNext()) {
-			EObject content = allProperContents.next();
-			if (!strategy.createEObjectDescriptions(content, acceptor))
-				allProperContents.prune();
+			return exportedEObjects;
+		} finally {
+			task.stop();
 		}
-		return exportedEObjects;
 	}
 
 	@Override
@@ -12,6 +12,7 @@ import java.util.Iterator;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.SourceRange;
 import org.eclipse.xtext.util.Arrays;
 
 import com.google.common.collect.Iterables;
@@ -89,9 +90,11 @@ public class DefaultResourceDescriptionDelta implements IResourceDescription.Del
 			return false;
 		String[] oldKeys = oldObj.getUserDataKeys();
 		String[] newKeys = newObj.getUserDataKeys();
-		if (oldKeys.length != newKeys.length)
+		if (countComparedUserDataKeys(oldKeys) != countComparedUserDataKeys(newKeys))
 			return false;
 		for (String key : oldKeys) {
+			if (!isComparedUserDataKey(key))
+				continue;
 			if (!Arrays.contains(newKeys, key))
 				return false;
 			String oldValue = oldObj.getUserData(key);
@@ -106,6 +109,26 @@ public class DefaultResourceDescriptionDelta implements IResourceDescription.Del
 		return true;
 	}
 
+	/**
+	 * Whether the user data with the given key is considered when exported objects are compared. The
+	 * {@link SourceRange source range} is not, since it changes with every edit before the object and does not affect
+	 * other resources.
+	 * 
+	 * @since 2.19
+	 */
+	protected boolean isComparedUserDataKey(String key) {
+		return !SourceRange.USER_DATA_KEY.equals(key);
+	}
+
+	private int countComparedUserDataKeys(String[] keys) {
+		int result = 0;
+		for (String key : keys) {
+			if (isComparedUserDataKey(key))
+				result++;
+		}
+		return result;
+	}
+
 	@Override
 	public URI getUri() {
 		return old == null ? _new.getURI() : old.getURI();
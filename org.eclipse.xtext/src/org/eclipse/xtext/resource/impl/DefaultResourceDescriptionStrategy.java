@@ -13,19 +13,30 @@ import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.emf.ecore.util.InternalEList;
 import org.eclipse.xtext.linking.lazy.LazyURIEncoder;
 import org.eclipse.xtext.naming.IQualifiedNameProvider;
 import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
 import org.eclipse.xtext.resource.EObjectDescription;
 import org.eclipse.xtext.resource.IDefaultResourceDescriptionStrategy;
 import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.ILocationInFileProvider;
 import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.SourceRange;
+import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.util.IAcceptor;
+import org.eclipse.xtext.util.ITextRegion;
+import org.eclipse.xtext.util.LineAndColumn;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.inject.Inject;
+import com.google.inject.Provider;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 
 /**
  * By default, all elements with a not null <code>name</code> feature and all cross-resource crossrefs are indexed.
@@ -35,6 +46,11 @@ import com.google.inject.Singleton;
 @Singleton
 public class DefaultResourceDescriptionStrategy implements IDefaultResourceDescriptionStrategy {
 
+	/**
+	 * @since 2.19
+	 */
+	public static final String RECORD_SOURCE_RANGES = "org.eclipse.xtext.resource.impl.DefaultResourceDescriptionStrategy.recordSourceRanges";
+
 	private final static Logger LOG = Logger.getLogger(DefaultResourceDescriptionStrategy.class);
 
 	@Inject
@@ -43,6 +59,15 @@ public class DefaultResourceDescriptionStrategy implements IDefaultResourceDescr
 	@Inject
 	private LazyURIEncoder uriEncoder;
 
+	/** Only requested if source ranges are recorded, since it may load the grammar. */
+	@Inject
+	private Provider<ILocationInFileProvider> locationInFileProvider;
+
+	/** Whether the source ranges of exported objects and references are stored in the index. */
+	@Inject(optional = true)
+	@Named(RECORD_SOURCE_RANGES)
+	private boolean recordSourceRanges = false;
+
 	public void setQualifiedNameProvider(IQualifiedNameProvider qualifiedNameProvider) {
 		this.qualifiedNameProvider = qualifiedNameProvider;
 	}
@@ -61,6 +86,21 @@ public class DefaultResourceDescriptionStrategy implements IDefaultResourceDescr
 		return uriEncoder;
 	}
 
+	/**
+	 * Lets the index store the {@link SourceRange source ranges} of exported objects and references, such that they
+	 * can be shown to the user without loading the resource. Disabled by default.
+	 * 
+	 * @since 2.19
+	 */
+	public void setRecordSourceRanges(boolean recordSourceRanges) {
+		this.recordSourceRanges = recordSourceRanges;
+	}
+
+	/** @since 2.19 */
+	public boolean isRecordSourceRanges() {
+		return recordSourceRanges;
+	}
+
 	@Override
 	public boolean createEObjectDescriptions(EObject eObject, IAcceptor<IEObjectDescription> acceptor) {
 		if (getQualifiedNameProvider() == null)
@@ -68,7 +108,13 @@ public class DefaultResourceDescriptionStrategy implements IDefaultResourceDescr
 		try {
 			QualifiedName qualifiedName = getQualifiedNameProvider().getFullyQualifiedName(eObject);
 			if (qualifiedName != null) {
-				acceptor.accept(EObjectDescription.create(qualifiedName, eObject));
+				SourceRange sourceRange = recordSourceRanges ? getSourceRange(eObject) : null;
+				if (sourceRange != null) {
+					acceptor.accept(EObjectDescription.create(qualifiedName, eObject,
+							ImmutableMap.of(SourceRange.USER_DATA_KEY, sourceRange.toUserData())));
+				} else {
+					acceptor.accept(EObjectDescription.create(qualifiedName, eObject));
+				}
 			}
 		} catch (Exception exc) {
 			LOG.error(exc.getMessage(), exc);
@@ -109,7 +155,37 @@ public class DefaultResourceDescriptionStrategy implements IDefaultResourceDescr
 	/** @since 2.0 */
 	protected IReferenceDescription createReferenceDescription(EObject owner, URI exportedContainerURI,
 			EReference eReference, int indexInList, EObject target) {
-		return new DefaultReferenceDescription(owner, target, eReference, indexInList, exportedContainerURI);
+		DefaultReferenceDescription result = new DefaultReferenceDescription(owner, target, eReference, indexInList,
+				exportedContainerURI);
+		if (recordSourceRanges) {
+			result.setSourceRange(getSourceRange(owner, eReference, indexInList));
+		}
+		return result;
+	}
+
+	/** @since 2.19 */
+	protected SourceRange getSourceRange(EObject eObject) {
+		return toSourceRange(eObject.eResource(), locationInFileProvider.get().getSignificantTextRegion(eObject));
+	}
+
+	/** @since 2.19 */
+	protected SourceRange getSourceRange(EObject owner, EReference eReference, int indexInList) {
+		return toSourceRange(owner.eResource(),
+				locationInFileProvider.get().getSignificantTextRegion(owner, eReference, indexInList));
+	}
+
+	/** @since 2.19 */
+	protected SourceRange toSourceRange(Resource resource, ITextRegion region) {
+		if (region == null || !(resource instanceof XtextResource)
+				|| ((XtextResource) resource).getParseResult() == null) {
+			return null;
+		}
+		ICompositeNode rootNode = ((XtextResource) resource).getParseResult().getRootNode();
+		int endOffset = region.getOffset() + region.getLength();
+		LineAndColumn start = NodeModelUtils.getLineAndColumn(rootNode, region.getOffset());
+		LineAndColumn end = NodeModelUtils.getLineAndColumn(rootNode, endOffset);
+		return new SourceRange(region.getOffset(), region.getLength(), start.getLine() - 1, start.getColumn() - 1,
+				end.getLine() - 1, end.getColumn() - 1);
 	}
 
 	protected boolean isIndexable(EReference eReference) {
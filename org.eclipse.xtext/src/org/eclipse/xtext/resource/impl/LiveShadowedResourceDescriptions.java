@@ -7,7 +7,11 @@
  *******************************************************************************/
 package org.eclipse.xtext.resource.impl;
 
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.emf.common.notify.Notifier;
 import org.eclipse.emf.common.util.URI;
@@ -28,6 +32,9 @@ import com.google.common.base.Function;
 import com.google.common.base.Predicate;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 
@@ -51,6 +58,46 @@ public class LiveShadowedResourceDescriptions extends ResourceSetBasedResourceDe
 	private Provider<IResourceDescriptions> globalDescriptionsProvider;
 
 	private IResourceDescriptions globalDescriptions;
+
+	private final boolean defaultShadowing = isDefaultShadowing(getClass());
+
+	private volatile LocalOverlay localOverlay;
+
+	/**
+	 * The local descriptions indexed by name. It is valid as long as the local resource set yields the same
+	 * descriptions, which are recreated by the resource description managers when a resource changes.
+	 */
+	private static class LocalOverlay {
+		private final List<IResourceDescription> descriptions;
+		private final ResourceDescriptionsData data;
+
+		private LocalOverlay(List<IResourceDescription> descriptions) {
+			this.descriptions = descriptions;
+			this.data = new ResourceDescriptionsData(descriptions);
+		}
+
+		private boolean isFor(List<IResourceDescription> current) {
+			if (current.size() != descriptions.size())
+				return false;
+			for (int i = 0; i < current.size(); i++) {
+				if (current.get(i) != descriptions.get(i))
+					return false;
+			}
+			return true;
+		}
+	}
+
+	private static boolean isDefaultShadowing(Class<?> clazz) {
+		for (Class<?> c = clazz; c != LiveShadowedResourceDescriptions.class; c = c.getSuperclass()) {
+			try {
+				c.getDeclaredMethod("isExistingOrRenamedResourceURI", URI.class);
+				return false;
+			} catch (NoSuchMethodException e) {
+				// not overridden here
+			}
+		}
+		return true;
+	}
 	
 	@Override
 	public void setContext(Notifier ctx) {
@@ -71,12 +118,29 @@ public class LiveShadowedResourceDescriptions extends ResourceSetBasedResourceDe
 
 	@Override
 	public Iterable<IResourceDescription> getAllResourceDescriptions() {
-		Iterable<IResourceDescription> notInLiveResourceSet = Iterables.filter(globalDescriptions.getAllResourceDescriptions(), new Predicate<IResourceDescription>() {
+		Iterable<IResourceDescription> notInLiveResourceSet = new Iterable<IResourceDescription>() {
 			@Override
-			public boolean apply(IResourceDescription input) {
-				return !isExistingOrRenamedResourceURI(input.getURI());
+			public Iterator<IResourceDescription> iterator() {
+				Iterator<IResourceDescription> all = globalDescriptions.getAllResourceDescriptions().iterator();
+				if (!defaultShadowing) {
+					return Iterators.filter(all, new Predicate<IResourceDescription>() {
+						@Override
+						public boolean apply(IResourceDescription input) {
+							return !isExistingOrRenamedResourceURI(input.getURI());
+						}
+					});
+				}
+				final Set<URI> shadowedURIs = getShadowedResourceURIs();
+				if (shadowedURIs.isEmpty())
+					return all;
+				return Iterators.filter(all, new Predicate<IResourceDescription>() {
+					@Override
+					public boolean apply(IResourceDescription input) {
+						return !shadowedURIs.contains(input.getURI());
+					}
+				});
 			}
-		});
+		};
 		Iterable<IResourceDescription> result = Iterables.concat(localDescriptions.getAllResourceDescriptions(), notInLiveResourceSet);
 		return result;
 	}
@@ -114,6 +178,31 @@ public class LiveShadowedResourceDescriptions extends ResourceSetBasedResourceDe
 		throw new IllegalStateException("ResourceSet is not a ResourceSetImpl");
 	}
 
+	/**
+	 * Returns the URIs of the resources in the local resource set that have a description in the global index. These
+	 * are the global descriptions that are shadowed by the local resource set. The set is computed from the local
+	 * resources, so its size does not depend on the size of the index. It is only used as long as
+	 * {@link #isExistingOrRenamedResourceURI(URI)} is not overridden, otherwise all global descriptions are tested
+	 * with that method.
+	 * 
+	 * @since 2.19
+	 */
+	protected Set<URI> getShadowedResourceURIs() {
+		ResourceSet resourceSet = localDescriptions.getResourceSet();
+		if (resourceSet instanceof ResourceSetImpl) {
+			Map<URI, Resource> map = ((ResourceSetImpl) resourceSet).getURIResourceMap();
+			if (map == null || map.isEmpty())
+				return Collections.emptySet();
+			Set<URI> result = Sets.newHashSet();
+			for (URI uri : map.keySet()) {
+				if (uri != null && globalDescriptions.getResourceDescription(uri) != null)
+					result.add(uri);
+			}
+			return result;
+		}
+		throw new IllegalStateException("ResourceSet is not a ResourceSetImpl");
+	}
+
 	@Override
 	public Iterable<IEObjectDescription> getExportedObjects() {
 		return Iterables.concat(Iterables.transform(getAllResourceDescriptions(), new Function<ISelectable, Iterable<IEObjectDescription>>() {
@@ -128,11 +217,27 @@ public class LiveShadowedResourceDescriptions extends ResourceSetBasedResourceDe
 
 	@Override
 	public Iterable<IEObjectDescription> getExportedObjects(EClass type, QualifiedName name, boolean ignoreCase) {
-		Iterable<IEObjectDescription> liveDescriptions = localDescriptions.getExportedObjects(type, name, ignoreCase);
+		Iterable<IEObjectDescription> liveDescriptions = getLocalOverlay().getExportedObjects(type, name, ignoreCase);
 		Iterable<IEObjectDescription> persistentDescriptions = globalDescriptions.getExportedObjects(type, name, ignoreCase);
 		return joinIterables(liveDescriptions, persistentDescriptions);
 	}
 
+	/**
+	 * Returns the local descriptions indexed by name, so that a lookup by name does not ask every local resource. The
+	 * index is rebuilt when the local descriptions change.
+	 * 
+	 * @since 2.19
+	 */
+	protected IResourceDescriptions getLocalOverlay() {
+		List<IResourceDescription> current = Lists.newArrayList(localDescriptions.getAllResourceDescriptions());
+		LocalOverlay result = localOverlay;
+		if (result == null || !result.isFor(current)) {
+			result = new LocalOverlay(current);
+			localOverlay = result;
+		}
+		return result.data;
+	}
+
 	protected Iterable<IEObjectDescription> joinIterables(Iterable<IEObjectDescription> liveDescriptions,
 			Iterable<IEObjectDescription> persistentDescriptions) {
 		Iterable<IEObjectDescription> filteredPersistent = Iterables.filter(persistentDescriptions, new Predicate<IEObjectDescription>() {
@@ -192,7 +297,7 @@ public class LiveShadowedResourceDescriptions extends ResourceSetBasedResourceDe
 
 	@Override
 	public boolean isShadowed(EClass type, QualifiedName name, boolean ignoreCase) {
-		return !Iterables.isEmpty(localDescriptions.getExportedObjects(type, name, ignoreCase))
+		return !Iterables.isEmpty(getLocalOverlay().getExportedObjects(type, name, ignoreCase))
 				&& !Iterables.isEmpty(globalDescriptions.getExportedObjects(type, name, ignoreCase));
 	}
 
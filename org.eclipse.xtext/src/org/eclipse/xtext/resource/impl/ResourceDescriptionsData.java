@@ -22,10 +22,12 @@ import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.xtext.EcoreUtil2;
 import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.naming.QualifiedNameTable;
 import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceDescription.Delta;
 import org.eclipse.xtext.resource.IResourceDescriptions;
+import org.eclipse.xtext.resource.persistence.SerializableResourceDescription;
 
 import com.google.common.annotations.Beta;
 import com.google.common.base.Function;
@@ -90,7 +92,15 @@ import com.google.common.collect.Sets;
 	 */
 	private final Map<QualifiedName, Object> lookupMap;
 
+	/**
+	 * The names of the index. The keys of the {@link #lookupMap} as well as the names of
+	 * {@link SerializableResourceDescription serializable descriptions} are taken from it, such that names that are
+	 * exported or imported by many resources are only kept once. It is shared with {@link #copy() copies}.
+	 */
+	private final QualifiedNameTable nameTable;
+
 	public ResourceDescriptionsData(Iterable<IResourceDescription> descriptions) {
+		nameTable = new QualifiedNameTable();
 		int expectedSize = 500; // magic number in case it's not a Collection
 		if (descriptions instanceof Collection) {
 			expectedSize = ((Collection<?>) descriptions).size();
@@ -107,14 +117,32 @@ import com.google.common.collect.Sets;
 	}
 
 	protected ResourceDescriptionsData(Map<URI, IResourceDescription> resourceDescriptionMap, Map<QualifiedName, Object> lookupMap) {
+		this(resourceDescriptionMap, lookupMap, new QualifiedNameTable());
+	}
+
+	/**
+	 * @since 2.19
+	 */
+	protected ResourceDescriptionsData(Map<URI, IResourceDescription> resourceDescriptionMap, Map<QualifiedName, Object> lookupMap, QualifiedNameTable nameTable) {
 		this.resourceDescriptionMap = resourceDescriptionMap;
 		this.lookupMap = lookupMap;
+		this.nameTable = nameTable;
 	}
 	
 	public ResourceDescriptionsData copy() {
 		return new ResourceDescriptionsData(
 				Maps.newLinkedHashMap(resourceDescriptionMap),
-				copyLookupMap());
+				copyLookupMap(),
+				nameTable);
+	}
+
+	/**
+	 * The table that provides the names of this index.
+	 * 
+	 * @since 2.19
+	 */
+	protected QualifiedNameTable getNameTable() {
+		return nameTable;
 	}
 	
 	protected Map<QualifiedName, Object> copyLookupMap() {
@@ -213,8 +241,11 @@ import com.google.common.collect.Sets;
 
 	@SuppressWarnings("unchecked")
 	protected void registerDescription(IResourceDescription description, Map<QualifiedName, Object> target) {
+		if (description instanceof SerializableResourceDescription) {
+			((SerializableResourceDescription) description).shareNames(nameTable);
+		}
 		for(IEObjectDescription object: description.getExportedObjects()) {
-			QualifiedName lowerCase = object.getName().toLowerCase();
+			QualifiedName lowerCase = nameTable.get(object.getName()).toLowerCase();
 			Object existing = target.put(lowerCase, description);
 			if (existing != null && existing != description) {
 				Set<IResourceDescription> set = null;
@@ -24,9 +24,11 @@ import org.eclipse.emf.ecore.InternalEObject
 import org.eclipse.emf.ecore.util.EcoreUtil
 import org.eclipse.xtend.lib.annotations.Accessors
 import org.eclipse.xtext.naming.QualifiedName
+import org.eclipse.xtext.naming.QualifiedNameTable
 import org.eclipse.xtext.resource.IEObjectDescription
 import org.eclipse.xtext.resource.IReferenceDescription
 import org.eclipse.xtext.resource.IResourceDescription
+import org.eclipse.xtext.resource.SourceRange
 import org.eclipse.xtext.resource.impl.AbstractResourceDescription
 
 import static extension org.eclipse.xtext.resource.persistence.SerializationExtensions.*
@@ -69,6 +71,7 @@ import static extension org.eclipse.xtext.resource.persistence.SerializationExte
 			EReference = desc.EReference
 			indexInList = desc.indexInList
 			containerEObjectURI = desc.containerEObjectURI
+			sourceRange = SourceRange.of(desc)
 		]
 	}	
 	
@@ -87,6 +90,22 @@ import static extension org.eclipse.xtext.resource.persistence.SerializationExte
 		this.uRI = uri
 	}
 	
+	/**
+	 * Replaces the exported and imported names of this description by the equal names of the given table.
+	 * 
+	 * @since 2.19
+	 */
+	def void shareNames(QualifiedNameTable nameTable) {
+		for (desc : descriptions) {
+			desc.qualifiedName = nameTable.get(desc.qualifiedName)
+		}
+		val sharedImportedNames = new ArrayList(importedNames.size)
+		for (name : importedNames) {
+			sharedImportedNames += nameTable.get(name)
+		}
+		importedNames = sharedImportedNames
+	}
+	
 	override protected computeExportedObjects() {
 		descriptions as List<?> as List<IEObjectDescription>
 	}
@@ -202,19 +221,29 @@ interface SerializableEObjectDescriptionProvider {
 /**
  * @since 2.8
  */
-@Accessors class SerializableReferenceDescription implements IReferenceDescription, Externalizable {
+@Accessors class SerializableReferenceDescription implements IReferenceDescription.IWithSourceRange, Externalizable {
 	URI sourceEObjectUri
 	URI targetEObjectUri
 	URI containerEObjectURI
 	EReference eReference
 	int indexInList
+	/**
+	 * @since 2.19
+	 */
+	SourceRange sourceRange
 	
 	override readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
 		sourceEObjectUri = in.readURI
 		targetEObjectUri = in.readURI
 		containerEObjectURI = in.readURI
 		eReference = in.readEcoreElement
-		indexInList = in.readInt
+		val index = in.readInt
+		if (index < -1) {
+			indexInList = -3 - index
+			sourceRange = new SourceRange(in.readInt, in.readInt, in.readInt, in.readInt, in.readInt, in.readInt)
+		} else {
+			indexInList = index
+		}
 	}
 	
 	override writeExternal(ObjectOutput out) throws IOException {
@@ -222,7 +251,18 @@ interface SerializableEObjectDescriptionProvider {
 		out.writeURI(targetEObjectUri)
 		out.writeURI(containerEObjectURI)
 		out.writeEcoreElement(eReference)
-		out.writeInt(indexInList)
+		if (sourceRange === null) {
+			out.writeInt(indexInList)
+		} else {
+			// an index below -1 announces the source range, such that data written without ranges stays readable
+			out.writeInt(-3 - indexInList)
+			out.writeInt(sourceRange.offset)
+			out.writeInt(sourceRange.length)
+			out.writeInt(sourceRange.line)
+			out.writeInt(sourceRange.column)
+			out.writeInt(sourceRange.endLine)
+			out.writeInt(sourceRange.endColumn)
+		}
 	}
 	
 	def void updateResourceURI(URI newURI, URI oldURI) {
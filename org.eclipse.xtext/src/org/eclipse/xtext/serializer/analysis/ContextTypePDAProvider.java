@@ -222,7 +222,7 @@ public class ContextTypePDAProvider implements IContextTypePDAProvider {
 
 	private static Logger LOG = Logger.getLogger(ContextTypePDAProvider.class);
 
-	private Map<Grammar, SerializationContextMap<Pda<ISerState, RuleCall>>> cache = Maps.newHashMap();
+	private Map<Grammar, SerializationContextMap<Pda<ISerState, RuleCall>>> cache = Maps.newConcurrentMap();
 
 	@Inject
 	protected SerializerPDACloneFactory factory;
@@ -236,6 +236,12 @@ public class ContextTypePDAProvider implements IContextTypePDAProvider {
 	@Inject
 	protected NfaUtil nfaUtil;
 
+	/**
+	 * @since 2.19
+	 */
+	@Inject
+	protected ContextTypePDASnapshot snapshot;
+
 	protected Set<EClass> collectTypes(Pda<ISerState, RuleCall> contextPda, Map<ISerState, Integer> distances) {
 		TypeCollector collector = newTypeCollector();
 		pdaUtil.filterEdges(contextPda, collector, distances, null);
@@ -253,36 +259,47 @@ public class ContextTypePDAProvider implements IContextTypePDAProvider {
 		SerializationContextMap<Pda<ISerState, RuleCall>> cached = cache.get(grammar);
 		if (cached != null)
 			return cached;
-		SerializationContextMap.Builder<Pda<ISerState, RuleCall>> builder = SerializationContextMap.builder();
-
-		SerializationContextMap<Pda<ISerState, RuleCall>> contextPDAs = pdaProvider.getContextPDAs(grammar);
-		for (SerializationContextMap.Entry<Pda<ISerState, RuleCall>> e : contextPDAs.values()) {
-			List<ISerializationContext> parents = e.getContexts();
-			Pda<ISerState, RuleCall> contextPDA = e.getValue();
-			try {
-				Map<ISerState, Integer> distances = nfaUtil.distanceToFinalStateMap(contextPDA);
-				Set<EClass> types = collectTypes(contextPDA, distances);
-				if (types.size() == 1) {
-					for (ISerializationContext parent : parents) {
-						TypeContext ctx = new TypeContext(parent, types.iterator().next());
-						builder.put(ctx, contextPDA);
-					}
-				} else {
-					for (EClass type : types) {
-						Pda<ISerState, RuleCall> filtered = filterByType(contextPDA, type, distances);
+		// the analysis adds adapters to the grammar elements, so a grammar is analyzed by one thread at a time
+		synchronized (grammar) {
+			cached = cache.get(grammar);
+			if (cached != null)
+				return cached;
+			SerializationContextMap<Pda<ISerState, RuleCall>> loaded = snapshot.load(grammar);
+			if (loaded != null) {
+				cache.put(grammar, loaded);
+				return loaded;
+			}
+			SerializationContextMap.Builder<Pda<ISerState, RuleCall>> builder = SerializationContextMap.builder();
+
+			SerializationContextMap<Pda<ISerState, RuleCall>> contextPDAs = pdaProvider.getContextPDAs(grammar);
+			for (SerializationContextMap.Entry<Pda<ISerState, RuleCall>> e : contextPDAs.values()) {
+				List<ISerializationContext> parents = e.getContexts();
+				Pda<ISerState, RuleCall> contextPDA = e.getValue();
+				try {
+					Map<ISerState, Integer> distances = nfaUtil.distanceToFinalStateMap(contextPDA);
+					Set<EClass> types = collectTypes(contextPDA, distances);
+					if (types.size() == 1) {
 						for (ISerializationContext parent : parents) {
-							TypeContext typeContext = new TypeContext(parent, type);
-							builder.put(typeContext, filtered);
+							TypeContext ctx = new TypeContext(parent, types.iterator().next());
+							builder.put(ctx, contextPDA);
+						}
+					} else {
+						for (EClass type : types) {
+							Pda<ISerState, RuleCall> filtered = filterByType(contextPDA, type, distances);
+							for (ISerializationContext parent : parents) {
+								TypeContext typeContext = new TypeContext(parent, type);
+								builder.put(typeContext, filtered);
+							}
 						}
 					}
+				} catch (Exception x) {
+					LOG.error("Error extracting PDAs for types for context '" + parents + "': " + x.getMessage(), x);
 				}
-			} catch (Exception x) {
-				LOG.error("Error extracting PDAs for types for context '" + parents + "': " + x.getMessage(), x);
 			}
+			SerializationContextMap<Pda<ISerState, RuleCall>> result = builder.create();
+			cache.put(grammar, result);
+			return result;
 		}
-		SerializationContextMap<Pda<ISerState, RuleCall>> result = builder.create();
-		cache.put(grammar, result);
-		return result;
 	}
 
 	protected TypeCollector newTypeCollector() {
@@ -0,0 +1,531 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Sigasi N.V. (http://www.sigasi.com) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.serializer.analysis;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.URIConverter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.AbstractElement;
+import org.eclipse.xtext.AbstractMetamodelDeclaration;
+import org.eclipse.xtext.Action;
+import org.eclipse.xtext.Grammar;
+import org.eclipse.xtext.GrammarUtil;
+import org.eclipse.xtext.Parameter;
+import org.eclipse.xtext.ParserRule;
+import org.eclipse.xtext.RuleCall;
+import org.eclipse.xtext.serializer.ISerializationContext;
+import org.eclipse.xtext.serializer.analysis.ISerState.SerStateType;
+import org.eclipse.xtext.serializer.analysis.SerializationContext.ActionContext;
+import org.eclipse.xtext.serializer.analysis.SerializationContext.ParameterValueContext;
+import org.eclipse.xtext.serializer.analysis.SerializationContext.RuleContext;
+import org.eclipse.xtext.serializer.analysis.SerializationContext.TypeContext;
+import org.eclipse.xtext.util.formallang.Pda;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.io.ByteStreams;
+import com.google.inject.Singleton;
+
+/**
+ * Reads and writes the {@link IContextTypePDAProvider#getContextTypePDAs(Grammar) context type PDAs} of a grammar in a
+ * compact binary format. The language generator stores the snapshot next to the binary grammar, such that the
+ * serializer does not need to analyze the grammar again in every new JVM.
+ *
+ * The context type PDAs are computed from the {@link IContextPDAProvider context PDAs} of the grammar by filtering
+ * them by type. The grammar constraints and the syntactic sequencer PDAs are in turn computed from the context type
+ * PDAs. Loading a snapshot thus skips the construction of the context PDAs and the type filtering.
+ *
+ * Grammar elements are stored by the name of their grammar and their fragment path relative to it, types by the
+ * namespace URI of their package and their name. Each snapshot contains a {@link #getFingerprint(Grammar)
+ * fingerprint} of the grammar and the grammars it uses. A snapshot whose fingerprint does not match the grammar,
+ * e.g. because the grammar has been changed after the snapshot was generated, is ignored.
+ *
+ * @since 2.19
+ */
+@Singleton
+public class ContextTypePDASnapshot {
+
+	public static final String FILE_EXTENSION = "serializerbin";
+
+	private static final Logger LOG = Logger.getLogger(ContextTypePDASnapshot.class);
+
+	private static final int VERSION_2 = 2;
+
+	private static final int NULL_CONTEXT = 0;
+
+	private static final int RULE_CONTEXT = 1;
+
+	private static final int ACTION_CONTEXT = 2;
+
+	private static final int PARAMETER_VALUE_CONTEXT = 3;
+
+	private static final int TYPE_CONTEXT = 4;
+
+	private static final int GRAMMAR_ELEMENT = 0;
+
+	private static final int TYPE = 1;
+
+	/**
+	 * Returns the path of the snapshot of the given grammar, relative to the class path.
+	 */
+	public String getClasspathRelativePath(Grammar grammar) {
+		return GrammarUtil.getLanguageId(grammar).replace('.', '/') + "." + FILE_EXTENSION;
+	}
+
+	/**
+	 * Loads the snapshot that is stored next to the binary grammar of the given grammar.
+	 *
+	 * @return the context type PDAs or <code>null</code> if there is no valid snapshot for the grammar.
+	 */
+	public SerializationContextMap<Pda<ISerState, RuleCall>> load(Grammar grammar) {
+		Resource resource = grammar.eResource();
+		if (resource == null || resource.getURI() == null || !"xtextbin".equals(resource.getURI().fileExtension()))
+			return null;
+		URI uri = resource.getURI().trimFileExtension().appendFileExtension(FILE_EXTENSION);
+		URIConverter converter = resource.getResourceSet() != null ? resource.getResourceSet().getURIConverter()
+				: URIConverter.INSTANCE;
+		InputStream in;
+		try {
+			if (!converter.exists(uri, null))
+				return null;
+			in = converter.createInputStream(uri);
+		} catch (IOException | RuntimeException e) {
+			// classpath URIs that cannot be resolved end up here
+			return null;
+		}
+		try {
+			return readFrom(grammar, in);
+		} catch (IOException | RuntimeException e) {
+			LOG.warn("Error reading serializer snapshot '" + uri + "': " + e.getMessage(), e);
+			return null;
+		} finally {
+			try {
+				in.close();
+			} catch (IOException e) {
+				LOG.error(e.getMessage(), e);
+			}
+		}
+	}
+
+	public void writeTo(Grammar grammar, SerializationContextMap<Pda<ISerState, RuleCall>> pdas, OutputStream stream)
+			throws IOException {
+		Map<EObject, Integer> references = Maps.newLinkedHashMap();
+		for (SerializationContextMap.Entry<Pda<ISerState, RuleCall>> e : pdas.values()) {
+			for (ISerializationContext context : e.getContexts()) {
+				collectReferences(context, references);
+			}
+			for (ISerState state : collectStates(e.getValue())) {
+				addReference(state.getGrammarElement(), references);
+			}
+		}
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+		try {
+			out.writeInt(VERSION_2);
+			out.writeUTF(grammar.getName());
+			byte[] fingerprint = getFingerprint(grammar);
+			writeCompressedInt(out, fingerprint.length);
+			out.write(fingerprint);
+			writeCompressedInt(out, references.size());
+			for (EObject reference : references.keySet()) {
+				writeReference(reference, out);
+			}
+			writeCompressedInt(out, pdas.values().size());
+			for (SerializationContextMap.Entry<Pda<ISerState, RuleCall>> e : pdas.values()) {
+				writeCompressedInt(out, e.getContexts().size());
+				for (ISerializationContext context : e.getContexts()) {
+					writeContext(context, references, out);
+				}
+				writePda(e.getValue(), references, out);
+			}
+		} finally {
+			out.flush();
+		}
+	}
+
+	/**
+	 * Reads a snapshot of the given grammar.
+	 *
+	 * @return the context type PDAs or <code>null</code> if the snapshot has been written for a different version of
+	 *         the grammar.
+	 */
+	public SerializationContextMap<Pda<ISerState, RuleCall>> readFrom(Grammar grammar, InputStream stream)
+			throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+		int version = in.readInt();
+		if (version != VERSION_2)
+			throw new IOException("Unsupported version " + version);
+		String grammarName = in.readUTF();
+		if (!grammarName.equals(grammar.getName()))
+			throw new IOException("Expected a snapshot for " + grammar.getName() + " but got " + grammarName);
+		byte[] fingerprint = new byte[readCompressedInt(in)];
+		in.readFully(fingerprint);
+		if (!Arrays.equals(fingerprint, getFingerprint(grammar))) {
+			if (LOG.isDebugEnabled())
+				LOG.debug("Ignoring outdated serializer snapshot for " + grammarName);
+			return null;
+		}
+		Map<String, Grammar> grammars = Maps.newHashMap();
+		grammars.put(grammar.getName(), grammar);
+		for (Grammar used : GrammarUtil.allUsedGrammars(grammar)) {
+			grammars.put(used.getName(), used);
+		}
+		int referenceCount = readCompressedInt(in);
+		List<EObject> references = Lists.newArrayListWithCapacity(referenceCount);
+		for (int i = 0; i < referenceCount; i++) {
+			references.add(readReference(grammars, in));
+		}
+		SerializationContextMap.Builder<Pda<ISerState, RuleCall>> builder = SerializationContextMap.builder();
+		int entryCount = readCompressedInt(in);
+		for (int i = 0; i < entryCount; i++) {
+			int contextCount = readCompressedInt(in);
+			List<ISerializationContext> contexts = Lists.newArrayListWithCapacity(contextCount);
+			for (int j = 0; j < contextCount; j++) {
+				contexts.add(readContext(references, in));
+			}
+			builder.put(contexts, readPda(references, in));
+		}
+		return builder.create();
+	}
+
+	/**
+	 * Computes a hash of the structure of the grammar and of all grammars it uses. It is the same for the grammar that
+	 * is read by the generator and for its binary copy, but changes with any edit of the grammar that could change
+	 * the analysis.
+	 */
+	public byte[] getFingerprint(Grammar grammar) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-1");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		DataOutputStream out = new DataOutputStream(new DigestOutputStream(ByteStreams.nullOutputStream(), digest));
+		try {
+			writeFingerprint(grammar, out);
+			for (Grammar used : GrammarUtil.allUsedGrammars(grammar)) {
+				writeFingerprint(used, out);
+			}
+			out.flush();
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return digest.digest();
+	}
+
+	protected void writeFingerprint(Grammar grammar, DataOutput out) throws IOException {
+		out.writeUTF(grammar.getName());
+		writeFingerprint((EObject) grammar, out);
+		for (Iterator<EObject> i = grammar.eAllContents(); i.hasNext();) {
+			EObject object = i.next();
+			out.writeUTF(object.eContainingFeature().getName());
+			writeFingerprint(object, out);
+		}
+	}
+
+	protected void writeFingerprint(EObject object, DataOutput out) throws IOException {
+		out.writeUTF(object.eClass().getName());
+		for (EStructuralFeature feature : object.eClass().getEAllStructuralFeatures()) {
+			if (feature.isDerived() || feature.isTransient() || !object.eIsSet(feature))
+				continue;
+			if (feature instanceof EReference && ((EReference) feature).isContainment())
+				continue;
+			out.writeUTF(feature.getName());
+			Object value = object.eGet(feature);
+			if (feature instanceof EAttribute) {
+				out.writeUTF(String.valueOf(value));
+			} else if (feature.isMany()) {
+				List<?> targets = (List<?>) value;
+				writeCompressedInt(out, targets.size());
+				for (Object target : targets) {
+					out.writeUTF(getFingerprintKey((EObject) target));
+				}
+			} else {
+				out.writeUTF(getFingerprintKey((EObject) value));
+			}
+		}
+	}
+
+	/**
+	 * Identifies a referenced object independently of the location of its resource.
+	 */
+	protected String getFingerprintKey(EObject target) {
+		if (target == null)
+			return "";
+		if (target instanceof EClassifier && ((EClassifier) target).getEPackage() != null)
+			return ((EClassifier) target).getEPackage().getNsURI() + "#" + ((EClassifier) target).getName();
+		if (target instanceof EPackage)
+			return String.valueOf(((EPackage) target).getNsURI());
+		Grammar grammar = GrammarUtil.getGrammar(target);
+		if (grammar != null)
+			return grammar.getName() + "#" + EcoreUtil.getRelativeURIFragmentPath(grammar, target);
+		return target.eClass().getName();
+	}
+
+	protected void collectReferences(ISerializationContext context, Map<EObject, Integer> references) {
+		if (context == null)
+			return;
+		collectReferences(((SerializationContext) context).getParent(), references);
+		if (context instanceof RuleContext) {
+			addReference(context.getParserRule(), references);
+		} else if (context instanceof ActionContext) {
+			addReference(context.getAssignedAction(), references);
+		} else if (context instanceof ParameterValueContext) {
+			for (Parameter parameter : ((ParameterValueContext) context).getEnabledBooleanParametersInternal()) {
+				addReference(parameter, references);
+			}
+		} else if (context instanceof TypeContext) {
+			addReference(context.getType(), references);
+		} else {
+			throw new IllegalArgumentException("Unsupported context " + context.getClass().getName());
+		}
+	}
+
+	protected void addReference(EObject object, Map<EObject, Integer> references) {
+		if (object != null && !references.containsKey(object)) {
+			references.put(object, references.size());
+		}
+	}
+
+	protected void writeReference(EObject object, DataOutput out) throws IOException {
+		if (object instanceof EClass) {
+			EClass type = (EClass) object;
+			writeCompressedInt(out, TYPE);
+			out.writeUTF(type.getEPackage().getNsURI());
+			out.writeUTF(type.getName());
+		} else {
+			Grammar grammar = GrammarUtil.getGrammar(object);
+			writeCompressedInt(out, GRAMMAR_ELEMENT);
+			out.writeUTF(grammar.getName());
+			out.writeUTF(EcoreUtil.getRelativeURIFragmentPath(grammar, object));
+		}
+	}
+
+	protected EObject readReference(Map<String, Grammar> grammars, DataInput in) throws IOException {
+		int kind = readCompressedInt(in);
+		if (kind == TYPE) {
+			String nsURI = in.readUTF();
+			String name = in.readUTF();
+			EClassifier result = null;
+			EPackage pack = findEPackage(grammars.values(), nsURI);
+			if (pack != null)
+				result = pack.getEClassifier(name);
+			if (!(result instanceof EClass))
+				throw new IOException("Cannot resolve type " + nsURI + "#" + name);
+			return result;
+		}
+		String grammarName = in.readUTF();
+		String path = in.readUTF();
+		Grammar grammar = grammars.get(grammarName);
+		EObject result = grammar != null ? EcoreUtil.getEObject(grammar, path) : null;
+		if (result == null)
+			throw new IOException("Cannot resolve grammar element " + grammarName + "#" + path);
+		return result;
+	}
+
+	protected EPackage findEPackage(Iterable<Grammar> grammars, String nsURI) {
+		for (Grammar grammar : grammars) {
+			for (AbstractMetamodelDeclaration declaration : grammar.getMetamodelDeclarations()) {
+				EPackage pack = declaration.getEPackage();
+				if (pack != null && nsURI.equals(pack.getNsURI()))
+					return pack;
+			}
+		}
+		return EPackage.Registry.INSTANCE.getEPackage(nsURI);
+	}
+
+	protected void writeContext(ISerializationContext context, Map<EObject, Integer> references, DataOutput out)
+			throws IOException {
+		if (context == null) {
+			writeCompressedInt(out, NULL_CONTEXT);
+			return;
+		}
+		if (context instanceof RuleContext) {
+			writeCompressedInt(out, RULE_CONTEXT);
+			writeObject(context.getParserRule(), references, out);
+		} else if (context instanceof ActionContext) {
+			writeCompressedInt(out, ACTION_CONTEXT);
+			writeObject(context.getAssignedAction(), references, out);
+		} else if (context instanceof ParameterValueContext) {
+			writeCompressedInt(out, PARAMETER_VALUE_CONTEXT);
+			Set<Parameter> parameters = ((ParameterValueContext) context).getEnabledBooleanParametersInternal();
+			writeCompressedInt(out, parameters.size());
+			for (Parameter parameter : parameters) {
+				writeObject(parameter, references, out);
+			}
+		} else {
+			writeCompressedInt(out, TYPE_CONTEXT);
+			writeObject(context.getType(), references, out);
+		}
+		writeContext(((SerializationContext) context).getParent(), references, out);
+	}
+
+	protected ISerializationContext readContext(List<EObject> references, DataInput in) throws IOException {
+		int kind = readCompressedInt(in);
+		switch (kind) {
+			case NULL_CONTEXT:
+				return null;
+			case RULE_CONTEXT: {
+				ParserRule rule = (ParserRule) readObject(references, in);
+				return new RuleContext(readContext(references, in), rule);
+			}
+			case ACTION_CONTEXT: {
+				Action action = (Action) readObject(references, in);
+				return new ActionContext(readContext(references, in), action);
+			}
+			case PARAMETER_VALUE_CONTEXT: {
+				int size = readCompressedInt(in);
+				Set<Parameter> parameters = Sets.newLinkedHashSetWithExpectedSize(size);
+				for (int i = 0; i < size; i++) {
+					parameters.add((Parameter) readObject(references, in));
+				}
+				return new ParameterValueContext(readContext(references, in), parameters);
+			}
+			case TYPE_CONTEXT: {
+				EClass type = (EClass) readObject(references, in);
+				return new TypeContext(readContext(references, in), type);
+			}
+			default:
+				throw new IOException("Unknown context kind " + kind);
+		}
+	}
+
+	/**
+	 * Collects the states of the PDA in breadth first order, starting with its start state.
+	 */
+	protected List<ISerState> collectStates(Pda<ISerState, RuleCall> pda) {
+		Set<ISerState> visited = Sets.newLinkedHashSet();
+		Deque<ISerState> queue = new ArrayDeque<ISerState>();
+		visited.add(pda.getStart());
+		queue.add(pda.getStart());
+		while (!queue.isEmpty()) {
+			ISerState state = queue.removeFirst();
+			for (ISerState follower : state.getFollowers()) {
+				if (visited.add(follower))
+					queue.add(follower);
+			}
+			for (ISerState precedent : state.getPrecedents()) {
+				if (visited.add(precedent))
+					queue.add(precedent);
+			}
+		}
+		visited.add(pda.getStop());
+		return Lists.newArrayList(visited);
+	}
+
+	protected void writePda(Pda<ISerState, RuleCall> pda, Map<EObject, Integer> references, DataOutput out)
+			throws IOException {
+		List<ISerState> states = collectStates(pda);
+		Map<ISerState, Integer> indices = Maps.newIdentityHashMap();
+		for (ISerState state : states) {
+			indices.put(state, indices.size());
+		}
+		writeCompressedInt(out, states.size());
+		writeCompressedInt(out, indices.get(pda.getStop()));
+		for (ISerState state : states) {
+			writeCompressedInt(out, state.getType().ordinal());
+			writeObject(state.getGrammarElement(), references, out);
+		}
+		// the precedents are stored as well because their order is not implied by the order of the followers
+		for (ISerState state : states) {
+			writeStates(state.getFollowers(), indices, out);
+			writeStates(state.getPrecedents(), indices, out);
+		}
+	}
+
+	protected void writeStates(List<ISerState> states, Map<ISerState, Integer> indices, DataOutput out)
+			throws IOException {
+		writeCompressedInt(out, states.size());
+		for (ISerState state : states) {
+			writeCompressedInt(out, indices.get(state));
+		}
+	}
+
+	protected Pda<ISerState, RuleCall> readPda(List<EObject> references, DataInput in) throws IOException {
+		int size = readCompressedInt(in);
+		int stop = readCompressedInt(in);
+		SerStateType[] types = SerStateType.values();
+		List<SerializerPDA.SerializerPDAState> states = Lists.newArrayListWithCapacity(size);
+		for (int i = 0; i < size; i++) {
+			SerStateType type = types[readCompressedInt(in)];
+			AbstractElement element = (AbstractElement) readObject(references, in);
+			states.add(new SerializerPDA.SerializerPDAState(element, type));
+		}
+		for (SerializerPDA.SerializerPDAState state : states) {
+			readStates(state.followers, states, in);
+			readStates(state.precedents, states, in);
+		}
+		return new SerializerPDA(states.get(0), states.get(stop));
+	}
+
+	protected void readStates(List<ISerState> result, List<? extends ISerState> states, DataInput in)
+			throws IOException {
+		int size = readCompressedInt(in);
+		for (int i = 0; i < size; i++) {
+			result.add(states.get(readCompressedInt(in)));
+		}
+	}
+
+	protected void writeObject(EObject object, Map<EObject, Integer> references, DataOutput out) throws IOException {
+		writeCompressedInt(out, object == null ? 0 : references.get(object) + 1);
+	}
+
+	protected EObject readObject(List<EObject> references, DataInput in) throws IOException {
+		int index = readCompressedInt(in);
+		return index == 0 ? null : references.get(index - 1);
+	}
+
+	protected void writeCompressedInt(DataOutput out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	protected int readCompressedInt(DataInput in) throws IOException {
+		int result = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = in.readUnsignedByte();
+			result |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return result;
+		}
+		throw new IOException("Malformed compressed int");
+	}
+
+}
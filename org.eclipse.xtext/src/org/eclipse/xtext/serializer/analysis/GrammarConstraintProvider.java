@@ -510,7 +510,7 @@ public class GrammarConstraintProvider implements IGrammarConstraintProvider {
 
 	private final static IConstraintElement UNINITIALIZED = new ConstraintElement(null, null, (AbstractElement) null, false, false);
 
-	private Map<Grammar, SerializationContextMap<IConstraint>> cache = Maps.newHashMap();
+	private Map<Grammar, SerializationContextMap<IConstraint>> cache = Maps.newConcurrentMap();
 
 	@Inject
 	protected Context2NameFunction context2Name;
@@ -616,26 +616,32 @@ public class GrammarConstraintProvider implements IGrammarConstraintProvider {
 		SerializationContextMap<IConstraint> cached = cache.get(grammar);
 		if (cached != null)
 			return cached;
-		SerializationContextMap.Builder<IConstraint> builder = SerializationContextMap.builder();
-		GrammarElementDeclarationOrder.get(grammar);
-		SerializationContextMap<Nfa<ISemState>> nfas = nfaProvider.getSemanticSequencerNFAs(grammar);
-		for (Entry<Nfa<ISemState>> e : nfas.values()) {
-			Nfa<ISemState> nfa = e.getValue();
-			for (EClass type : e.getTypes()) {
-				Constraint constraint = new Constraint(grammar, type, nfa);
-				List<ISerializationContext> contexts = e.getContexts(type);
-				constraint.contexts.addAll(contexts);
-				builder.put(contexts, constraint);
+		// GrammarElementDeclarationOrder.get() modifies the adapters of the grammar
+		synchronized (grammar) {
+			cached = cache.get(grammar);
+			if (cached != null)
+				return cached;
+			SerializationContextMap.Builder<IConstraint> builder = SerializationContextMap.builder();
+			GrammarElementDeclarationOrder.get(grammar);
+			SerializationContextMap<Nfa<ISemState>> nfas = nfaProvider.getSemanticSequencerNFAs(grammar);
+			for (Entry<Nfa<ISemState>> e : nfas.values()) {
+				Nfa<ISemState> nfa = e.getValue();
+				for (EClass type : e.getTypes()) {
+					Constraint constraint = new Constraint(grammar, type, nfa);
+					List<ISerializationContext> contexts = e.getContexts(type);
+					constraint.contexts.addAll(contexts);
+					builder.put(contexts, constraint);
+				}
 			}
+			SerializationContextMap<IConstraint> result = builder.create();
+			SerializationContextMap<Pda<ISerState, RuleCall>> typePDAs = typeProvider.getContextTypePDAs(grammar);
+			for (Entry<IConstraint> e : result.values()) {
+				Constraint constraint = (Constraint) e.getValue();
+				constraint.setName(findBestConstraintName(grammar, typePDAs, constraint));
+			}
+			cache.put(grammar, result);
+			return result;
 		}
-		SerializationContextMap<IConstraint> result = builder.create();
-		SerializationContextMap<Pda<ISerState, RuleCall>> typePDAs = typeProvider.getContextTypePDAs(grammar);
-		for (Entry<IConstraint> e : result.values()) {
-			Constraint constraint = (Constraint) e.getValue();
-			constraint.setName(findBestConstraintName(grammar, typePDAs, constraint));
-		}
-		cache.put(grammar, result);
-		return result;
 	}
 
 }
@@ -198,7 +198,7 @@ public class SemanticSequencerNfaProvider implements ISemanticSequencerNfaProvid
 
 	private static Logger LOG = Logger.getLogger(SemanticSequencerNfaProvider.class);
 
-	protected Map<Grammar, SerializationContextMap<Nfa<ISemState>>> cache = Maps.newHashMap();
+	protected Map<Grammar, SerializationContextMap<Nfa<ISemState>>> cache = Maps.newConcurrentMap();
 
 	@Inject
 	protected ISyntacticSequencerPDAProvider pdaProvider;
@@ -235,23 +235,28 @@ public class SemanticSequencerNfaProvider implements ISemanticSequencerNfaProvid
 		SerializationContextMap<Nfa<ISemState>> cached = cache.get(grammar);
 		if (cached != null)
 			return cached;
-		SerializationContextMap.Builder<Nfa<ISemState>> builder = SerializationContextMap.builder();
-		SerializationContextMap<ISynAbsorberState> PDAs = pdaProvider.getSyntacticSequencerPDAs(grammar);
-		for (SerializationContextMap.Entry<ISynAbsorberState> e : PDAs.values()) {
-			ISynAbsorberState synState = e.getValue();
-			for (EClass type : e.getTypes()) {
-				List<ISerializationContext> contexts = e.getContexts(type);
-				try {
-					SemNfa nfa = createNfa(grammar, synState, type);
-					builder.put(contexts, nfa);
-				} catch (Exception x) {
-					LOG.error("Error during static analysis of context '" + contexts + "': " + x.getMessage(), x);
+		synchronized (grammar) {
+			cached = cache.get(grammar);
+			if (cached != null)
+				return cached;
+			SerializationContextMap.Builder<Nfa<ISemState>> builder = SerializationContextMap.builder();
+			SerializationContextMap<ISynAbsorberState> PDAs = pdaProvider.getSyntacticSequencerPDAs(grammar);
+			for (SerializationContextMap.Entry<ISynAbsorberState> e : PDAs.values()) {
+				ISynAbsorberState synState = e.getValue();
+				for (EClass type : e.getTypes()) {
+					List<ISerializationContext> contexts = e.getContexts(type);
+					try {
+						SemNfa nfa = createNfa(grammar, synState, type);
+						builder.put(contexts, nfa);
+					} catch (Exception x) {
+						LOG.error("Error during static analysis of context '" + contexts + "': " + x.getMessage(), x);
+					}
 				}
 			}
+			SerializationContextMap<Nfa<ISemState>> result = builder.create();
+			cache.put(grammar, result);
+			return result;
 		}
-		SerializationContextMap<Nfa<ISemState>> result = builder.create();
-		cache.put(grammar, result);
-		return result;
 	}
 
 	protected void initContentValidationNeeded(EClass clazz, Nfa<ISemState> nfa) {
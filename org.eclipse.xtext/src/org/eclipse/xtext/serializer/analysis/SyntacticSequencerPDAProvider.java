@@ -519,7 +519,7 @@ public class SyntacticSequencerPDAProvider implements ISyntacticSequencerPDAProv
 
 	private static Logger LOG = Logger.getLogger(SyntacticSequencerPDAProvider.class);
 
-	protected Map<Grammar, SerializationContextMap<ISynAbsorberState>> cache = Maps.newHashMap();
+	protected Map<Grammar, SerializationContextMap<ISynAbsorberState>> cache = Maps.newConcurrentMap();
 
 	//	protected SequencerPDAProvider pdaProvider = createSequencerPDAProvider();
 	@Inject
@@ -616,25 +616,30 @@ public class SyntacticSequencerPDAProvider implements ISyntacticSequencerPDAProv
 		SerializationContextMap<ISynAbsorberState> cached = cache.get(grammar);
 		if (cached != null)
 			return cached;
-		SerializationContextMap.Builder<ISynAbsorberState> builder = SerializationContextMap.builder();
-		SerializationContextMap<Pda<ISerState, RuleCall>> typePDAs = pdaProvider.getContextTypePDAs(grammar);
-		for (Entry<Pda<ISerState, RuleCall>> e : typePDAs.values()) {
-			Pda<ISerState, RuleCall> pda = e.getValue();
-			List<ISerializationContext> contexts = e.getContexts();
-			try {
-				EClass type = contexts.get(0).getType();
-				Map<ISerState, SynAbsorberState> absorbers = Maps.newLinkedHashMap();
-				Map<SynAbsorberState, Map<ISerState, SynState>> emitters = Maps.newLinkedHashMap();
-				SynAbsorberState state = createAbsorberState(pda.getStart(), absorbers, emitters, type);
-				builder.put(contexts, state);
-			} catch (Exception x) {
-				String ctxs = Joiner.on(", ").join(contexts);
-				LOG.error("Error creating PDA for syntactic sequencer for contexts: " + ctxs + ": " + x.getMessage(), x);
+		synchronized (grammar) {
+			cached = cache.get(grammar);
+			if (cached != null)
+				return cached;
+			SerializationContextMap.Builder<ISynAbsorberState> builder = SerializationContextMap.builder();
+			SerializationContextMap<Pda<ISerState, RuleCall>> typePDAs = pdaProvider.getContextTypePDAs(grammar);
+			for (Entry<Pda<ISerState, RuleCall>> e : typePDAs.values()) {
+				Pda<ISerState, RuleCall> pda = e.getValue();
+				List<ISerializationContext> contexts = e.getContexts();
+				try {
+					EClass type = contexts.get(0).getType();
+					Map<ISerState, SynAbsorberState> absorbers = Maps.newLinkedHashMap();
+					Map<SynAbsorberState, Map<ISerState, SynState>> emitters = Maps.newLinkedHashMap();
+					SynAbsorberState state = createAbsorberState(pda.getStart(), absorbers, emitters, type);
+					builder.put(contexts, state);
+				} catch (Exception x) {
+					String ctxs = Joiner.on(", ").join(contexts);
+					LOG.error("Error creating PDA for syntactic sequencer for contexts: " + ctxs + ": " + x.getMessage(), x);
+				}
 			}
+			SerializationContextMap<ISynAbsorberState> result = builder.create();
+			cache.put(grammar, result);
+			return result;
 		}
-		SerializationContextMap<ISynAbsorberState> result = builder.create();
-		cache.put(grammar, result);
-		return result;
 	}
 
 	protected SynStateType getType(ISerState state) {
@@ -7,6 +7,10 @@
  *******************************************************************************/
 package org.eclipse.xtext.service;
 
+import java.lang.ref.SoftReference;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.xtext.Constants;
 import org.eclipse.xtext.Grammar;
@@ -15,7 +19,11 @@ import org.eclipse.xtext.parser.BaseEPackageAccess;
 import org.eclipse.xtext.resource.ClasspathUriUtil;
 import org.eclipse.xtext.resource.FileNotFoundOnClasspathException;
 import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.util.internal.Stopwatches;
+import org.eclipse.xtext.util.internal.Stopwatches.StoppedTask;
 
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.Maps;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
@@ -27,6 +35,24 @@ import com.google.inject.name.Named;
 @Singleton
 public class GrammarProvider {
 
+	private static final Logger LOG = Logger.getLogger(GrammarProvider.class);
+
+	/**
+	 * Name of the boolean binding that lets the grammar provider {@link #setShareGrammars(boolean) share} the
+	 * grammar with the other injectors of the same language.
+	 * 
+	 * @since 2.19
+	 */
+	public static final String SHARE_GRAMMARS = "org.eclipse.xtext.service.GrammarProvider.shareGrammars";
+
+	/**
+	 * Grammars that have already been loaded and resolved, per class loader and language name. Only the grammar
+	 * providers that {@link #setShareGrammars(boolean) share grammars} use this table. The grammars are softly
+	 * referenced since they keep their class loader alive through their resource set.
+	 */
+	private static final Map<ClassLoader, Map<String, SoftReference<Grammar>>> SHARED_GRAMMARS = new MapMaker()
+			.weakKeys().makeMap();
+
 	private final String languageName;
 
 	private volatile Grammar grammar;
@@ -36,6 +62,10 @@ public class GrammarProvider {
 	@Inject(optional=true)
 	private ClassLoader classLoader;
 
+	@Inject(optional=true)
+	@Named(SHARE_GRAMMARS)
+	private boolean shareGrammars = false;
+
 	@Inject
 	public GrammarProvider(@Named(Constants.LANGUAGE_NAME) String languageName, Provider<XtextResourceSet> resourceSetProvider) {
 		this.languageName = languageName;
@@ -49,26 +79,68 @@ public class GrammarProvider {
 			// DCL on a volatile is safe as of Java 5, which we obviously require.
 			synchronized(this) {
 				if (grammar == null) {
-					grammar = doGetGrammar(requestor);
+					if (shareGrammars) {
+						grammar = getSharedGrammar(requestor);
+					} else {
+						grammar = doGetGrammar(getClassLoader(requestor));
+					}
 				}
 			}
 		}
 		return grammar;
 	}
 
-	private Grammar doGetGrammar(Object requestor) {
-		Grammar grammar_ = null;
-		XtextResourceSet resourceSet = resourceSetProvider.get();
+	private Grammar getSharedGrammar(Object requestor) {
+		ClassLoader classLoaderToUse = getClassLoader(requestor);
+		Map<String, SoftReference<Grammar>> grammars = SHARED_GRAMMARS.get(classLoaderToUse);
+		if (grammars == null) {
+			Map<String, SoftReference<Grammar>> newGrammars = Maps.newHashMap();
+			grammars = SHARED_GRAMMARS.putIfAbsent(classLoaderToUse, newGrammars);
+			if (grammars == null) {
+				grammars = newGrammars;
+			}
+		}
+		synchronized (grammars) {
+			SoftReference<Grammar> reference = grammars.get(languageName);
+			Grammar result = reference != null ? reference.get() : null;
+			if (result == null) {
+				result = doGetGrammar(classLoaderToUse);
+				if (result != null) {
+					grammars.put(languageName, new SoftReference<Grammar>(result));
+				}
+			}
+			return result;
+		}
+	}
+
+	private ClassLoader getClassLoader(Object requestor) {
 		if (classLoader != null) {
-			resourceSet.setClasspathURIContext(classLoader);
-		} else {
-			final ClassLoader classLoaderToUse = requestor == null ? getClass().getClassLoader() : requestor.getClass().getClassLoader();
-			resourceSet.setClasspathURIContext(classLoaderToUse);
+			return classLoader;
 		}
+		return requestor == null ? getClass().getClassLoader() : requestor.getClass().getClassLoader();
+	}
+
+	private Grammar doGetGrammar(ClassLoader classLoaderToUse) {
+		long start = System.nanoTime();
+		Grammar grammar_ = null;
+		XtextResourceSet resourceSet = resourceSetProvider.get();
+		resourceSet.setClasspathURIContext(classLoaderToUse);
 		String fileWithoutExt = ClasspathUriUtil.CLASSPATH_SCHEME + ":/" + languageName.replace('.', '/');
 		try {
-			grammar_ = (Grammar) BaseEPackageAccess.loadGrammarFile(fileWithoutExt + ".xtextbin", resourceSet);
-			EcoreUtil.resolveAll(grammar_.eResource());
+			StoppedTask loadTask = Stopwatches.forTask("GrammarProvider.loadGrammar");
+			try {
+				loadTask.start();
+				grammar_ = (Grammar) BaseEPackageAccess.loadGrammarFile(fileWithoutExt + ".xtextbin", resourceSet);
+			} finally {
+				loadTask.stop();
+			}
+			StoppedTask resolveTask = Stopwatches.forTask("GrammarProvider.resolveGrammar");
+			try {
+				resolveTask.start();
+				EcoreUtil.resolveAll(grammar_.eResource());
+			} finally {
+				resolveTask.stop();
+			}
 		} catch (RuntimeException e) {
 			Throwable cause = e;
 			while (cause.getCause() != null)
@@ -79,8 +151,17 @@ public class GrammarProvider {
 				throw e;
 		}
 		if (grammar_ != null) {
-			AllRulesCache cache = new AllRulesCache(grammar_);
-			cache.attachToEmfObject(grammar_);
+			StoppedTask cacheTask = Stopwatches.forTask("GrammarProvider.indexRules");
+			try {
+				cacheTask.start();
+				AllRulesCache cache = new AllRulesCache(grammar_);
+				cache.attachToEmfObject(grammar_);
+			} finally {
+				cacheTask.stop();
+			}
+		}
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("Loaded grammar " + languageName + " in " + (System.nanoTime() - start) / 1000000 + "ms");
 		}
 		return grammar_;
 	}
@@ -94,4 +175,27 @@ public class GrammarProvider {
 	public void setClassLoader(ClassLoader classLoader) {
 		this.classLoader = classLoader;
 	}
+
+	/**
+	 * @since 2.19
+	 */
+	public boolean isShareGrammars() {
+		return shareGrammars;
+	}
+
+	/**
+	 * Whether the grammar is loaded once per class loader and then used by all injectors of the language that share
+	 * grammars. Disabled by default.
+	 * <p>
+	 * A shared grammar is not immutable. Components like {@link org.eclipse.xtext.xtext.RuleNames RuleNames} and
+	 * {@link org.eclipse.xtext.serializer.analysis.GrammarElementDeclarationOrder GrammarElementDeclarationOrder}
+	 * add adapters to it, and it is contained in the resource set of the injector that loaded it. Only enable
+	 * sharing if the injectors do not rely on their own grammar instance.
+	 * </p>
+	 * 
+	 * @since 2.19
+	 */
+	public void setShareGrammars(boolean shareGrammars) {
+		this.shareGrammars = shareGrammars;
+	}
 }
@@ -67,7 +67,7 @@ public class ResourceValidatorImpl implements IResourceValidator {
 	
 	@Override
 	public List<Issue> validate(Resource resource, final CheckMode mode, CancelIndicator mon) throws OperationCanceledError {
-		StoppedTask task = Stopwatches.forTask("ResourceValidatorImpl.validation");
+		StoppedTask task = Stopwatches.forTask("ResourceValidatorImpl.validation", String.valueOf(resource.getURI()));
 		try {
 			task.start();
 			final CancelIndicator monitor = mon == null ? CancelIndicator.NullImpl : mon;
@@ -13,6 +13,7 @@ import org.eclipse.xtend.lib.annotations.Accessors;
 import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor;
 import org.eclipse.xtext.build.ClusteringStorageAwareResourceLoader;
 import org.eclipse.xtext.build.IndexState;
+import org.eclipse.xtext.resource.IResourceDescriptions;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
 import org.eclipse.xtext.resource.XtextResourceSet;
 import org.eclipse.xtext.resource.clustering.IResourceClusteringPolicy;
@@ -42,6 +43,14 @@ public class BuildContext {
   @Accessors
   private final CancelIndicator cancelIndicator;
   
+  /**
+   * The index that is updated by the running build, or <code>null</code> if unknown.
+   * 
+   * @since 2.19
+   */
+  @Accessors
+  private IResourceDescriptions newIndex;
+  
   private ClusteringStorageAwareResourceLoader loader;
   
   public <T extends Object> Iterable<T> executeClustered(final Iterable<URI> uri, final Function1<? super Resource, ? extends T> operation) {
@@ -96,4 +105,13 @@ public class BuildContext {
   public CancelIndicator getCancelIndicator() {
     return this.cancelIndicator;
   }
+  
+  @Pure
+  public IResourceDescriptions getNewIndex() {
+    return this.newIndex;
+  }
+  
+  public void setNewIndex(final IResourceDescriptions newIndex) {
+    this.newIndex = newIndex;
+  }
 }
@@ -21,6 +21,7 @@ import org.eclipse.xtext.util.UriUtil;
 import org.eclipse.xtext.util.internal.Log;
 import org.eclipse.xtext.validation.Issue;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure2;
 import org.eclipse.xtext.xbase.lib.Pure;
@@ -100,6 +101,18 @@ public class BuildRequest {
   private Procedure1<? super URI> afterDeleteFile = ((Procedure1<URI>) (URI it) -> {
   });
   
+  /**
+   * Tells which of the affected resources should be linked, validated and generated first, e.g. the
+   * documents that are open in an editor. If any resource is prioritized, the remaining resources are
+   * processed in a continuation that can be canceled without losing the results of the prioritized ones.
+   * 
+   * @see IncrementalBuilder.Result#getPendingFiles()
+   * @since 2.19
+   */
+  private Function1<? super URI, ? extends Boolean> priorityHint = ((Function1<URI, Boolean>) (URI it) -> {
+    return Boolean.valueOf(false);
+  });
+  
   private IndexState state = new IndexState();
   
   private boolean writeStorageResources = false;
@@ -168,6 +181,15 @@ public class BuildRequest {
     this.afterDeleteFile = afterDeleteFile;
   }
   
+  @Pure
+  public Function1<? super URI, ? extends Boolean> getPriorityHint() {
+    return this.priorityHint;
+  }
+  
+  public void setPriorityHint(final Function1<? super URI, ? extends Boolean> priorityHint) {
+    this.priorityHint = priorityHint;
+  }
+  
   @Pure
   public IndexState getState() {
     return this.state;
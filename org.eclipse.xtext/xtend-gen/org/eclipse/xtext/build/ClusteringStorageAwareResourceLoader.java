@@ -9,20 +9,31 @@ package org.eclipse.xtext.build;
 
 import com.google.common.collect.Iterables;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor;
 import org.eclipse.xtext.build.BuildContext;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IResourceDescriptions;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
 import org.eclipse.xtext.resource.IResourceServiceProviderExtension;
+import org.eclipse.xtext.resource.clustering.IResourceClusteringPolicy;
+import org.eclipse.xtext.resource.clustering.ReferenceAwareClusteringPolicy;
 import org.eclipse.xtext.resource.persistence.SourceLevelURIsAdapter;
 import org.eclipse.xtext.resource.persistence.StorageAwareResource;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Extension;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
+import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.eclipse.xtext.xbase.lib.ListExtensions;
 
 /**
@@ -34,7 +45,16 @@ public class ClusteringStorageAwareResourceLoader {
   @Extension
   private final BuildContext context;
   
+  /**
+   * The names referenced by the resources that have been loaded by the reference-aware clustering so far.
+   */
+  private final Map<URI, Set<QualifiedName>> referencedNames = CollectionLiterals.<URI, Set<QualifiedName>>newHashMap();
+  
   public <T extends Object> Iterable<T> executeClustered(final Iterable<URI> uris, final Function1<? super Resource, ? extends T> operation) {
+    final IResourceClusteringPolicy policy = this.context.getClusteringPolicy();
+    if ((policy instanceof ReferenceAwareClusteringPolicy)) {
+      return this.<T>executeClustered(uris, operation, ((ReferenceAwareClusteringPolicy)policy));
+    }
     int loadedURIsCount = 0;
     final HashSet<URI> sourceLevelURIs = CollectionLiterals.<URI>newHashSet();
     final ArrayList<Resource> resources = CollectionLiterals.<Resource>newArrayList();
@@ -51,24 +71,98 @@ public class ClusteringStorageAwareResourceLoader {
           };
           List<T> _map = ListExtensions.<Resource, T>map(resources, _function);
           Iterables.<T>addAll(result, _map);
+          resources.clear();
           this.clearResourceSet();
           loadedURIsCount = 0;
         }
         loadedURIsCount++;
-        boolean _isSource = this.isSource(uri);
-        if (_isSource) {
-          sourceLevelURIs.add(uri);
-          final Resource existingResource = this.context.getResourceSet().getResource(uri, false);
-          if ((existingResource instanceof StorageAwareResource)) {
-            boolean _isLoadedFromStorage = ((StorageAwareResource)existingResource).isLoadedFromStorage();
-            if (_isLoadedFromStorage) {
-              ((StorageAwareResource)existingResource).unload();
+        Resource _loadResource = this.loadResource(uri, sourceLevelURIs);
+        resources.add(_loadResource);
+      }
+    }
+    final Function1<Resource, T> _function = (Resource it) -> {
+      return operation.apply(it);
+    };
+    List<T> _map = ListExtensions.<Resource, T>map(resources, _function);
+    Iterables.<T>addAll(result, _map);
+    return result;
+  }
+  
+  /**
+   * Processes the URIs in the order of their references and keeps the resources that are referenced by the
+   * pending URIs loaded across clusters, such that they don't have to be loaded again for the next cluster.
+   * 
+   * @since 2.19
+   */
+  protected <T extends Object> Iterable<T> executeClustered(final Iterable<URI> uris, final Function1<? super Resource, ? extends T> operation, final ReferenceAwareClusteringPolicy policy) {
+    final HashMap<URI, Set<URI>> referencedResources = CollectionLiterals.<URI, Set<URI>>newHashMap();
+    final HashMap<URI, Integer> pendingReferences = CollectionLiterals.<URI, Integer>newHashMap();
+    for (final URI uri : uris) {
+      {
+        final Set<URI> referenced = this.getReferencedResources(uri, policy);
+        referencedResources.put(uri, referenced);
+        for (final URI target : referenced) {
+          final BiFunction<Integer, Integer, Integer> _function = (Integer a, Integer b) -> {
+            return Integer.valueOf(((a).intValue() + (b).intValue()));
+          };
+          pendingReferences.merge(target, Integer.valueOf(1), _function);
+        }
+      }
+    }
+    int loadedURIsCount = 0;
+    final HashSet<URI> sourceLevelURIs = CollectionLiterals.<URI>newHashSet();
+    final ArrayList<Resource> resources = CollectionLiterals.<Resource>newArrayList();
+    final ArrayList<T> result = CollectionLiterals.<T>newArrayList();
+    List<URI> _sortByReferenceLocality = policy.sortByReferenceLocality(uris, referencedResources);
+    for (final URI uri_1 : _sortByReferenceLocality) {
+      {
+        boolean _continueProcessing = policy.continueProcessing(this.context.getResourceSet(), uri_1, loadedURIsCount);
+        boolean _not = (!_continueProcessing);
+        if (_not) {
+          final Function1<Resource, T> _function = (Resource it) -> {
+            return operation.apply(it);
+          };
+          List<T> _map = ListExtensions.<Resource, T>map(resources, _function);
+          Iterables.<T>addAll(result, _map);
+          for (final Resource processed : resources) {
+            Set<URI> _elvis = null;
+            Set<URI> _get = referencedResources.get(processed.getURI());
+            if (_get != null) {
+              _elvis = _get;
+            } else {
+              Set<URI> _emptySet = CollectionLiterals.<URI>emptySet();
+              _elvis = _emptySet;
+            }
+            for (final URI target : _elvis) {
+              final BiFunction<URI, Integer, Integer> _function_1 = (URI key, Integer count) -> {
+                int _xifexpression = (int) 0;
+                if (((count).intValue() > 1)) {
+                  _xifexpression = ((count).intValue() - 1);
+                }
+                return Integer.valueOf(_xifexpression);
+              };
+              pendingReferences.computeIfPresent(target, _function_1);
             }
           }
-          SourceLevelURIsAdapter.setSourceLevelUrisWithoutCopy(this.context.getResourceSet(), sourceLevelURIs);
+          resources.clear();
+          final ToIntFunction<URI> _function_2 = (URI it) -> {
+            Integer _elvis_1 = null;
+            Integer _get_1 = pendingReferences.get(it);
+            if (_get_1 != null) {
+              _elvis_1 = _get_1;
+            } else {
+              _elvis_1 = Integer.valueOf(0);
+            }
+            return (int) _elvis_1;
+          };
+          final Set<Resource> toKeep = policy.getResourcesToKeep(this.context.getResourceSet().getResources(), _function_2);
+          this.clearResourceSet(toKeep);
+          loadedURIsCount = 0;
         }
-        Resource _resource = this.context.getResourceSet().getResource(uri, true);
-        resources.add(_resource);
+        loadedURIsCount++;
+        final Resource resource = this.loadResource(uri_1, sourceLevelURIs);
+        this.referencedNames.put(uri_1, policy.getReferencedNames(resource));
+        resources.add(resource);
       }
     }
     final Function1<Resource, T> _function = (Resource it) -> {
@@ -79,6 +173,39 @@ public class ClusteringStorageAwareResourceLoader {
     return result;
   }
   
+  /**
+   * Returns the resources referenced by the resource with the given URI. If the resource has been loaded before
+   * in this build, e.g. during indexing, the names it refers to are looked up in the index of this build. That
+   * index knows the exported objects of all changed resources, even on a clean build. Otherwise the references
+   * recorded by the previous build are used.
+   * 
+   * @since 2.19
+   */
+  protected Set<URI> getReferencedResources(final URI uri, final ReferenceAwareClusteringPolicy policy) {
+    final Set<QualifiedName> names = this.referencedNames.get(uri);
+    final IResourceDescriptions index = this.context.getNewIndex();
+    if (((names != null) && (index != null))) {
+      return policy.getReferencedResources(uri, names, index);
+    }
+    return policy.getReferencedResources(uri, this.context.getOldState().getResourceDescriptions());
+  }
+  
+  protected Resource loadResource(final URI uri, final Set<URI> sourceLevelURIs) {
+    boolean _isSource = this.isSource(uri);
+    if (_isSource) {
+      sourceLevelURIs.add(uri);
+      final Resource existingResource = this.context.getResourceSet().getResource(uri, false);
+      if ((existingResource instanceof StorageAwareResource)) {
+        boolean _isLoadedFromStorage = ((StorageAwareResource)existingResource).isLoadedFromStorage();
+        if (_isLoadedFromStorage) {
+          ((StorageAwareResource)existingResource).unload();
+        }
+      }
+      SourceLevelURIsAdapter.setSourceLevelUrisWithoutCopy(this.context.getResourceSet(), sourceLevelURIs);
+    }
+    return this.context.getResourceSet().getResource(uri, true);
+  }
+  
   protected boolean isSource(final URI uri) {
     final IResourceServiceProvider provider = this.context.getResourceServiceProvider(uri);
     return ((provider instanceof IResourceServiceProviderExtension) && 
@@ -95,6 +222,36 @@ public class ClusteringStorageAwareResourceLoader {
     }
   }
   
+  /**
+   * Removes all resources but the given ones from the resource set. The removed resources are unloaded, such that
+   * the kept resources don't retain them by means of resolved cross references.
+   * 
+   * @since 2.19
+   */
+  protected void clearResourceSet(final Set<Resource> toKeep) {
+    boolean _isEmpty = toKeep.isEmpty();
+    if (_isEmpty) {
+      this.clearResourceSet();
+      return;
+    }
+    final Function1<Resource, Boolean> _function = (Resource it) -> {
+      boolean _contains = toKeep.contains(it);
+      return Boolean.valueOf((!_contains));
+    };
+    final List<Resource> toRemove = IterableExtensions.<Resource>toList(IterableExtensions.<Resource>filter(this.context.getResourceSet().getResources(), _function));
+    final boolean wasDeliver = this.context.getResourceSet().eDeliver();
+    try {
+      this.context.getResourceSet().eSetDeliver(false);
+      this.context.getResourceSet().getResources().removeAll(toRemove);
+    } finally {
+      this.context.getResourceSet().eSetDeliver(wasDeliver);
+    }
+    final Consumer<Resource> _function_1 = (Resource it) -> {
+      it.unload();
+    };
+    toRemove.forEach(_function_1);
+  }
+  
   public ClusteringStorageAwareResourceLoader(final BuildContext context) {
     super();
     this.context = context;
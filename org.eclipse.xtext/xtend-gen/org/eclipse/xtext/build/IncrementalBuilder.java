@@ -14,8 +14,11 @@ import com.google.inject.Provider;
 import com.google.inject.Singleton;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 import org.eclipse.emf.common.util.URI;
@@ -52,6 +55,7 @@ import org.eclipse.xtext.resource.persistence.SerializableResourceDescription;
 import org.eclipse.xtext.resource.persistence.StorageAwareResource;
 import org.eclipse.xtext.service.OperationCanceledManager;
 import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.internal.Stopwatches;
 import org.eclipse.xtext.validation.CheckMode;
 import org.eclipse.xtext.validation.IResourceValidator;
 import org.eclipse.xtext.validation.Issue;
@@ -80,10 +84,25 @@ public class IncrementalBuilder {
     
     private final List<IResourceDescription.Delta> affectedResources;
     
+    /**
+     * The resources that have been affected by the build but whose processing has been canceled. They
+     * have to be passed as dirty files to a subsequent build.
+     * 
+     * @since 2.19
+     */
+    private final List<URI> pendingFiles;
+    
     public Result(final IndexState indexState, final List<IResourceDescription.Delta> affectedResources) {
-      super();
+      this(indexState, affectedResources, CollectionLiterals.<URI>emptyList());
+    }
+    
+    /**
+     * @since 2.19
+     */
+    public Result(final IndexState indexState, final List<IResourceDescription.Delta> affectedResources, final List<URI> pendingFiles) {
       this.indexState = indexState;
       this.affectedResources = affectedResources;
+      this.pendingFiles = pendingFiles;
     }
     
     @Override
@@ -92,7 +111,8 @@ public class IncrementalBuilder {
       final int prime = 31;
       int result = 1;
       result = prime * result + ((this.indexState== null) ? 0 : this.indexState.hashCode());
-      return prime * result + ((this.affectedResources== null) ? 0 : this.affectedResources.hashCode());
+      result = prime * result + ((this.affectedResources== null) ? 0 : this.affectedResources.hashCode());
+      return prime * result + ((this.pendingFiles== null) ? 0 : this.pendingFiles.hashCode());
     }
     
     @Override
@@ -115,6 +135,11 @@ public class IncrementalBuilder {
           return false;
       } else if (!this.affectedResources.equals(other.affectedResources))
         return false;
+      if (this.pendingFiles == null) {
+        if (other.pendingFiles != null)
+          return false;
+      } else if (!this.pendingFiles.equals(other.pendingFiles))
+        return false;
       return true;
     }
     
@@ -124,6 +149,7 @@ public class IncrementalBuilder {
       ToStringBuilder b = new ToStringBuilder(this);
       b.add("indexState", this.indexState);
       b.add("affectedResources", this.affectedResources);
+      b.add("pendingFiles", this.pendingFiles);
       return b.toString();
     }
     
@@ -136,6 +162,11 @@ public class IncrementalBuilder {
     public List<IResourceDescription.Delta> getAffectedResources() {
       return this.affectedResources;
     }
+    
+    @Pure
+    public List<URI> getPendingFiles() {
+      return this.pendingFiles;
+    }
   }
   
   public static class InternalStatefulIncrementalBuilder {
@@ -207,31 +238,50 @@ public class IncrementalBuilder {
     @Extension
     private OperationCanceledManager _operationCanceledManager;
     
+    /**
+     * The resources whose generator has been invoked in this build.
+     */
+    private final Set<URI> generationStarted = CollectionLiterals.<URI>newHashSet();
+    
     protected void unloadResource(final URI uri) {
-      final Resource resource = this.request.getResourceSet().getResource(uri, false);
-      if ((resource != null)) {
-        this.request.getResourceSet().getResources().remove(resource);
-        resource.unload();
+      this.unloadResources(Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(uri)));
+    }
+    
+    /**
+     * Removes the resources with the given URIs from the resource set and unloads them. The resources are removed
+     * from the resource set at once, which is cheaper than removing them one by one.
+     * 
+     * @since 2.19
+     */
+    protected void unloadResources(final Iterable<URI> uris) {
+      final LinkedHashSet<Resource> resources = CollectionLiterals.<Resource>newLinkedHashSet();
+      for (final URI uri : uris) {
+        {
+          final Resource resource = this.request.getResourceSet().getResource(uri, false);
+          if ((resource != null)) {
+            resources.add(resource);
+          }
+        }
+      }
+      boolean _isEmpty = resources.isEmpty();
+      boolean _not = (!_isEmpty);
+      if (_not) {
+        this.request.getResourceSet().getResources().removeAll(resources);
+        final Consumer<Resource> _function = (Resource it) -> {
+          it.unload();
+        };
+        resources.forEach(_function);
       }
     }
     
     public IncrementalBuilder.Result launch() {
       final Source2GeneratedMapping newSource2GeneratedMapping = this.request.getState().getFileMappings();
-      final HashSet<URI> unloaded = CollectionLiterals.<URI>newHashSet();
+      final LinkedHashSet<URI> unloaded = CollectionLiterals.<URI>newLinkedHashSet();
       List<URI> _deletedFiles = this.request.getDeletedFiles();
-      for (final URI deleted : _deletedFiles) {
-        boolean _add = unloaded.add(deleted);
-        if (_add) {
-          this.unloadResource(deleted);
-        }
-      }
+      Iterables.<URI>addAll(unloaded, _deletedFiles);
       List<URI> _dirtyFiles = this.request.getDirtyFiles();
-      for (final URI dirty : _dirtyFiles) {
-        boolean _add_1 = unloaded.add(dirty);
-        if (_add_1) {
-          this.unloadResource(dirty);
-        }
-      }
+      Iterables.<URI>addAll(unloaded, _dirtyFiles);
+      this.unloadResources(unloaded);
       final Consumer<URI> _function = (URI source) -> {
         this.request.getAfterValidate().afterValidate(source, CollectionLiterals.<Issue>newArrayList());
         final Consumer<URI> _function_1 = (URI generated) -> {
@@ -257,12 +307,15 @@ public class IncrementalBuilder {
       this.request.getDeletedFiles().forEach(_function);
       final Indexer.IndexResult result = this.indexer.computeAndIndexAffected(this.request, this.context);
       this._operationCanceledManager.checkCanceled(this.request.getCancelIndicator());
+      final ArrayList<URI> unloadedAffected = CollectionLiterals.<URI>newArrayList();
       List<IResourceDescription.Delta> _resourceDeltas = result.getResourceDeltas();
       for (final IResourceDescription.Delta delta : _resourceDeltas) {
         if (((delta.getOld() != null) && unloaded.add(delta.getUri()))) {
-          this.unloadResource(delta.getUri());
+          URI _uri = delta.getUri();
+          unloadedAffected.add(_uri);
         }
       }
+      this.unloadResources(unloadedAffected);
       final ArrayList<IResourceDescription.Delta> resolvedDeltas = CollectionLiterals.<IResourceDescription.Delta>newArrayList();
       final Function1<IResourceDescription.Delta, Boolean> _function_1 = (IResourceDescription.Delta it) -> {
         IResourceDescription _new = it.getNew();
@@ -270,17 +323,10 @@ public class IncrementalBuilder {
       };
       Iterable<IResourceDescription.Delta> _filter = IterableExtensions.<IResourceDescription.Delta>filter(result.getResourceDeltas(), _function_1);
       Iterables.<IResourceDescription.Delta>addAll(resolvedDeltas, _filter);
-      final Function1<IResourceDescription.Delta, Boolean> _function_2 = (IResourceDescription.Delta it) -> {
-        IResourceDescription _new = it.getNew();
-        return Boolean.valueOf((_new != null));
-      };
-      final Function1<IResourceDescription.Delta, URI> _function_3 = (IResourceDescription.Delta it) -> {
-        return it.getUri();
-      };
-      final Function1<Resource, IResourceDescription.Delta> _function_4 = (Resource resource) -> {
+      final Function1<Resource, IResourceDescription.Delta> _function_2 = (Resource resource) -> {
         this._operationCanceledManager.checkCanceled(this.request.getCancelIndicator());
         resource.getContents();
-        EcoreUtil2.resolveLazyCrossReferences(resource, CancelIndicator.NullImpl);
+        EcoreUtil2.resolveLazyCrossReferences(resource, this.request.getCancelIndicator());
         this._operationCanceledManager.checkCanceled(this.request.getCancelIndicator());
         final IResourceServiceProvider serviceProvider = this.getResourceServiceProvider(resource);
         final IResourceDescription.Manager manager = serviceProvider.getResourceDescriptionManager();
@@ -295,10 +341,108 @@ public class IncrementalBuilder {
         final IResourceDescription old = this.context.getOldState().getResourceDescriptions().getResourceDescription(resource.getURI());
         return manager.createDelta(old, copiedDescription);
       };
-      Iterable<IResourceDescription.Delta> _executeClustered = this.context.<IResourceDescription.Delta>executeClustered(IterableExtensions.<IResourceDescription.Delta, URI>map(IterableExtensions.<IResourceDescription.Delta>filter(result.getResourceDeltas(), _function_2), _function_3), _function_4);
-      Iterables.<IResourceDescription.Delta>addAll(resolvedDeltas, _executeClustered);
-      IndexState _state = this.request.getState();
-      return new IncrementalBuilder.Result(_state, resolvedDeltas);
+      final Function1<? super Resource, ? extends IResourceDescription.Delta> process = _function_2;
+      final Function1<IResourceDescription.Delta, Boolean> _function_3 = (IResourceDescription.Delta it) -> {
+        IResourceDescription _new = it.getNew();
+        return Boolean.valueOf((_new != null));
+      };
+      final Function1<IResourceDescription.Delta, URI> _function_4 = (IResourceDescription.Delta it) -> {
+        return it.getUri();
+      };
+      final List<URI> changedURIs = IterableExtensions.<URI>toList(IterableExtensions.<IResourceDescription.Delta, URI>map(IterableExtensions.<IResourceDescription.Delta>filter(result.getResourceDeltas(), _function_3), _function_4));
+      final Function1<URI, Boolean> _function_5 = (URI it) -> {
+        return this.request.getPriorityHint().apply(it);
+      };
+      final List<URI> prioritizedURIs = IterableExtensions.<URI>toList(IterableExtensions.<URI>filter(changedURIs, _function_5));
+      boolean _isEmpty = prioritizedURIs.isEmpty();
+      if (_isEmpty) {
+        Iterable<IResourceDescription.Delta> _executeClustered = this.context.<IResourceDescription.Delta>executeClustered(changedURIs, process);
+        Iterables.<IResourceDescription.Delta>addAll(resolvedDeltas, _executeClustered);
+        IndexState _state = this.request.getState();
+        return new IncrementalBuilder.Result(_state, resolvedDeltas);
+      }
+      Iterable<IResourceDescription.Delta> _executeClustered_1 = this.context.<IResourceDescription.Delta>executeClustered(prioritizedURIs, process);
+      Iterables.<IResourceDescription.Delta>addAll(resolvedDeltas, _executeClustered_1);
+      final Function1<URI, Boolean> _function_6 = (URI it) -> {
+        Boolean _apply = this.request.getPriorityHint().apply(it);
+        return Boolean.valueOf((!(_apply).booleanValue()));
+      };
+      final List<URI> continuationURIs = IterableExtensions.<URI>toList(IterableExtensions.<URI>filter(changedURIs, _function_6));
+      final List<URI> pendingURIs = this.runContinuation(continuationURIs, resolvedDeltas, process);
+      for (final URI pending : pendingURIs) {
+        this.restoreOldState(pending, result.getNewIndex(), newSource2GeneratedMapping);
+      }
+      IndexState _state_1 = this.request.getState();
+      return new IncrementalBuilder.Result(_state_1, resolvedDeltas, pendingURIs);
+    }
+    
+    /**
+     * Processes the resources that have not been prioritized. In contrast to the prioritized resources,
+     * canceling the build during this phase does not discard the results: the deltas of the resources
+     * that have been processed are added to the given list, and the URIs of the resources that still
+     * have to be built are returned.
+     * 
+     * @since 2.19
+     */
+    protected List<URI> runContinuation(final List<URI> uris, final List<IResourceDescription.Delta> deltas, final Function1<? super Resource, ? extends IResourceDescription.Delta> process) {
+      try {
+        final HashSet<URI> processed = CollectionLiterals.<URI>newHashSet();
+        try {
+          final Function1<Resource, Object> _function = (Resource resource) -> {
+            IResourceDescription.Delta _apply = process.apply(resource);
+            deltas.add(_apply);
+            URI _uRI = resource.getURI();
+            processed.add(_uRI);
+            return null;
+          };
+          this.context.<Object>executeClustered(uris, _function);
+        } catch (final Throwable _t) {
+          if (_t instanceof Throwable) {
+            final Throwable t = (Throwable)_t;
+            boolean _isOperationCanceledException = this._operationCanceledManager.isOperationCanceledException(t);
+            boolean _not = (!_isOperationCanceledException);
+            if (_not) {
+              throw t;
+            }
+            final Function1<URI, Boolean> _function_1 = (URI it) -> {
+              boolean _contains = processed.contains(it);
+              return Boolean.valueOf((!_contains));
+            };
+            return IterableExtensions.<URI>toList(IterableExtensions.<URI>filter(uris, _function_1));
+          } else {
+            throw Exceptions.sneakyThrow(_t);
+          }
+        }
+        return CollectionLiterals.<URI>emptyList();
+      } catch (Throwable _e) {
+        throw Exceptions.sneakyThrow(_e);
+      }
+    }
+    
+    /**
+     * Reverts the index and the file mappings of a resource whose processing has been canceled, such
+     * that it can be built again as a dirty resource. If the generator of the resource has already
+     * been invoked, the mappings of the files that it has written are kept in addition to the old
+     * ones, since these files exist now.
+     * 
+     * @since 2.19
+     */
+    protected void restoreOldState(final URI uri, final ResourceDescriptionsData newIndex, final Source2GeneratedMapping newMappings) {
+      final IResourceDescription oldDescription = this.context.getOldState().getResourceDescriptions().getResourceDescription(uri);
+      if ((oldDescription != null)) {
+        newIndex.addDescription(uri, oldDescription);
+      } else {
+        newIndex.removeDescription(uri);
+      }
+      boolean _contains = this.generationStarted.contains(uri);
+      boolean _not = (!_contains);
+      if (_not) {
+        newMappings.deleteSource(uri);
+      }
+      List<URI> _generated = this.context.getOldState().getFileMappings().getGenerated(uri);
+      for (final URI generated : _generated) {
+        newMappings.addSource2Generated(uri, generated, this.context.getOldState().getFileMappings().getOutputConfigName(generated));
+      }
     }
     
     private IResourceServiceProvider getResourceServiceProvider(final Resource resource) {
@@ -323,16 +467,19 @@ public class IncrementalBuilder {
       if ((generator == null)) {
         return;
       }
+      URI _uRI = resource.getURI();
+      this.generationStarted.add(_uRI);
       final Set<URI> previous = newMappings.deleteSource(resource.getURI());
       URIBasedFileSystemAccess _createFileSystemAccess = this.createFileSystemAccess(serviceProvider, resource);
       final Procedure1<URIBasedFileSystemAccess> _function = (URIBasedFileSystemAccess it) -> {
-        final URIBasedFileSystemAccess.BeforeWrite _function_1 = (URI uri, String outputCfgName, InputStream contents) -> {
+        final URIBasedFileSystemAccess.BeforeWriteObserver _function_1 = (URI uri, String outputCfgName, InputStream contents) -> {
           newMappings.addSource2Generated(resource.getURI(), uri, outputCfgName);
           previous.remove(uri);
           request.getAfterGenerateFile().apply(resource.getURI(), uri);
           return contents;
         };
-        it.setBeforeWrite(_function_1);
+        final URIBasedFileSystemAccess.BeforeWriteObserver observer = _function_1;
+        it.setBeforeWrite(observer);
         final URIBasedFileSystemAccess.BeforeDelete _function_2 = (URI uri) -> {
           newMappings.deleteGenerated(uri);
           request.getAfterDeleteFile().apply(uri);
@@ -411,10 +558,15 @@ public class IncrementalBuilder {
       final IndexState oldState = new IndexState(_copy, _copy_1);
       CancelIndicator _cancelIndicator = request.getCancelIndicator();
       final BuildContext context = new BuildContext(languages, resourceSet, oldState, clusteringPolicy, _cancelIndicator);
+      context.setNewIndex(request.getState().getResourceDescriptions());
       final IncrementalBuilder.InternalStatefulIncrementalBuilder builder = this.provider.get();
       builder.setContext(context);
       builder.setRequest(request);
+      final Map<Object, Object> loadOptions = resourceSet.getLoadOptions();
+      final Object previousCancelIndicator = loadOptions.put(XtextResource.OPTION_CANCEL_INDICATOR, request.getCancelIndicator());
+      final Stopwatches.StoppedTask task = Stopwatches.forTask("IncrementalBuilder.build");
       try {
+        task.start();
         return builder.launch();
       } catch (final Throwable _t) {
         if (_t instanceof Throwable) {
@@ -424,6 +576,13 @@ public class IncrementalBuilder {
         } else {
           throw Exceptions.sneakyThrow(_t);
         }
+      } finally {
+        task.stop();
+        if ((previousCancelIndicator == null)) {
+          loadOptions.remove(XtextResource.OPTION_CANCEL_INDICATOR);
+        } else {
+          loadOptions.put(XtextResource.OPTION_CANCEL_INDICATOR, previousCancelIndicator);
+        }
       }
     } catch (Throwable _e) {
       throw Exceptions.sneakyThrow(_e);
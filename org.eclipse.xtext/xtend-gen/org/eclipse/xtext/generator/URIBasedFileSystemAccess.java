@@ -7,25 +7,33 @@
  */
 package org.eclipse.xtext.generator;
 
+import com.google.common.base.Objects;
 import com.google.common.io.ByteStreams;
 import com.google.common.io.CharStreams;
+import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.file.Files;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.resource.URIConverter;
 import org.eclipse.xtend.lib.annotations.Accessors;
 import org.eclipse.xtext.generator.AbstractFileSystemAccess2;
 import org.eclipse.xtext.generator.IFilePostProcessor;
+import org.eclipse.xtext.generator.LineSeparatorHarmonizer;
 import org.eclipse.xtext.generator.trace.AbstractTraceRegion;
 import org.eclipse.xtext.generator.trace.ITraceRegionProvider;
 import org.eclipse.xtext.generator.trace.TraceFileNameProvider;
 import org.eclipse.xtext.generator.trace.TraceNotFoundException;
 import org.eclipse.xtext.generator.trace.TraceRegionSerializer;
+import org.eclipse.xtext.generator.trace.node.GeneratorNodeProcessor;
+import org.eclipse.xtext.generator.trace.node.IGeneratorNode;
 import org.eclipse.xtext.parser.IEncodingProvider;
 import org.eclipse.xtext.util.RuntimeIOException;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
@@ -49,10 +57,25 @@ public class URIBasedFileSystemAccess extends AbstractFileSystemAccess2 {
     public abstract InputStream beforeWrite(final URI changed, final String outputCfgName, final InputStream in);
   }
   
+  /**
+   * A {@link BeforeWrite} hook that only observes which files are written. It neither reads nor replaces their
+   * contents and returns the given stream. Files can be
+   * {@link URIBasedFileSystemAccess#generateFile(String, String, IGeneratorNode, GeneratorNodeProcessor) streamed}
+   * with such a hook, in which case the given stream is <code>null</code>.
+   * 
+   * @since 2.19
+   */
+  public interface BeforeWriteObserver extends URIBasedFileSystemAccess.BeforeWrite {
+  }
+  
   public interface BeforeRead {
     public abstract InputStream beforeRead(final URI changed, final InputStream in);
   }
   
+  private static final URIBasedFileSystemAccess.BeforeWrite DEFAULT_BEFORE_WRITE = ((URIBasedFileSystemAccess.BeforeWrite) (URI $0, String $1, InputStream $2) -> {
+    return $2;
+  });
+  
   @Accessors
   private URIConverter converter;
   
@@ -77,9 +100,7 @@ public class URIBasedFileSystemAccess extends AbstractFileSystemAccess2 {
   });
   
   @Accessors
-  private URIBasedFileSystemAccess.BeforeWrite beforeWrite = ((URIBasedFileSystemAccess.BeforeWrite) (URI $0, String $1, InputStream $2) -> {
-    return $2;
-  });
+  private URIBasedFileSystemAccess.BeforeWrite beforeWrite = URIBasedFileSystemAccess.DEFAULT_BEFORE_WRITE;
   
   @Accessors
   private URIBasedFileSystemAccess.BeforeRead beforeRead = ((URIBasedFileSystemAccess.BeforeRead) (URI $0, InputStream $1) -> {
@@ -129,28 +150,98 @@ public class URIBasedFileSystemAccess extends AbstractFileSystemAccess2 {
   }
   
   protected void generateTrace(final String generatedFile, final String outputConfigName, final CharSequence contents) {
+    if ((this.isGenerateTraces() && (contents instanceof ITraceRegionProvider))) {
+      try {
+        AbstractTraceRegion traceRegion = ((ITraceRegionProvider) contents).getTraceRegion();
+        this.generateTrace(generatedFile, outputConfigName, traceRegion);
+      } catch (final Throwable _t) {
+        if (_t instanceof TraceNotFoundException) {
+        } else {
+          throw Exceptions.sneakyThrow(_t);
+        }
+      }
+    }
+  }
+  
+  /**
+   * @since 2.19
+   */
+  protected void generateTrace(final String generatedFile, final String outputConfigName, final AbstractTraceRegion traceRegion) {
     try {
-      if ((this.isGenerateTraces() && (contents instanceof ITraceRegionProvider))) {
+      String traceFileName = this.traceFileNameProvider.getTraceFromJava(generatedFile);
+      final ByteArrayOutputStream out = new ByteArrayOutputStream();
+      this.traceRegionSerializer.writeTraceRegionTo(traceRegion, out);
+      byte[] _byteArray = out.toByteArray();
+      ByteArrayInputStream _byteArrayInputStream = new ByteArrayInputStream(_byteArray);
+      this.generateFile(traceFileName, outputConfigName, _byteArrayInputStream);
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  /**
+   * Generates a file with the text of the given generator node. If the file {@link #canStream(String, String) can be
+   * streamed}, the text is written to a temporary file while the node is processed, so it is never kept in memory
+   * as a whole, and copied to the file afterwards. A failure while processing the node thus keeps the existing
+   * file. Otherwise the file is generated from the processed text.
+   * 
+   * @since 2.19
+   */
+  public void generateFile(final String fileName, final String outputCfgName, final IGeneratorNode node, final GeneratorNodeProcessor processor) {
+    try {
+      boolean _canStream = this.canStream(fileName, outputCfgName);
+      boolean _not = (!_canStream);
+      if (_not) {
+        this.generateFile(fileName, outputCfgName, processor.process(node));
+        return;
+      }
+      final URI uri = this.getURI(fileName, outputCfgName);
+      if (((!this.getOutputConfig(outputCfgName).isOverrideExistingResources()) && this.converter.exists(uri, CollectionLiterals.<Object, Object>emptyMap()))) {
+        return;
+      }
+      this.beforeWrite.beforeWrite(uri, outputCfgName, null);
+      final File tempFile = File.createTempFile("xtext", ".tmp");
+      try {
+        FileOutputStream _fileOutputStream = new FileOutputStream(tempFile);
+        String _encoding = this.getEncoding(uri);
+        OutputStreamWriter _outputStreamWriter = new OutputStreamWriter(_fileOutputStream, _encoding);
+        final BufferedWriter writer = new BufferedWriter(_outputStreamWriter);
+        AbstractTraceRegion traceRegion = null;
+        try {
+          traceRegion = processor.process(node, writer);
+        } finally {
+          writer.close();
+        }
+        final OutputStream out = this.converter.createOutputStream(uri);
         try {
-          AbstractTraceRegion traceRegion = ((ITraceRegionProvider) contents).getTraceRegion();
-          String traceFileName = this.traceFileNameProvider.getTraceFromJava(generatedFile);
-          final ByteArrayOutputStream out = new ByteArrayOutputStream();
-          this.traceRegionSerializer.writeTraceRegionTo(traceRegion, out);
-          byte[] _byteArray = out.toByteArray();
-          ByteArrayInputStream _byteArrayInputStream = new ByteArrayInputStream(_byteArray);
-          this.generateFile(traceFileName, outputConfigName, _byteArrayInputStream);
-        } catch (final Throwable _t) {
-          if (_t instanceof TraceNotFoundException) {
-          } else {
-            throw Exceptions.sneakyThrow(_t);
-          }
+          Files.copy(tempFile.toPath(), out);
+        } finally {
+          out.close();
         }
+        if ((this.isGenerateTraces() && (traceRegion != null))) {
+          this.generateTrace(fileName, outputCfgName, traceRegion);
+        }
+      } finally {
+        tempFile.delete();
       }
     } catch (Throwable _e) {
       throw Exceptions.sneakyThrow(_e);
     }
   }
   
+  /**
+   * Returns whether the text of a generator node can be written to the given file while the node is processed.
+   * This is not the case if the post processor or the {@link #setBeforeWrite(BeforeWrite) before write hook} may
+   * read or replace the complete text. The {@link LineSeparatorHarmonizer} leaves traced text unchanged, and a
+   * {@link BeforeWriteObserver} does not read it.
+   * 
+   * @since 2.19
+   */
+  protected boolean canStream(final String fileName, final String outputCfgName) {
+    return (((this.getPostProcessor() == null) || Objects.equal(this.getPostProcessor().getClass(), LineSeparatorHarmonizer.class)) && 
+      ((this.beforeWrite == URIBasedFileSystemAccess.DEFAULT_BEFORE_WRITE) || (this.beforeWrite instanceof URIBasedFileSystemAccess.BeforeWriteObserver)));
+  }
+  
   @Override
   public void generateFile(final String fileName, final String outputCfgName, final InputStream content) throws RuntimeIOException {
     try {
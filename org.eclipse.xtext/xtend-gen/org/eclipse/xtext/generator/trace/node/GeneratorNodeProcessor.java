@@ -28,7 +28,7 @@ import org.eclipse.xtext.generator.trace.node.TraceNode;
 import org.eclipse.xtext.util.ITextRegion;
 import org.eclipse.xtext.util.ITextRegionWithLineInformation;
 import org.eclipse.xtext.util.TextRegionWithLineInformation;
-import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.Functions.Function2;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
@@ -103,8 +103,8 @@ public class GeneratorNodeProcessor {
       return this.contents;
     }
     
-    public char charAt(final int index) {
-      return this.contents.charAt(index);
+    public char charAt(final int arg0) {
+      return this.contents.charAt(arg0);
     }
     
     public IntStream chars() {
@@ -119,16 +119,30 @@ public class GeneratorNodeProcessor {
       return this.contents.length();
     }
     
-    public CharSequence subSequence(final int start, final int end) {
-      return this.contents.subSequence(start, end);
+    public CharSequence subSequence(final int arg0, final int arg1) {
+      return this.contents.subSequence(arg0, arg1);
     }
   }
   
+  /**
+   * Only the current line is kept in a buffer, since the processing may still modify it. Complete lines are
+   * appended to the content or written to the output of a streaming processing.
+   */
   protected static class Context {
-    private List<StringBuilder> _lines = CollectionLiterals.<StringBuilder>newArrayList(new StringBuilder());
+    private final StringBuilder _content;
+    
+    private final Appendable _out;
+    
+    private final StringBuilder _currentLine = new StringBuilder();
+    
+    private int _currentLineNumber = 0;
     
     private Deque<IndentNode> _currentIndents = new ArrayDeque<IndentNode>();
     
+    private String _indentation = null;
+    
+    private String _emptyLineIndentation = null;
+    
     private boolean _pendingIndent = true;
     
     private AbstractTraceRegion _currentRegion = null;
@@ -137,8 +151,24 @@ public class GeneratorNodeProcessor {
     
     private int _indentLength = 0;
     
+    public Context() {
+      StringBuilder _stringBuilder = new StringBuilder();
+      this._content = _stringBuilder;
+      this._out = this._content;
+    }
+    
+    /**
+     * Creates a context that writes complete lines to the given output.
+     * 
+     * @since 2.19
+     */
+    public Context(final Appendable out) {
+      this._content = null;
+      this._out = out;
+    }
+    
     public String currentLineContent() {
-      return this._lines.get(this.currentLineNumber()).toString();
+      return this._currentLine.toString();
     }
     
     public int contentLength() {
@@ -151,12 +181,18 @@ public class GeneratorNodeProcessor {
     }
     
     public int currentLineNumber() {
-      int _size = this._lines.size();
-      return (_size - 1);
+      return this._currentLineNumber;
     }
     
     public String getContent() {
-      return IterableExtensions.join(this._lines);
+      if ((this._content == null)) {
+        throw new IllegalStateException("The content has been written to the output");
+      }
+      int _length = this._content.length();
+      int _length_1 = this._currentLine.length();
+      int _plus = (_length + _length_1);
+      final StringBuilder result = new StringBuilder(_plus);
+      return result.append(this._content).append(this._currentLine).toString();
     }
     
     public AbstractTraceRegion getCurrentRegion() {
@@ -165,15 +201,47 @@ public class GeneratorNodeProcessor {
     
     public void increaseIndent(final IndentNode node) {
       this._currentIndents.push(node);
-      this.recalculateIndentLength();
+      int _length = node.getIndentationString().length();
+      int _plus = (this._indentLength + _length);
+      this._indentLength = _plus;
+      this._indentation = null;
+      this._emptyLineIndentation = null;
     }
     
     public void decreaseIndents() {
-      this._currentIndents.pop();
-      this.recalculateIndentLength();
+      final IndentNode node = this._currentIndents.pop();
+      int _length = node.getIndentationString().length();
+      int _minus = (this._indentLength - _length);
+      this._indentLength = _minus;
+      this._indentation = null;
+      this._emptyLineIndentation = null;
     }
     
+    /**
+     * @return the indentation of a line. An empty line is only indented by the indent nodes that
+     *         {@link IndentNode#isIndentEmptyLines() indent empty lines}.
+     * @since 2.19
+     */
+    public String getIndentation(final boolean emptyLine) {
+      if (emptyLine) {
+        if ((this._emptyLineIndentation == null)) {
+          this._emptyLineIndentation = this.computeIndentation(true);
+        }
+        return this._emptyLineIndentation;
+      }
+      if ((this._indentation == null)) {
+        this._indentation = this.computeIndentation(false);
+      }
+      return this._indentation;
+    }
+    
+    /**
+     * @deprecated the indentation length is updated whenever the indents change.
+     */
+    @Deprecated
     protected int recalculateIndentLength() {
+      this._indentation = null;
+      this._emptyLineIndentation = null;
       final Function2<Integer, IndentNode, Integer> _function = (Integer $0, IndentNode $1) -> {
         int _length = $1.getIndentationString().length();
         return Integer.valueOf((($0).intValue() + _length));
@@ -181,8 +249,18 @@ public class GeneratorNodeProcessor {
       return this._indentLength = (IterableExtensions.<IndentNode, Integer>fold(this.getCurrentIndents(), Integer.valueOf(0), _function)).intValue();
     }
     
+    private String computeIndentation(final boolean emptyLine) {
+      final StringBuilder result = new StringBuilder();
+      for (final IndentNode indentNode : this._currentIndents) {
+        if ((indentNode.isIndentEmptyLines() || (!emptyLine))) {
+          result.append(indentNode.getIndentationString());
+        }
+      }
+      return result.toString();
+    }
+    
     public void appendToCurrentLine(final CharSequence chars) {
-      this._lines.get(this.currentLineNumber()).append(chars);
+      this._currentLine.append(chars);
       int _length = chars.length();
       int _plus = (this._contentLength + _length);
       this._contentLength = _plus;
@@ -193,8 +271,22 @@ public class GeneratorNodeProcessor {
     }
     
     public void addNewLine() {
-      StringBuilder _stringBuilder = new StringBuilder();
-      this._lines.add(_stringBuilder);
+      this.flush();
+      this._currentLineNumber++;
+    }
+    
+    /**
+     * Passes the current line to the content or the output.
+     * 
+     * @since 2.19
+     */
+    public void flush() {
+      try {
+        this._out.append(this._currentLine);
+        this._currentLine.setLength(0);
+      } catch (Throwable _e) {
+        throw Exceptions.sneakyThrow(_e);
+      }
     }
     
     public void setPendingIndent(final boolean pending) {
@@ -202,25 +294,26 @@ public class GeneratorNodeProcessor {
     }
     
     /**
-     * Replace the current line with new StringBuilder
+     * Clear the current line
      */
     public void resetCurrentLine() {
-      final StringBuilder lineContent = this._lines.get(this.currentLineNumber());
-      boolean _isNullOrEmpty = GeneratorNodeProcessor.isNullOrEmpty(lineContent);
-      boolean _not = (!_isNullOrEmpty);
-      if (_not) {
-        int _length = lineContent.length();
-        int _minus = (this._contentLength - _length);
-        this._contentLength = _minus;
-      }
-      int _currentLineNumber = this.currentLineNumber();
-      StringBuilder _stringBuilder = new StringBuilder();
-      this._lines.set(_currentLineNumber, _stringBuilder);
+      int _length = this._currentLine.length();
+      int _minus = (this._contentLength - _length);
+      this._contentLength = _minus;
+      this._currentLine.setLength(0);
     }
     
+    /**
+     * @deprecated use {@link #insertIntoCurrentLine(int, CharSequence)}
+     */
+    @Deprecated
     public void insertIntoCurrentLine(final int i, final StringBuilder builder) {
-      this._lines.get(this.currentLineNumber()).insert(i, builder);
-      int _length = builder.length();
+      this.insertIntoCurrentLine(i, ((CharSequence) builder));
+    }
+    
+    public void insertIntoCurrentLine(final int i, final CharSequence chars) {
+      this._currentLine.insert(i, chars);
+      int _length = chars.length();
       int _plus = (this._contentLength + _length);
       this._contentLength = _plus;
     }
@@ -317,6 +410,20 @@ public class GeneratorNodeProcessor {
     return new GeneratorNodeProcessor.Result(_content, _currentRegion);
   }
   
+  /**
+   * Processes the given node like {@link #process(IGeneratorNode)}, but writes each line to the given output as
+   * soon as it is complete instead of keeping the text in memory.
+   * 
+   * @return the root trace region, or <code>null</code> if the node does not contain trace nodes.
+   * @since 2.19
+   */
+  public AbstractTraceRegion process(final IGeneratorNode root, final Appendable out) {
+    final GeneratorNodeProcessor.Context ctx = new GeneratorNodeProcessor.Context(out);
+    this.doProcess(root, ctx);
+    ctx.flush();
+    return ctx.getCurrentRegion();
+  }
+  
   /**
    * An indent node prepends indentation to each line of its children.
    */
@@ -361,13 +468,7 @@ public class GeneratorNodeProcessor {
   }
   
   protected void handlePendingIndent(final GeneratorNodeProcessor.Context ctx, final boolean endOfLine) {
-    final StringBuilder indentString = new StringBuilder();
-    Deque<IndentNode> _currentIndents = ctx.getCurrentIndents();
-    for (final IndentNode indentNode : _currentIndents) {
-      if ((indentNode.isIndentEmptyLines() || (!endOfLine))) {
-        indentString.append(indentNode.getIndentationString());
-      }
-    }
+    final String indentString = ctx.getIndentation(endOfLine);
     int _length = indentString.length();
     boolean _greaterThan = (_length > 0);
     if (_greaterThan) {
@@ -4,7 +4,9 @@ import com.google.inject.Inject;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.xtend2.lib.StringConcatenationClient;
+import org.eclipse.xtext.generator.IFileSystemAccess;
 import org.eclipse.xtext.generator.IFileSystemAccess2;
+import org.eclipse.xtext.generator.URIBasedFileSystemAccess;
 import org.eclipse.xtext.generator.trace.ILocationData;
 import org.eclipse.xtext.generator.trace.ITraceURIConverter;
 import org.eclipse.xtext.generator.trace.LocationData;
@@ -46,9 +48,14 @@ public class TracingSugar extends GeneratorNodeExtensions {
   }
   
   /**
-   * Use to generate a file based on generator node.
+   * Use to generate a file based on generator node. A {@link URIBasedFileSystemAccess} writes the file while the
+   * node is processed.
    */
   public void generateTracedFile(final IFileSystemAccess2 fsa, final String path, final CompositeGeneratorNode rootNode) {
+    if ((fsa instanceof URIBasedFileSystemAccess)) {
+      ((URIBasedFileSystemAccess)fsa).generateFile(path, IFileSystemAccess.DEFAULT_OUTPUT, rootNode, this.processor);
+      return;
+    }
     final GeneratorNodeProcessor.Result result = this.processor.process(rootNode);
     fsa.generateFile(path, result);
   }
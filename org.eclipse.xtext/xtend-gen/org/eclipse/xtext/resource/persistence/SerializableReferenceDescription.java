@@ -16,6 +16,7 @@ import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EReference;
 import org.eclipse.xtend.lib.annotations.Accessors;
 import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.SourceRange;
 import org.eclipse.xtext.resource.persistence.SerializationExtensions;
 import org.eclipse.xtext.xbase.lib.Pure;
 
@@ -24,7 +25,7 @@ import org.eclipse.xtext.xbase.lib.Pure;
  */
 @Accessors
 @SuppressWarnings("all")
-public class SerializableReferenceDescription implements IReferenceDescription, Externalizable {
+public class SerializableReferenceDescription implements IReferenceDescription.IWithSourceRange, Externalizable {
   private URI sourceEObjectUri;
   
   private URI targetEObjectUri;
@@ -35,13 +36,31 @@ public class SerializableReferenceDescription implements IReferenceDescription,
   
   private int indexInList;
   
+  /**
+   * @since 2.19
+   */
+  private SourceRange sourceRange;
+  
   @Override
   public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
     this.sourceEObjectUri = SerializationExtensions.readURI(in);
     this.targetEObjectUri = SerializationExtensions.readURI(in);
     this.containerEObjectURI = SerializationExtensions.readURI(in);
     this.eReference = SerializationExtensions.<EReference>readEcoreElement(in);
-    this.indexInList = in.readInt();
+    final int index = in.readInt();
+    if ((index < (-1))) {
+      this.indexInList = ((-3) - index);
+      int _readInt = in.readInt();
+      int _readInt_1 = in.readInt();
+      int _readInt_2 = in.readInt();
+      int _readInt_3 = in.readInt();
+      int _readInt_4 = in.readInt();
+      int _readInt_5 = in.readInt();
+      SourceRange _sourceRange = new SourceRange(_readInt, _readInt_1, _readInt_2, _readInt_3, _readInt_4, _readInt_5);
+      this.sourceRange = _sourceRange;
+    } else {
+      this.indexInList = index;
+    }
   }
   
   @Override
@@ -50,7 +69,17 @@ public class SerializableReferenceDescription implements IReferenceDescription,
     SerializationExtensions.writeURI(out, this.targetEObjectUri);
     SerializationExtensions.writeURI(out, this.containerEObjectURI);
     SerializationExtensions.writeEcoreElement(out, this.eReference);
-    out.writeInt(this.indexInList);
+    if ((this.sourceRange == null)) {
+      out.writeInt(this.indexInList);
+    } else {
+      out.writeInt(((-3) - this.indexInList));
+      out.writeInt(this.sourceRange.getOffset());
+      out.writeInt(this.sourceRange.getLength());
+      out.writeInt(this.sourceRange.getLine());
+      out.writeInt(this.sourceRange.getColumn());
+      out.writeInt(this.sourceRange.getEndLine());
+      out.writeInt(this.sourceRange.getEndColumn());
+    }
   }
   
   public void updateResourceURI(final URI newURI, final URI oldURI) {
@@ -106,4 +135,13 @@ public class SerializableReferenceDescription implements IReferenceDescription,
   public void setIndexInList(final int indexInList) {
     this.indexInList = indexInList;
   }
+  
+  @Pure
+  public SourceRange getSourceRange() {
+    return this.sourceRange;
+  }
+  
+  public void setSourceRange(final SourceRange sourceRange) {
+    this.sourceRange = sourceRange;
+  }
 }
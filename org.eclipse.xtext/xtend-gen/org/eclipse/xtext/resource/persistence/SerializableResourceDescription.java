@@ -17,9 +17,11 @@ import java.util.List;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.xtend.lib.annotations.Accessors;
 import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.naming.QualifiedNameTable;
 import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IReferenceDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.SourceRange;
 import org.eclipse.xtext.resource.impl.AbstractResourceDescription;
 import org.eclipse.xtext.resource.persistence.SerializableEObjectDescription;
 import org.eclipse.xtext.resource.persistence.SerializableEObjectDescriptionProvider;
@@ -87,6 +89,7 @@ public class SerializableResourceDescription extends AbstractResourceDescription
       it.setEReference(desc.getEReference());
       it.setIndexInList(desc.getIndexInList());
       it.setContainerEObjectURI(desc.getContainerEObjectURI());
+      it.setSourceRange(SourceRange.of(desc));
     };
     return ObjectExtensions.<SerializableReferenceDescription>operator_doubleArrow(_serializableReferenceDescription, _function);
   }
@@ -109,6 +112,24 @@ public class SerializableResourceDescription extends AbstractResourceDescription
     this.uRI = uri;
   }
   
+  /**
+   * Replaces the exported and imported names of this description by the equal names of the given table.
+   * 
+   * @since 2.19
+   */
+  public void shareNames(final QualifiedNameTable nameTable) {
+    for (final SerializableEObjectDescription desc : this.descriptions) {
+      desc.setQualifiedName(nameTable.get(desc.getQualifiedName()));
+    }
+    int _size = this.importedNames.size();
+    final ArrayList<QualifiedName> sharedImportedNames = new ArrayList<QualifiedName>(_size);
+    for (final QualifiedName name : this.importedNames) {
+      QualifiedName _get = nameTable.get(name);
+      sharedImportedNames.add(_get);
+    }
+    this.importedNames = sharedImportedNames;
+  }
+  
   @Override
   protected List<IEObjectDescription> computeExportedObjects() {
     return ((List<IEObjectDescription>) ((List<?>) this.descriptions));